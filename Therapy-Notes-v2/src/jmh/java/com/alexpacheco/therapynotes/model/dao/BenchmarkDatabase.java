@@ -0,0 +1,112 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+
+import com.alexpacheco.therapynotes.controller.SyntheticDataGenerator;
+import com.alexpacheco.therapynotes.util.DbUtil;
+import com.alexpacheco.therapynotes.util.PreferencesUtil;
+
+/**
+ * Generated SQLite databases for the DAO benchmarks. Each size is built once into target/benchmark-db by {@link SyntheticDataGenerator},
+ * 50 notes per client with the default seed, and reused by later runs.
+ */
+final class BenchmarkDatabase
+{
+	static final int NOTES_PER_CLIENT = 50;
+	private static final Path DIRECTORY = Paths.get( "target", "benchmark-db" );
+	
+	private final int noteCount;
+	private final Path file;
+	
+	private BenchmarkDatabase( int noteCount, Path file )
+	{
+		this.noteCount = noteCount;
+		this.file = file;
+	}
+	
+	/**
+	 * Returns the database with the given number of notes, generating it on first use.
+	 */
+	static BenchmarkDatabase ofSize( int noteCount ) throws SQLException, IOException
+	{
+		Path file = DIRECTORY.resolve( "notes-" + noteCount + ".db" );
+		if( !Files.exists( file ) )
+		{
+			Files.createDirectories( DIRECTORY );
+			Path partial = DIRECTORY.resolve( "notes-" + noteCount + ".db.partial" );
+			Files.deleteIfExists( partial );
+			_generate( partial, noteCount );
+			Files.move( partial, file, StandardCopyOption.REPLACE_EXISTING );
+		}
+		return new BenchmarkDatabase( noteCount, file );
+	}
+	
+	/**
+	 * Copies the database so a benchmark that writes does not change the shared one.
+	 */
+	BenchmarkDatabase copy() throws IOException
+	{
+		Path target = Files.createTempFile( DIRECTORY, "notes-" + noteCount + "-", ".db" );
+		Files.copy( file, target, StandardCopyOption.REPLACE_EXISTING );
+		target.toFile().deleteOnExit();
+		return new BenchmarkDatabase( noteCount, target );
+	}
+	
+	/**
+	 * Points DbUtil's pool at this database and drops every process-wide cache loaded from another one.
+	 */
+	void use()
+	{
+		DbUtil.setDbUrl( "jdbc:sqlite:" + file.toAbsolutePath() );
+		AssessmentOptionRegistry.getInstance().invalidate();
+		ClientNameRegistry.getInstance().invalidate();
+		PreferencesUtil.invalidate();
+	}
+	
+	int getNoteCount()
+	{
+		return noteCount;
+	}
+	
+	int getClientCount()
+	{
+		return Math.max( 1, noteCount / NOTES_PER_CLIENT );
+	}
+	
+	/**
+	 * Id of the n-th generated client, counting from zero.
+	 */
+	static int clientId( int n )
+	{
+		return 1000 + n;
+	}
+	
+	/**
+	 * Builds a narrative of roughly the given number of words, as the generated notes have.
+	 */
+	static String narrative( Random random, int words )
+	{
+		return SyntheticDataGenerator.narrative( random, words );
+	}
+	
+	private static void _generate( Path target, int noteCount ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection( "jdbc:sqlite:" + target.toAbsolutePath() ) )
+		{
+			try( Statement stmt = conn.createStatement() )
+			{
+				stmt.execute( "PRAGMA synchronous = OFF" );
+			}
+			new SyntheticDataGenerator( SyntheticDataGenerator.DEFAULT_SEED, Math.max( 1, noteCount / NOTES_PER_CLIENT ),
+					Math.min( noteCount, NOTES_PER_CLIENT ) ).generate( conn );
+		}
+	}
+}
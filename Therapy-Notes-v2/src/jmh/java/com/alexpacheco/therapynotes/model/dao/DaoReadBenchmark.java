@@ -0,0 +1,134 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alexpacheco.therapynotes.controller.AppController;
+import com.alexpacheco.therapynotes.controller.SyntheticDataGenerator;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOption;
+import com.alexpacheco.therapynotes.util.DbUtil;
+
+/**
+ * Read hot paths against generated databases of 1k, 10k and 100k notes (see {@link BenchmarkDatabase}). Each call picks a random client,
+ * note or option so the numbers are not one cached row. Run with:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@benchmarks -Djmh.args="DaoReadBenchmark"
+ * </pre>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class DaoReadBenchmark
+{
+	@Param( { "1000", "10000", "100000" } )
+	int notes;
+	
+	private final NotesDao notesDao = new NotesDao();
+	private final ClientsDao clientsDao = new ClientsDao();
+	private final AssessmentOptionsDao optionsDao = new AssessmentOptionsDao();
+	private BenchmarkDatabase database;
+	private List<Integer> optionIds;
+	private Date rangeStart;
+	private Date rangeEnd;
+	
+	/**
+	 * Per-thread random source, so picks do not contend.
+	 */
+	@State( Scope.Thread )
+	public static class Picks
+	{
+		final SplittableRandom random = new SplittableRandom( 42 );
+	}
+	
+	@Setup( Level.Trial )
+	public void setUp() throws Exception
+	{
+		database = BenchmarkDatabase.ofSize( notes );
+		database.use();
+		
+		try( Connection conn = DbUtil.getConnection() )
+		{
+			optionIds = SyntheticDataGenerator.optionIds( conn, "symptoms" );
+		}
+		
+		// One month in the middle of the generated five years
+		Calendar calendar = Calendar.getInstance();
+		calendar.set( 2022, Calendar.MARCH, 1, 0, 0, 0 );
+		rangeStart = calendar.getTime();
+		calendar.set( 2022, Calendar.MARCH, 31, 0, 0, 0 );
+		rangeEnd = calendar.getTime();
+	}
+	
+	@TearDown( Level.Trial )
+	public void tearDown()
+	{
+		DbUtil.setDbUrl( null );
+	}
+	
+	@Benchmark
+	public List<Note> searchNotesByClient( Picks picks ) throws SQLException, TherapyAppException
+	{
+		return notesDao.searchNotes( _clientId( picks ), null, null );
+	}
+	
+	@Benchmark
+	public List<Note> searchNotesByDateRange() throws SQLException, TherapyAppException
+	{
+		return notesDao.searchNotes( null, rangeStart, rangeEnd );
+	}
+	
+	@Benchmark
+	public Note getNote( Picks picks ) throws TherapyAppException
+	{
+		return AppController.getNote( 1 + picks.random.nextInt( database.getNoteCount() ) );
+	}
+	
+	@Benchmark
+	public List<Client> findClientsByLastName() throws SQLException, TherapyAppException
+	{
+		return clientsDao.findClients( null, "son", null, false );
+	}
+	
+	@Benchmark
+	public List<Client> findClientsByCode( Picks picks ) throws SQLException, TherapyAppException
+	{
+		return clientsDao.findClients( null, null, SyntheticDataGenerator.clientCode( _clientId( picks ) ), false );
+	}
+	
+	@Benchmark
+	public AssessmentOption getOption( Picks picks ) throws SQLException
+	{
+		return optionsDao.getOption( optionIds.get( picks.random.nextInt( optionIds.size() ) ) );
+	}
+	
+	private int _clientId( Picks picks )
+	{
+		return BenchmarkDatabase.clientId( picks.random.nextInt( database.getClientCount() ) );
+	}
+}
@@ -0,0 +1,112 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.api.NoteApi;
+import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.util.DbUtil;
+
+/**
+ * Note save paths against a private copy of each generated database, so the shared ones stay unchanged. createNewNote inserts a copy of
+ * an existing note, with its symptoms, referrals and collateral contacts, each call; updateExistingNote rewrites one note with the next of
+ * 64 narratives generated in setup, so only the update is timed. createNotesBulk saves 1,000 copies through
+ * {@link NoteApi#createNotes(Iterable)}, reported per note. All run single-threaded, as the app saves one note at a time. Run with:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@benchmarks -Djmh.args="NoteWriteBenchmark"
+ * </pre>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class NoteWriteBenchmark
+{
+	@Param( { "1000", "10000", "100000" } )
+	int notes;
+	
+	private static final int BULK_NOTES = 1000;
+	private static final int NARRATIVES = 64;
+	
+	private final NotesDao notesDao = new NotesDao();
+	private final NoteApi noteApi = new NoteApi();
+	private final String[] narratives = new String[NARRATIVES];
+	private int nextNarrative;
+	private Note template;
+	private Note existing;
+	private List<Note> bulk;
+	
+	@Setup( Level.Trial )
+	public void setUp() throws Exception
+	{
+		BenchmarkDatabase.ofSize( notes ).copy().use();
+		template = notesDao.getNote( notes / 2 );
+		existing = notesDao.getNote( notes / 3 + 1 );
+		bulk = new ArrayList<>();
+		for( int i = 0; i < BULK_NOTES; i++ )
+		{
+			bulk.add( notesDao.getNote( 1 + i % notes ) );
+		}
+		Random random = new Random( 7 );
+		for( int i = 0; i < NARRATIVES; i++ )
+		{
+			narratives[i] = BenchmarkDatabase.narrative( random, 200 );
+		}
+	}
+	
+	@TearDown( Level.Trial )
+	public void tearDown()
+	{
+		DbUtil.setDbUrl( null );
+	}
+	
+	@Benchmark
+	public Note createNewNote() throws SQLException
+	{
+		template.setNoteId( null );
+		notesDao.createNewNote( template );
+		return template;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation( BULK_NOTES )
+	public int createNotesBulk() throws TherapyAppException
+	{
+		for( Note note : bulk )
+		{
+			note.setNoteId( null );
+		}
+		return noteApi.createNotes( bulk );
+	}
+	
+	@Benchmark
+	public Note updateExistingNote() throws SQLException
+	{
+		existing.setNarrative( narratives[nextNarrative] );
+		nextNarrative = ( nextNarrative + 1 ) % NARRATIVES;
+		notesDao.updateExistingNote( existing );
+		return existing;
+	}
+}
@@ -0,0 +1,76 @@
+package com.alexpacheco.therapynotes.util;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-call cost of resolving the logging call site. Compares the old Thread.getStackTrace lookup with the StackWalker lookup AppLogger
+ * now uses, and measures a full {@link AppLogger#info(String)} call with file output replaced by a discarding handler. Each call is made
+ * from beneath extra stack frames, since real log calls come from deep EDT and DAO stacks.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class AppLoggerBenchmark
+{
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+	
+	@Param( { "10", "50", "150" } )
+	int stackDepth;
+	
+	@Setup( Level.Trial )
+	public void setUp() throws IOException
+	{
+		BenchmarkLogging.discardLogOutput();
+	}
+	
+	@Benchmark
+	public Object stackTraceLookup()
+	{
+		return _atDepth( stackDepth, () -> Thread.currentThread().getStackTrace()[4] );
+	}
+	
+	@Benchmark
+	public Object stackWalkerLookup()
+	{
+		return _atDepth( stackDepth, () -> STACK_WALKER.walk( frames -> frames.skip( 3 ).findFirst().orElse( null ) ) );
+	}
+	
+	@Benchmark
+	public Object appLoggerInfo()
+	{
+		return _atDepth( stackDepth, () ->
+		{
+			AppLogger.info( "Database select on notes - SUCCESS" );
+			return null;
+		} );
+	}
+	
+	private interface Call
+	{
+		Object run();
+	}
+	
+	private static Object _atDepth( int depth, Call call )
+	{
+		if( depth == 0 )
+			return call.run();
+		return _atDepth( depth - 1, call );
+	}
+}
@@ -0,0 +1,61 @@
+package com.alexpacheco.therapynotes.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Keeps benchmarks from writing to the user's log directory and from timing log file I/O.
+ */
+public final class BenchmarkLogging
+{
+	private BenchmarkLogging()
+	{
+	}
+	
+	/**
+	 * Points AppLogger at a temporary directory, loads it, and replaces its handlers with one that discards every record. Call before
+	 * anything else that logs, since AppLogger opens its files when it is first used.
+	 */
+	public static void discardLogOutput() throws IOException
+	{
+		// The constant is inlined, so reading it does not load AppLogger early
+		Path logDir = Files.createTempDirectory( "therapynotes-benchmark-logs" );
+		System.setProperty( AppLogger.LOG_DIR_PROPERTY, logDir.toString() );
+		AppLogger.getSessionId();
+		
+		Logger logger = Logger.getLogger( "TherapyNotes" );
+		for( Handler handler : logger.getHandlers() )
+		{
+			logger.removeHandler( handler );
+			handler.close();
+		}
+		logger.addHandler( new Handler()
+		{
+			@Override
+			public void publish( LogRecord record )
+			{
+			}
+			
+			@Override
+			public void flush()
+			{
+			}
+			
+			@Override
+			public void close()
+			{
+			}
+		} );
+		
+		for( File file : logDir.toFile().listFiles() )
+		{
+			file.delete();
+		}
+		Files.deleteIfExists( logDir );
+	}
+}
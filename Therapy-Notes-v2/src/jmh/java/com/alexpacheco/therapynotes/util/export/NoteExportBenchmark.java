@@ -0,0 +1,201 @@
+package com.alexpacheco.therapynotes.util.export;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alexpacheco.therapynotes.controller.SyntheticDataGenerator;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.CollateralContact;
+import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.Referral;
+import com.alexpacheco.therapynotes.model.entities.Symptom;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AffectAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AppearanceAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOptionFactory;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOptionType;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.EyeContactAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.NextApptAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.SpeechAssessmentOption;
+import com.alexpacheco.therapynotes.util.BenchmarkLogging;
+
+/**
+ * Per-document cost of note export: building the display data, and writing a complete PDF or DOCX file. Notes are fully populated, with
+ * narratives of a few sentences (small), about a page (typical) or many pages (long). Each thread writes into its own directory, and the
+ * export log line goes to a discarding handler, so the numbers are the exporter's own. Run with:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@benchmarks -Djmh.args="NoteExportBenchmark -prof gc"
+ * mvn -Pbenchmark test-compile exec:exec@benchmarks -Djmh.args="NoteExportBenchmark -t 4 -bm thrpt -tu s"
+ * </pre>
+ *
+ * -prof gc adds the allocation rate and bytes allocated per document; -t runs that many threads at once, for throughput when exports run in
+ * parallel.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class NoteExportBenchmark
+{
+	@Param( { "small", "typical", "long" } )
+	String narrative;
+	
+	private Note note;
+	
+	/**
+	 * Per-thread output directory, so concurrent exports do not write the same file.
+	 */
+	@State( Scope.Thread )
+	public static class Output
+	{
+		Path directory;
+		String pdfPath;
+		String docxPath;
+		
+		@Setup( Level.Trial )
+		public void setUp() throws IOException
+		{
+			directory = Files.createTempDirectory( "note-export-benchmark" );
+			pdfPath = directory.resolve( "note.pdf" ).toString();
+			docxPath = directory.resolve( "note.docx" ).toString();
+		}
+		
+		@TearDown( Level.Trial )
+		public void tearDown() throws IOException
+		{
+			Files.deleteIfExists( Path.of( pdfPath ) );
+			Files.deleteIfExists( Path.of( docxPath ) );
+			Files.deleteIfExists( directory );
+		}
+	}
+	
+	@Setup( Level.Trial )
+	public void setUp() throws IOException
+	{
+		BenchmarkLogging.discardLogOutput();
+		
+		int words = switch( narrative )
+		{
+			case "small" -> 40;
+			case "typical" -> 350;
+			case "long" -> 6000;
+			default -> throw new IllegalArgumentException( "Unknown narrative size " + narrative );
+		};
+		note = _note( words );
+	}
+	
+	@Benchmark
+	public Object prepareExportData()
+	{
+		return AbstractNoteExporter.prepareExportData( note );
+	}
+	
+	@Benchmark
+	public void exportToPdf( Output output ) throws TherapyAppException
+	{
+		NotePdfExporter.exportToPdf( note, output.pdfPath );
+	}
+	
+	@Benchmark
+	public void exportToDocx( Output output ) throws TherapyAppException
+	{
+		NoteDocxExporter.exportToDocx( note, output.docxPath );
+	}
+	
+	/**
+	 * A note with every section filled in, and a narrative of about the given number of words in paragraphs of up to 120 words.
+	 */
+	private static Note _note( int words )
+	{
+		Random random = new Random( 11 );
+		
+		StringBuilder text = new StringBuilder();
+		for( int remaining = words; remaining > 0; remaining -= 120 )
+		{
+			if( text.length() > 0 )
+				text.append( "\n\n" );
+			text.append( SyntheticDataGenerator.narrative( random, Math.min( 120, remaining ) ) );
+		}
+		
+		Client client = new Client();
+		client.setClientId( 1000 );
+		client.setClientCode( SyntheticDataGenerator.clientCode( 1000 ) );
+		client.setFirstName( "Maya" );
+		client.setLastName( "Okafor" );
+		client.setDateOfBirth( new GregorianCalendar( 1987, Calendar.APRIL, 12 ).getTime() );
+		
+		Note note = new Note();
+		note.setNoteId( 4321 );
+		note.setClient( client );
+		note.setApptDateTime( LocalDateTime.of( 2024, 3, 14, 10, 0 ) );
+		note.setVirtualAppt( true );
+		note.setDiagnosis( "F41.1 - Generalized anxiety disorder" );
+		note.setSessionNumber( 12 );
+		note.setSessionLength( "50 minutes" );
+		note.setApptComment( "Client joined from work and was on time." );
+		note.setNarrative( text.toString() );
+		note.setAppearance( (AppearanceAssessmentOption) AssessmentOptionFactory.createAssessmentOption( 1, "Well groomed", null,
+				AssessmentOptionType.APPEARANCE ) );
+		note.setAppearanceComment( "Dressed appropriately for the weather." );
+		note.setSpeech( (SpeechAssessmentOption) AssessmentOptionFactory.createAssessmentOption( 2, "Normal rate and volume", null,
+				AssessmentOptionType.SPEECH ) );
+		note.setAffect(
+				(AffectAssessmentOption) AssessmentOptionFactory.createAssessmentOption( 3, "Anxious", null, AssessmentOptionType.AFFECT ) );
+		note.setAffectComment( "Brightened when discussing weekend plans." );
+		note.setEyeContact( (EyeContactAssessmentOption) AssessmentOptionFactory.createAssessmentOption( 4, "Appropriate", null,
+				AssessmentOptionType.EYE_CONTACT ) );
+		note.setNextAppt(
+				(NextApptAssessmentOption) AssessmentOptionFactory.createAssessmentOption( 5, "One week", null, AssessmentOptionType.NEXT_APPT ) );
+		note.setNextApptComment( "Same time next week." );
+		
+		List<Symptom> symptoms = new ArrayList<>();
+		for( String name : new String[] { "Anxiety", "Insomnia", "Irritability", "Difficulty concentrating" } )
+		{
+			Symptom symptom = new Symptom();
+			symptom.setSymptomId( 10 + symptoms.size() );
+			symptom.setSymptomName( name );
+			symptoms.add( symptom );
+		}
+		note.setSymptoms( symptoms );
+		
+		Referral referral = new Referral();
+		referral.setReferralTypeId( 20 );
+		referral.setReferralName( "Psychiatry" );
+		note.setReferrals( List.of( referral ) );
+		note.setReferralComment( "Medication evaluation requested." );
+		
+		CollateralContact contact = new CollateralContact();
+		contact.setCollateralContactTypeId( 30 );
+		contact.setCollateralContactName( "Primary care physician" );
+		note.setCollateralContacts( List.of( contact ) );
+		note.setCollateralContactComment( "Release of information on file." );
+		
+		note.setCertifiedDate( LocalDateTime.of( 2024, 3, 14, 12, 0 ) );
+		return note;
+	}
+}
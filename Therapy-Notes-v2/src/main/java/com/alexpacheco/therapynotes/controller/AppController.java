@@ -9,6 +9,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.swing.JFrame;
@@ -22,22 +23,23 @@ import com.alexpacheco.therapynotes.install.SetupConfigurationManager;
 import com.alexpacheco.therapynotes.model.api.AppLogApi;
 import com.alexpacheco.therapynotes.model.api.AssessmentOptionApi;
 import com.alexpacheco.therapynotes.model.api.ClientApi;
-import com.alexpacheco.therapynotes.model.api.CollateralContactApi;
 import com.alexpacheco.therapynotes.model.api.ContactApi;
 import com.alexpacheco.therapynotes.model.api.NoteApi;
 import com.alexpacheco.therapynotes.model.api.PreferenceApi;
-import com.alexpacheco.therapynotes.model.api.ReferralApi;
-import com.alexpacheco.therapynotes.model.api.SymptomApi;
 import com.alexpacheco.therapynotes.model.entities.AppLog;
 import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.ClientNameIndex;
 import com.alexpacheco.therapynotes.model.entities.Contact;
 import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.NotePage;
+import com.alexpacheco.therapynotes.model.entities.NoteSearchHit;
 import com.alexpacheco.therapynotes.model.entities.Preference;
 import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOption;
 import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOptionFactory;
 import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOptionType;
 import com.alexpacheco.therapynotes.util.AppLogger;
 import com.alexpacheco.therapynotes.util.JavaUtils;
+import com.alexpacheco.therapynotes.util.PreferencesUtil;
 import com.alexpacheco.therapynotes.view.MainWindow;
 
 public class AppController
@@ -51,9 +53,6 @@ public class AppController
 	private static ClientApi clientApi = new ClientApi();
 	private static ContactApi contactApi = new ContactApi();
 	private static AssessmentOptionApi assessmentOptionApi = new AssessmentOptionApi();
-	private static SymptomApi symptomApi = new SymptomApi();
-	private static ReferralApi referralApi = new ReferralApi();
-	private static CollateralContactApi collateralContactApi = new CollateralContactApi();
 	private static AppLogApi appLogApi = new AppLogApi();
 	private static PreferenceApi preferenceApi = new PreferenceApi();
 	
@@ -127,14 +126,15 @@ public class AppController
 	
 	public static HashMap<String, Integer> getClientMap() throws TherapyAppException
 	{
-		HashMap<String, Integer> clientMap = new HashMap<String, Integer>();
-		List<Client> clients = clientApi.getAllClients( false );
-		for( Client client : clients )
-		{
-			clientMap.put( client.getDisplayName(), client.getClientId() );
-		}
-		
-		return clientMap;
+		return clientApi.getClientNameIndex().toMap();
+	}
+	
+	/**
+	 * Returns the shared index of active client names used by client pickers.
+	 */
+	public static ClientNameIndex getClientNameIndex() throws TherapyAppException
+	{
+		return clientApi.getClientNameIndex();
 	}
 	
 	public static void createClient( Client client ) throws TherapyAppException
@@ -266,6 +266,14 @@ public class AppController
 		return options;
 	}
 	
+	/**
+	 * Loads the assessment option cache so the first note screen opened does not have to.
+	 */
+	public static void preloadAssessmentOptions() throws TherapyAppException
+	{
+		assessmentOptionApi.getOptions( null );
+	}
+	
 	public static void saveNote( Note note ) throws TherapyAppException
 	{
 		if( note.getNoteId() == null )
@@ -284,37 +292,45 @@ public class AppController
 	 */
 	public static List<Note> searchNotes( Integer clientId, Date startDate, Date endDate ) throws TherapyAppException
 	{
-		List<Note> notes = noteApi.searchNotes( clientId, startDate, endDate );
-		for( Note note : notes )
-		{
-			note.setSymptoms( symptomApi.getSelectedSymptomsForNote( note.getNoteId() ) );
-			note.setReferrals( referralApi.getSelectedReferralsForNote( note.getNoteId() ) );
-			note.setCollateralContacts( collateralContactApi.getSelectedCollateralContactsForNote( note.getNoteId() ) );
-		}
-		
-		return notes;
+		return noteApi.searchNotes( clientId, startDate, endDate );
 	}
 	
-	public static List<Note> getNotesByClientId( int clientId ) throws TherapyAppException
+	/**
+	 * Returns one page of notes matching the search filters, newest first.
+	 * 
+	 * @param pageSize  Number of notes per page
+	 * @param pageToken Next page token from the previous page, or null for the first page
+	 */
+	public static NotePage searchNotes( Integer clientId, Date startDate, Date endDate, int pageSize, String pageToken )
+			throws TherapyAppException
 	{
-		List<Note> notes = noteApi.searchNotes( clientId, null, null );
-		for( Note note : notes )
-		{
-			note.setSymptoms( symptomApi.getSelectedSymptomsForNote( note.getNoteId() ) );
-			note.setReferrals( referralApi.getSelectedReferralsForNote( note.getNoteId() ) );
-			note.setCollateralContacts( collateralContactApi.getSelectedCollateralContactsForNote( note.getNoteId() ) );
-		}
-		
-		return notes;
+		return noteApi.searchNotesPage( clientId, startDate, endDate, pageSize, pageToken );
+	}
+	
+	public static int countNotes( Integer clientId, Date startDate, Date endDate ) throws TherapyAppException
+	{
+		return noteApi.countNotes( clientId, startDate, endDate );
+	}
+	
+	/**
+	 * Ranked full-text search over note narratives and comments.
+	 * 
+	 * @param text Words to search for; the last word also matches as a prefix
+	 */
+	public static List<NoteSearchHit> searchNotesFullText( String text, Integer clientId, Date startDate, Date endDate, int limit )
+			throws TherapyAppException
+	{
+		return noteApi.searchNotesFullText( text, clientId, startDate, endDate, limit );
+	}
+	
+	public static NotePage getNotesByClientId( int clientId, int pageSize, String pageToken ) throws TherapyAppException
+	{
+		return noteApi.searchNotesPage( clientId, null, null, pageSize, pageToken );
 	}
 	
 	public static Note getNote( int noteId ) throws TherapyAppException
 	{
-		Note note = noteApi.getNote( noteId );
-		note.setSymptoms( symptomApi.getSelectedSymptomsForNote( noteId ) );
-		note.setReferrals( referralApi.getSelectedReferralsForNote( noteId ) );
-		note.setCollateralContacts( collateralContactApi.getSelectedCollateralContactsForNote( noteId ) );
-		return note;
+		return noteApi.getNote( noteId );
 	}
 	
 	public static Integer getHighestUsedSessionNumberForClient( Integer clientId ) throws TherapyAppException
@@ -342,7 +358,17 @@ public class AppController
 		return appLogApi.getLogs( startDate, endDate, logLevel, maxResults );
 	}
 	
-	public static List<String> getIcd10Codes()
+	/**
+	 * Delivers new log entries to the listener, on a background thread, as they are written.
+	 * 
+	 * @return A handle that stops following when run
+	 */
+	public static Runnable followLogs( Consumer<List<AppLog>> listener ) throws TherapyAppException
+	{
+		return appLogApi.followLogs( listener );
+	}
+	
+	public static synchronized List<String> getIcd10Codes()
 	{
 		if( icd10Codes == null || icd10Codes.isEmpty() )
 		{
@@ -372,12 +398,26 @@ public class AppController
 	
 	public static int savePrefernces( List<Preference> preferences ) throws TherapyAppException
 	{
-		return preferenceApi.savePreferences( preferences );
+		try
+		{
+			return preferenceApi.savePreferences( preferences );
+		}
+		finally
+		{
+			PreferencesUtil.reload();
+		}
 	}
 	
 	public static void resetAllToDefaults() throws TherapyAppException
 	{
-		preferenceApi.resetAllToDefaults();
+		try
+		{
+			preferenceApi.resetAllToDefaults();
+		}
+		finally
+		{
+			PreferencesUtil.reload();
+		}
 	}
 	
 	public static String getConfiguredDbPath()
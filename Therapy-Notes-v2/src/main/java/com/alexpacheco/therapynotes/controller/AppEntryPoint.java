@@ -1,5 +1,11 @@
 package com.alexpacheco.therapynotes.controller;
 
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
@@ -11,70 +17,112 @@ import com.alexpacheco.therapynotes.security.SecureStorageException;
 import com.alexpacheco.therapynotes.util.AppFonts;
 import com.alexpacheco.therapynotes.util.AppLogger;
 import com.alexpacheco.therapynotes.util.GlobalExceptionHandler;
+import com.alexpacheco.therapynotes.view.components.Cmb_ICD10Diagnosis;
 import com.alexpacheco.therapynotes.view.dialogs.Dlg_PinEntry;
 
+/**
+ * Starts the application. Startup work runs as a {@link StartupPipeline} on background threads: logging, look and feel, ICD-10 codes and
+ * secure storage start together, the database is initialized once setup is complete, and default preferences and the assessment option
+ * cache are loaded once the database is ready. The main thread only waits for what the next step needs, and the EDT is used only for
+ * dialogs and the main window, so the PIN can be entered while the database is still being initialized.
+ */
 public class AppEntryPoint
 {
+	private static final String LOGGING = "logging";
+	private static final String LOOK_AND_FEEL = "look-and-feel";
+	private static final String ICD10_CODES = "icd10-codes";
+	private static final String SECURE_STORAGE = "secure-storage";
+	private static final String SETUP = "setup";
+	private static final String DATABASE = "database";
+	private static final String DEFAULT_PREFERENCES = "default-preferences";
+	private static final String OPTION_CACHE = "option-cache";
+	private static final int STARTUP_THREADS = 4;
+	
 	public static void main( String[] args )
 	{
 		GlobalExceptionHandler.install();
 		
-		SwingUtilities.invokeLater( () ->
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool( STARTUP_THREADS, task ->
 		{
-			try
-			{
-				PinManager.initialize();
-				showSetupWizard();
-				initializeDatabase();
-				setLookAndFeel();
-				
-				if( PinManager.isPinConfigured() )
-				{
-					if( !Dlg_PinEntry.authenticate( null ) )
-					{
-						AppLogger.logShutdown();
-						System.exit( 0 );
-					}
-				}
-				
-				AppController.launchMainWindow();
-			}
-			catch( SecureStorageException e )
+			Thread thread = new Thread( task, "startup-" + threadCount.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		} );
+		
+		StartupPipeline startup = new StartupPipeline( executor );
+		// Class initialization opens the log files and reads the last sequence number from them
+		startup.add( LOGGING, AppLogger::getSessionId );
+		startup.add( LOOK_AND_FEEL, AppEntryPoint::setLookAndFeel );
+		startup.add( ICD10_CODES, Cmb_ICD10Diagnosis::preloadIndex );
+		startup.add( SECURE_STORAGE, PinManager::initialize );
+		// The wizard can set a PIN, and the database location comes from the configuration it writes
+		startup.add( SETUP, AppEntryPoint::showSetupWizard, LOOK_AND_FEEL, SECURE_STORAGE );
+		startup.add( DATABASE, DatabaseInitializer::initDb, SETUP );
+		startup.add( DEFAULT_PREFERENCES, DatabaseInitializer::initializeDefaultPreferences, DATABASE );
+		startup.add( OPTION_CACHE, AppController::preloadAssessmentOptions, DATABASE );
+		startup.whenFinished( executor::shutdown );
+		
+		try
+		{
+			startup.await( SETUP );
+		}
+		catch( SecureStorageException e )
+		{
+			// Critical failure - cannot secure credentials
+			AppLogger.error(
+					"Security Initialization Failed. This application requires secure credential storage which is not available on this system.",
+					e );
+			_onEdt( () -> JOptionPane.showMessageDialog( null,
+					"Security Initialization Failed\n\n" + "This application requires secure credential storage which is not\n"
+							+ "available on this system.\n\n" + "Technical details: " + e.getMessage(),
+					"Security Error", JOptionPane.ERROR_MESSAGE ) );
+			System.exit( 1 );
+		}
+		catch( Exception e )
+		{
+			throw new IllegalStateException( "Startup failed", e );
+		}
+		
+		if( PinManager.isPinConfigured() )
+		{
+			AtomicBoolean authenticated = new AtomicBoolean();
+			_onEdt( () -> authenticated.set( Dlg_PinEntry.authenticate( null ) ) );
+			if( !authenticated.get() )
 			{
-				// Critical failure - cannot secure credentials
-				AppLogger.error(
-						"Security Initialization Failed. This application requires secure credential storage which is not available on this system.",
-						e );
-				JOptionPane.showMessageDialog( null,
-						"Security Initialization Failed\n\n" + "This application requires secure credential storage which is not\n"
-								+ "available on this system.\n\n" + "Technical details: " + e.getMessage(),
-						"Security Error", JOptionPane.ERROR_MESSAGE );
-				System.exit( 1 );
+				AppLogger.logShutdown();
+				System.exit( 0 );
 			}
-		} );
+		}
+		
+		initializeDatabase( startup );
+		SwingUtilities.invokeLater( AppController::launchMainWindow );
 	}
 	
 	private static void showSetupWizard()
 	{
 		if( !SetupConfigurationManager.isSetupComplete() )
 		{
-			setLookAndFeel();
-			
-			boolean setupCompleted = SetupWizardDialog.showIfFirstRun( null );
+			_onEdt( AppEntryPoint::_runSetupWizard );
+		}
+	}
+	
+	private static void _runSetupWizard()
+	{
+		boolean setupCompleted = SetupWizardDialog.showIfFirstRun( null );
+		
+		if( !setupCompleted )
+		{
+			// User cancelled setup
+			int result = JOptionPane.showConfirmDialog( null,
+					"Setup was not completed. Would you like to continue with default settings?", "Setup Incomplete",
+					JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE );
 			
-			if( !setupCompleted )
+			if( result != JOptionPane.YES_OPTION )
 			{
-				// User cancelled setup
-				int result = JOptionPane.showConfirmDialog( null,
-						"Setup was not completed. Would you like to continue with default settings?", "Setup Incomplete",
-						JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE );
-				
-				if( result != JOptionPane.YES_OPTION )
-				{
-					AppLogger.logShutdown();
-					System.exit( 0 );
-					return;
-				}
+				AppLogger.logShutdown();
+				System.exit( 0 );
+				return;
 			}
 		}
 	}
@@ -89,31 +137,58 @@ public class AppEntryPoint
 		catch( Exception e )
 		{
 			AppLogger.error( "Error setting look and feel.", e );
-			AppController.showBasicErrorPopup( "Error setting look and feel." );
+			SwingUtilities.invokeLater( () -> AppController.showBasicErrorPopup( "Error setting look and feel." ) );
 		}
 	}
 	
-	private static void initializeDatabase()
+	private static void initializeDatabase( StartupPipeline startup )
 	{
 		try
 		{
-			DatabaseInitializer.initDb();
+			startup.await( DATABASE );
 			AppLogger.info( "DB configured at: " + SetupConfigurationManager.loadConfiguration().getDatabasePath() );
 		}
 		catch( TherapyAppException e )
 		{
-			AppController.showBasicErrorPopup( e, "Critical database initialization error:" );
+			_onEdt( () -> AppController.showBasicErrorPopup( e, "Critical database initialization error:" ) );
 			AppLogger.logShutdown();
 			System.exit( 1 );
 		}
+		catch( Exception e )
+		{
+			throw new IllegalStateException( "Startup failed", e );
+		}
 		
 		try
 		{
-			DatabaseInitializer.initializeDefaultPreferences();
+			startup.await( DEFAULT_PREFERENCES );
 		}
 		catch( TherapyAppException e )
 		{
-			AppController.showBasicErrorPopup( e, "Error initializing default preferences:" );
+			_onEdt( () -> AppController.showBasicErrorPopup( e, "Error initializing default preferences:" ) );
+		}
+		catch( Exception e )
+		{
+			throw new IllegalStateException( "Startup failed", e );
+		}
+	}
+	
+	/**
+	 * Runs a task on the EDT and waits for it to finish.
+	 */
+	private static void _onEdt( Runnable task )
+	{
+		try
+		{
+			SwingUtilities.invokeAndWait( task );
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch( InvocationTargetException e )
+		{
+			throw new IllegalStateException( e.getCause() );
 		}
 	}
 }
@@ -0,0 +1,635 @@
+package com.alexpacheco.therapynotes.controller;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.EntityValidator;
+import com.alexpacheco.therapynotes.model.api.AssessmentOptionApi;
+import com.alexpacheco.therapynotes.model.api.ClientApi;
+import com.alexpacheco.therapynotes.model.api.ContactApi;
+import com.alexpacheco.therapynotes.model.api.ImportCheckpointApi;
+import com.alexpacheco.therapynotes.model.api.NoteApi;
+import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.CollateralContact;
+import com.alexpacheco.therapynotes.model.entities.Contact;
+import com.alexpacheco.therapynotes.model.entities.ImportCheckpoint;
+import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.Referral;
+import com.alexpacheco.therapynotes.model.entities.Symptom;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AffectAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AppearanceAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOptionType;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.EyeContactAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.NextApptAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.SpeechAssessmentOption;
+import com.alexpacheco.therapynotes.util.AppLogger;
+import com.alexpacheco.therapynotes.util.DateFormatUtil;
+import com.alexpacheco.therapynotes.util.DbUtil;
+import com.alexpacheco.therapynotes.util.importer.ImportRecord;
+import com.alexpacheco.therapynotes.util.importer.ImportRecordReader;
+
+/**
+ * Imports clients, contacts or notes from a CSV file with a header row or a JSON Lines file. Records are read one at a time, converted and
+ * validated with {@link EntityValidator}, and written through the Api in transactions of {@link #setBatchSize(int)} records, so memory use
+ * is bounded by the batch size plus the client code and assessment option lookups.
+ *
+ * Contacts and notes name their client by client_code. Note options are given by name, matched without regard to case, and list options
+ * (symptoms, referrals, collateral_contacts) as a JSON array or one value separated by semicolons. Records that cannot be imported are
+ * written to {@code <file>.rejected.csv} with the reason, once their batch has been committed.
+ *
+ * The number of records processed is saved as an {@link ImportCheckpoint} for the file's absolute path, in the same transaction as the
+ * batch it covers, so running the same import again after a failure continues where it stopped without saving any record twice, and
+ * running it again after it finished does nothing. {@link #clearCheckpoint(Path)} starts a file over.
+ */
+public class DataImporter
+{
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+	static final String REJECTED_SUFFIX = ".rejected.csv";
+	private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern( "yyyy-MM-dd['T'][' ']HH:mm[:ss]" );
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern( "yyyy-MM-dd" );
+	
+	public enum EntityType
+	{
+		CLIENTS, CONTACTS, NOTES
+	}
+	
+	/**
+	 * Counts from one run of an import.
+	 */
+	public static class Result
+	{
+		private int read;
+		private int imported;
+		private int rejected;
+		private int skipped;
+		
+		/** Records read and processed in this run. */
+		public int getRead()
+		{
+			return read;
+		}
+		
+		/** Records saved in this run. */
+		public int getImported()
+		{
+			return imported;
+		}
+		
+		/** Records written to the rejected-rows report in this run. */
+		public int getRejected()
+		{
+			return rejected;
+		}
+		
+		/** Records passed over because an earlier run had already processed them. */
+		public int getSkipped()
+		{
+			return skipped;
+		}
+	}
+	
+	private final ClientApi clientApi = new ClientApi();
+	private final ContactApi contactApi = new ContactApi();
+	private final NoteApi noteApi = new NoteApi();
+	private final AssessmentOptionApi optionApi = new AssessmentOptionApi();
+	private final ImportCheckpointApi checkpointApi = new ImportCheckpointApi();
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private IntConsumer progressListener;
+	
+	private Map<String, Integer> clientIds;
+	private Map<AssessmentOptionType, Map<String, AssessmentOption>> options;
+	
+	/**
+	 * Sets how many records are written per transaction and between checkpoints.
+	 */
+	public DataImporter setBatchSize( int batchSize )
+	{
+		this.batchSize = Math.max( 1, batchSize );
+		return this;
+	}
+	
+	/**
+	 * Sets a listener called with the number of records processed so far, including any skipped on resume, after each committed batch.
+	 */
+	public DataImporter setProgressListener( IntConsumer progressListener )
+	{
+		this.progressListener = progressListener;
+		return this;
+	}
+	
+	public Result importClients( Path file ) throws TherapyAppException
+	{
+		return importFile( EntityType.CLIENTS, file );
+	}
+	
+	public Result importContacts( Path file ) throws TherapyAppException
+	{
+		return importFile( EntityType.CONTACTS, file );
+	}
+	
+	public Result importNotes( Path file ) throws TherapyAppException
+	{
+		return importFile( EntityType.NOTES, file );
+	}
+	
+	/**
+	 * Imports the file, resuming from its checkpoint if there is one. A batch that fails to save stops the import with the checkpoint left
+	 * at the last committed batch.
+	 */
+	public Result importFile( EntityType type, Path file ) throws TherapyAppException
+	{
+		Path reportFile = _sibling( file, REJECTED_SUFFIX );
+		ImportCheckpoint checkpoint = _readCheckpoint( file );
+		long done = checkpoint.getRecords();
+		Result result = new Result();
+		if( checkpoint.isComplete() )
+		{
+			AppLogger.info( "Import of " + file + " already completed; nothing to do." );
+			return result;
+		}
+		
+		clientIds = clientApi.getClientIdsByCode();
+		if( type == EntityType.NOTES )
+			_loadOptions();
+		
+		List<Object> batch = new ArrayList<>( Math.min( batchSize, 10_000 ) );
+		List<String> rejects = new ArrayList<>();
+		long processed = done;
+		boolean resuming = done > 0 && Files.exists( reportFile );
+		
+		try( ImportRecordReader reader = ImportRecordReader.open( file );
+				Writer report = Files.newBufferedWriter( reportFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+						resuming ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE ) )
+		{
+			if( !resuming )
+				report.write( "Record,Line,Reason" + System.lineSeparator() );
+			
+			ImportRecord record;
+			while( ( record = reader.next() ) != null )
+			{
+				if( record.getRecordNumber() <= done )
+				{
+					result.skipped++;
+					continue;
+				}
+				
+				result.read++;
+				processed = record.getRecordNumber();
+				try
+				{
+					if( record.getError() != null )
+						throw new TherapyAppException( record.getError(), ErrorCode.INVALID_INPUT );
+					batch.add( _convert( type, record ) );
+				}
+				catch( TherapyAppException e )
+				{
+					rejects.add( record.getRecordNumber() + "," + record.getLineNumber() + "," + Exporter.escapeCsvValue( e.getMessage() ) );
+				}
+				
+				if( batch.size() + rejects.size() >= batchSize )
+					_flush( type, batch, rejects, report, checkpoint, processed, false, file, result );
+			}
+			_flush( type, batch, rejects, report, checkpoint, processed, true, file, result );
+		}
+		catch( IOException e )
+		{
+			AppLogger.error( "Import of " + file + " failed: " + e.getMessage(), e );
+			throw new TherapyAppException( "Could not read " + file.getFileName() + ": " + e.getMessage(), ErrorCode.INVALID_INPUT );
+		}
+		finally
+		{
+			clientIds = null;
+			options = null;
+		}
+		
+		AppLogger.info( "Imported " + result.imported + " " + type.name().toLowerCase( Locale.ROOT ) + " from " + file + ", rejected "
+				+ result.rejected + ", skipped " + result.skipped + "." );
+		return result;
+	}
+	
+	/**
+	 * Forgets how far earlier runs got, so the next import of the file starts from its first record.
+	 */
+	public void clearCheckpoint( Path file ) throws TherapyAppException
+	{
+		checkpointApi.deleteCheckpoint( checkpointSource( file ) );
+	}
+	
+	/**
+	 * Saves the batch together with the advanced checkpoint, then reports its rejects, so a batch that fails leaves neither behind.
+	 */
+	private void _flush( EntityType type, List<Object> batch, List<String> rejects, Writer report, ImportCheckpoint checkpoint,
+			long processed, boolean complete, Path file, Result result ) throws TherapyAppException, IOException
+	{
+		checkpoint.setRecords( processed );
+		checkpoint.setComplete( complete );
+		checkpoint.setFileSize( Files.size( file ) );
+		
+		if( batch.isEmpty() )
+		{
+			checkpointApi.saveCheckpoint( checkpoint );
+		}
+		else
+		{
+			switch( type )
+			{
+				case CLIENTS ->
+				{
+					List<Client> clients = _cast( batch );
+					clientApi.createClients( clients, checkpoint );
+					for( Client client : clients )
+					{
+						clientIds.put( client.getClientCode().toUpperCase( Locale.ROOT ), client.getClientId() );
+					}
+				}
+				case CONTACTS -> contactApi.createContacts( _cast( batch ), checkpoint );
+				case NOTES -> noteApi.createNotes( _cast( batch ), checkpoint );
+			}
+		}
+		
+		for( String reject : rejects )
+		{
+			report.write( reject );
+			report.write( System.lineSeparator() );
+		}
+		report.flush();
+		
+		result.imported += batch.size();
+		result.rejected += rejects.size();
+		batch.clear();
+		rejects.clear();
+		
+		if( progressListener != null )
+			progressListener.accept( (int) processed );
+	}
+	
+	private ImportCheckpoint _readCheckpoint( Path file ) throws TherapyAppException
+	{
+		String source = checkpointSource( file );
+		ImportCheckpoint checkpoint = checkpointApi.getCheckpoint( source );
+		if( checkpoint == null )
+			return new ImportCheckpoint( source );
+		
+		long size;
+		try
+		{
+			size = Files.size( file );
+		}
+		catch( IOException e )
+		{
+			AppLogger.error( "Import of " + file + " failed: " + e.getMessage(), e );
+			throw new TherapyAppException( "Could not read " + file.getFileName() + ": " + e.getMessage(), ErrorCode.INVALID_INPUT );
+		}
+		
+		// Appending rows to a finished file is fine; anything else means the record numbers no longer line up
+		if( size < checkpoint.getFileSize() )
+			throw new TherapyAppException( file.getFileName() + " has changed since it was last imported. Restart the import to import it "
+					+ "from the start.", ErrorCode.INVALID_INPUT );
+		if( size > checkpoint.getFileSize() )
+			checkpoint.setComplete( false );
+		return checkpoint;
+	}
+	
+	private void _loadOptions() throws TherapyAppException
+	{
+		options = new EnumMap<>( AssessmentOptionType.class );
+		for( AssessmentOptionType optionType : AssessmentOptionType.values() )
+		{
+			Map<String, AssessmentOption> byName = new HashMap<>();
+			for( AssessmentOption option : optionApi.getOptions( optionType ) )
+			{
+				byName.put( option.getName().trim().toLowerCase( Locale.ROOT ), option );
+			}
+			options.put( optionType, byName );
+		}
+	}
+	
+	private Object _convert( EntityType type, ImportRecord record ) throws TherapyAppException
+	{
+		return switch( type )
+		{
+			case CLIENTS -> _toClient( record );
+			case CONTACTS -> _toContact( record );
+			case NOTES -> _toNote( record );
+		};
+	}
+	
+	private Client _toClient( ImportRecord record ) throws TherapyAppException
+	{
+		Client client = new Client();
+		client.setClientCode( record.getString( "client_code" ) );
+		client.setFirstName( record.getString( "first_name" ) );
+		client.setLastName( record.getString( "last_name" ) );
+		client.setDateOfBirth( _date( record, "date_of_birth" ) );
+		client.setEmail1( record.getString( "email1" ) );
+		client.setEmail2( record.getString( "email2" ) );
+		client.setEmail3( record.getString( "email3" ) );
+		client.setPhone1( record.getString( "phone1" ) );
+		client.setPhone2( record.getString( "phone2" ) );
+		client.setPhone3( record.getString( "phone3" ) );
+		client.setClientNotes( record.getString( "client_notes" ) );
+		client.setInactive( _boolean( record, "inactive" ) );
+		EntityValidator.validateClient( client );
+		
+		// Reserve the code now so a later record in the same batch cannot reuse it
+		String key = client.getClientCode().toUpperCase( Locale.ROOT );
+		if( clientIds.containsKey( key ) )
+			throw new TherapyAppException( "Client code " + client.getClientCode() + " is already in use.", ErrorCode.CONFLICT );
+		clientIds.put( key, null );
+		return client;
+	}
+	
+	private Contact _toContact( ImportRecord record ) throws TherapyAppException
+	{
+		Contact contact = new Contact();
+		contact.setLinkedClientId( _clientId( record ) );
+		contact.setFirstName( record.getString( "first_name" ) );
+		contact.setLastName( record.getString( "last_name" ) );
+		contact.setEmergencyContact( _boolean( record, "emergency_contact" ) );
+		contact.setEmail1( record.getString( "email1" ) );
+		contact.setEmail2( record.getString( "email2" ) );
+		contact.setEmail3( record.getString( "email3" ) );
+		contact.setPhone1( record.getString( "phone1" ) );
+		contact.setPhone2( record.getString( "phone2" ) );
+		contact.setPhone3( record.getString( "phone3" ) );
+		EntityValidator.validateContact( contact );
+		return contact;
+	}
+	
+	private Note _toNote( ImportRecord record ) throws TherapyAppException
+	{
+		Client client = new Client();
+		client.setClientId( _clientId( record ) );
+		client.setClientCode( record.getString( "client_code" ) );
+		
+		Note note = new Note();
+		note.setClient( client );
+		note.setApptDateTime( _dateTime( record, "appt_date_time" ) );
+		note.setVirtualAppt( _boolean( record, "virtual_appt" ) );
+		note.setApptComment( record.getString( "appt_note" ) );
+		note.setDiagnosis( record.getString( "diagnosis" ) );
+		note.setSessionNumber( _integer( record, "session_number" ) );
+		note.setSessionLength( record.getString( "session_length" ) );
+		note.setNarrative( record.getString( "narrative" ) );
+		note.setAppearance( (AppearanceAssessmentOption) _option( record, "appearance", AssessmentOptionType.APPEARANCE ) );
+		note.setAppearanceComment( record.getString( "appearance_comment" ) );
+		note.setSpeech( (SpeechAssessmentOption) _option( record, "speech", AssessmentOptionType.SPEECH ) );
+		note.setSpeechComment( record.getString( "speech_comment" ) );
+		note.setAffect( (AffectAssessmentOption) _option( record, "affect", AssessmentOptionType.AFFECT ) );
+		note.setAffectComment( record.getString( "affect_comment" ) );
+		note.setEyeContact( (EyeContactAssessmentOption) _option( record, "eye_contact", AssessmentOptionType.EYE_CONTACT ) );
+		note.setEyeContactComment( record.getString( "eye_contact_comment" ) );
+		note.setNextAppt( (NextApptAssessmentOption) _option( record, "next_appt", AssessmentOptionType.NEXT_APPT ) );
+		note.setNextApptComment( record.getString( "next_appt_comment" ) );
+		note.setReferralComment( record.getString( "referral_comment" ) );
+		note.setCollateralContactComment( record.getString( "collateral_contact_comment" ) );
+		note.setCertifiedDate( _dateTime( record, "certified" ) );
+		
+		List<Symptom> symptoms = new ArrayList<>();
+		for( AssessmentOption option : _options( record, "symptoms", AssessmentOptionType.SYMPTOMS ) )
+		{
+			Symptom symptom = new Symptom();
+			symptom.setSymptomId( option.getId() );
+			symptom.setSymptomName( option.getName() );
+			symptoms.add( symptom );
+		}
+		note.setSymptoms( symptoms );
+		
+		List<Referral> referrals = new ArrayList<>();
+		for( AssessmentOption option : _options( record, "referrals", AssessmentOptionType.REFERRALS ) )
+		{
+			Referral referral = new Referral();
+			referral.setReferralTypeId( option.getId() );
+			referral.setReferralName( option.getName() );
+			referrals.add( referral );
+		}
+		note.setReferrals( referrals );
+		
+		List<CollateralContact> collateralContacts = new ArrayList<>();
+		for( AssessmentOption option : _options( record, "collateral_contacts", AssessmentOptionType.COLL_CONTACTS ) )
+		{
+			CollateralContact collateralContact = new CollateralContact();
+			collateralContact.setCollateralContactTypeId( option.getId() );
+			collateralContact.setCollateralContactName( option.getName() );
+			collateralContacts.add( collateralContact );
+		}
+		note.setCollateralContacts( collateralContacts );
+		
+		EntityValidator.validateNote( note );
+		return note;
+	}
+	
+	private Integer _clientId( ImportRecord record ) throws TherapyAppException
+	{
+		String code = record.getString( "client_code" );
+		if( code == null )
+			throw new TherapyAppException( "client_code is required.", ErrorCode.REQ_MISSING );
+		
+		Integer clientId = clientIds.get( code.toUpperCase( Locale.ROOT ) );
+		if( clientId == null )
+			throw new TherapyAppException( "No client has the code " + code + ".", ErrorCode.NOT_FOUND );
+		return clientId;
+	}
+	
+	private AssessmentOption _option( ImportRecord record, String field, AssessmentOptionType optionType ) throws TherapyAppException
+	{
+		String name = record.getString( field );
+		return name == null ? null : _lookup( field, name, optionType );
+	}
+	
+	/**
+	 * Looks up each named option once, ignoring repeats, which the junction tables would reject.
+	 */
+	private List<AssessmentOption> _options( ImportRecord record, String field, AssessmentOptionType optionType )
+			throws TherapyAppException
+	{
+		Map<Integer, AssessmentOption> byId = new LinkedHashMap<>();
+		for( String name : record.getList( field ) )
+		{
+			AssessmentOption option = _lookup( field, name, optionType );
+			byId.put( option.getId(), option );
+		}
+		return new ArrayList<>( byId.values() );
+	}
+	
+	private AssessmentOption _lookup( String field, String name, AssessmentOptionType optionType ) throws TherapyAppException
+	{
+		AssessmentOption option = options.get( optionType ).get( name.toLowerCase( Locale.ROOT ) );
+		if( option == null )
+			throw new TherapyAppException( "Unknown " + field + " option: " + name + ".", ErrorCode.INVALID_INPUT );
+		return option;
+	}
+	
+	private static LocalDateTime _dateTime( ImportRecord record, String field ) throws TherapyAppException
+	{
+		String value = record.getString( field );
+		if( value == null )
+			return null;
+		
+		try
+		{
+			return LocalDateTime.parse( value, DATE_TIME_FORMATTER );
+		}
+		catch( DateTimeParseException e )
+		{
+			throw new TherapyAppException( field + " '" + value + "' is not in format yyyy-MM-dd HH:mm:ss.", ErrorCode.DATE_PARSE );
+		}
+	}
+	
+	private static Date _date( ImportRecord record, String field ) throws TherapyAppException
+	{
+		String value = record.getString( field );
+		if( value == null )
+			return null;
+		
+		try
+		{
+			return DateFormatUtil.toDate( LocalDate.parse( value, DATE_FORMATTER ).atStartOfDay() );
+		}
+		catch( DateTimeParseException e )
+		{
+			throw new TherapyAppException( field + " '" + value + "' is not in format yyyy-MM-dd.", ErrorCode.DATE_PARSE );
+		}
+	}
+	
+	private static boolean _boolean( ImportRecord record, String field ) throws TherapyAppException
+	{
+		String value = record.getString( field );
+		if( value == null )
+			return false;
+		
+		return switch( value.toLowerCase( Locale.ROOT ) )
+		{
+			case "true", "yes", "y", "1" -> true;
+			case "false", "no", "n", "0" -> false;
+			default -> throw new TherapyAppException( field + " '" + value + "' is not true or false.", ErrorCode.INVALID_INPUT );
+		};
+	}
+	
+	private static Integer _integer( ImportRecord record, String field ) throws TherapyAppException
+	{
+		String value = record.getString( field );
+		if( value == null )
+			return null;
+		
+		try
+		{
+			return Integer.valueOf( value );
+		}
+		catch( NumberFormatException e )
+		{
+			throw new TherapyAppException( field + " '" + value + "' is not a whole number.", ErrorCode.INVALID_INPUT );
+		}
+	}
+	
+	@SuppressWarnings( "unchecked" )
+	private static <T> List<T> _cast( List<Object> batch )
+	{
+		return (List<T>) (List<?>) batch;
+	}
+	
+	/**
+	 * The key a file's checkpoint is stored under.
+	 */
+	static String checkpointSource( Path file )
+	{
+		return file.toAbsolutePath().normalize().toString();
+	}
+	
+	private static Path _sibling( Path file, String suffix )
+	{
+		return file.resolveSibling( file.getFileName() + suffix );
+	}
+	
+	public static void main( String[] args )
+	{
+		if( args.length < 2 )
+		{
+			_usage();
+			return;
+		}
+		
+		EntityType type = null;
+		int batchSize = DEFAULT_BATCH_SIZE;
+		String db = null;
+		boolean restart = false;
+		try
+		{
+			type = EntityType.valueOf( args[0].toUpperCase( Locale.ROOT ) );
+			for( int i = 2; i < args.length; i++ )
+			{
+				if( args[i].equals( "--restart" ) )
+				{
+					restart = true;
+					continue;
+				}
+				if( i + 1 >= args.length )
+					throw new IllegalArgumentException( "Missing value for " + args[i] );
+				
+				switch( args[i] )
+				{
+					case "--db" -> db = args[++i];
+					case "--batch-size" -> batchSize = Integer.parseInt( args[++i] );
+					default -> throw new IllegalArgumentException( "Unknown option " + args[i] );
+				}
+			}
+		}
+		catch( IllegalArgumentException e )
+		{
+			System.err.println( e.getMessage() );
+			_usage();
+			System.exit( 2 );
+		}
+		
+		Path file = Paths.get( args[1] );
+		try
+		{
+			if( db != null )
+				DbUtil.setDbUrl( "jdbc:sqlite:" + Paths.get( db ).toAbsolutePath() );
+			DatabaseInitializer.initDb();
+			
+			DataImporter importer = new DataImporter().setBatchSize( batchSize )
+					.setProgressListener( processed -> System.out.printf( "%,d records processed%n", processed ) );
+			if( restart )
+				importer.clearCheckpoint( file );
+			Result result = importer.importFile( type, file );
+			System.out.printf( "Imported %,d, rejected %,d, skipped %,d already processed. Rejected rows: %s%n", result.getImported(),
+					result.getRejected(), result.getSkipped(), _sibling( file, REJECTED_SUFFIX ) );
+		}
+		catch( TherapyAppException e )
+		{
+			System.err.println( "Import failed: " + e.getMessage() );
+			System.exit( 1 );
+		}
+		finally
+		{
+			DbUtil.shutdownPool();
+		}
+	}
+	
+	private static void _usage()
+	{
+		System.err.println( "Usage: DataImporter <clients|contacts|notes> <file.csv|file.jsonl> [--db database-file] [--batch-size N] [--restart]" );
+	}
+}
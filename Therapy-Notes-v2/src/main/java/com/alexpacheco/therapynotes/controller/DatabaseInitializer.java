@@ -4,6 +4,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,6 +22,23 @@ public class DatabaseInitializer
 	private static final String SCHEMA_SCRIPT_FILE = "/schema-config.sql";
 	private static final String TRIGGER_SCRIPT_FILE = "/trigger-config.sql";
 	private static final String OPTIONS_SCRIPT_FILE = "/populate-option-tables.sql";
+	private static final String REBUILD_FULL_TEXT_INDEX = "INSERT INTO notes_fts (notes_fts) VALUES ('rebuild')";
+	
+	/**
+	 * Schema changes applied on top of the base schema and trigger scripts, in order. Entry N moves PRAGMA user_version from N to N + 1.
+	 * Append new entries at the end; never edit or reorder ones that have shipped. Every schema change needs an entry here, even when the
+	 * base scripts are also updated for new databases, because a database that is already current never runs the base scripts again.
+	 */
+	private static final List<List<String>> MIGRATIONS = List.of(
+			// 1: Client history and date-range indexes for note search, session number and last diagnosis lookups
+			List.of( "CREATE INDEX IF NOT EXISTS notes_client_appt_idx ON notes (client_id, appt_date_time DESC, note_id DESC)",
+					"CREATE INDEX IF NOT EXISTS notes_client_insert_idx ON notes (client_id, insert_date DESC)",
+					"CREATE INDEX IF NOT EXISTS notes_appt_idx ON notes (appt_date_time DESC, note_id DESC)" ),
+			// 2: Backfill the notes_fts full-text index for notes written before it existed
+			List.of( REBUILD_FULL_TEXT_INDEX ),
+			// 3: Import progress, saved in the same transaction as each imported batch
+			List.of( "CREATE TABLE IF NOT EXISTS import_checkpoints (source TEXT PRIMARY KEY, records INTEGER NOT NULL, "
+					+ "complete INTEGER NOT NULL DEFAULT 0, file_size INTEGER NOT NULL, update_date DATETIME DEFAULT CURRENT_TIMESTAMP)" ) );
 	
 	public static void initDb() throws TherapyAppException
 	{
@@ -28,11 +46,7 @@ public class DatabaseInitializer
 		{
 			if( conn != null )
 			{
-				DbUtil.executeSqlScript( conn, DatabaseInitializer.class.getResourceAsStream( SCHEMA_SCRIPT_FILE ) );
-				AppLogger.info( "Database schema created successfully." );
-				
-				DbUtil.executeTriggerScript( conn, DatabaseInitializer.class.getResourceAsStream( TRIGGER_SCRIPT_FILE ) );
-				AppLogger.info( "Database triggers created successfully." );
+				migrate( conn );
 				
 				if( !isDbPopulated( conn ) )
 				{
@@ -48,6 +62,120 @@ public class DatabaseInitializer
 		}
 	}
 	
+	/**
+	 * Brings the database to the latest schema version. A current database is left alone, so a normal launch runs no DDL. Otherwise the
+	 * base schema and trigger scripts, which only create what is missing, are run in one transaction before the pending migrations; this
+	 * also covers new databases and those created before versioning.
+	 *
+	 * The one exception is the full-text insert trigger, which bulk loads drop while they run: if a bulk load was killed before putting it
+	 * back, the base scripts are run again and the full-text index is rebuilt to take in the notes written without it.
+	 */
+	public static void migrate( Connection conn ) throws SQLException
+	{
+		int version = getSchemaVersion( conn );
+		if( version >= MIGRATIONS.size() )
+		{
+			AppLogger.info( "Database schema is current at version " + version + "." );
+			if( !_hasFullTextInsertTrigger( conn ) )
+			{
+				AppLogger.warning( "Full-text insert trigger is missing; restoring it and rebuilding the full-text index." );
+				applyBaseSchema( conn );
+				try( Statement stmt = conn.createStatement() )
+				{
+					stmt.execute( REBUILD_FULL_TEXT_INDEX );
+				}
+			}
+			return;
+		}
+		
+		applyBaseSchema( conn );
+		applyMigrations( conn );
+	}
+	
+	/**
+	 * Runs the base schema and trigger scripts in a single transaction, so a failure leaves the database unchanged.
+	 */
+	public static void applyBaseSchema( Connection conn ) throws SQLException
+	{
+		boolean autoCommit = conn.getAutoCommit();
+		conn.setAutoCommit( false );
+		try
+		{
+			DbUtil.executeScript( conn, DatabaseInitializer.class.getResourceAsStream( SCHEMA_SCRIPT_FILE ), ";" );
+			DbUtil.executeScript( conn, DatabaseInitializer.class.getResourceAsStream( TRIGGER_SCRIPT_FILE ), "//" );
+			conn.commit();
+			AppLogger.info( "Database schema and triggers created successfully." );
+		}
+		catch( SQLException e )
+		{
+			conn.rollback();
+			AppLogger.error( "Error creating database schema: " + e.getMessage(), e );
+			throw e;
+		}
+		finally
+		{
+			conn.setAutoCommit( autoCommit );
+		}
+	}
+	
+	/**
+	 * Brings the schema up to the latest migration. Each migration runs in its own transaction together with the user_version bump, so
+	 * a failure leaves the database at the last fully applied version.
+	 */
+	public static void applyMigrations( Connection conn ) throws SQLException
+	{
+		int version = getSchemaVersion( conn );
+		
+		for( int i = version; i < MIGRATIONS.size(); i++ )
+		{
+			boolean autoCommit = conn.getAutoCommit();
+			conn.setAutoCommit( false );
+			try( Statement stmt = conn.createStatement() )
+			{
+				for( String sql : MIGRATIONS.get( i ) )
+				{
+					stmt.execute( sql );
+				}
+				stmt.execute( "PRAGMA user_version = " + ( i + 1 ) );
+				conn.commit();
+			}
+			catch( SQLException e )
+			{
+				conn.rollback();
+				AppLogger.error( "Schema migration " + ( i + 1 ) + " failed: " + e.getMessage(), e );
+				throw e;
+			}
+			finally
+			{
+				conn.setAutoCommit( autoCommit );
+			}
+			
+			AppLogger.info( "Applied schema migration " + ( i + 1 ) + "." );
+		}
+	}
+	
+	private static boolean _hasFullTextInsertTrigger( Connection conn ) throws SQLException
+	{
+		try( Statement stmt = conn.createStatement();
+				ResultSet rs = stmt.executeQuery( "SELECT 1 FROM sqlite_master WHERE type = 'trigger' AND name = 'trig_notes_fts_insert'" ) )
+		{
+			return rs.next();
+		}
+	}
+	
+	public static int getSchemaVersion( Connection conn ) throws SQLException
+	{
+		try( Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery( "PRAGMA user_version" ) )
+		{
+			return rs.next() ? rs.getInt( 1 ) : 0;
+		}
+	}
+	
+	public static int getLatestSchemaVersion()
+	{
+		return MIGRATIONS.size();
+	}
+	
 	private static boolean isDbPopulated( Connection conn ) throws TherapyAppException
 	{
 		try
@@ -82,6 +210,7 @@ public class DatabaseInitializer
 			}
 			
 			new PreferencesDao().initializeDefaults( defaults );
+			PreferencesUtil.invalidate();
 		}
 		catch( SQLException e )
 		{
@@ -6,23 +6,32 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 
+import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.api.AppLogApi;
+import com.alexpacheco.therapynotes.model.api.NoteApi;
 import com.alexpacheco.therapynotes.model.entities.AppLog;
 import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.NotePage;
 import com.alexpacheco.therapynotes.util.AppLogger;
 import com.alexpacheco.therapynotes.util.DateFormatUtil;
 import com.alexpacheco.therapynotes.util.JavaUtils;
 import com.alexpacheco.therapynotes.util.export.NoteDocxExporter;
 import com.alexpacheco.therapynotes.util.export.NotePdfExporter;
+import com.alexpacheco.therapynotes.util.export.ParallelExportExecutor;
 
 public class Exporter
 {
 	private static final DateTimeFormatter FILE_DATE_FORMATTER = DateTimeFormatter.ofPattern( "yyyy-MM-dd" );
 	
+	/** Notes fetched and hydrated per query during a bulk export. */
+	public static final int EXPORT_CHUNK_SIZE = 100;
+	
 	/**
 	 * Exports all log entries from the app_logs table to a CSV file.
 	 * 
@@ -74,7 +83,7 @@ public class Exporter
 	 * @param value the string value to escape
 	 * @return the escaped CSV value, or empty string if value is null
 	 */
-	private static String escapeCsvValue( String value )
+	static String escapeCsvValue( String value )
 	{
 		if( value == null )
 		{
@@ -136,21 +145,72 @@ public class Exporter
 		return sb.toString();
 	}
 	
-	public static void exportToDocx( Map<Note, String> notes ) throws TherapyAppException
+	/**
+	 * Exports every note matching the filters, one file per note. Notes are read in keyset-paged chunks of {@link #EXPORT_CHUNK_SIZE}:
+	 * each chunk is fetched and hydrated in one short query, then its notes are rendered in parallel on a {@link ParallelExportExecutor}.
+	 * Submission blocks while the workers are busy, so memory use stays flat regardless of how many notes match, the first files are
+	 * written as soon as the first chunk arrives, and no database connection or read lock is held while documents are rendered.
+	 * 
+	 * @param format      "PDF" or "DOCX"
+	 * @param outputPath  Maps each note to the path of the file to write; called from worker threads
+	 * @param workerCount Number of documents to render concurrently
+	 * @param onExported  Called from a worker thread with the running count of notes exported after each file; may be null
+	 * @return The number of notes exported
+	 */
+	public static int exportNotes( Integer clientId, Date startDate, Date endDate, String format, Function<Note, String> outputPath,
+			int workerCount, IntConsumer onExported ) throws TherapyAppException
 	{
-		for( Note note : notes.keySet() )
+		NoteApi noteApi = new NoteApi();
+		return exportNotes( pageToken -> noteApi.searchNotesPage( clientId, startDate, endDate, EXPORT_CHUNK_SIZE, pageToken ), format,
+				outputPath, workerCount, onExported );
+	}
+	
+	/**
+	 * Fetches one chunk of notes to export, continuing after the given page token.
+	 */
+	@FunctionalInterface
+	interface ChunkSource
+	{
+		NotePage fetch( String pageToken ) throws TherapyAppException;
+	}
+	
+	/**
+	 * Exports the notes of every chunk from the source. No further chunk is fetched once a task has failed.
+	 */
+	static int exportNotes( ChunkSource chunks, String format, Function<Note, String> outputPath, int workerCount,
+			IntConsumer onExported ) throws TherapyAppException
+	{
+		String pageToken = null;
+		
+		try( ParallelExportExecutor executor = new ParallelExportExecutor( workerCount, onExported ) )
 		{
-			String outputPath = notes.get( note );
-			NoteDocxExporter.exportToDocx( note, outputPath );
+			paging:
+			do
+			{
+				NotePage chunk = chunks.fetch( pageToken );
+				for( Note note : chunk.getNotes() )
+				{
+					if( !executor.submit( () -> _exportNote( note, format, outputPath.apply( note ) ) ) )
+						break paging;
+				}
+				pageToken = chunk.getNextPageToken();
+			}
+			while( pageToken != null );
+			
+			return executor.awaitCompletion();
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+			throw new TherapyAppException( "The export was interrupted.", ErrorCode.CANCELLED );
 		}
 	}
 	
-	public static void exportToPdf( Map<Note, String> notes ) throws TherapyAppException
+	private static void _exportNote( Note note, String format, String outputPath ) throws TherapyAppException
 	{
-		for( Note note : notes.keySet() )
-		{
-			String outputPath = notes.get( note );
+		if( "DOCX".equals( format ) )
+			NoteDocxExporter.exportToDocx( note, outputPath );
+		else
 			NotePdfExporter.exportToPdf( note, outputPath );
-		}
 	}
 }
@@ -0,0 +1,115 @@
+package com.alexpacheco.therapynotes.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import com.alexpacheco.therapynotes.util.AppLogger;
+
+/**
+ * Runs startup work as a graph of named stages. Each stage starts on the executor as soon as every stage it depends on has finished, so
+ * stages with no path between them run at the same time. A stage whose dependency failed does not run and fails with the same cause.
+ *
+ * Dependencies must be added before the stages that need them, which keeps the graph free of cycles. How long each stage took is logged.
+ */
+class StartupPipeline
+{
+	/**
+	 * Work done by one stage.
+	 */
+	@FunctionalInterface
+	interface Stage
+	{
+		void run() throws Exception;
+	}
+	
+	private final Executor executor;
+	private final Map<String, CompletableFuture<Void>> stages = new HashMap<>();
+	
+	/**
+	 * @param executor Runs the stages; needs as many threads as stages expected to run at once
+	 */
+	StartupPipeline( Executor executor )
+	{
+		this.executor = executor;
+	}
+	
+	/**
+	 * Adds a stage that starts once all of its dependencies have finished.
+	 *
+	 * @param name      Unique stage name, used in the log and by dependent stages
+	 * @param stage     The work to run
+	 * @param dependsOn Names of stages already added
+	 */
+	void add( String name, Stage stage, String... dependsOn )
+	{
+		if( stages.containsKey( name ) )
+			throw new IllegalArgumentException( "Duplicate startup stage " + name );
+		
+		CompletableFuture<?>[] dependencies = new CompletableFuture<?>[dependsOn.length];
+		for( int i = 0; i < dependsOn.length; i++ )
+		{
+			dependencies[i] = _get( dependsOn[i] );
+		}
+		
+		stages.put( name, CompletableFuture.allOf( dependencies ).thenRunAsync( () -> _run( name, stage ), executor ) );
+	}
+	
+	/**
+	 * Waits for a stage to finish.
+	 *
+	 * @throws Exception The exception the stage, or a stage it depends on, failed with
+	 */
+	void await( String name ) throws Exception
+	{
+		try
+		{
+			_get( name ).join();
+		}
+		catch( CompletionException e )
+		{
+			Throwable cause = e.getCause();
+			if( cause instanceof Exception )
+				throw (Exception) cause;
+			throw e;
+		}
+	}
+	
+	/**
+	 * Runs an action once every stage added so far has finished or failed.
+	 */
+	void whenFinished( Runnable action )
+	{
+		CompletableFuture.allOf( stages.values().toArray( new CompletableFuture<?>[0] ) ).whenComplete( ( result, error ) -> action.run() );
+	}
+	
+	private CompletableFuture<Void> _get( String name )
+	{
+		CompletableFuture<Void> future = stages.get( name );
+		if( future == null )
+			throw new IllegalArgumentException( "Unknown startup stage " + name );
+		return future;
+	}
+	
+	private static void _run( String name, Stage stage )
+	{
+		long start = System.nanoTime();
+		try
+		{
+			stage.run();
+			AppLogger.info( String.format( "Startup stage %s finished in %d ms", name, _elapsedMillis( start ) ) );
+		}
+		catch( Exception e )
+		{
+			AppLogger.warning( String.format( "Startup stage %s failed after %d ms: %s", name, _elapsedMillis( start ), e.getMessage() ) );
+			throw new CompletionException( e );
+		}
+	}
+	
+	private static long _elapsedMillis( long start )
+	{
+		return ( System.nanoTime() - start ) / 1_000_000;
+	}
+}
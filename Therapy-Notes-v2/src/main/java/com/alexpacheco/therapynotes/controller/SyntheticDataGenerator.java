@@ -0,0 +1,444 @@
+package com.alexpacheco.therapynotes.controller;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import com.alexpacheco.therapynotes.util.DateFormatUtil;
+import com.alexpacheco.therapynotes.util.DbUtil;
+
+/**
+ * Fills a database with synthetic clients, contacts and notes for load and scale testing. Rows are written with direct batched inserts,
+ * one transaction per batch, and are fully determined by the seed, the client count and the notes per client. Ids continue after any rows
+ * already in the database, so the same arguments always produce the same content.
+ *
+ * Each client gets up to two contacts, the first marked as the emergency contact, and weekly notes starting on a random date in the five
+ * years from {@link #FIRST_APPOINTMENT}. Narratives run from a few sentences to a few paragraphs, and each note has one to four symptoms,
+ * up to two referrals and up to one collateral contact. From the command line:
+ *
+ * <pre>
+ * java -cp therapy-notes.jar com.alexpacheco.therapynotes.controller.SyntheticDataGenerator notes.db --clients 10000 --notes-per-client 50
+ * </pre>
+ */
+public class SyntheticDataGenerator
+{
+	public static final long DEFAULT_SEED = 20240611L;
+	public static final int DEFAULT_CLIENTS = 1_000;
+	public static final int DEFAULT_NOTES_PER_CLIENT = 50;
+	public static final int DEFAULT_BATCH_SIZE = 5_000;
+	static final LocalDateTime FIRST_APPOINTMENT = LocalDateTime.of( 2020, 1, 6, 9, 0 );
+	private static final int SPAN_DAYS = 1826;
+	private static final String OPTIONS_SCRIPT_FILE = "/populate-option-tables.sql";
+	private static final String[] FIRST_NAMES = { "Ava", "Liam", "Maya", "Noah", "Zoe", "Ethan", "Iris", "Owen", "Lena", "Caleb", "Nora",
+			"Miles", "Ruth", "Jonah", "Priya", "Mateo" };
+	private static final String[] LAST_NAMES = { "Alvarez", "Brooks", "Chen", "Dawson", "Ellison", "Fischer", "Garcia", "Hughes", "Ibarra",
+			"Johnson", "Kaur", "Larsen", "Morgan", "Nguyen", "Okafor", "Patel", "Quinn", "Robinson", "Sato", "Thompson" };
+	private static final String[] WORDS = ( "client reported improved sleep this week and discussed ongoing stress at work reviewed coping "
+			+ "skills practiced grounding exercise explored family conflict and boundaries identified triggers for anxiety processed grief "
+			+ "related to recent loss affect congruent with content mood described as low but stable denied suicidal ideation agreed to "
+			+ "continue journaling between sessions homework reviewed progress toward treatment goals discussed medication adherence" )
+			.split( " " );
+	private static final String[] DIAGNOSES = { "F32.1 - Major depressive disorder, single episode, moderate",
+			"F41.1 - Generalized anxiety disorder", "F43.10 - Post-traumatic stress disorder, unspecified",
+			"F43.23 - Adjustment disorder with mixed anxiety and depressed mood", "F90.0 - Attention-deficit hyperactivity disorder" };
+	
+	private final long seed;
+	private final int clientCount;
+	private final int notesPerClient;
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private IntConsumer progressListener;
+	
+	public SyntheticDataGenerator( long seed, int clientCount, int notesPerClient )
+	{
+		if( clientCount < 0 || notesPerClient < 0 )
+			throw new IllegalArgumentException( "Client and note counts cannot be negative" );
+		
+		this.seed = seed;
+		this.clientCount = clientCount;
+		this.notesPerClient = notesPerClient;
+	}
+	
+	/**
+	 * Sets how many notes are written per transaction.
+	 */
+	public SyntheticDataGenerator setBatchSize( int batchSize )
+	{
+		this.batchSize = Math.max( 1, batchSize );
+		return this;
+	}
+	
+	/**
+	 * Sets a listener called with the number of notes written so far after each committed batch.
+	 */
+	public SyntheticDataGenerator setProgressListener( IntConsumer progressListener )
+	{
+		this.progressListener = progressListener;
+		return this;
+	}
+	
+	public int getNoteCount()
+	{
+		return clientCount * notesPerClient;
+	}
+	
+	/**
+	 * Code given to the generated client with the given id.
+	 */
+	public static String clientCode( int clientId )
+	{
+		return String.format( "SYN%07d", clientId );
+	}
+	
+	/**
+	 * Builds a narrative of roughly the given number of words from the generator's vocabulary.
+	 */
+	public static String narrative( Random random, int words )
+	{
+		StringBuilder text = new StringBuilder( words * 8 );
+		for( int i = 0; i < words; i++ )
+		{
+			if( i > 0 )
+				text.append( i % 14 == 0 ? ". " : " " );
+			text.append( WORDS[random.nextInt( WORDS.length )] );
+		}
+		return text.append( '.' ).toString();
+	}
+	
+	/**
+	 * Brings the schema up to date, loads the assessment options if they are missing, and writes the clients, contacts and notes. The
+	 * connection is left in auto-commit mode.
+	 */
+	public void generate( Connection conn ) throws SQLException
+	{
+		DatabaseInitializer.migrate( conn );
+		if( _count( conn, "assessment_options" ) == 0 )
+		{
+			DbUtil.executeSqlScript( conn, DatabaseInitializer.class.getResourceAsStream( OPTIONS_SCRIPT_FILE ) );
+		}
+		
+		List<Integer> symptoms = optionIds( conn, "symptoms" );
+		List<Integer> referrals = optionIds( conn, "referrals" );
+		List<Integer> collateral = optionIds( conn, "collateralContacts" );
+		List<Integer> appearance = optionIds( conn, "appearance" );
+		List<Integer> speech = optionIds( conn, "speech" );
+		List<Integer> affect = optionIds( conn, "affect" );
+		List<Integer> eyeContact = optionIds( conn, "eyeContact" );
+		List<Integer> nextAppt = optionIds( conn, "nextAppt" );
+		
+		int firstClientId = _nextId( conn, "clients", "client_id" );
+		int firstNoteId = _nextId( conn, "notes", "note_id" );
+		Random random = new Random( seed );
+		
+		// Indexing every note's text as it is inserted costs far more than one rebuild of the full-text index at the end. If the run is
+		// killed before the trigger is put back, DatabaseInitializer.migrate restores it and rebuilds the index
+		_execute( conn, "DROP TRIGGER IF EXISTS trig_notes_fts_insert" );
+		try
+		{
+			conn.setAutoCommit( false );
+			try
+			{
+				_insertClients( conn, random, firstClientId );
+				conn.commit();
+				_insertNotes( conn, random, firstClientId, firstNoteId, symptoms, referrals, collateral, appearance, speech, affect,
+						eyeContact, nextAppt );
+			}
+			catch( SQLException e )
+			{
+				conn.rollback();
+				throw e;
+			}
+			finally
+			{
+				conn.setAutoCommit( true );
+			}
+		}
+		finally
+		{
+			// The trigger script only creates what is missing, so this puts back just the dropped trigger
+			DatabaseInitializer.applyBaseSchema( conn );
+		}
+		
+		_execute( conn, "INSERT INTO notes_fts (notes_fts) VALUES ('rebuild')" );
+		_execute( conn, "ANALYZE" );
+	}
+	
+	private void _insertClients( Connection conn, Random random, int firstClientId ) throws SQLException
+	{
+		try( PreparedStatement insertClient = conn.prepareStatement(
+				"INSERT INTO clients (client_id, client_code, first_name, last_name, email1, phone1, date_of_birth, inactive) VALUES (?, ?, ?, ?, ?, ?, ?, ?)" );
+				PreparedStatement insertContact = conn.prepareStatement(
+						"INSERT INTO contacts (linked_client, first_name, last_name, email1, phone1, emergency_contact) VALUES (?, ?, ?, ?, ?, ?)" ) )
+		{
+			for( int c = 0; c < clientCount; c++ )
+			{
+				int clientId = firstClientId + c;
+				String first = FIRST_NAMES[random.nextInt( FIRST_NAMES.length )];
+				String last = LAST_NAMES[random.nextInt( LAST_NAMES.length )];
+				insertClient.setInt( 1, clientId );
+				insertClient.setString( 2, clientCode( clientId ) );
+				insertClient.setString( 3, first );
+				insertClient.setString( 4, last );
+				insertClient.setString( 5, ( first + "." + last + clientId + "@example.com" ).toLowerCase() );
+				insertClient.setString( 6, _phone( random ) );
+				insertClient.setString( 7, String.format( "19%02d-%02d-%02d 00:00:00", 50 + random.nextInt( 50 ), 1 + random.nextInt( 12 ),
+						1 + random.nextInt( 28 ) ) );
+				insertClient.setInt( 8, c % 20 == 19 ? 1 : 0 );
+				insertClient.addBatch();
+				
+				int contacts = random.nextInt( 3 );
+				for( int i = 0; i < contacts; i++ )
+				{
+					String contactFirst = FIRST_NAMES[random.nextInt( FIRST_NAMES.length )];
+					insertContact.setInt( 1, clientId );
+					insertContact.setString( 2, contactFirst );
+					insertContact.setString( 3, last );
+					insertContact.setString( 4, ( contactFirst + "." + last + clientId + "@example.com" ).toLowerCase() );
+					insertContact.setString( 5, _phone( random ) );
+					insertContact.setInt( 6, i == 0 ? 1 : 0 );
+					insertContact.addBatch();
+				}
+				
+				if( ( c + 1 ) % batchSize == 0 )
+				{
+					insertClient.executeBatch();
+					insertContact.executeBatch();
+				}
+			}
+			insertClient.executeBatch();
+			insertContact.executeBatch();
+		}
+	}
+	
+	private void _insertNotes( Connection conn, Random random, int firstClientId, int firstNoteId, List<Integer> symptoms,
+			List<Integer> referrals, List<Integer> collateral, List<Integer> appearance, List<Integer> speech, List<Integer> affect,
+			List<Integer> eyeContact, List<Integer> nextAppt ) throws SQLException
+	{
+		// Weekly sessions, closer together when a client has more notes than fit in the span that way
+		int intervalDays = notesPerClient == 0 ? 7 : Math.max( 1, Math.min( 7, SPAN_DAYS / notesPerClient ) );
+		int startRange = Math.max( 1, SPAN_DAYS - intervalDays * notesPerClient );
+		
+		try( PreparedStatement insertNote = conn.prepareStatement(
+				"INSERT INTO notes (note_id, client_id, appt_date_time, virtual_appt, diagnosis, session_number, session_length, narrative, "
+						+ "appearance, speech, affect, eye_contact, next_appt, certified) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)" );
+				PreparedStatement insertSymptom = conn.prepareStatement( "INSERT INTO symptoms (note_id, symptom_id) VALUES (?, ?)" );
+				PreparedStatement insertReferral = conn.prepareStatement( "INSERT INTO referrals (note_id, referral_id) VALUES (?, ?)" );
+				PreparedStatement insertCollateral = conn
+						.prepareStatement( "INSERT INTO collateral_contacts (note_id, collateral_contact_type_id) VALUES (?, ?)" ) )
+		{
+			int written = 0;
+			int noteId = firstNoteId;
+			for( int c = 0; c < clientCount; c++ )
+			{
+				int clientId = firstClientId + c;
+				String diagnosis = DIAGNOSES[random.nextInt( DIAGNOSES.length )];
+				LocalDateTime start = FIRST_APPOINTMENT.plusDays( random.nextInt( startRange ) ).plusMinutes( 50L * random.nextInt( 8 ) );
+				
+				for( int session = 1; session <= notesPerClient; session++, noteId++ )
+				{
+					LocalDateTime appt = start.plusDays( (long) intervalDays * ( session - 1 ) );
+					insertNote.setInt( 1, noteId );
+					insertNote.setInt( 2, clientId );
+					insertNote.setString( 3, DateFormatUtil.toSqliteString( appt ) );
+					insertNote.setInt( 4, random.nextInt( 3 ) == 0 ? 1 : 0 );
+					insertNote.setString( 5, diagnosis );
+					insertNote.setInt( 6, session );
+					insertNote.setString( 7, random.nextBoolean() ? "50 minutes" : "45 minutes" );
+					insertNote.setString( 8, narrative( random, 40 + random.nextInt( 360 ) ) );
+					insertNote.setObject( 9, _pick( random, appearance ) );
+					insertNote.setObject( 10, _pick( random, speech ) );
+					insertNote.setObject( 11, _pick( random, affect ) );
+					insertNote.setObject( 12, _pick( random, eyeContact ) );
+					insertNote.setObject( 13, _pick( random, nextAppt ) );
+					insertNote.setString( 14, DateFormatUtil.toSqliteString( appt.plusHours( 2 ) ) );
+					insertNote.addBatch();
+					
+					_addJunctionRows( insertSymptom, noteId, random, symptoms, 1 + random.nextInt( 4 ) );
+					_addJunctionRows( insertReferral, noteId, random, referrals, random.nextInt( 3 ) );
+					_addJunctionRows( insertCollateral, noteId, random, collateral, random.nextInt( 2 ) );
+					
+					if( ++written % batchSize == 0 )
+					{
+						_flush( conn, written, insertNote, insertSymptom, insertReferral, insertCollateral );
+					}
+				}
+			}
+			
+			if( written % batchSize != 0 )
+			{
+				_flush( conn, written, insertNote, insertSymptom, insertReferral, insertCollateral );
+			}
+		}
+	}
+	
+	private void _flush( Connection conn, int written, PreparedStatement... statements ) throws SQLException
+	{
+		for( PreparedStatement stmt : statements )
+		{
+			stmt.executeBatch();
+		}
+		conn.commit();
+		
+		if( progressListener != null )
+			progressListener.accept( written );
+	}
+	
+	private static void _addJunctionRows( PreparedStatement stmt, int noteId, Random random, List<Integer> ids, int count )
+			throws SQLException
+	{
+		if( ids.isEmpty() )
+			return;
+		
+		int start = random.nextInt( ids.size() );
+		for( int i = 0; i < Math.min( count, ids.size() ); i++ )
+		{
+			stmt.setInt( 1, noteId );
+			stmt.setInt( 2, ids.get( ( start + i ) % ids.size() ) );
+			stmt.addBatch();
+		}
+	}
+	
+	private static Integer _pick( Random random, List<Integer> ids )
+	{
+		return ids.isEmpty() ? null : ids.get( random.nextInt( ids.size() ) );
+	}
+	
+	private static String _phone( Random random )
+	{
+		return String.format( "555-%03d-%04d", random.nextInt( 1000 ), random.nextInt( 10000 ) );
+	}
+	
+	/**
+	 * Returns the ids of every active assessment option of one type, given by its type key, in id order.
+	 */
+	public static List<Integer> optionIds( Connection conn, String type ) throws SQLException
+	{
+		List<Integer> ids = new ArrayList<>();
+		try( PreparedStatement stmt = conn.prepareStatement( "SELECT id FROM assessment_options WHERE type = ? AND inactive = 0 ORDER BY id" ) )
+		{
+			stmt.setString( 1, type );
+			try( ResultSet rs = stmt.executeQuery() )
+			{
+				while( rs.next() )
+				{
+					ids.add( rs.getInt( 1 ) );
+				}
+			}
+		}
+		return ids;
+	}
+	
+	private static void _execute( Connection conn, String sql ) throws SQLException
+	{
+		try( Statement stmt = conn.createStatement() )
+		{
+			stmt.execute( sql );
+		}
+	}
+	
+	private static int _count( Connection conn, String table ) throws SQLException
+	{
+		try( Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery( "SELECT COUNT(*) FROM " + table ) )
+		{
+			return rs.next() ? rs.getInt( 1 ) : 0;
+		}
+	}
+	
+	/**
+	 * Next id after both the largest one in use and the AUTOINCREMENT sequence, which starts clients at 1000.
+	 */
+	private static int _nextId( Connection conn, String table, String column ) throws SQLException
+	{
+		try( PreparedStatement stmt = conn.prepareStatement( "SELECT MAX(COALESCE((SELECT MAX(" + column + ") FROM " + table
+				+ "), 0), COALESCE((SELECT seq FROM sqlite_sequence WHERE name = ?), 0))" ) )
+		{
+			stmt.setString( 1, table );
+			try( ResultSet rs = stmt.executeQuery() )
+			{
+				return ( rs.next() ? rs.getInt( 1 ) : 0 ) + 1;
+			}
+		}
+	}
+	
+	public static void main( String[] args )
+	{
+		if( args.length == 0 || args[0].startsWith( "--" ) )
+		{
+			_usage();
+			return;
+		}
+		
+		Path target = Paths.get( args[0] );
+		long seed = DEFAULT_SEED;
+		int clients = DEFAULT_CLIENTS;
+		int notesPerClient = DEFAULT_NOTES_PER_CLIENT;
+		int batchSize = DEFAULT_BATCH_SIZE;
+		try
+		{
+			for( int i = 1; i < args.length; i += 2 )
+			{
+				if( i + 1 >= args.length )
+					throw new IllegalArgumentException( "Missing value for " + args[i] );
+				
+				switch( args[i] )
+				{
+					case "--seed" -> seed = Long.parseLong( args[i + 1] );
+					case "--clients" -> clients = Integer.parseInt( args[i + 1] );
+					case "--notes-per-client" -> notesPerClient = Integer.parseInt( args[i + 1] );
+					case "--batch-size" -> batchSize = Integer.parseInt( args[i + 1] );
+					default -> throw new IllegalArgumentException( "Unknown option " + args[i] );
+				}
+			}
+		}
+		catch( IllegalArgumentException e )
+		{
+			System.err.println( e.getMessage() );
+			_usage();
+			System.exit( 2 );
+		}
+		
+		if( Files.exists( target ) )
+		{
+			System.err.println( target + " already exists; choose a new database file" );
+			System.exit( 2 );
+		}
+		
+		SyntheticDataGenerator generator = new SyntheticDataGenerator( seed, clients, notesPerClient ).setBatchSize( batchSize );
+		int total = generator.getNoteCount();
+		generator.setProgressListener( written -> System.out.printf( "%,d / %,d notes%n", written, total ) );
+		
+		long started = System.nanoTime();
+		try( Connection conn = DbUtil.getConnection( "jdbc:sqlite:" + target.toAbsolutePath() ) )
+		{
+			// A throwaway database does not need to survive a power loss mid-run
+			try( Statement stmt = conn.createStatement() )
+			{
+				stmt.execute( "PRAGMA synchronous = OFF" );
+				stmt.execute( "PRAGMA journal_mode = MEMORY" );
+				stmt.execute( "PRAGMA cache_size = -262144" );
+			}
+			generator.generate( conn );
+		}
+		catch( SQLException e )
+		{
+			System.err.println( "Generation failed: " + e.getMessage() );
+			System.exit( 1 );
+		}
+		System.out.printf( "Wrote %,d clients and %,d notes to %s in %.1f s%n", clients, total, target,
+				( System.nanoTime() - started ) / 1e9 );
+	}
+	
+	private static void _usage()
+	{
+		System.err.println( "Usage: SyntheticDataGenerator <new-database-file> [--clients N] [--notes-per-client M] [--seed S] [--batch-size B]" );
+	}
+}
@@ -4,9 +4,12 @@ public enum ErrorCode
 {
 	REQ_MISSING("Required Element Missing", 98),
 	DATE_PARSE("Date Parse Error", 99),
+	INVALID_INPUT("Invalid Input", 400), // 400 is the HTTP status for Bad Request
 	NOT_FOUND("Not Found", 404), // 404 is the HTTP status for Not Found
 	CONFLICT("Database Conflict", 409), // 409 is the HTTP status for Conflict
-	DB_ERROR("Database Error", 500);
+	CANCELLED("Cancelled", 499), // 499 is the status nginx logs when the client gives up on a request
+	DB_ERROR("Database Error", 500),
+	EXPORT_ERROR("Export Error", 501);
 	
 	private String name;
 	private int number;
@@ -16,12 +19,12 @@ public enum ErrorCode
 		this.name = name;
 		this.number = number;
 	}
-
+	
 	public String getName()
 	{
 		return name;
 	}
-
+	
 	public int getNumber()
 	{
 		return number;
@@ -39,6 +39,14 @@ public enum PreferenceKey
 			"Default new notes to virtual/telehealth session type",
 			"Default Behavior"),
 	
+	EXPORT_WORKER_COUNT(
+			"export.worker_count",
+			"0",
+			PreferenceType.INTEGER,
+			"Bulk Export Worker Threads",
+			"Number of notes rendered at once during bulk export; 0 uses one per processor",
+			"Default Behavior"),
+	
 	// Required Fields: Note
 	REQUIRED_NOTE_DIAGNOSIS(
 			"required.note.diagnosis",
@@ -2,15 +2,55 @@ package com.alexpacheco.therapynotes.install;
 
 import java.io.*;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
 import java.util.Properties;
 
 /**
  * Manages persistence of setup configuration and first-run state. Uses a properties file stored in the application data directory.
+ *
+ * The file is parsed into an in-memory snapshot that reads are served from. Writes made here replace the snapshot as soon as the file is
+ * saved. Edits made to the file by anything else are picked up when its modification time or size changes, checked at most once every
+ * {@link #DEFAULT_CHANGE_CHECK_INTERVAL_MS} ms, so frequent reads such as document headers do no file I/O.
  */
 public class SetupConfigurationManager
 {
 	private static final String CONFIG_FILENAME = "therapy_notes.properties";
 	private static final String SETUP_COMPLETE_KEY = "setup.complete";
+	static final long DEFAULT_CHANGE_CHECK_INTERVAL_MS = 2000;
+	
+	private static final Object writeLock = new Object();
+	private static volatile Snapshot snapshot;
+	private static volatile long changeCheckIntervalMs = DEFAULT_CHANGE_CHECK_INTERVAL_MS;
+	
+	/**
+	 * Parsed contents of the file and the file state they were read from. The properties are never modified once published.
+	 */
+	private static final class Snapshot
+	{
+		private final Path path;
+		private final Properties props;
+		private final boolean exists;
+		private final FileTime modified;
+		private final long size;
+		private volatile long checkedAt;
+		
+		Snapshot( Path path, Properties props, boolean exists, FileTime modified, long size )
+		{
+			this.path = path;
+			this.props = props;
+			this.exists = exists;
+			this.modified = modified;
+			this.size = size;
+			this.checkedAt = System.nanoTime();
+		}
+		
+		boolean matches( Snapshot other )
+		{
+			return exists == other.exists && size == other.size && Objects.equals( modified, other.modified );
+		}
+	}
 	
 	private static Path getConfigFilePath()
 	{
@@ -45,14 +85,13 @@ public class SetupConfigurationManager
 	{
 		try
 		{
-			Path configPath = getConfigFilePath();
-			if( !Files.exists( configPath ) )
+			Snapshot current = _getSnapshot();
+			if( !current.exists )
 			{
 				return false;
 			}
 			
-			Properties props = loadProperties();
-			return "true".equalsIgnoreCase( props.getProperty( SETUP_COMPLETE_KEY, "false" ) );
+			return "true".equalsIgnoreCase( current.props.getProperty( SETUP_COMPLETE_KEY, "false" ) );
 			
 		}
 		catch( Exception e )
@@ -67,9 +106,12 @@ public class SetupConfigurationManager
 	 */
 	public static void markSetupComplete() throws IOException
 	{
-		Properties props = loadProperties();
-		props.setProperty( SETUP_COMPLETE_KEY, "true" );
-		saveProperties( props );
+		synchronized( writeLock )
+		{
+			Properties props = loadProperties();
+			props.setProperty( SETUP_COMPLETE_KEY, "true" );
+			saveProperties( props );
+		}
 	}
 	
 	/**
@@ -77,9 +119,12 @@ public class SetupConfigurationManager
 	 */
 	public static void resetSetupComplete() throws IOException
 	{
-		Properties props = loadProperties();
-		props.setProperty( SETUP_COMPLETE_KEY, "false" );
-		saveProperties( props );
+		synchronized( writeLock )
+		{
+			Properties props = loadProperties();
+			props.setProperty( SETUP_COMPLETE_KEY, "false" );
+			saveProperties( props );
+		}
 	}
 	
 	/**
@@ -87,20 +132,23 @@ public class SetupConfigurationManager
 	 */
 	public static void saveConfiguration( SetupConfiguration config ) throws IOException
 	{
-		Properties props = loadProperties();
-		
-		// Practice Information
-		setPropertyIfNotNull( props, "practice.name", config.getPracticeName() );
-		setPropertyIfNotNull( props, "practice.practitioner", config.getPractitionerName() );
-		setPropertyIfNotNull( props, "practice.license", config.getLicenseNumber() );
-		setPropertyIfNotNull( props, "practice.phone", config.getPhone() );
-		setPropertyIfNotNull( props, "practice.email", config.getEmail() );
-		setPropertyIfNotNull( props, "practice.address", config.getAddress() );
-		
-		// Database
-		setPropertyIfNotNull( props, "database.path", config.getDatabasePath() );
-		
-		saveProperties( props );
+		synchronized( writeLock )
+		{
+			Properties props = loadProperties();
+			
+			// Practice Information
+			setPropertyIfNotNull( props, "practice.name", config.getPracticeName() );
+			setPropertyIfNotNull( props, "practice.practitioner", config.getPractitionerName() );
+			setPropertyIfNotNull( props, "practice.license", config.getLicenseNumber() );
+			setPropertyIfNotNull( props, "practice.phone", config.getPhone() );
+			setPropertyIfNotNull( props, "practice.email", config.getEmail() );
+			setPropertyIfNotNull( props, "practice.address", config.getAddress() );
+			
+			// Database
+			setPropertyIfNotNull( props, "database.path", config.getDatabasePath() );
+			
+			saveProperties( props );
+		}
 	}
 	
 	/**
@@ -112,7 +160,7 @@ public class SetupConfigurationManager
 		
 		try
 		{
-			Properties props = loadProperties();
+			Properties props = _getSnapshot().props;
 			
 			// Practice Information
 			config.setPracticeName( props.getProperty( "practice.name" ) );
@@ -140,8 +188,7 @@ public class SetupConfigurationManager
 	{
 		try
 		{
-			Properties props = loadProperties();
-			return props.getProperty( key );
+			return _getSnapshot().props.getProperty( key );
 		}
 		catch( Exception e )
 		{
@@ -163,19 +210,97 @@ public class SetupConfigurationManager
 	 */
 	public static void setValue( String key, String value ) throws IOException
 	{
-		Properties props = loadProperties();
-		props.setProperty( key, value );
-		saveProperties( props );
+		synchronized( writeLock )
+		{
+			Properties props = loadProperties();
+			props.setProperty( key, value );
+			saveProperties( props );
+		}
+	}
+	
+	/**
+	 * Drop the in-memory snapshot so the next read parses the file again.
+	 */
+	public static void invalidate()
+	{
+		snapshot = null;
+	}
+	
+	/**
+	 * Set how often reads check the file for outside changes. Zero checks on every read.
+	 */
+	static void setChangeCheckInterval( long intervalMs )
+	{
+		changeCheckIntervalMs = intervalMs;
 	}
 	
 	// Private helper methods
 	
+	/**
+	 * Returns a modifiable copy of the current properties for a write.
+	 */
 	private static Properties loadProperties()
 	{
 		Properties props = new Properties();
+		props.putAll( _getSnapshot().props );
+		return props;
+	}
+	
+	private static void saveProperties( Properties props ) throws IOException
+	{
 		Path configPath = getConfigFilePath();
 		
-		if( Files.exists( configPath ) )
+		// Ensure parent directories exist
+		Files.createDirectories( configPath.getParent() );
+		
+		try( OutputStream os = Files.newOutputStream( configPath ) )
+		{
+			props.store( os, "Therapy Notes Configuration" );
+		}
+		
+		// Publish what was written rather than parsing it back
+		Snapshot written = _stat( configPath, props );
+		snapshot = written;
+	}
+	
+	/**
+	 * Returns the current snapshot, parsing the file when there is none, the configured path moved, or the file changed since it was read.
+	 */
+	private static Snapshot _getSnapshot()
+	{
+		Path configPath = getConfigFilePath();
+		Snapshot current = snapshot;
+		if( current != null && current.path.equals( configPath ) )
+		{
+			long now = System.nanoTime();
+			if( now - current.checkedAt < changeCheckIntervalMs * 1_000_000 )
+				return current;
+			
+			if( current.matches( _stat( configPath, null ) ) )
+			{
+				current.checkedAt = now;
+				return current;
+			}
+		}
+		
+		// Serialized with writes so a slow read can never replace what a write just published
+		synchronized( writeLock )
+		{
+			if( snapshot != current && snapshot != null && snapshot.path.equals( configPath ) )
+				return snapshot;
+			
+			Snapshot loaded = _read( configPath );
+			snapshot = loaded;
+			return loaded;
+		}
+	}
+	
+	private static Snapshot _read( Path configPath )
+	{
+		Properties props = new Properties();
+		Snapshot before = _stat( configPath, props );
+		
+		if( before.exists )
 		{
 			try( InputStream is = Files.newInputStream( configPath ) )
 			{
@@ -183,23 +308,26 @@ public class SetupConfigurationManager
 			}
 			catch( IOException e )
 			{
-				// Return empty properties on error
+				// Use empty properties on error
 			}
 		}
 		
-		return props;
+		return before;
 	}
 	
-	private static void saveProperties( Properties props ) throws IOException
+	/**
+	 * Records the file's current modification time and size alongside the given properties.
+	 */
+	private static Snapshot _stat( Path configPath, Properties props )
 	{
-		Path configPath = getConfigFilePath();
-		
-		// Ensure parent directories exist
-		Files.createDirectories( configPath.getParent() );
-		
-		try( OutputStream os = Files.newOutputStream( configPath ) )
+		try
 		{
-			props.store( os, "Therapy Notes Configuration" );
+			BasicFileAttributes attrs = Files.readAttributes( configPath, BasicFileAttributes.class );
+			return new Snapshot( configPath, props, true, attrs.lastModifiedTime(), attrs.size() );
+		}
+		catch( IOException e )
+		{
+			return new Snapshot( configPath, props, false, null, -1 );
 		}
 	}
 	
@@ -1,14 +1,19 @@
 package com.alexpacheco.therapynotes.model.api;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
 import com.alexpacheco.therapynotes.controller.enums.LogLevel;
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.dao.AppLogTailer;
 import com.alexpacheco.therapynotes.model.dao.AppLogsDao;
 import com.alexpacheco.therapynotes.model.entities.AppLog;
+import com.alexpacheco.therapynotes.util.AppLogger;
 
 public class AppLogApi
 {
@@ -16,6 +21,7 @@ public class AppLogApi
 	
 	public List<AppLog> getRecentLogs( int limit )
 	{
+		AppLogger.flush();
 		return appLogsDao.getRecentLogs( limit );
 	}
 	
@@ -35,14 +41,28 @@ public class AppLogApi
 		
 		String logLevelCode = logLevel == null ? null : logLevel.getDbCode();
 		
-		List<AppLog> logs = appLogsDao.getAllLogs( startDateTime, endDateTime, logLevelCode, null );
+		AppLogger.flush();
 		
-		if( logs.size() > maxResults )
+		return appLogsDao.getLogs( startDateTime, endDateTime, logLevelCode, null, maxResults );
+	}
+	
+	/**
+	 * Starts delivering log entries to the listener as they are written, from a background thread.
+	 * 
+	 * @return A handle that stops following when run
+	 */
+	public Runnable followLogs( Consumer<List<AppLog>> listener ) throws TherapyAppException
+	{
+		AppLogger.flush();
+		try
 		{
-			logs.subList( maxResults, logs.size() ).clear();
+			AppLogTailer tailer = new AppLogTailer( AppLogger.getLogDirectoryPath(), listener );
+			return tailer::close;
+		}
+		catch( IOException e )
+		{
+			throw new TherapyAppException( "Failed to follow log files: " + e.getMessage(), ErrorCode.DB_ERROR );
 		}
-		
-		return logs;
 	}
 	
 }
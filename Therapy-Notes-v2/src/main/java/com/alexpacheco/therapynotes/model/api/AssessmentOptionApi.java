@@ -6,6 +6,7 @@ import java.util.List;
 import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.EntityValidator;
+import com.alexpacheco.therapynotes.model.dao.AssessmentOptionRegistry;
 import com.alexpacheco.therapynotes.model.dao.AssessmentOptionsDao;
 import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOption;
 import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOptionType;
@@ -14,6 +15,7 @@ import com.alexpacheco.therapynotes.util.AppLogger;
 public class AssessmentOptionApi
 {
 	private AssessmentOptionsDao dao = new AssessmentOptionsDao();
+	private AssessmentOptionRegistry registry = AssessmentOptionRegistry.getInstance();
 	
 	/**
 	 * Creates a new AssessmentOption
@@ -34,6 +36,10 @@ public class AssessmentOptionApi
 			AppLogger.error( e );
 			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
 		}
+		finally
+		{
+			registry.invalidate();
+		}
 	}
 	
 	/**
@@ -54,6 +60,10 @@ public class AssessmentOptionApi
 			AppLogger.error( e );
 			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
 		}
+		finally
+		{
+			registry.invalidate();
+		}
 	}
 	
 	public List<AssessmentOption> getOptions( AssessmentOptionType type ) throws TherapyAppException
@@ -61,9 +71,9 @@ public class AssessmentOptionApi
 		try
 		{
 			if( type == null )
-				return dao.getOptions();
+				return registry.getOptions();
 			else
-				return dao.getOptions( type );
+				return registry.getOptions( type );
 		}
 		catch( SQLException e )
 		{
@@ -79,7 +89,7 @@ public class AssessmentOptionApi
 			if( assessmentOptionId == null )
 				return null;
 			else
-				return dao.getOption( assessmentOptionId );
+				return registry.getOption( assessmentOptionId );
 		}
 		catch( SQLException e )
 		{
@@ -102,5 +112,9 @@ public class AssessmentOptionApi
 			AppLogger.error( e );
 			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
 		}
+		finally
+		{
+			registry.invalidate();
+		}
 	}
 }
@@ -2,18 +2,23 @@ package com.alexpacheco.therapynotes.model.api;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
 import com.alexpacheco.therapynotes.controller.exceptions.ResourceConflictException;
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.EntityValidator;
+import com.alexpacheco.therapynotes.model.dao.ClientNameRegistry;
 import com.alexpacheco.therapynotes.model.dao.ClientsDao;
 import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.ClientNameIndex;
+import com.alexpacheco.therapynotes.model.entities.ImportCheckpoint;
 import com.alexpacheco.therapynotes.util.AppLogger;
 
 public class ClientApi
 {
 	private final ClientsDao clientDao = new ClientsDao();
+	private final ClientNameRegistry nameRegistry = ClientNameRegistry.getInstance();
 	
 	/**
 	 * Creates a new client and validates the unique client_code.
@@ -45,6 +50,64 @@ public class ClientApi
 			// Fallback for other database errors
 			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
 		}
+		finally
+		{
+			nameRegistry.invalidate();
+		}
+	}
+	
+	/**
+	 * Creates new clients in one transaction, for imports. Each client is validated first; nothing is saved if any client is invalid, a
+	 * code is already in use, or the insert fails. Each saved client is given its new id.
+	 */
+	public void createClients( List<Client> clients ) throws TherapyAppException
+	{
+		createClients( clients, null );
+	}
+	
+	/**
+	 * Creates new clients like {@link #createClients(List)}, saving the import checkpoint that covers them in the same transaction.
+	 */
+	public void createClients( List<Client> clients, ImportCheckpoint checkpoint ) throws TherapyAppException
+	{
+		for( Client client : clients )
+		{
+			EntityValidator.validateClient( client );
+		}
+		
+		try
+		{
+			clientDao.saveNew( clients, checkpoint );
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			if( e.getErrorCode() == 19 || e.getMessage().contains( "UNIQUE" ) )
+			{
+				throw new ResourceConflictException( "A client code in this batch is already assigned to another patient." );
+			}
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+		finally
+		{
+			nameRegistry.invalidate();
+		}
+	}
+	
+	/**
+	 * Returns the id of every client, active or not, keyed by upper-cased client code.
+	 */
+	public Map<String, Integer> getClientIdsByCode() throws TherapyAppException
+	{
+		try
+		{
+			return clientDao.getClientIdsByCode();
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "Error occurred while searching for clients.", ErrorCode.DB_ERROR );
+		}
 	}
 	
 	/**
@@ -63,6 +126,10 @@ public class ClientApi
 			AppLogger.error( e );
 			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
 		}
+		finally
+		{
+			nameRegistry.invalidate();
+		}
 	}
 	
 	/**
@@ -95,6 +162,22 @@ public class ClientApi
 		}
 	}
 	
+	/**
+	 * Returns the shared index of active client names, reloaded only after a client is created or edited.
+	 */
+	public ClientNameIndex getClientNameIndex() throws TherapyAppException
+	{
+		try
+		{
+			return nameRegistry.getIndex();
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "Error occurred while loading client names.", ErrorCode.DB_ERROR );
+		}
+	}
+	
 	public Client getClient( int clientId ) throws TherapyAppException
 	{
 		try
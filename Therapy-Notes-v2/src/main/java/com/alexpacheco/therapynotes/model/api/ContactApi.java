@@ -8,6 +8,7 @@ import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.EntityValidator;
 import com.alexpacheco.therapynotes.model.dao.ContactsDao;
 import com.alexpacheco.therapynotes.model.entities.Contact;
+import com.alexpacheco.therapynotes.model.entities.ImportCheckpoint;
 import com.alexpacheco.therapynotes.util.AppLogger;
 
 public class ContactApi
@@ -32,6 +33,36 @@ public class ContactApi
 		}
 	}
 	
+	/**
+	 * Creates new contacts in one transaction, for imports. Each contact is validated first; nothing is saved if any contact is invalid or
+	 * the insert fails.
+	 */
+	public void createContacts( List<Contact> contacts ) throws TherapyAppException
+	{
+		createContacts( contacts, null );
+	}
+	
+	/**
+	 * Creates new contacts like {@link #createContacts(List)}, saving the import checkpoint that covers them in the same transaction.
+	 */
+	public void createContacts( List<Contact> contacts, ImportCheckpoint checkpoint ) throws TherapyAppException
+	{
+		for( Contact contact : contacts )
+		{
+			EntityValidator.validateContact( contact );
+		}
+		
+		try
+		{
+			contactDao.saveNew( contacts, checkpoint );
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+	}
+	
 	public List<Contact> getAllContactsLinkedToClient( int clientId ) throws TherapyAppException
 	{
 		try
@@ -0,0 +1,59 @@
+package com.alexpacheco.therapynotes.model.api;
+
+import java.sql.SQLException;
+
+import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.dao.ImportCheckpointsDao;
+import com.alexpacheco.therapynotes.model.entities.ImportCheckpoint;
+import com.alexpacheco.therapynotes.util.AppLogger;
+
+public class ImportCheckpointApi
+{
+	private final ImportCheckpointsDao checkpointsDao = new ImportCheckpointsDao();
+	
+	/**
+	 * Returns the checkpoint for the source, or null if it has never been imported.
+	 */
+	public ImportCheckpoint getCheckpoint( String source ) throws TherapyAppException
+	{
+		try
+		{
+			return checkpointsDao.find( source );
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+	}
+	
+	/**
+	 * Saves a checkpoint that covers no new records. Checkpoints for saved records go through the Api call that saves them.
+	 */
+	public void saveCheckpoint( ImportCheckpoint checkpoint ) throws TherapyAppException
+	{
+		try
+		{
+			checkpointsDao.save( checkpoint );
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+	}
+	
+	public void deleteCheckpoint( String source ) throws TherapyAppException
+	{
+		try
+		{
+			checkpointsDao.delete( source );
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+	}
+}
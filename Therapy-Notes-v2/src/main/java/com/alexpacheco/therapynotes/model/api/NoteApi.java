@@ -3,16 +3,23 @@ package com.alexpacheco.therapynotes.model.api;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.EntityValidator;
+import com.alexpacheco.therapynotes.model.dao.NoteBatchInserter;
 import com.alexpacheco.therapynotes.model.dao.NotesDao;
+import com.alexpacheco.therapynotes.model.entities.ImportCheckpoint;
 import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.NotePage;
+import com.alexpacheco.therapynotes.model.entities.NoteSearchHit;
 import com.alexpacheco.therapynotes.util.AppLogger;
 
 public class NoteApi
 {
+	public static final int DEFAULT_BULK_BATCH_SIZE = 1000;
+	
 	private final NotesDao notesDao = new NotesDao();
 	
 	public void createNewNote( Note note ) throws TherapyAppException
@@ -30,6 +37,81 @@ public class NoteApi
 		}
 	}
 	
+	/**
+	 * Saves many notes at once, committing every {@link #DEFAULT_BULK_BATCH_SIZE} notes. See
+	 * {@link #createNotes(Iterable, int, IntConsumer)}.
+	 */
+	public int createNotes( Iterable<Note> notes ) throws TherapyAppException
+	{
+		return createNotes( notes, DEFAULT_BULK_BATCH_SIZE, null );
+	}
+	
+	/**
+	 * Saves the notes and the import checkpoint that covers them in one transaction. Each saved note is given its new id. Nothing is saved
+	 * if a note fails validation or the database reports an error.
+	 *
+	 * @return the number of notes saved
+	 */
+	public int createNotes( List<Note> notes, ImportCheckpoint checkpoint ) throws TherapyAppException
+	{
+		try( NoteBatchInserter inserter = notesDao.openBatchInserter() )
+		{
+			for( Note note : notes )
+			{
+				EntityValidator.validateNote( note );
+				inserter.add( note );
+			}
+			inserter.commit( checkpoint );
+			return inserter.getCommittedCount();
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+	}
+	
+	/**
+	 * Saves many notes at once, for imports and migrations. Notes are validated and inserted as they are read from the iterable and
+	 * committed every batchSize notes, after which the progress listener, if any, is called with the number saved so far. Each saved note
+	 * is given its new id. If a note fails validation or the database reports an error, the batch in progress is rolled back and the
+	 * exception is thrown; batches already committed stay saved.
+	 *
+	 * @return the number of notes saved
+	 */
+	public int createNotes( Iterable<Note> notes, int batchSize, IntConsumer progressListener ) throws TherapyAppException
+	{
+		int size = Math.max( 1, batchSize );
+		try( NoteBatchInserter inserter = notesDao.openBatchInserter() )
+		{
+			for( Note note : notes )
+			{
+				EntityValidator.validateNote( note );
+				inserter.add( note );
+				
+				if( inserter.getPendingCount() >= size )
+				{
+					inserter.commit();
+					if( progressListener != null )
+						progressListener.accept( inserter.getCommittedCount() );
+				}
+			}
+			
+			if( inserter.getPendingCount() > 0 )
+			{
+				inserter.commit();
+				if( progressListener != null )
+					progressListener.accept( inserter.getCommittedCount() );
+			}
+			return inserter.getCommittedCount();
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+	}
+	
 	public void updateExistingNote( Note note ) throws TherapyAppException
 	{
 		EntityValidator.validateNote( note );
@@ -71,6 +153,53 @@ public class NoteApi
 		}
 	}
 	
+	/**
+	 * Returns one page of matching notes, newest first. Pass the previous page's next page token to continue, or null to start.
+	 */
+	public NotePage searchNotesPage( Integer clientId, Date startDate, Date endDate, int pageSize, String pageToken )
+			throws TherapyAppException
+	{
+		try
+		{
+			return notesDao.searchNotesPage( clientId, startDate, endDate, pageSize, pageToken );
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+	}
+	
+	public int countNotes( Integer clientId, Date startDate, Date endDate ) throws TherapyAppException
+	{
+		try
+		{
+			return notesDao.countNotes( clientId, startDate, endDate );
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+	}
+	
+	/**
+	 * Ranked full-text search over note narratives and comments, optionally narrowed by client and date range.
+	 */
+	public List<NoteSearchHit> searchNotesFullText( String text, Integer clientId, Date startDate, Date endDate, int limit )
+			throws TherapyAppException
+	{
+		try
+		{
+			return notesDao.searchNotesFullText( text, clientId, startDate, endDate, limit );
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+	}
+	
 	public Integer getHighestUsedSessionNumberForClient( Integer clientId ) throws TherapyAppException
 	{
 		try
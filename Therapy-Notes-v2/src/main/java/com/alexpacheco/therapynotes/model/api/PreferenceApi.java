@@ -40,6 +40,25 @@ public class PreferenceApi
 		}
 	}
 	
+	/**
+	 * Get every stored preference
+	 * 
+	 * @return All preferences ordered by category and display name
+	 * @throws TherapyAppException if database error occurs
+	 */
+	public List<Preference> getAllPreferences() throws TherapyAppException
+	{
+		try
+		{
+			return preferencesDao.findAll();
+		}
+		catch( SQLException e )
+		{
+			AppLogger.error( e );
+			throw new TherapyAppException( "An internal database error occurred.", ErrorCode.DB_ERROR );
+		}
+	}
+	
 	/**
 	 * Get the value of a preference by key, returning default if not found
 	 * 
@@ -0,0 +1,408 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.zip.CRC32;
+
+/**
+ * Sidecar index for one rotated log file, stored next to it as TherapyNotes-N.log.idx. The file is divided into buckets of consecutive
+ * entries; each bucket records its byte range together with the timestamp range, levels and sessions it contains, so a query can skip
+ * straight to the ranges that might match and read nothing else.
+ *
+ * Indexes are extended incrementally: only bytes appended since the last query are scanned. Each index is identified by a fingerprint of
+ * the file's first line rather than by file name, so when the FileHandler rotates TherapyNotes-0.log to TherapyNotes-1.log the existing
+ * index follows the content instead of being rebuilt.
+ */
+class AppLogIndex
+{
+	static final String SIDECAR_SUFFIX = ".idx";
+	
+	private static final int FORMAT_VERSION = 1;
+	private static final int BUCKET_ENTRIES = 128;
+	private static final int FINGERPRINT_BYTES = 512;
+	private static final int READ_CHUNK_BYTES = 64 * 1024;
+	static final long NO_FINGERPRINT = 0;
+	private static final List<String> LEVELS = List.of( "SEVERE", "WARNING", "INFO", "CONFIG", "FINE", "FINER", "FINEST" );
+	private static final int OTHER_LEVEL_BIT = 1 << LEVELS.size();
+	private static final Object LOCK = new Object();
+	
+	/**
+	 * A byte range of whole log entries and a summary of what they contain.
+	 */
+	static class Bucket
+	{
+		private final long start;
+		private long end;
+		private int entries;
+		private long minTime = Long.MAX_VALUE;
+		private long maxTime = Long.MIN_VALUE;
+		private int levelMask;
+		private final Set<String> sessions = new LinkedHashSet<>();
+		
+		Bucket( long start )
+		{
+			this.start = start;
+			this.end = start;
+		}
+		
+		long getStart()
+		{
+			return start;
+		}
+		
+		long getEnd()
+		{
+			return end;
+		}
+		
+		/**
+		 * Returns false only if no entry in the bucket can match the filters.
+		 */
+		boolean mayContain( LocalDateTime startDate, LocalDateTime endDate, String level, String sessionId )
+		{
+			if( startDate != null && maxTime < _toMillis( startDate ) )
+				return false;
+			if( endDate != null && minTime > _toMillis( endDate ) )
+				return false;
+			if( level != null && !level.trim().isEmpty() && ( levelMask & _levelBit( level ) ) == 0 )
+				return false;
+			if( sessionId != null && !sessionId.trim().isEmpty() && !sessions.contains( sessionId ) )
+				return false;
+			return true;
+		}
+		
+		/**
+		 * Returns true if the bucket may hold an entry at or after the given time.
+		 */
+		boolean mayEndAtOrAfter( LocalDateTime time )
+		{
+			return time == null || maxTime >= _toMillis( time );
+		}
+		
+		private void _add( LocalDateTime timestamp, String level, String sessionId, long lineEnd )
+		{
+			entries++;
+			end = lineEnd;
+			if( timestamp == null )
+			{
+				// Unparseable timestamps must never be filtered out by date
+				minTime = Long.MIN_VALUE;
+				maxTime = Long.MAX_VALUE;
+			}
+			else
+			{
+				long millis = _toMillis( timestamp );
+				minTime = Math.min( minTime, millis );
+				maxTime = Math.max( maxTime, millis );
+			}
+			levelMask |= _levelBit( level );
+			sessions.add( sessionId );
+		}
+	}
+	
+	private final long fingerprint;
+	private final List<Bucket> buckets = new ArrayList<>();
+	private long indexedLength;
+	private File loadedFrom;
+	
+	private AppLogIndex( long fingerprint )
+	{
+		this.fingerprint = fingerprint;
+	}
+	
+	/**
+	 * Brings the index of each log file up to date, reusing and extending saved sidecars where possible, and saves any that changed.
+	 * Sidecars whose log file no longer exists are deleted.
+	 *
+	 * @param logFiles Log files to index
+	 * @return One index per log file, in the same order
+	 */
+	static List<AppLogIndex> update( List<File> logFiles ) throws IOException
+	{
+		synchronized( LOCK )
+		{
+			Map<Long, AppLogIndex> saved = new HashMap<>();
+			Set<File> directories = new LinkedHashSet<>();
+			for( File logFile : logFiles )
+			{
+				directories.add( logFile.getAbsoluteFile().getParentFile() );
+			}
+			for( File directory : directories )
+			{
+				saved.putAll( _readSidecars( directory ) );
+			}
+			
+			List<AppLogIndex> indexes = new ArrayList<>();
+			for( File logFile : logFiles )
+			{
+				long fingerprint = fingerprint( logFile );
+				AppLogIndex index = saved.remove( fingerprint );
+				if( index == null || fingerprint == NO_FINGERPRINT || index.indexedLength > logFile.length() )
+					index = new AppLogIndex( fingerprint );
+				
+				File sidecar = sidecarFor( logFile );
+				boolean extended = index._extend( logFile );
+				if( fingerprint != NO_FINGERPRINT && ( extended || !sidecar.equals( index.loadedFrom ) ) )
+					index._save( sidecar );
+				
+				indexes.add( index );
+			}
+			
+			for( File directory : directories )
+			{
+				_deleteOrphanedSidecars( directory );
+			}
+			return indexes;
+		}
+	}
+	
+	static File sidecarFor( File logFile )
+	{
+		return new File( logFile.getPath() + SIDECAR_SUFFIX );
+	}
+	
+	/**
+	 * Buckets in file order, oldest first.
+	 */
+	List<Bucket> getBuckets()
+	{
+		return Collections.unmodifiableList( buckets );
+	}
+	
+	/**
+	 * Scans everything appended since the last update.
+	 *
+	 * @return true if any bytes were indexed
+	 */
+	private boolean _extend( File logFile ) throws IOException
+	{
+		long length = logFile.length();
+		if( length <= indexedLength )
+			return false;
+		
+		long startLength = indexedLength;
+		Charset charset = Charset.defaultCharset();
+		Bucket current = buckets.isEmpty() ? null : buckets.get( buckets.size() - 1 );
+		
+		try( RandomAccessFile file = new RandomAccessFile( logFile, "r" );
+				InputStream in = Channels.newInputStream( file.getChannel().position( indexedLength ) ) )
+		{
+			byte[] chunk = new byte[READ_CHUNK_BYTES];
+			ByteArrayOutputStream line = new ByteArrayOutputStream( 256 );
+			long position = indexedLength;
+			long lineStart = position;
+			int read;
+			
+			while( position < length && ( read = in.read( chunk ) ) != -1 )
+			{
+				for( int i = 0; i < read && position < length; i++ )
+				{
+					position++;
+					if( chunk[i] != '\n' )
+					{
+						line.write( chunk[i] );
+						continue;
+					}
+					
+					Matcher matcher = AppLogsDao.LOG_PATTERN.matcher( _stripCarriageReturn( line.toString( charset ) ) );
+					if( matcher.matches() )
+					{
+						if( current == null || current.entries >= BUCKET_ENTRIES )
+						{
+							current = new Bucket( lineStart );
+							buckets.add( current );
+						}
+						current._add( _parseTimestamp( matcher.group( 2 ) ), matcher.group( 4 ).trim(), matcher.group( 3 ).trim(),
+								position );
+					}
+					else if( current != null )
+					{
+						// Continuation line of a multi-line message
+						current.end = position;
+					}
+					
+					line.reset();
+					lineStart = position;
+					indexedLength = position;
+				}
+			}
+		}
+		
+		return indexedLength > startLength;
+	}
+	
+	private void _save( File sidecar ) throws IOException
+	{
+		File temp = new File( sidecar.getPath() + ".tmp" );
+		try( DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( temp ) ) ) )
+		{
+			out.writeInt( FORMAT_VERSION );
+			out.writeLong( fingerprint );
+			out.writeLong( indexedLength );
+			out.writeInt( buckets.size() );
+			for( Bucket bucket : buckets )
+			{
+				out.writeLong( bucket.start );
+				out.writeLong( bucket.end );
+				out.writeInt( bucket.entries );
+				out.writeLong( bucket.minTime );
+				out.writeLong( bucket.maxTime );
+				out.writeInt( bucket.levelMask );
+				out.writeInt( bucket.sessions.size() );
+				for( String session : bucket.sessions )
+				{
+					out.writeUTF( session );
+				}
+			}
+		}
+		Files.move( temp.toPath(), sidecar.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+		loadedFrom = sidecar;
+	}
+	
+	private static AppLogIndex _load( File sidecar ) throws IOException
+	{
+		try( DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( sidecar ) ) ) )
+		{
+			if( in.readInt() != FORMAT_VERSION )
+				return null;
+			
+			AppLogIndex index = new AppLogIndex( in.readLong() );
+			index.indexedLength = in.readLong();
+			int bucketCount = in.readInt();
+			for( int i = 0; i < bucketCount; i++ )
+			{
+				Bucket bucket = new Bucket( in.readLong() );
+				bucket.end = in.readLong();
+				bucket.entries = in.readInt();
+				bucket.minTime = in.readLong();
+				bucket.maxTime = in.readLong();
+				bucket.levelMask = in.readInt();
+				int sessionCount = in.readInt();
+				for( int j = 0; j < sessionCount; j++ )
+				{
+					bucket.sessions.add( in.readUTF() );
+				}
+				index.buckets.add( bucket );
+			}
+			index.loadedFrom = sidecar;
+			return index;
+		}
+	}
+	
+	private static Map<Long, AppLogIndex> _readSidecars( File directory )
+	{
+		Map<Long, AppLogIndex> indexes = new HashMap<>();
+		File[] sidecars = directory.listFiles( ( dir, name ) -> name.endsWith( ".log" + SIDECAR_SUFFIX ) );
+		if( sidecars == null )
+			return indexes;
+		
+		for( File sidecar : sidecars )
+		{
+			try
+			{
+				AppLogIndex index = _load( sidecar );
+				if( index != null )
+					indexes.put( index.fingerprint, index );
+			}
+			catch( IOException e )
+			{
+				// A damaged sidecar is simply rebuilt
+			}
+		}
+		return indexes;
+	}
+	
+	private static void _deleteOrphanedSidecars( File directory )
+	{
+		File[] sidecars = directory.listFiles( ( dir, name ) -> name.endsWith( ".log" + SIDECAR_SUFFIX ) );
+		if( sidecars == null )
+			return;
+		
+		for( File sidecar : sidecars )
+		{
+			String path = sidecar.getPath();
+			if( !new File( path.substring( 0, path.length() - SIDECAR_SUFFIX.length() ) ).exists() )
+				sidecar.delete();
+		}
+	}
+	
+	/**
+	 * Identifies a log file by a checksum of its first line, which holds a sequence number, timestamp and session ID and so is unique
+	 * to that file's content.
+	 *
+	 * @return The fingerprint, or {@link #NO_FINGERPRINT} if the file does not contain a complete first line yet
+	 */
+	static long fingerprint( File logFile ) throws IOException
+	{
+		byte[] head = new byte[FINGERPRINT_BYTES];
+		int read;
+		try( InputStream in = new FileInputStream( logFile ) )
+		{
+			read = in.readNBytes( head, 0, head.length );
+		}
+		
+		int lineLength = 0;
+		while( lineLength < read && head[lineLength] != '\n' )
+		{
+			lineLength++;
+		}
+		if( lineLength == read && read < head.length )
+			return NO_FINGERPRINT;
+		
+		CRC32 crc = new CRC32();
+		crc.update( head, 0, lineLength );
+		return ( crc.getValue() << 32 ) | ( lineLength + 1 );
+	}
+	
+	private static LocalDateTime _parseTimestamp( String value )
+	{
+		try
+		{
+			return LocalDateTime.parse( value.trim(), AppLogsDao.TIMESTAMP_FORMATTER );
+		}
+		catch( DateTimeParseException e )
+		{
+			return null;
+		}
+	}
+	
+	private static String _stripCarriageReturn( String line )
+	{
+		return line.endsWith( "\r" ) ? line.substring( 0, line.length() - 1 ) : line;
+	}
+	
+	private static long _toMillis( LocalDateTime time )
+	{
+		return time.toInstant( ZoneOffset.UTC ).toEpochMilli();
+	}
+	
+	private static int _levelBit( String level )
+	{
+		int index = LEVELS.indexOf( level.trim().toUpperCase() );
+		return index >= 0 ? 1 << index : OTHER_LEVEL_BIT;
+	}
+}
@@ -0,0 +1,214 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.alexpacheco.therapynotes.model.entities.AppLog;
+
+/**
+ * Follows the current log file and delivers entries as they are written. A background thread watches the log directory and, on each
+ * change, reads only the bytes appended since its last position, so following a busy session costs one small read per batch of records.
+ * When the FileHandler rotates TherapyNotes-0.log, the rest of the rotated file is read before following the new one.
+ *
+ * Entries are passed to the listener on the tail thread, in the order they were written, one batch per read.
+ */
+public class AppLogTailer implements AutoCloseable
+{
+	private static final String CURRENT_LOG = "TherapyNotes-0.log";
+	private static final String ROTATED_LOG = "TherapyNotes-1.log";
+	// Some platforms implement WatchService by slow polling, so the file is also checked on this interval
+	private static final long CHECK_INTERVAL_MILLIS = 1000;
+	
+	private final File logDir;
+	private final Consumer<List<AppLog>> listener;
+	private final AppLogsDao appLogsDao;
+	private final WatchService watchService;
+	private final Thread thread;
+	
+	private long position;
+	private long fingerprint;
+	private volatile boolean closed;
+	
+	/**
+	 * Starts following from the current end of the log.
+	 *
+	 * @param logDirectory Directory holding the rotated log files
+	 * @param listener     Receives each batch of new entries on the tail thread
+	 */
+	public AppLogTailer( String logDirectory, Consumer<List<AppLog>> listener ) throws IOException
+	{
+		this.logDir = new File( logDirectory );
+		this.listener = listener;
+		this.appLogsDao = new AppLogsDao( logDirectory );
+		
+		File current = new File( logDir, CURRENT_LOG );
+		if( current.exists() )
+		{
+			position = current.length();
+			fingerprint = AppLogIndex.fingerprint( current );
+		}
+		
+		watchService = FileSystems.getDefault().newWatchService();
+		logDir.toPath().register( watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY );
+		
+		thread = new Thread( this::_run, "log-tail" );
+		thread.setDaemon( true );
+		thread.start();
+	}
+	
+	/**
+	 * Stops following and waits for the tail thread to finish any batch it is delivering, so no batches are delivered after this returns.
+	 * The listener therefore must not block on the thread that calls close, for example with SwingUtilities.invokeAndWait from a caller
+	 * on the event dispatch thread. Called from the listener itself, it returns without waiting.
+	 */
+	@Override
+	public void close()
+	{
+		closed = true;
+		try
+		{
+			watchService.close();
+		}
+		catch( IOException e )
+		{
+			// Nothing left to release
+		}
+		thread.interrupt();
+		
+		if( Thread.currentThread() == thread )
+			return;
+		try
+		{
+			thread.join();
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private void _run()
+	{
+		while( !closed )
+		{
+			try
+			{
+				WatchKey key = watchService.poll( CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS );
+				if( key != null )
+				{
+					key.pollEvents();
+					key.reset();
+				}
+				_readAppended();
+			}
+			catch( InterruptedException | ClosedWatchServiceException e )
+			{
+				return;
+			}
+			catch( IOException e )
+			{
+				// The file may be mid-rotation; try again on the next change
+			}
+		}
+	}
+	
+	/**
+	 * Reads whatever was appended since the last call and hands it to the listener. The FileHandler renames TherapyNotes-0.log before it
+	 * creates the new one, so a missing current file is treated as an empty new file.
+	 */
+	private void _readAppended() throws IOException
+	{
+		File current = new File( logDir, CURRENT_LOG );
+		long length = current.exists() ? current.length() : 0;
+		long currentFingerprint = length > 0 ? AppLogIndex.fingerprint( current ) : AppLogIndex.NO_FINGERPRINT;
+		
+		List<AppLog> entries = new ArrayList<>();
+		if( fingerprint == AppLogIndex.NO_FINGERPRINT )
+		{
+			// The first line was incomplete when following began, so there was nothing to compare with yet
+			if( length == position )
+				return;
+			fingerprint = currentFingerprint;
+		}
+		else if( currentFingerprint != fingerprint || length < position )
+		{
+			// Rotated: finish the previous file, which is now TherapyNotes-1.log, then start the new one from the top
+			File rotated = new File( logDir, ROTATED_LOG );
+			if( rotated.exists() && AppLogIndex.fingerprint( rotated ) == fingerprint )
+				_readFrom( rotated, position, entries );
+			
+			position = 0;
+			fingerprint = currentFingerprint;
+		}
+		else if( length == position )
+		{
+			return;
+		}
+		
+		try
+		{
+			position = _readFrom( current, position, entries );
+		}
+		finally
+		{
+			if( !entries.isEmpty() && !closed )
+				listener.accept( entries );
+		}
+	}
+	
+	/**
+	 * Parses the complete lines between start and the end of the file.
+	 *
+	 * @return The position after the last complete line read
+	 */
+	private long _readFrom( File logFile, long start, List<AppLog> entries ) throws IOException
+	{
+		byte[] bytes;
+		try( RandomAccessFile file = new RandomAccessFile( logFile, "r" ) )
+		{
+			long length = file.length();
+			if( length <= start )
+				return start;
+			
+			bytes = new byte[(int) ( length - start )];
+			file.seek( start );
+			file.readFully( bytes );
+		}
+		catch( FileNotFoundException e )
+		{
+			// Renamed or not yet created by the FileHandler; read it on the next change
+			return start;
+		}
+		
+		// A record still being written is left for the next read
+		int complete = bytes.length;
+		while( complete > 0 && bytes[complete - 1] != '\n' )
+		{
+			complete--;
+		}
+		if( complete == 0 )
+			return start;
+		
+		try( BufferedReader reader = new BufferedReader(
+				new InputStreamReader( new ByteArrayInputStream( bytes, 0, complete ), Charset.defaultCharset() ) ) )
+		{
+			entries.addAll( appLogsDao.parseLogEntries( reader, null, null, null, null ) );
+		}
+		return start + complete;
+	}
+}
@@ -1,11 +1,14 @@
 package com.alexpacheco.therapynotes.model.dao;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -29,7 +32,7 @@ import com.alexpacheco.therapynotes.util.AppLogger;
 public class AppLogsDao
 {
 	// Pattern to parse log lines: [ID] [TIMESTAMP] [SESSION] [LEVEL] [SOURCE] MESSAGE
-	private static final Pattern LOG_PATTERN = Pattern.compile( "^\\[(\\d+)\\]\\s+" + // ID
+	static final Pattern LOG_PATTERN = Pattern.compile( "^\\[(\\d+)\\]\\s+" + // ID
 			"\\[([^\\]]+)\\]\\s+" + // Timestamp
 			"\\[([^\\]]+)\\]\\s+" + // Session ID
 			"\\[([^\\]]+)\\]\\s+" + // Level
@@ -37,7 +40,7 @@ public class AppLogsDao
 			"(.*)$" // Message
 	);
 	
-	private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern( "yyyy-MM-dd HH:mm:ss.SSS" );
+	static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern( "yyyy-MM-dd HH:mm:ss.SSS" );
 	
 	private final String logDirectory;
 	
@@ -75,17 +78,57 @@ public class AppLogsDao
 	 * @return List of AppLog entries matching the criteria
 	 */
 	public List<AppLog> getAllLogs( LocalDateTime startDate, LocalDateTime endDate, String level, String sessionId )
+	{
+		return getLogs( startDate, endDate, level, sessionId, Integer.MAX_VALUE );
+	}
+	
+	/**
+	 * Get the newest logs matching the given criteria. The sidecar {@link AppLogIndex} of each log file is brought up to date first, then
+	 * only the byte ranges that can contain matching entries are read, newest first, stopping as soon as no unread range can hold an entry
+	 * newer than the oldest one kept.
+	 * 
+	 * @param startDate  Filter logs from this date onwards (inclusive), null for no filter
+	 * @param endDate    Filter logs up to this date (inclusive), null for no filter
+	 * @param level      Filter by log level (INFO, WARNING, SEVERE), null for all levels
+	 * @param sessionId  Filter by session ID, null for all sessions
+	 * @param maxResults Maximum number of entries to return
+	 * @return Up to maxResults matching entries, newest first
+	 */
+	public List<AppLog> getLogs( LocalDateTime startDate, LocalDateTime endDate, String level, String sessionId, int maxResults )
 	{
 		List<AppLog> logs = new ArrayList<>();
+		if( maxResults <= 0 )
+			return logs;
 		
 		try
 		{
 			// Get all log files sorted by modification time (newest first)
 			List<File> logFiles = getLogFiles();
+			List<AppLogIndex> indexes = AppLogIndex.update( logFiles );
+			LocalDateTime cutoff = null;
 			
-			for( File logFile : logFiles )
+			for( int i = 0; i < logFiles.size(); i++ )
 			{
-				logs.addAll( parseLogFile( logFile, startDate, endDate, level, sessionId ) );
+				List<AppLogIndex.Bucket> buckets = indexes.get( i ).getBuckets();
+				
+				for( int b = buckets.size() - 1; b >= 0; b-- )
+				{
+					AppLogIndex.Bucket bucket = buckets.get( b );
+					if( !bucket.mayContain( startDate, endDate, level, sessionId ) )
+						continue;
+					if( logs.size() >= maxResults && !bucket.mayEndAtOrAfter( cutoff ) )
+						continue;
+					
+					logs.addAll(
+							parseLogRange( logFiles.get( i ), bucket.getStart(), bucket.getEnd(), startDate, endDate, level, sessionId ) );
+					
+					if( logs.size() >= maxResults )
+					{
+						Collections.sort( logs, Collections.reverseOrder() );
+						logs.subList( maxResults, logs.size() ).clear();
+						cutoff = logs.get( logs.size() - 1 ).getTimestamp();
+					}
+				}
 			}
 			
 			// Sort by timestamp descending (newest first)
@@ -125,12 +168,19 @@ public class AppLogsDao
 	}
 	
 	/**
-	 * Get most recent N logs.
+	 * Get most recent N logs. The newest log file is read backwards from its end, so only as much of the logs as holds N entries is read.
 	 */
 	public List<AppLog> getRecentLogs( int limit )
 	{
-		List<AppLog> allLogs = getAllLogs();
-		return allLogs.stream().limit( limit ).collect( Collectors.toList() );
+		try
+		{
+			return ReverseLogReader.readNewest( getLogFiles(), limit );
+		}
+		catch( IOException e )
+		{
+			AppLogger.error( "Failed to read log files", e );
+			return new ArrayList<>();
+		}
 	}
 	
 	/**
@@ -224,55 +274,73 @@ public class AppLogsDao
 	}
 	
 	/**
-	 * Parse a single log file and return matching AppLog entries.
+	 * Parse the entries in a byte range of a log file and return the matching AppLog entries. The range must start at the beginning of an
+	 * entry.
 	 */
-	private List<AppLog> parseLogFile( File logFile, LocalDateTime startDate, LocalDateTime endDate, String levelFilter,
+	private List<AppLog> parseLogRange( File logFile, long start, long end, LocalDateTime startDate, LocalDateTime endDate,
+			String levelFilter, String sessionFilter ) throws IOException
+	{
+		byte[] bytes = new byte[(int) ( end - start )];
+		try( RandomAccessFile file = new RandomAccessFile( logFile, "r" ) )
+		{
+			file.seek( start );
+			file.readFully( bytes );
+		}
+		
+		try( BufferedReader reader = new BufferedReader(
+				new InputStreamReader( new ByteArrayInputStream( bytes ), Charset.defaultCharset() ) ) )
+		{
+			return parseLogEntries( reader, startDate, endDate, levelFilter, sessionFilter );
+		}
+	}
+	
+	/**
+	 * Parse log entries from a reader and return matching AppLog entries.
+	 */
+	List<AppLog> parseLogEntries( BufferedReader reader, LocalDateTime startDate, LocalDateTime endDate, String levelFilter,
 			String sessionFilter ) throws IOException
 	{
 		List<AppLog> logs = new ArrayList<>();
 		
-		try( BufferedReader reader = new BufferedReader( new FileReader( logFile ) ) )
+		String line;
+		AppLog currentLog = null;
+		StringBuilder multiLineMessage = null;
+		
+		while( ( line = reader.readLine() ) != null )
 		{
-			String line;
-			AppLog currentLog = null;
-			StringBuilder multiLineMessage = null;
+			Matcher matcher = LOG_PATTERN.matcher( line );
 			
-			while( ( line = reader.readLine() ) != null )
+			if( matcher.matches() )
 			{
-				Matcher matcher = LOG_PATTERN.matcher( line );
-				
-				if( matcher.matches() )
+				// Save previous log if exists
+				if( currentLog != null && multiLineMessage != null )
 				{
-					// Save previous log if exists
-					if( currentLog != null && multiLineMessage != null )
+					currentLog.setMessage( multiLineMessage.toString().trim() );
+					if( matchesFilters( currentLog, startDate, endDate, levelFilter, sessionFilter ) )
 					{
-						currentLog.setMessage( multiLineMessage.toString().trim() );
-						if( matchesFilters( currentLog, startDate, endDate, levelFilter, sessionFilter ) )
-						{
-							logs.add( currentLog );
-						}
+						logs.add( currentLog );
 					}
-					
-					// Parse new log entry
-					currentLog = parseLogLine( matcher );
-					multiLineMessage = new StringBuilder( currentLog.getMessage() );
-					
-				}
-				else if( currentLog != null && !line.trim().isEmpty() )
-				{
-					// This is a continuation line (e.g., stack trace)
-					multiLineMessage.append( "\n" ).append( line );
 				}
+				
+				// Parse new log entry
+				currentLog = parseLogLine( matcher );
+				multiLineMessage = new StringBuilder( currentLog.getMessage() );
+				
 			}
-			
-			// Don't forget the last log entry
-			if( currentLog != null && multiLineMessage != null )
+			else if( currentLog != null && !line.trim().isEmpty() )
 			{
-				currentLog.setMessage( multiLineMessage.toString().trim() );
-				if( matchesFilters( currentLog, startDate, endDate, levelFilter, sessionFilter ) )
-				{
-					logs.add( currentLog );
-				}
+				// This is a continuation line (e.g., stack trace)
+				multiLineMessage.append( "\n" ).append( line );
+			}
+		}
+		
+		// Don't forget the last log entry
+		if( currentLog != null && multiLineMessage != null )
+		{
+			currentLog.setMessage( multiLineMessage.toString().trim() );
+			if( matchesFilters( currentLog, startDate, endDate, levelFilter, sessionFilter ) )
+			{
+				logs.add( currentLog );
 			}
 		}
 		
@@ -282,7 +350,7 @@ public class AppLogsDao
 	/**
 	 * Parse a single log line into an AppLog object.
 	 */
-	private AppLog parseLogLine( Matcher matcher )
+	static AppLog parseLogLine( Matcher matcher )
 	{
 		AppLog log = new AppLog();
 		
@@ -392,6 +460,7 @@ public class AppLogsDao
 					{
 						if( file.delete() )
 						{
+							AppLogIndex.sidecarFor( file ).delete();
 							AppLogger.info( "Deleted old log file: " + file.getName() );
 						}
 					}
@@ -0,0 +1,259 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOptionType;
+import com.alexpacheco.therapynotes.util.AppLogger;
+import com.alexpacheco.therapynotes.util.DbUtil;
+
+/**
+ * Process-wide, read-mostly cache of the assessment_options table. The whole table is loaded into an immutable snapshot on first use,
+ * indexed by id (sorted int keys with binary search, no boxing) and by {@link AssessmentOptionType}. Writes made through
+ * AssessmentOptionApi call {@link #invalidate()} so the next read reloads the table.
+ *
+ * Lists returned to callers are fresh copies and may be modified; the option objects themselves are shared and must be treated as
+ * read-only.
+ */
+public final class AssessmentOptionRegistry
+{
+	private static final AssessmentOptionRegistry INSTANCE = new AssessmentOptionRegistry();
+	
+	private final AssessmentOptionsDao dao = new AssessmentOptionsDao();
+	private final Object loadLock = new Object();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong loads = new AtomicLong();
+	
+	private volatile Snapshot snapshot;
+	private long generation;
+	
+	/**
+	 * Immutable view of the table at load time.
+	 */
+	private static final class Snapshot
+	{
+		private final int[] ids;
+		private final AssessmentOption[] optionsById;
+		private final List<AssessmentOption> active;
+		private final Map<AssessmentOptionType, List<AssessmentOption>> activeByType;
+		
+		Snapshot( List<AssessmentOption> options, Set<Integer> inactiveIds )
+		{
+			AssessmentOption[] sorted = options.toArray( new AssessmentOption[0] );
+			Arrays.sort( sorted, ( a, b ) -> Integer.compare( a.getId(), b.getId() ) );
+			
+			ids = new int[sorted.length];
+			optionsById = sorted;
+			for( int i = 0; i < sorted.length; i++ )
+			{
+				ids[i] = sorted[i].getId();
+			}
+			
+			List<AssessmentOption> activeOptions = new ArrayList<>();
+			Map<AssessmentOptionType, List<AssessmentOption>> byType = new EnumMap<>( AssessmentOptionType.class );
+			for( AssessmentOption option : options )
+			{
+				if( inactiveIds.contains( option.getId() ) )
+					continue;
+				
+				activeOptions.add( option );
+				byType.computeIfAbsent( option.getOptionType(), t -> new ArrayList<>() ).add( option );
+			}
+			
+			active = Collections.unmodifiableList( activeOptions );
+			activeByType = byType;
+		}
+		
+		AssessmentOption get( int id )
+		{
+			int index = Arrays.binarySearch( ids, id );
+			return index < 0 ? null : optionsById[index];
+		}
+	}
+	
+	private AssessmentOptionRegistry()
+	{
+	}
+	
+	public static AssessmentOptionRegistry getInstance()
+	{
+		return INSTANCE;
+	}
+	
+	/**
+	 * Returns the option with the given id, active or inactive, or null if no such option exists.
+	 */
+	public AssessmentOption getOption( int assessmentOptionId ) throws SQLException
+	{
+		Snapshot current = snapshot;
+		if( current != null )
+		{
+			AssessmentOption option = current.get( assessmentOptionId );
+			if( option != null )
+			{
+				hits.incrementAndGet();
+				return option;
+			}
+		}
+		
+		misses.incrementAndGet();
+		if( current != null )
+		{
+			// Not in the snapshot, so it was written outside the registry's view; reload only if the row really exists
+			AssessmentOption option = dao.getOption( assessmentOptionId );
+			if( option != null )
+				invalidate();
+			return option;
+		}
+		
+		return _load( null ).get( assessmentOptionId );
+	}
+	
+	/**
+	 * Returns all active options ordered by type and name.
+	 */
+	public List<AssessmentOption> getOptions() throws SQLException
+	{
+		return new ArrayList<>( _getSnapshot().active );
+	}
+	
+	/**
+	 * Returns the active options of one type ordered by name.
+	 */
+	public List<AssessmentOption> getOptions( AssessmentOptionType type ) throws SQLException
+	{
+		return new ArrayList<>( _getSnapshot().activeByType.getOrDefault( type, Collections.emptyList() ) );
+	}
+	
+	/**
+	 * Resolves a set of ids for note hydration. The snapshot is loaded on the given connection if needed, and any id it does not hold is
+	 * fetched directly so a row inserted behind the registry's back still resolves.
+	 */
+	Map<Integer, AssessmentOption> getOptionsByIds( Connection conn, Collection<Integer> optionIds ) throws SQLException
+	{
+		Map<Integer, AssessmentOption> options = new HashMap<>();
+		Snapshot current = snapshot;
+		if( current == null )
+		{
+			misses.incrementAndGet();
+			current = _load( conn );
+		}
+		
+		Set<Integer> missing = new HashSet<>();
+		for( Integer id : optionIds )
+		{
+			AssessmentOption option = current.get( id );
+			if( option == null )
+				missing.add( id );
+			else
+				options.put( id, option );
+		}
+		
+		hits.addAndGet( options.size() );
+		if( !missing.isEmpty() )
+		{
+			misses.addAndGet( missing.size() );
+			Map<Integer, AssessmentOption> fetched = dao.getOptionsByIds( conn, missing );
+			if( !fetched.isEmpty() )
+				invalidate();
+			options.putAll( fetched );
+		}
+		
+		return options;
+	}
+	
+	/**
+	 * Drops the snapshot so the next read reloads the table. Called after every write to assessment_options.
+	 */
+	public void invalidate()
+	{
+		synchronized( loadLock )
+		{
+			generation++;
+			snapshot = null;
+		}
+	}
+	
+	public long getHitCount()
+	{
+		return hits.get();
+	}
+	
+	public long getMissCount()
+	{
+		return misses.get();
+	}
+	
+	public long getLoadCount()
+	{
+		return loads.get();
+	}
+	
+	private Snapshot _getSnapshot() throws SQLException
+	{
+		Snapshot current = snapshot;
+		if( current != null )
+		{
+			hits.incrementAndGet();
+			return current;
+		}
+		
+		misses.incrementAndGet();
+		return _load( null );
+	}
+	
+	/**
+	 * Loads the table on the given connection, or a pooled one when conn is null. A snapshot read while an invalidation was in flight is
+	 * returned to the caller but not published.
+	 */
+	private Snapshot _load( Connection conn ) throws SQLException
+	{
+		long startGeneration;
+		synchronized( loadLock )
+		{
+			if( snapshot != null )
+				return snapshot;
+			startGeneration = generation;
+		}
+		
+		Set<Integer> inactiveIds = new HashSet<>();
+		List<AssessmentOption> options;
+		if( conn != null )
+		{
+			options = dao.getAllOptions( conn, inactiveIds );
+		}
+		else
+		{
+			try( Connection pooled = DbUtil.getConnection() )
+			{
+				options = dao.getAllOptions( pooled, inactiveIds );
+			}
+		}
+		
+		Snapshot loaded = new Snapshot( options, inactiveIds );
+		loads.incrementAndGet();
+		
+		synchronized( loadLock )
+		{
+			if( generation == startGeneration )
+				snapshot = loaded;
+		}
+		
+		AppLogger.debug( "Assessment option registry loaded " + options.size() + " options (hits=" + hits.get() + ", misses="
+				+ misses.get() + ")" );
+		return loaded;
+	}
+}
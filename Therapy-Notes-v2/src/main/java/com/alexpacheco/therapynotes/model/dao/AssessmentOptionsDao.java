@@ -1,6 +1,10 @@
 package com.alexpacheco.therapynotes.model.dao;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.alexpacheco.therapynotes.controller.exceptions.ResourceConflictException;
 import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOption;
@@ -223,6 +227,76 @@ public class AssessmentOptionsDao
 		return null;
 	}
 	
+	/**
+	 * Loads the given options on an existing connection with one IN (...) query per chunk of ids. Inactive options are included so that
+	 * older notes still resolve. Used for batch hydration of notes.
+	 * 
+	 * @return Map of option ID to AssessmentOption; ids with no matching row are absent
+	 */
+	Map<Integer, AssessmentOption> getOptionsByIds( Connection conn, Collection<Integer> optionIds ) throws SQLException
+	{
+		Map<Integer, AssessmentOption> options = new HashMap<>();
+		
+		for( List<Integer> chunk : DbUtil.partitionIds( optionIds ) )
+		{
+			String sql = "SELECT * FROM assessment_options WHERE id IN (" + DbUtil.placeholders( chunk.size() ) + ")";
+			
+			try( PreparedStatement pstmt = conn.prepareStatement( sql ) )
+			{
+				for( int i = 0; i < chunk.size(); i++ )
+				{
+					pstmt.setInt( i + 1, chunk.get( i ) );
+				}
+				
+				try( ResultSet rs = pstmt.executeQuery() )
+				{
+					while( rs.next() )
+					{
+						AssessmentOption option = AssessmentOptionFactory.createAssessmentOption( rs.getInt( "id" ), rs.getString( "name" ),
+								rs.getString( "description" ), rs.getString( "type" ) );
+						if( option != null )
+						{
+							options.put( option.getId(), option );
+						}
+					}
+				}
+			}
+		}
+		
+		AppLogger.logDatabaseOperation( "SELECT IN", "assessment_options", true );
+		return options;
+	}
+	
+	/**
+	 * Loads every option, active and inactive, on an existing connection ordered by type and name. Used to build the
+	 * {@link AssessmentOptionRegistry} snapshot.
+	 * 
+	 * @param inactiveIds Receives the ids of options flagged inactive
+	 */
+	List<AssessmentOption> getAllOptions( Connection conn, Set<Integer> inactiveIds ) throws SQLException
+	{
+		List<AssessmentOption> options = new ArrayList<>();
+		String sql = "SELECT * FROM assessment_options ORDER BY type, name ASC";
+		
+		try( Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery( sql ) )
+		{
+			while( rs.next() )
+			{
+				AssessmentOption option = AssessmentOptionFactory.createAssessmentOption( rs.getInt( "id" ), rs.getString( "name" ),
+						rs.getString( "description" ), rs.getString( "type" ) );
+				if( option == null )
+					continue;
+				
+				options.add( option );
+				if( rs.getInt( "inactive" ) != 0 )
+					inactiveIds.add( option.getId() );
+			}
+		}
+		
+		AppLogger.logDatabaseOperation( "SELECT", "assessment_options", true );
+		return options;
+	}
+	
 	public void deleteOption( AssessmentOption option ) throws SQLException, ResourceConflictException
 	{
 		if( isAssessmentOptionUsed( option ) )
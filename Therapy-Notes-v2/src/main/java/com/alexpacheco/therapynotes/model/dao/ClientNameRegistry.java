@@ -0,0 +1,88 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.ClientNameIndex;
+import com.alexpacheco.therapynotes.util.AppLogger;
+
+/**
+ * Process-wide cache of the active client names shown by client pickers. The index is built from the clients table on first use and shared
+ * by every picker until ClientApi writes a client and calls {@link #invalidate()}.
+ */
+public final class ClientNameRegistry
+{
+	private static final ClientNameRegistry INSTANCE = new ClientNameRegistry();
+	
+	private final ClientsDao dao = new ClientsDao();
+	private final Object loadLock = new Object();
+	private final AtomicLong loads = new AtomicLong();
+	
+	private volatile ClientNameIndex index;
+	private long generation;
+	
+	private ClientNameRegistry()
+	{
+	}
+	
+	public static ClientNameRegistry getInstance()
+	{
+		return INSTANCE;
+	}
+	
+	/**
+	 * Returns the current index, loading it if a client changed since the last load.
+	 */
+	public ClientNameIndex getIndex() throws SQLException, TherapyAppException
+	{
+		ClientNameIndex current = index;
+		return current != null ? current : _load();
+	}
+	
+	/**
+	 * Drops the index so the next read reloads it. Called after every write to clients.
+	 */
+	public void invalidate()
+	{
+		synchronized( loadLock )
+		{
+			generation++;
+			index = null;
+		}
+	}
+	
+	public long getLoadCount()
+	{
+		return loads.get();
+	}
+	
+	/**
+	 * Loads the index. One read while an invalidation was in flight is returned to the caller but not published.
+	 */
+	private ClientNameIndex _load() throws SQLException, TherapyAppException
+	{
+		long startGeneration;
+		synchronized( loadLock )
+		{
+			if( index != null )
+				return index;
+			startGeneration = generation;
+		}
+		
+		List<Client> clients = dao.getAllClients( false );
+		ClientNameIndex loaded = new ClientNameIndex( clients );
+		loads.incrementAndGet();
+		
+		synchronized( loadLock )
+		{
+			if( generation == startGeneration )
+				index = loaded;
+		}
+		
+		AppLogger.debug( "Client name registry loaded " + loaded.size() + " clients" );
+		return loaded;
+	}
+}
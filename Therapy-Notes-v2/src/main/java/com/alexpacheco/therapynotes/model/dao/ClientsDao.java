@@ -4,12 +4,17 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.ImportCheckpoint;
 import com.alexpacheco.therapynotes.util.AppLogger;
 import com.alexpacheco.therapynotes.util.DateFormatUtil;
 import com.alexpacheco.therapynotes.util.DbUtil;
@@ -52,6 +57,82 @@ public class ClientsDao
 		AppLogger.logDatabaseOperation( "INSERT", "clients", true );
 	}
 	
+	/**
+	 * Saves new clients in one transaction and gives each its new id. Nothing is saved if any insert fails.
+	 */
+	public void saveNew( List<Client> clients ) throws SQLException
+	{
+		saveNew( clients, null );
+	}
+	
+	/**
+	 * Saves new clients and the import checkpoint that covers them in one transaction. The checkpoint may be null.
+	 */
+	public void saveNew( List<Client> clients, ImportCheckpoint checkpoint ) throws SQLException
+	{
+		String sql = "INSERT INTO clients (first_name, last_name, client_code, inactive, email1, email2, email3, phone1, phone2, phone3, date_of_birth, client_notes)"
+				+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		
+		try( Connection conn = DbUtil.getConnection() )
+		{
+			conn.setAutoCommit( false );
+			try( PreparedStatement pstmt = conn.prepareStatement( sql, Statement.RETURN_GENERATED_KEYS ) )
+			{
+				List<Integer> ids = new ArrayList<>( clients.size() );
+				for( Client client : clients )
+				{
+					_setParameters( pstmt, client );
+					pstmt.executeUpdate();
+					try( ResultSet keys = pstmt.getGeneratedKeys() )
+					{
+						if( !keys.next() )
+							throw new SQLException( "Creating client failed, no ID obtained." );
+						ids.add( keys.getInt( 1 ) );
+					}
+				}
+				if( checkpoint != null )
+					ImportCheckpointsDao.save( conn, checkpoint );
+				conn.commit();
+				
+				for( int i = 0; i < clients.size(); i++ )
+				{
+					clients.get( i ).setClientId( ids.get( i ) );
+				}
+			}
+			catch( SQLException e )
+			{
+				conn.rollback();
+				AppLogger.logDatabaseOperation( "INSERT", "clients", false );
+				throw e;
+			}
+			finally
+			{
+				conn.setAutoCommit( true );
+			}
+		}
+		AppLogger.logDatabaseOperation( "INSERT", "clients", true );
+	}
+	
+	/**
+	 * Returns the id of every client, active or not, keyed by upper-cased client code.
+	 */
+	public Map<String, Integer> getClientIdsByCode() throws SQLException
+	{
+		Map<String, Integer> ids = new HashMap<>();
+		try( Connection conn = DbUtil.getConnection();
+				PreparedStatement pstmt = conn.prepareStatement( "SELECT client_id, client_code FROM clients" );
+				ResultSet rs = pstmt.executeQuery() )
+		{
+			while( rs.next() )
+			{
+				ids.put( rs.getString( 2 ).toUpperCase(), rs.getInt( 1 ) );
+			}
+		}
+		
+		AppLogger.logDatabaseOperation( "SELECT", "clients", true );
+		return ids;
+	}
+	
 	/**
 	 * Saves an existing client to the database.
 	 */
@@ -68,18 +149,7 @@ public class ClientsDao
 	{
 		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql ) )
 		{
-			pstmt.setString( 1, client.getFirstName() );
-			pstmt.setString( 2, client.getLastName() );
-			pstmt.setString( 3, client.getClientCode() );
-			pstmt.setInt( 4, JavaUtils.convertBooleanToBit( client.isInactive() ) );
-			pstmt.setString( 5, client.getEmail1() );
-			pstmt.setString( 6, client.getEmail2() );
-			pstmt.setString( 7, client.getEmail3() );
-			pstmt.setString( 8, client.getPhone1() );
-			pstmt.setString( 9, client.getPhone2() );
-			pstmt.setString( 10, client.getPhone3() );
-			pstmt.setString( 11, DateFormatUtil.toSqliteString( client.getDateOfBirth() ) );
-			pstmt.setString( 12, client.getClientNotes() );
+			_setParameters( pstmt, client );
 			if( client.getClientId() != null )
 				pstmt.setInt( 13, client.getClientId() );
 			
@@ -87,6 +157,22 @@ public class ClientsDao
 		}
 	}
 	
+	private void _setParameters( PreparedStatement pstmt, Client client ) throws SQLException
+	{
+		pstmt.setString( 1, client.getFirstName() );
+		pstmt.setString( 2, client.getLastName() );
+		pstmt.setString( 3, client.getClientCode() );
+		pstmt.setInt( 4, JavaUtils.convertBooleanToBit( client.isInactive() ) );
+		pstmt.setString( 5, client.getEmail1() );
+		pstmt.setString( 6, client.getEmail2() );
+		pstmt.setString( 7, client.getEmail3() );
+		pstmt.setString( 8, client.getPhone1() );
+		pstmt.setString( 9, client.getPhone2() );
+		pstmt.setString( 10, client.getPhone3() );
+		pstmt.setString( 11, DateFormatUtil.toSqliteString( client.getDateOfBirth() ) );
+		pstmt.setString( 12, client.getClientNotes() );
+	}
+	
 	/**
 	 * Searches for clients by partial name and/or code (e.g., "Smi" for "Smith")
 	 * 
@@ -204,6 +290,41 @@ public class ClientsDao
 		return null;
 	}
 	
+	/**
+	 * Loads the given clients on an existing connection with one IN (...) query per chunk of ids. Used for batch hydration of notes.
+	 * 
+	 * @return Map of client ID to Client; ids with no matching row are absent
+	 */
+	Map<Integer, Client> getClientsByIds( Connection conn, Collection<Integer> clientIds ) throws SQLException, TherapyAppException
+	{
+		Map<Integer, Client> clients = new HashMap<>();
+		
+		for( List<Integer> chunk : DbUtil.partitionIds( clientIds ) )
+		{
+			String sql = "SELECT * FROM clients WHERE client_id IN (" + DbUtil.placeholders( chunk.size() ) + ")";
+			
+			try( PreparedStatement pstmt = conn.prepareStatement( sql ) )
+			{
+				for( int i = 0; i < chunk.size(); i++ )
+				{
+					pstmt.setInt( i + 1, chunk.get( i ) );
+				}
+				
+				try( ResultSet rs = pstmt.executeQuery() )
+				{
+					while( rs.next() )
+					{
+						Client c = _populateClient( rs );
+						clients.put( c.getClientId(), c );
+					}
+				}
+			}
+		}
+		
+		AppLogger.logDatabaseOperation( "SELECT IN", "clients", true );
+		return clients;
+	}
+	
 	/**
 	 * Creates, populates, and returns a Client object based on query results of SELECT * FROM clients
 	 * 
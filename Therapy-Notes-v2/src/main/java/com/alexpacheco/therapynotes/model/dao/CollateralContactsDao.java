@@ -5,7 +5,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.entities.CollateralContact;
@@ -37,6 +40,40 @@ public class CollateralContactsDao
 		return collateralContacts;
 	}
 	
+	/**
+	 * Loads the selected collateral contacts for many notes on an existing connection, grouped by note ID. Used for batch hydration of
+	 * notes so that a page of results costs one query instead of one per note.
+	 */
+	Map<Integer, List<CollateralContact>> getSelectedCollateralContactsForNotes( Connection conn, Collection<Integer> noteIds ) throws SQLException, TherapyAppException
+	{
+		Map<Integer, List<CollateralContact>> byNote = new HashMap<>();
+		
+		for( List<Integer> chunk : DbUtil.partitionIds( noteIds ) )
+		{
+			String sql = "SELECT c.note_id, c.collateral_contact_type_id, a.name, a.description, c.insert_date FROM collateral_contacts c JOIN assessment_options a ON c.collateral_contact_type_id = a.id WHERE c.note_id IN (" + DbUtil.placeholders( chunk.size() ) + ")";
+			
+			try( PreparedStatement pstmt = conn.prepareStatement( sql ) )
+			{
+				for( int i = 0; i < chunk.size(); i++ )
+				{
+					pstmt.setInt( i + 1, chunk.get( i ) );
+				}
+				
+				try( ResultSet rs = pstmt.executeQuery() )
+				{
+					while( rs.next() )
+					{
+						CollateralContact item = _populateCollateralContact( rs );
+						byNote.computeIfAbsent( item.getNoteId(), k -> new ArrayList<>() ).add( item );
+					}
+				}
+			}
+		}
+		
+		AppLogger.logDatabaseOperation( "SELECT IN", "collateral_contacts JOIN assessment_options", true );
+		return byNote;
+	}
+	
 	private CollateralContact _populateCollateralContact( ResultSet rs ) throws SQLException, TherapyAppException
 	{
 		CollateralContact collateralContact = new CollateralContact();
@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.alexpacheco.therapynotes.model.entities.Contact;
+import com.alexpacheco.therapynotes.model.entities.ImportCheckpoint;
 import com.alexpacheco.therapynotes.util.AppLogger;
 import com.alexpacheco.therapynotes.util.DbUtil;
 import com.alexpacheco.therapynotes.util.JavaUtils;
@@ -29,6 +30,51 @@ public class ContactsDao
 		AppLogger.logDatabaseOperation( "INSERT", "contacts", true );
 	}
 	
+	/**
+	 * Saves new contacts in one transaction. Nothing is saved if any insert fails.
+	 */
+	public void saveNew( List<Contact> contacts ) throws SQLException
+	{
+		saveNew( contacts, null );
+	}
+	
+	/**
+	 * Saves new contacts and the import checkpoint that covers them in one transaction. The checkpoint may be null.
+	 */
+	public void saveNew( List<Contact> contacts, ImportCheckpoint checkpoint ) throws SQLException
+	{
+		String sql = "INSERT INTO contacts (first_name, last_name, linked_client, emergency_contact, email1, email2, email3, phone1, phone2, phone3)"
+				+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		
+		try( Connection conn = DbUtil.getConnection() )
+		{
+			conn.setAutoCommit( false );
+			try( PreparedStatement pstmt = conn.prepareStatement( sql ) )
+			{
+				for( Contact contact : contacts )
+				{
+					_setParameters( pstmt, contact );
+					pstmt.addBatch();
+				}
+				pstmt.executeBatch();
+				if( checkpoint != null )
+					ImportCheckpointsDao.save( conn, checkpoint );
+				conn.commit();
+			}
+			catch( SQLException e )
+			{
+				conn.rollback();
+				AppLogger.logDatabaseOperation( "INSERT", "contacts", false );
+				throw e;
+			}
+			finally
+			{
+				conn.setAutoCommit( true );
+			}
+		}
+		AppLogger.logDatabaseOperation( "INSERT", "contacts", true );
+	}
+	
 	public void saveExisting( Contact contact ) throws SQLException
 	{
 		String sql = "UPDATE contacts SET first_name = ?, last_name = ?, linked_client = ?, emergency_contact = ?, email1 = ?,"
@@ -42,16 +88,7 @@ public class ContactsDao
 	{
 		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql ) )
 		{
-			pstmt.setString( 1, contact.getFirstName() );
-			pstmt.setString( 2, contact.getLastName() );
-			pstmt.setInt( 3, contact.getLinkedClientId() );
-			pstmt.setInt( 4, JavaUtils.convertBooleanToBit( contact.isEmergencyContact() ) );
-			pstmt.setString( 5, contact.getEmail1() );
-			pstmt.setString( 6, contact.getEmail2() );
-			pstmt.setString( 7, contact.getEmail3() );
-			pstmt.setString( 8, contact.getPhone1() );
-			pstmt.setString( 9, contact.getPhone2() );
-			pstmt.setString( 10, contact.getPhone3() );
+			_setParameters( pstmt, contact );
 			if( contact.getContactId() != null )
 				pstmt.setInt( 11, contact.getContactId() );
 			
@@ -59,6 +96,20 @@ public class ContactsDao
 		}
 	}
 	
+	private void _setParameters( PreparedStatement pstmt, Contact contact ) throws SQLException
+	{
+		pstmt.setString( 1, contact.getFirstName() );
+		pstmt.setString( 2, contact.getLastName() );
+		pstmt.setInt( 3, contact.getLinkedClientId() );
+		pstmt.setInt( 4, JavaUtils.convertBooleanToBit( contact.isEmergencyContact() ) );
+		pstmt.setString( 5, contact.getEmail1() );
+		pstmt.setString( 6, contact.getEmail2() );
+		pstmt.setString( 7, contact.getEmail3() );
+		pstmt.setString( 8, contact.getPhone1() );
+		pstmt.setString( 9, contact.getPhone2() );
+		pstmt.setString( 10, contact.getPhone3() );
+	}
+	
 	public List<Contact> getAllContactsLinkedToClient( int clientId ) throws SQLException
 	{
 		List<Contact> results = new ArrayList<>();
@@ -0,0 +1,77 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.alexpacheco.therapynotes.model.entities.ImportCheckpoint;
+import com.alexpacheco.therapynotes.util.AppLogger;
+import com.alexpacheco.therapynotes.util.DbUtil;
+
+/**
+ * Stores import checkpoints. The bulk saves in {@link ClientsDao}, {@link ContactsDao} and {@link NoteBatchInserter} take a checkpoint to
+ * write in the same transaction as their records, so a batch and the checkpoint that covers it are committed or rolled back together.
+ */
+public class ImportCheckpointsDao
+{
+	private static final String SQL_SELECT = "SELECT source, records, complete, file_size FROM import_checkpoints WHERE source = ?";
+	private static final String SQL_SAVE = "INSERT OR REPLACE INTO import_checkpoints (source, records, complete, file_size, update_date)"
+			+ " VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
+	private static final String SQL_DELETE = "DELETE FROM import_checkpoints WHERE source = ?";
+	
+	/**
+	 * Returns the checkpoint for the source, or null if it has none.
+	 */
+	public ImportCheckpoint find( String source ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( SQL_SELECT ) )
+		{
+			pstmt.setString( 1, source );
+			try( ResultSet rs = pstmt.executeQuery() )
+			{
+				if( !rs.next() )
+					return null;
+				return new ImportCheckpoint( rs.getString( "source" ), rs.getLong( "records" ), rs.getBoolean( "complete" ),
+						rs.getLong( "file_size" ) );
+			}
+		}
+	}
+	
+	/**
+	 * Saves the checkpoint in a transaction of its own, for batches that saved no records.
+	 */
+	public void save( ImportCheckpoint checkpoint ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection() )
+		{
+			save( conn, checkpoint );
+		}
+		AppLogger.logDatabaseOperation( "INSERT", "import_checkpoints", true );
+	}
+	
+	public void delete( String source ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( SQL_DELETE ) )
+		{
+			pstmt.setString( 1, source );
+			pstmt.executeUpdate();
+		}
+		AppLogger.logDatabaseOperation( "DELETE", "import_checkpoints", true );
+	}
+	
+	/**
+	 * Saves the checkpoint on the caller's connection, as part of whatever transaction it has open.
+	 */
+	static void save( Connection conn, ImportCheckpoint checkpoint ) throws SQLException
+	{
+		try( PreparedStatement pstmt = conn.prepareStatement( SQL_SAVE ) )
+		{
+			pstmt.setString( 1, checkpoint.getSource() );
+			pstmt.setLong( 2, checkpoint.getRecords() );
+			pstmt.setBoolean( 3, checkpoint.isComplete() );
+			pstmt.setLong( 4, checkpoint.getFileSize() );
+			pstmt.executeUpdate();
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alexpacheco.therapynotes.model.entities.CollateralContact;
+import com.alexpacheco.therapynotes.model.entities.ImportCheckpoint;
+import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.Referral;
+import com.alexpacheco.therapynotes.model.entities.Symptom;
+import com.alexpacheco.therapynotes.util.AppLogger;
+import com.alexpacheco.therapynotes.util.DbUtil;
+
+/**
+ * Saves many notes over one connection, for imports and migrations. The four insert statements are prepared once, symptom, referral and
+ * collateral contact rows are batched across notes, and nothing is saved until {@link #commit()}, so the caller chooses how many notes go
+ * into each transaction. Each added note is given its new id. Closing rolls back anything not yet committed and clears the ids of those
+ * notes.
+ */
+public class NoteBatchInserter implements AutoCloseable
+{
+	private final Connection conn;
+	private final PreparedStatement insertNote;
+	private final PreparedStatement insertSymptom;
+	private final PreparedStatement insertReferral;
+	private final PreparedStatement insertCollateralContact;
+	private final List<Note> pending = new ArrayList<>();
+	private int committedCount;
+	
+	NoteBatchInserter() throws SQLException
+	{
+		conn = DbUtil.getConnection();
+		try
+		{
+			conn.setAutoCommit( false );
+			insertNote = conn.prepareStatement( NotesDao.INSERT_NOTE_SQL, Statement.RETURN_GENERATED_KEYS );
+			insertSymptom = conn.prepareStatement( NotesDao.INSERT_SYMPTOM_SQL );
+			insertReferral = conn.prepareStatement( NotesDao.INSERT_REFERRAL_SQL );
+			insertCollateralContact = conn.prepareStatement( NotesDao.INSERT_COLLATERAL_CONTACT_SQL );
+		}
+		catch( SQLException e )
+		{
+			conn.setAutoCommit( true );
+			conn.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Inserts the note in the current transaction and queues its junction rows.
+	 */
+	public void add( Note note ) throws SQLException
+	{
+		NotesDao.setNoteParameters( insertNote, note );
+		insertNote.executeUpdate();
+		
+		int noteId;
+		try( ResultSet generatedKeys = insertNote.getGeneratedKeys() )
+		{
+			if( !generatedKeys.next() )
+				throw new SQLException( "Creating note failed, no ID obtained." );
+			noteId = generatedKeys.getInt( 1 );
+		}
+		note.setNoteId( noteId );
+		pending.add( note );
+		
+		if( note.getSymptoms() != null )
+		{
+			for( Symptom symptom : note.getSymptoms() )
+			{
+				insertSymptom.setInt( 1, noteId );
+				insertSymptom.setInt( 2, symptom.getSymptomId() );
+				insertSymptom.addBatch();
+			}
+		}
+		if( note.getReferrals() != null )
+		{
+			for( Referral referral : note.getReferrals() )
+			{
+				insertReferral.setInt( 1, noteId );
+				insertReferral.setInt( 2, referral.getReferralTypeId() );
+				insertReferral.addBatch();
+			}
+		}
+		if( note.getCollateralContacts() != null )
+		{
+			for( CollateralContact collateralContact : note.getCollateralContacts() )
+			{
+				insertCollateralContact.setInt( 1, noteId );
+				insertCollateralContact.setInt( 2, collateralContact.getCollateralContactTypeId() );
+				insertCollateralContact.addBatch();
+			}
+		}
+	}
+	
+	/**
+	 * Writes the queued junction rows and commits every note added since the last commit.
+	 */
+	public void commit() throws SQLException
+	{
+		commit( null );
+	}
+	
+	/**
+	 * Commits like {@link #commit()}, saving the import checkpoint that covers the notes in the same transaction. The checkpoint may be
+	 * null.
+	 */
+	public void commit( ImportCheckpoint checkpoint ) throws SQLException
+	{
+		if( pending.isEmpty() && checkpoint == null )
+			return;
+		
+		insertSymptom.executeBatch();
+		insertReferral.executeBatch();
+		insertCollateralContact.executeBatch();
+		if( checkpoint != null )
+			ImportCheckpointsDao.save( conn, checkpoint );
+		conn.commit();
+		
+		committedCount += pending.size();
+		AppLogger.logDatabaseOperation( "INSERT", "notes", true );
+		pending.clear();
+	}
+	
+	/**
+	 * Number of notes saved so far.
+	 */
+	public int getCommittedCount()
+	{
+		return committedCount;
+	}
+	
+	/**
+	 * Number of notes added since the last commit.
+	 */
+	public int getPendingCount()
+	{
+		return pending.size();
+	}
+	
+	@Override
+	public void close() throws SQLException
+	{
+		try
+		{
+			// Also undoes a note row whose add failed after it was inserted
+			conn.rollback();
+			if( !pending.isEmpty() )
+			{
+				for( Note note : pending )
+				{
+					note.setNoteId( null );
+				}
+				AppLogger.logDatabaseOperation( "INSERT", "notes", false );
+				pending.clear();
+			}
+		}
+		finally
+		{
+			try
+			{
+				insertNote.close();
+				insertSymptom.close();
+				insertReferral.close();
+				insertCollateralContact.close();
+			}
+			finally
+			{
+				conn.setAutoCommit( true );
+				conn.close();
+			}
+		}
+	}
+}
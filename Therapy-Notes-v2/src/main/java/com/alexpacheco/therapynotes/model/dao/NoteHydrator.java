@@ -0,0 +1,166 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.CollateralContact;
+import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.Referral;
+import com.alexpacheco.therapynotes.model.entities.Symptom;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AffectAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AppearanceAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.EyeContactAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.NextApptAssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.SpeechAssessmentOption;
+import com.alexpacheco.therapynotes.util.DateFormatUtil;
+import com.alexpacheco.therapynotes.util.JavaUtils;
+
+/**
+ * Builds fully populated Note objects for a page of note rows with a fixed number of set-based queries, no matter how many notes are on
+ * the page: one for clients and one per junction table, with assessment options served from the {@link AssessmentOptionRegistry}. Rows
+ * are queued with {@link #addRow(ResultSet)} while the notes query is read, then {@link #hydrate(Connection)} resolves every reference at
+ * once and assembles the entities in memory.
+ */
+class NoteHydrator
+{
+	private final ClientsDao clientsDao = new ClientsDao();
+	private final SymptomsDao symptomsDao = new SymptomsDao();
+	private final ReferralsDao referralsDao = new ReferralsDao();
+	private final CollateralContactsDao collateralContactsDao = new CollateralContactsDao();
+	
+	private final List<PendingNote> pending = new ArrayList<>();
+	
+	/**
+	 * A mapped note row whose client and assessment option references have not been resolved yet.
+	 */
+	private static class PendingNote
+	{
+		private final Note note;
+		private final int clientId;
+		private final Integer appearanceId;
+		private final Integer speechId;
+		private final Integer affectId;
+		private final Integer eyeContactId;
+		private final Integer nextApptId;
+		
+		PendingNote( Note note, int clientId, Integer appearanceId, Integer speechId, Integer affectId, Integer eyeContactId,
+				Integer nextApptId )
+		{
+			this.note = note;
+			this.clientId = clientId;
+			this.appearanceId = appearanceId;
+			this.speechId = speechId;
+			this.affectId = affectId;
+			this.eyeContactId = eyeContactId;
+			this.nextApptId = nextApptId;
+		}
+	}
+	
+	/**
+	 * Maps the scalar columns of the current row of a SELECT * FROM notes query and queues its references for hydration.
+	 */
+	void addRow( ResultSet rs ) throws SQLException, TherapyAppException
+	{
+		Note n = new Note();
+		n.setNoteId( rs.getInt( "note_id" ) );
+		n.setApptDateTime( DateFormatUtil.toLocalDateTime( rs.getString( "appt_date_time" ) ) );
+		n.setVirtualAppt( JavaUtils.convertBitToBoolean( rs.getInt( "virtual_appt" ) ) );
+		n.setApptComment( rs.getString( "appt_note" ) );
+		n.setDiagnosis( rs.getString( "diagnosis" ) );
+		n.setSessionNumber( rs.getInt( "session_number" ) );
+		n.setSessionLength( rs.getString( "session_length" ) );
+		n.setNarrative( rs.getString( "narrative" ) );
+		n.setAppearanceComment( rs.getString( "appearance_comment" ) );
+		n.setSpeechComment( rs.getString( "speech_comment" ) );
+		n.setAffectComment( rs.getString( "affect_comment" ) );
+		n.setEyeContactComment( rs.getString( "eye_contact_comment" ) );
+		n.setNextApptComment( rs.getString( "next_appt_comment" ) );
+		n.setReferralComment( rs.getString( "referral_comment" ) );
+		n.setCollateralContactComment( rs.getString( "collateral_contact_comment" ) );
+		n.setCertifiedDate( DateFormatUtil.toLocalDateTime( rs.getString( "certified" ) ) );
+		n.setInsertDate( DateFormatUtil.toLocalDateTime( rs.getString( "insert_date" ) ) );
+		n.setUpdateDate( DateFormatUtil.toLocalDateTime( rs.getString( "update_date" ) ) );
+		
+		pending.add( new PendingNote( n, rs.getInt( "client_id" ), _getNullableInt( rs, "appearance" ), _getNullableInt( rs, "speech" ),
+				_getNullableInt( rs, "affect" ), _getNullableInt( rs, "eye_contact" ), _getNullableInt( rs, "next_appt" ) ) );
+	}
+	
+	/**
+	 * Resolves clients, assessment options and junction rows for every queued note and returns the notes in the order they were added.
+	 * The queue is cleared afterwards so the hydrator can be reused for the next page.
+	 */
+	List<Note> hydrate( Connection conn ) throws SQLException, TherapyAppException
+	{
+		if( pending.isEmpty() )
+			return new ArrayList<>();
+		
+		Set<Integer> clientIds = new LinkedHashSet<>();
+		Set<Integer> optionIds = new LinkedHashSet<>();
+		List<Integer> noteIds = new ArrayList<>( pending.size() );
+		
+		for( PendingNote p : pending )
+		{
+			clientIds.add( p.clientId );
+			_addIfPresent( optionIds, p.appearanceId );
+			_addIfPresent( optionIds, p.speechId );
+			_addIfPresent( optionIds, p.affectId );
+			_addIfPresent( optionIds, p.eyeContactId );
+			_addIfPresent( optionIds, p.nextApptId );
+			noteIds.add( p.note.getNoteId() );
+		}
+		
+		Map<Integer, Client> clients = clientsDao.getClientsByIds( conn, clientIds );
+		Map<Integer, AssessmentOption> options = optionIds.isEmpty() ? Collections.emptyMap()
+				: AssessmentOptionRegistry.getInstance().getOptionsByIds( conn, optionIds );
+		Map<Integer, List<Symptom>> symptoms = symptomsDao.getSelectedSymptomsForNotes( conn, noteIds );
+		Map<Integer, List<Referral>> referrals = referralsDao.getSelectedReferralsForNotes( conn, noteIds );
+		Map<Integer, List<CollateralContact>> collateralContacts = collateralContactsDao.getSelectedCollateralContactsForNotes( conn,
+				noteIds );
+		
+		List<Note> notes = new ArrayList<>( pending.size() );
+		for( PendingNote p : pending )
+		{
+			Note n = p.note;
+			n.setClient( clients.get( p.clientId ) );
+			n.setAppearance( (AppearanceAssessmentOption) _lookup( options, p.appearanceId ) );
+			n.setSpeech( (SpeechAssessmentOption) _lookup( options, p.speechId ) );
+			n.setAffect( (AffectAssessmentOption) _lookup( options, p.affectId ) );
+			n.setEyeContact( (EyeContactAssessmentOption) _lookup( options, p.eyeContactId ) );
+			n.setNextAppt( (NextApptAssessmentOption) _lookup( options, p.nextApptId ) );
+			n.setSymptoms( symptoms.getOrDefault( n.getNoteId(), new ArrayList<>() ) );
+			n.setReferrals( referrals.getOrDefault( n.getNoteId(), new ArrayList<>() ) );
+			n.setCollateralContacts( collateralContacts.getOrDefault( n.getNoteId(), new ArrayList<>() ) );
+			notes.add( n );
+		}
+		
+		pending.clear();
+		return notes;
+	}
+	
+	private static Integer _getNullableInt( ResultSet rs, String column ) throws SQLException
+	{
+		int value = rs.getInt( column );
+		return rs.wasNull() ? null : value;
+	}
+	
+	private static void _addIfPresent( Set<Integer> ids, Integer id )
+	{
+		if( id != null )
+			ids.add( id );
+	}
+	
+	private static AssessmentOption _lookup( Map<Integer, AssessmentOption> options, Integer id )
+	{
+		return id == null ? null : options.get( id );
+	}
+}
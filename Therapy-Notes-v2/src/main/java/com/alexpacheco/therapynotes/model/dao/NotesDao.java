@@ -1,22 +1,21 @@
 package com.alexpacheco.therapynotes.model.dao;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 
-import com.alexpacheco.therapynotes.controller.AppController;
+import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.entities.CollateralContact;
 import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.NotePage;
+import com.alexpacheco.therapynotes.model.entities.NoteSearchHit;
 import com.alexpacheco.therapynotes.model.entities.Referral;
 import com.alexpacheco.therapynotes.model.entities.Symptom;
-import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AffectAssessmentOption;
-import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AppearanceAssessmentOption;
 import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOption;
-import com.alexpacheco.therapynotes.model.entities.assessmentoptions.EyeContactAssessmentOption;
-import com.alexpacheco.therapynotes.model.entities.assessmentoptions.NextApptAssessmentOption;
-import com.alexpacheco.therapynotes.model.entities.assessmentoptions.SpeechAssessmentOption;
 import com.alexpacheco.therapynotes.util.AppLogger;
 import com.alexpacheco.therapynotes.util.DateFormatUtil;
 import com.alexpacheco.therapynotes.util.DbUtil;
@@ -24,17 +23,25 @@ import com.alexpacheco.therapynotes.util.JavaUtils;
 
 public class NotesDao
 {
+	public static final int MAX_PAGE_SIZE = 500;
+	
+	// Package-private so query plan tests can EXPLAIN them
+	static final String HIGHEST_SESSION_NUMBER_SQL = "SELECT MAX(session_number) FROM notes WHERE client_id = ?";
+	static final String LAST_DIAGNOSIS_SQL = "SELECT diagnosis FROM notes WHERE client_id = ? ORDER BY insert_date DESC LIMIT 1";
+	
+	// Shared with NoteBatchInserter; the first 21 parameters of UPDATE_NOTE_SQL are in the same order, see setNoteParameters
+	static final String INSERT_NOTE_SQL = "INSERT INTO notes (client_id, appt_date_time, virtual_appt, appt_note, diagnosis, session_number, session_length, narrative, appearance_comment, speech_comment, affect_comment, eye_contact_comment, next_appt_comment, certified, appearance, speech, affect, eye_contact, next_appt, referral_comment, collateral_contact_comment)"
+			+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String UPDATE_NOTE_SQL = "UPDATE notes SET client_id = ?, appt_date_time = ?, virtual_appt = ?, appt_note = ?, diagnosis = ?, session_number = ?, session_length = ?, narrative = ?, appearance_comment = ?, speech_comment = ?, affect_comment = ?, eye_contact_comment = ?, next_appt_comment = ?, certified = ?, appearance = ?, speech = ?, affect = ?, eye_contact = ?, next_appt = ?, referral_comment = ?, collateral_contact_comment = ? WHERE note_id = ?";
+	static final String INSERT_SYMPTOM_SQL = "INSERT INTO symptoms (note_id, symptom_id) VALUES (?, ?)";
+	static final String INSERT_REFERRAL_SQL = "INSERT INTO referrals (note_id, referral_id) VALUES (?, ?)";
+	static final String INSERT_COLLATERAL_CONTACT_SQL = "INSERT INTO collateral_contacts (note_id, collateral_contact_type_id) VALUES (?, ?)";
+	
 	/**
 	 * Saves a complete session note. Uses a transaction to ensure all-or-nothing data integrity.
 	 */
 	public void createNewNote( Note note ) throws SQLException
 	{
-		String insertNoteSql = "INSERT INTO notes (client_id, appt_date_time, virtual_appt, appt_note, diagnosis, session_number, session_length, narrative, appearance_comment, speech_comment, affect_comment, eye_contact_comment, next_appt_comment, certified, appearance, speech, affect, eye_contact, next_appt, referral_comment, collateral_contact_comment)"
-				+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-		String insertSymptomSql = "INSERT INTO symptoms (note_id, symptom_id) VALUES (?, ?)";
-		String insertReferralSql = "INSERT INTO referrals (note_id, referral_id)  VALUES (?, ?)";
-		String insertCollateralContactSql = "INSERT INTO collateral_contacts (note_id, collateral_contact_type_id)  VALUES (?, ?)";
-		
 		Connection conn = null;
 		try
 		{
@@ -44,29 +51,9 @@ public class NotesDao
 			int generatedNoteId;
 			
 			// 1. Insert the Note record
-			try( PreparedStatement pstmt = conn.prepareStatement( insertNoteSql, Statement.RETURN_GENERATED_KEYS ) )
+			try( PreparedStatement pstmt = conn.prepareStatement( INSERT_NOTE_SQL, Statement.RETURN_GENERATED_KEYS ) )
 			{
-				pstmt.setInt( 1, note.getClient().getClientId() );
-				pstmt.setString( 2, DateFormatUtil.toSqliteString( note.getApptDateTime() ) );
-				pstmt.setInt( 3, JavaUtils.convertBooleanToBit( note.isVirtualAppt() ) );
-				pstmt.setString( 4, note.getApptComment() );
-				pstmt.setString( 5, note.getDiagnosis() );
-				pstmt.setInt( 6, note.getSessionNumber() );
-				pstmt.setString( 7, note.getSessionLength() );
-				pstmt.setString( 8, note.getNarrative() );
-				pstmt.setString( 9, note.getAppearanceComment() );
-				pstmt.setString( 10, note.getSpeechComment() );
-				pstmt.setString( 11, note.getAffectComment() );
-				pstmt.setString( 12, note.getEyeContactComment() );
-				pstmt.setString( 13, note.getNextApptComment() );
-				pstmt.setString( 14, DateFormatUtil.toSqliteString( note.getCertifiedDate() ) );
-				setOptionIdParameterValue( pstmt, 15, note.getAppearance() );
-				setOptionIdParameterValue( pstmt, 16, note.getSpeech() );
-				setOptionIdParameterValue( pstmt, 17, note.getAffect() );
-				setOptionIdParameterValue( pstmt, 18, note.getEyeContact() );
-				setOptionIdParameterValue( pstmt, 19, note.getNextAppt() );
-				pstmt.setString( 20, note.getReferralComment() );
-				pstmt.setString( 21, note.getCollateralContactComment() );
+				setNoteParameters( pstmt, note );
 				pstmt.executeUpdate();
 				
 				// Get the newly created note_id
@@ -84,7 +71,7 @@ public class NotesDao
 			}
 			
 			// 2. Insert the Symptoms (Junction Table)
-			try( PreparedStatement pstmtSymptom = conn.prepareStatement( insertSymptomSql ) )
+			try( PreparedStatement pstmtSymptom = conn.prepareStatement( INSERT_SYMPTOM_SQL ) )
 			{
 				for( Symptom symptom : note.getSymptoms() )
 				{
@@ -96,7 +83,7 @@ public class NotesDao
 			}
 			
 			// 3. Insert the Referrals (Junction Table)
-			try( PreparedStatement pstmtReferral = conn.prepareStatement( insertReferralSql ) )
+			try( PreparedStatement pstmtReferral = conn.prepareStatement( INSERT_REFERRAL_SQL ) )
 			{
 				for( Referral referral : note.getReferrals() )
 				{
@@ -108,7 +95,7 @@ public class NotesDao
 			}
 			
 			// 4. Insert the Collateral Contacts (Junction Table)
-			try( PreparedStatement pstmtCollateralContacts = conn.prepareStatement( insertCollateralContactSql ) )
+			try( PreparedStatement pstmtCollateralContacts = conn.prepareStatement( INSERT_COLLATERAL_CONTACT_SQL ) )
 			{
 				for( CollateralContact collateralContact : note.getCollateralContacts() )
 				{
@@ -146,19 +133,11 @@ public class NotesDao
 	 */
 	public void updateExistingNote( Note note ) throws SQLException
 	{
-		// Update the main note record
-		String updateNoteSql = "UPDATE notes SET client_id = ?, appt_date_time = ?, virtual_appt = ?, appt_note = ?, diagnosis = ?, session_number = ?, session_length = ?, narrative = ?, appearance_comment = ?, speech_comment = ?, affect_comment = ?, eye_contact_comment = ?, next_appt_comment = ?, certified = ?, appearance = ?, speech = ?, affect = ?, eye_contact = ?, next_appt = ?, referral_comment = ?, collateral_contact_comment = ? WHERE note_id = ?";
-		
 		// Delete existing related records before re-inserting
 		String deleteSymptomsSql = "DELETE FROM symptoms WHERE note_id = ?";
 		String deleteReferralsSql = "DELETE FROM referrals WHERE note_id = ?";
 		String deleteCollateralContactsSql = "DELETE FROM collateral_contacts WHERE note_id = ?";
 		
-		// Insert statements remain the same for re-inserting updated data
-		String insertSymptomSql = "INSERT INTO symptoms (note_id, symptom_id) VALUES (?, ?)";
-		String insertReferralSql = "INSERT INTO referrals (note_id, referral_id) VALUES (?, ?)";
-		String insertCollateralContactSql = "INSERT INTO collateral_contacts (note_id, collateral_contact_type_id) VALUES (?, ?)";
-		
 		Connection conn = null;
 		try
 		{
@@ -166,29 +145,9 @@ public class NotesDao
 			conn.setAutoCommit( false ); // Start Transaction
 			
 			// 1. Update the Note record
-			try( PreparedStatement pstmt = conn.prepareStatement( updateNoteSql ) )
+			try( PreparedStatement pstmt = conn.prepareStatement( UPDATE_NOTE_SQL ) )
 			{
-				pstmt.setInt( 1, note.getClient().getClientId() );
-				pstmt.setString( 2, DateFormatUtil.toSqliteString( note.getApptDateTime() ) );
-				pstmt.setInt( 3, JavaUtils.convertBooleanToBit( note.isVirtualAppt() ) );
-				pstmt.setString( 4, note.getApptComment() );
-				pstmt.setString( 5, note.getDiagnosis() );
-				pstmt.setInt( 6, note.getSessionNumber() );
-				pstmt.setString( 7, note.getSessionLength() );
-				pstmt.setString( 8, note.getNarrative() );
-				pstmt.setString( 9, note.getAppearanceComment() );
-				pstmt.setString( 10, note.getSpeechComment() );
-				pstmt.setString( 11, note.getAffectComment() );
-				pstmt.setString( 12, note.getEyeContactComment() );
-				pstmt.setString( 13, note.getNextApptComment() );
-				pstmt.setString( 14, DateFormatUtil.toSqliteString( note.getCertifiedDate() ) );
-				setOptionIdParameterValue( pstmt, 15, note.getAppearance() );
-				setOptionIdParameterValue( pstmt, 16, note.getSpeech() );
-				setOptionIdParameterValue( pstmt, 17, note.getAffect() );
-				setOptionIdParameterValue( pstmt, 18, note.getEyeContact() );
-				setOptionIdParameterValue( pstmt, 19, note.getNextAppt() );
-				pstmt.setString( 20, note.getReferralComment() );
-				pstmt.setString( 21, note.getCollateralContactComment() );
+				setNoteParameters( pstmt, note );
 				pstmt.setInt( 22, note.getNoteId() );
 				pstmt.executeUpdate();
 			}
@@ -213,7 +172,7 @@ public class NotesDao
 			}
 			
 			// 3. Insert the Symptoms (Junction Table)
-			try( PreparedStatement pstmtSymptom = conn.prepareStatement( insertSymptomSql ) )
+			try( PreparedStatement pstmtSymptom = conn.prepareStatement( INSERT_SYMPTOM_SQL ) )
 			{
 				for( Symptom symptom : note.getSymptoms() )
 				{
@@ -225,7 +184,7 @@ public class NotesDao
 			}
 			
 			// 4. Insert the Referrals (Junction Table)
-			try( PreparedStatement pstmtReferral = conn.prepareStatement( insertReferralSql ) )
+			try( PreparedStatement pstmtReferral = conn.prepareStatement( INSERT_REFERRAL_SQL ) )
 			{
 				for( Referral referral : note.getReferrals() )
 				{
@@ -237,7 +196,7 @@ public class NotesDao
 			}
 			
 			// 5. Insert the Collateral Contacts (Junction Table)
-			try( PreparedStatement pstmtCollateralContacts = conn.prepareStatement( insertCollateralContactSql ) )
+			try( PreparedStatement pstmtCollateralContacts = conn.prepareStatement( INSERT_COLLATERAL_CONTACT_SQL ) )
 			{
 				for( CollateralContact collateralContact : note.getCollateralContacts() )
 				{
@@ -270,13 +229,52 @@ public class NotesDao
 		}
 	}
 	
-	private void setOptionIdParameterValue( PreparedStatement pstmt, int paramIndex, AssessmentOption option ) throws SQLException
+	/**
+	 * Opens an inserter that saves many notes over one connection, committing when the caller asks. Close it when done.
+	 */
+	public NoteBatchInserter openBatchInserter() throws SQLException
+	{
+		return new NoteBatchInserter();
+	}
+	
+	/**
+	 * Binds a note's columns to the first 21 parameters of {@link #INSERT_NOTE_SQL} or the update statement, which list them in the same
+	 * order.
+	 */
+	static void setNoteParameters( PreparedStatement pstmt, Note note ) throws SQLException
+	{
+		pstmt.setInt( 1, note.getClient().getClientId() );
+		pstmt.setString( 2, DateFormatUtil.toSqliteString( note.getApptDateTime() ) );
+		pstmt.setInt( 3, JavaUtils.convertBooleanToBit( note.isVirtualAppt() ) );
+		pstmt.setString( 4, note.getApptComment() );
+		pstmt.setString( 5, note.getDiagnosis() );
+		if( note.getSessionNumber() == null )
+			pstmt.setNull( 6, Types.INTEGER );
+		else
+			pstmt.setInt( 6, note.getSessionNumber() );
+		pstmt.setString( 7, note.getSessionLength() );
+		pstmt.setString( 8, note.getNarrative() );
+		pstmt.setString( 9, note.getAppearanceComment() );
+		pstmt.setString( 10, note.getSpeechComment() );
+		pstmt.setString( 11, note.getAffectComment() );
+		pstmt.setString( 12, note.getEyeContactComment() );
+		pstmt.setString( 13, note.getNextApptComment() );
+		pstmt.setString( 14, DateFormatUtil.toSqliteString( note.getCertifiedDate() ) );
+		setOptionIdParameterValue( pstmt, 15, note.getAppearance() );
+		setOptionIdParameterValue( pstmt, 16, note.getSpeech() );
+		setOptionIdParameterValue( pstmt, 17, note.getAffect() );
+		setOptionIdParameterValue( pstmt, 18, note.getEyeContact() );
+		setOptionIdParameterValue( pstmt, 19, note.getNextAppt() );
+		pstmt.setString( 20, note.getReferralComment() );
+		pstmt.setString( 21, note.getCollateralContactComment() );
+	}
+	
+	private static void setOptionIdParameterValue( PreparedStatement pstmt, int paramIndex, AssessmentOption option ) throws SQLException
 	{
 		if( option == null || option.getId() == null )
 			pstmt.setNull( paramIndex, Types.INTEGER );
 		else
 			pstmt.setInt( paramIndex, option.getId().intValue() );
-		
 	}
 	
 	public Note getNote( int note_id ) throws SQLException, TherapyAppException
@@ -286,74 +284,306 @@ public class NotesDao
 		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql ) )
 		{
 			pstmt.setInt( 1, note_id );
+			NoteHydrator hydrator = new NoteHydrator();
 			try( ResultSet rs = pstmt.executeQuery() )
 			{
-				while( rs.next() )
+				if( rs.next() )
 				{
-					return _populateNote( rs );
+					hydrator.addRow( rs );
 				}
 			}
+			
+			List<Note> notes = hydrator.hydrate( conn );
+			AppLogger.logDatabaseOperation( "SELECT", "notes", true );
+			return notes.isEmpty() ? null : notes.get( 0 );
 		}
-		
-		AppLogger.logDatabaseOperation( "SELECT", "notes", true );
-		return null;
 	}
 	
+	/**
+	 * Returns the first 100 notes matching the given filters, newest first.
+	 * 
+	 * @see #searchNotesPage(Integer, Date, Date, int, String)
+	 */
 	public List<Note> searchNotes( Integer clientId, Date startDate, Date endDate ) throws SQLException, TherapyAppException
 	{
-		List<Note> notes = new ArrayList<>();
+		return searchNotesPage( clientId, startDate, endDate, 100, null ).getNotes();
+	}
+	
+	/**
+	 * Returns one page of notes matching the given filters, newest first. Paging is keyset-based on (appt_date_time, note_id): each page
+	 * starts strictly after the last row of the previous one, so later pages cost the same as the first and no OFFSET scan is needed.
+	 * Clients, assessment options and junction rows are loaded for the whole page with a fixed number of set-based queries.
+	 * 
+	 * @param pageSize  Number of notes per page, between 1 and {@link #MAX_PAGE_SIZE}
+	 * @param pageToken Token from {@link NotePage#getNextPageToken()} of the previous page, or null for the first page
+	 */
+	public NotePage searchNotesPage( Integer clientId, Date startDate, Date endDate, int pageSize, String pageToken )
+			throws SQLException, TherapyAppException
+	{
+		if( pageSize < 1 || pageSize > MAX_PAGE_SIZE )
+			throw new TherapyAppException( "Page size must be between 1 and " + MAX_PAGE_SIZE + ".", ErrorCode.INVALID_INPUT );
 		
-		String sql = "SELECT * FROM notes WHERE (? IS NULL OR client_id = ?) AND (? IS NULL OR DATE(appt_date_time) >= DATE(?))"
-				+ " AND (? IS NULL OR DATE(appt_date_time) <= DATE(?)) ORDER BY appt_date_time DESC LIMIT 100";
+		PageCursor cursor = pageToken == null ? null : PageCursor.decode( pageToken );
+		boolean hasDateFilter = startDate != null || endDate != null;
 		
-		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql ) )
+		List<Note> notes;
+		String nextPageToken = null;
+		
+		try( Connection conn = DbUtil.getConnection() )
 		{
-			if( clientId == null )
+			NoteHydrator hydrator = new NoteHydrator();
+			PageCursor last = null;
+			int rowCount = 0;
+			
+			// Dated notes first. Undated notes sort after every dated one, so a cursor that is still inside the dated range continues
+			// into them once the dated rows run out. A date filter never matches an undated note.
+			List<String> statements = new ArrayList<>();
+			List<List<Object>> statementParams = new ArrayList<>();
+			
+			if( cursor == null || cursor.apptDateTime != null )
 			{
-				pstmt.setNull( 1, Types.INTEGER );
-				pstmt.setNull( 2, Types.INTEGER );
+				List<Object> params = new ArrayList<>();
+				statements.add( buildSearchSql( clientId != null, startDate != null, endDate != null, cursor != null ) );
+				_addIfPresent( params, clientId );
+				_addIfPresent( params, DateFormatUtil.toSqliteStartOfDay( startDate ) );
+				_addIfPresent( params, DateFormatUtil.toSqliteStartOfNextDay( endDate ) );
+				if( cursor != null )
+				{
+					params.add( cursor.apptDateTime );
+					params.add( cursor.noteId );
+				}
+				statementParams.add( params );
 			}
-			else
+			
+			if( cursor != null && !hasDateFilter )
 			{
-				pstmt.setInt( 1, clientId );
-				pstmt.setInt( 2, clientId );
+				List<Object> params = new ArrayList<>();
+				statements.add( buildUndatedSearchSql( clientId != null, cursor.apptDateTime == null ) );
+				_addIfPresent( params, clientId );
+				if( cursor.apptDateTime == null )
+					params.add( cursor.noteId );
+				statementParams.add( params );
 			}
 			
-			if( startDate == null )
+			for( int s = 0; s < statements.size() && rowCount <= pageSize; s++ )
 			{
-				pstmt.setNull( 3, Types.VARCHAR );
-				pstmt.setNull( 4, Types.VARCHAR );
+				try( PreparedStatement pstmt = conn.prepareStatement( statements.get( s ) ) )
+				{
+					List<Object> params = statementParams.get( s );
+					for( int i = 0; i < params.size(); i++ )
+					{
+						pstmt.setObject( i + 1, params.get( i ) );
+					}
+					// Fetch one extra row to learn whether another page exists
+					pstmt.setInt( params.size() + 1, pageSize + 1 - rowCount );
+					
+					try( ResultSet rs = pstmt.executeQuery() )
+					{
+						while( rs.next() )
+						{
+							if( ++rowCount > pageSize )
+							{
+								nextPageToken = last.encode();
+								break;
+							}
+							
+							last = new PageCursor( rs.getString( "appt_date_time" ), rs.getInt( "note_id" ) );
+							hydrator.addRow( rs );
+						}
+					}
+				}
 			}
-			else
+			
+			notes = hydrator.hydrate( conn );
+		}
+		
+		AppLogger.logDatabaseOperation( "SELECT", "notes", true );
+		return new NotePage( notes, nextPageToken );
+	}
+	
+	/**
+	 * Counts the notes matching the given filters, using the same date bounds as {@link #searchNotesPage}.
+	 */
+	public int countNotes( Integer clientId, Date startDate, Date endDate ) throws SQLException
+	{
+		StringBuilder sql = new StringBuilder( "SELECT COUNT(*) FROM notes WHERE 1 = 1" );
+		List<Object> params = new ArrayList<>();
+		if( clientId != null )
+		{
+			sql.append( " AND client_id = ?" );
+			params.add( clientId );
+		}
+		if( startDate != null )
+		{
+			sql.append( " AND appt_date_time >= ?" );
+			params.add( DateFormatUtil.toSqliteStartOfDay( startDate ) );
+		}
+		if( endDate != null )
+		{
+			sql.append( " AND appt_date_time < ?" );
+			params.add( DateFormatUtil.toSqliteStartOfNextDay( endDate ) );
+		}
+		
+		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql.toString() ) )
+		{
+			for( int i = 0; i < params.size(); i++ )
 			{
-				String startDateStr = DateFormatUtil.toSqliteString( startDate );
-				pstmt.setString( 3, startDateStr );
-				pstmt.setString( 4, startDateStr );
+				pstmt.setObject( i + 1, params.get( i ) );
 			}
 			
-			if( endDate == null )
+			try( ResultSet rs = pstmt.executeQuery() )
 			{
-				pstmt.setNull( 5, Types.VARCHAR );
-				pstmt.setNull( 6, Types.VARCHAR );
+				AppLogger.logDatabaseOperation( "SELECT COUNT", "notes", true );
+				return rs.next() ? rs.getInt( 1 ) : 0;
 			}
-			else
+		}
+	}
+	
+	/**
+	 * Ranked full-text search over the narrative, appointment note and section comment columns through the notes_fts index. Results
+	 * are ordered by BM25 relevance and carry a snippet of the best-matching column with the matched terms marked.
+	 * 
+	 * @param text Words to find; every word must match, and the last one also matches as a prefix
+	 */
+	public List<NoteSearchHit> searchNotesFullText( String text, Integer clientId, Date startDate, Date endDate, int limit )
+			throws SQLException, TherapyAppException
+	{
+		String matchQuery = buildMatchQuery( text );
+		if( matchQuery == null )
+			throw new TherapyAppException( "Enter at least one word to search for.", ErrorCode.INVALID_INPUT );
+		if( limit < 1 || limit > MAX_PAGE_SIZE )
+			throw new TherapyAppException( "Result limit must be between 1 and " + MAX_PAGE_SIZE + ".", ErrorCode.INVALID_INPUT );
+		
+		StringBuilder sql = new StringBuilder( "SELECT n.*, snippet(notes_fts, -1, ?, ?, '...', 16) AS fts_snippet, notes_fts.rank AS fts_rank" );
+		sql.append( " FROM notes_fts JOIN notes n ON n.note_id = notes_fts.rowid WHERE notes_fts MATCH ?" );
+		List<Object> params = new ArrayList<>();
+		params.add( String.valueOf( NoteSearchHit.MATCH_START ) );
+		params.add( String.valueOf( NoteSearchHit.MATCH_END ) );
+		params.add( matchQuery );
+		
+		if( clientId != null )
+		{
+			sql.append( " AND n.client_id = ?" );
+			params.add( clientId );
+		}
+		if( startDate != null )
+		{
+			sql.append( " AND n.appt_date_time >= ?" );
+			params.add( DateFormatUtil.toSqliteStartOfDay( startDate ) );
+		}
+		if( endDate != null )
+		{
+			sql.append( " AND n.appt_date_time < ?" );
+			params.add( DateFormatUtil.toSqliteStartOfNextDay( endDate ) );
+		}
+		
+		sql.append( " ORDER BY notes_fts.rank LIMIT ?" );
+		params.add( limit );
+		
+		List<String> snippets = new ArrayList<>();
+		List<Double> ranks = new ArrayList<>();
+		List<Note> notes;
+		
+		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql.toString() ) )
+		{
+			for( int i = 0; i < params.size(); i++ )
 			{
-				String endDateStr = DateFormatUtil.toSqliteString( endDate );
-				pstmt.setString( 5, endDateStr );
-				pstmt.setString( 6, endDateStr );
+				pstmt.setObject( i + 1, params.get( i ) );
 			}
 			
+			NoteHydrator hydrator = new NoteHydrator();
 			try( ResultSet rs = pstmt.executeQuery() )
 			{
 				while( rs.next() )
 				{
-					notes.add( _populateNote( rs ) );
+					hydrator.addRow( rs );
+					snippets.add( rs.getString( "fts_snippet" ) );
+					ranks.add( rs.getDouble( "fts_rank" ) );
 				}
 			}
+			
+			notes = hydrator.hydrate( conn );
 		}
 		
-		AppLogger.logDatabaseOperation( "SELECT", "notes", true );
-		return notes;
+		List<NoteSearchHit> hits = new ArrayList<>( notes.size() );
+		for( int i = 0; i < notes.size(); i++ )
+		{
+			hits.add( new NoteSearchHit( notes.get( i ), snippets.get( i ), ranks.get( i ) ) );
+		}
+		
+		AppLogger.logDatabaseOperation( "SELECT MATCH", "notes_fts", true );
+		return hits;
+	}
+	
+	/**
+	 * Turns free text typed by the user into an FTS5 query that cannot fail to parse: each word becomes a quoted phrase (embedded
+	 * quotes dropped) and the last word becomes a prefix query so results appear while a word is still being typed.
+	 * 
+	 * @return The MATCH expression, or null if the text contains no words
+	 */
+	static String buildMatchQuery( String text )
+	{
+		if( text == null )
+			return null;
+		
+		List<String> terms = new ArrayList<>();
+		for( String word : text.strip().split( "\\s+" ) )
+		{
+			String cleaned = word.replace( "\"", "" );
+			if( !cleaned.isEmpty() )
+				terms.add( "\"" + cleaned + "\"" );
+		}
+		
+		if( terms.isEmpty() )
+			return null;
+		
+		return String.join( " ", terms ) + "*";
+	}
+	
+	/**
+	 * Builds the note search statement. Every predicate compares the raw appt_date_time column (half-open day range, row-value keyset
+	 * bound) so SQLite can satisfy both the filter and the ORDER BY from notes_client_appt_idx or notes_appt_idx. Parameters are bound
+	 * in order: client id, start of first day, start of the day after the last, cursor appt_date_time, cursor note_id, row limit.
+	 * Package-private so query plan tests can EXPLAIN exactly what runs.
+	 */
+	static String buildSearchSql( boolean byClient, boolean byStartDate, boolean byEndDate, boolean afterCursor )
+	{
+		StringBuilder sql = new StringBuilder( "SELECT * FROM notes WHERE 1 = 1" );
+		
+		if( byClient )
+			sql.append( " AND client_id = ?" );
+		if( byStartDate )
+			sql.append( " AND appt_date_time >= ?" );
+		if( byEndDate )
+			sql.append( " AND appt_date_time < ?" );
+		if( afterCursor )
+			sql.append( " AND (appt_date_time, note_id) < (?, ?)" );
+		
+		sql.append( " ORDER BY appt_date_time DESC, note_id DESC LIMIT ?" );
+		return sql.toString();
+	}
+	
+	/**
+	 * Builds the statement that continues a search into notes with no appointment time, which sort after all dated notes. Parameters:
+	 * client id, cursor note_id, row limit.
+	 */
+	static String buildUndatedSearchSql( boolean byClient, boolean afterCursor )
+	{
+		StringBuilder sql = new StringBuilder( "SELECT * FROM notes WHERE appt_date_time IS NULL" );
+		
+		if( byClient )
+			sql.append( " AND client_id = ?" );
+		if( afterCursor )
+			sql.append( " AND note_id < ?" );
+		
+		sql.append( " ORDER BY note_id DESC LIMIT ?" );
+		return sql.toString();
+	}
+	
+	private static void _addIfPresent( List<Object> params, Object value )
+	{
+		if( value != null )
+			params.add( value );
 	}
 	
 	public Integer getHighestUsedSessionNumberForClient( Integer clientId ) throws SQLException
@@ -361,9 +591,7 @@ public class NotesDao
 		if( clientId == null )
 			return null;
 		
-		String sql = "SELECT MAX(session_number) FROM notes WHERE client_id = ?";
-		
-		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql ) )
+		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( HIGHEST_SESSION_NUMBER_SQL ) )
 		{
 			pstmt.setInt( 1, clientId );
 			try( ResultSet rs = pstmt.executeQuery() )
@@ -385,9 +613,7 @@ public class NotesDao
 		if( clientId == null )
 			return null;
 		
-		String sql = "SELECT diagnosis FROM notes WHERE client_id = ? ORDER BY insert_date DESC";
-		
-		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql ) )
+		try( Connection conn = DbUtil.getConnection(); PreparedStatement pstmt = conn.prepareStatement( LAST_DIAGNOSIS_SQL ) )
 		{
 			pstmt.setInt( 1, clientId );
 			try( ResultSet rs = pstmt.executeQuery() )
@@ -404,40 +630,40 @@ public class NotesDao
 	}
 	
 	/**
-	 * Creates, populates, and returns a Note object based on query results of SELECT * FROM notes
-	 * 
-	 * @param rs
-	 * @return
-	 * @throws SQLException
-	 * @throws TherapyAppException
+	 * Position of the last note on a page, encoded as an opaque URL-safe token.
 	 */
-	private Note _populateNote( ResultSet rs ) throws SQLException, TherapyAppException
+	private static class PageCursor
 	{
-		Note n = new Note();
-		n.setNoteId( rs.getInt( "note_id" ) );
-		n.setClient( AppController.getClientById( rs.getInt( "client_id" ) ) );
-		n.setApptDateTime( DateFormatUtil.toLocalDateTime( rs.getString( "appt_date_time" ) ) );
-		n.setVirtualAppt( JavaUtils.convertBitToBoolean( rs.getInt( "virtual_appt" ) ) );
-		n.setApptComment( rs.getString( "appt_note" ) );
-		n.setDiagnosis( rs.getString( "diagnosis" ) );
-		n.setSessionNumber( rs.getInt( "session_number" ) );
-		n.setSessionLength( rs.getString( "session_length" ) );
-		n.setNarrative( rs.getString( "narrative" ) );
-		n.setAppearance( (AppearanceAssessmentOption) AppController.getAssessmentOptionById( rs.getInt( "appearance" ) ) );
-		n.setAppearanceComment( rs.getString( "appearance_comment" ) );
-		n.setSpeech( (SpeechAssessmentOption) AppController.getAssessmentOptionById( rs.getInt( "speech" ) ) );
-		n.setSpeechComment( rs.getString( "speech_comment" ) );
-		n.setAffect( (AffectAssessmentOption) AppController.getAssessmentOptionById( rs.getInt( "affect" ) ) );
-		n.setAffectComment( rs.getString( "affect_comment" ) );
-		n.setEyeContact( (EyeContactAssessmentOption) AppController.getAssessmentOptionById( rs.getInt( "eye_contact" ) ) );
-		n.setEyeContactComment( rs.getString( "eye_contact_comment" ) );
-		n.setNextAppt( (NextApptAssessmentOption) AppController.getAssessmentOptionById( rs.getInt( "next_appt" ) ) );
-		n.setNextApptComment( rs.getString( "next_appt_comment" ) );
-		n.setReferralComment( rs.getString( "referral_comment" ) );
-		n.setCollateralContactComment( rs.getString( "collateral_contact_comment" ) );
-		n.setCertifiedDate( DateFormatUtil.toLocalDateTime( rs.getString( "certified" ) ) );
-		n.setInsertDate( DateFormatUtil.toLocalDateTime( rs.getString( "insert_date" ) ) );
-		n.setUpdateDate( DateFormatUtil.toLocalDateTime( rs.getString( "update_date" ) ) );
-		return n;
+		private static final String VERSION = "1";
+		private final String apptDateTime;
+		private final int noteId;
+		
+		PageCursor( String apptDateTime, int noteId )
+		{
+			this.apptDateTime = apptDateTime;
+			this.noteId = noteId;
+		}
+		
+		String encode()
+		{
+			String raw = VERSION + "|" + ( apptDateTime == null ? "" : apptDateTime ) + "|" + noteId;
+			return Base64.getUrlEncoder().withoutPadding().encodeToString( raw.getBytes( StandardCharsets.UTF_8 ) );
+		}
+		
+		static PageCursor decode( String token ) throws TherapyAppException
+		{
+			try
+			{
+				String[] parts = new String( Base64.getUrlDecoder().decode( token ), StandardCharsets.UTF_8 ).split( "\\|", -1 );
+				if( parts.length != 3 || !VERSION.equals( parts[0] ) )
+					throw new IllegalArgumentException( "Unrecognized token format" );
+				
+				return new PageCursor( parts[1].isEmpty() ? null : parts[1], Integer.parseInt( parts[2] ) );
+			}
+			catch( IllegalArgumentException e )
+			{
+				throw new TherapyAppException( "Invalid page token.", ErrorCode.INVALID_INPUT );
+			}
+		}
 	}
 }
\ No newline at end of file
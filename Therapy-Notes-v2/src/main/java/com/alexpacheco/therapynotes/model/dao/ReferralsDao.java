@@ -5,7 +5,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.entities.Referral;
@@ -37,6 +40,40 @@ public class ReferralsDao
 		return referrals;
 	}
 	
+	/**
+	 * Loads the selected referrals for many notes on an existing connection, grouped by note ID. Used for batch hydration of
+	 * notes so that a page of results costs one query instead of one per note.
+	 */
+	Map<Integer, List<Referral>> getSelectedReferralsForNotes( Connection conn, Collection<Integer> noteIds ) throws SQLException, TherapyAppException
+	{
+		Map<Integer, List<Referral>> byNote = new HashMap<>();
+		
+		for( List<Integer> chunk : DbUtil.partitionIds( noteIds ) )
+		{
+			String sql = "SELECT r.note_id, r.referral_id, a.name, a.description, r.insert_date FROM referrals r JOIN assessment_options a ON r.referral_id = a.id WHERE r.note_id IN (" + DbUtil.placeholders( chunk.size() ) + ")";
+			
+			try( PreparedStatement pstmt = conn.prepareStatement( sql ) )
+			{
+				for( int i = 0; i < chunk.size(); i++ )
+				{
+					pstmt.setInt( i + 1, chunk.get( i ) );
+				}
+				
+				try( ResultSet rs = pstmt.executeQuery() )
+				{
+					while( rs.next() )
+					{
+						Referral item = _populateReferral( rs );
+						byNote.computeIfAbsent( item.getNoteId(), k -> new ArrayList<>() ).add( item );
+					}
+				}
+			}
+		}
+		
+		AppLogger.logDatabaseOperation( "SELECT IN", "referrals JOIN assessment_options", true );
+		return byNote;
+	}
+	
 	private Referral _populateReferral( ResultSet rs ) throws SQLException, TherapyAppException
 	{
 		Referral referral = new Referral();
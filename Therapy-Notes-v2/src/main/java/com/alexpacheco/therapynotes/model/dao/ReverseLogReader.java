@@ -0,0 +1,165 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import com.alexpacheco.therapynotes.model.entities.AppLog;
+
+/**
+ * Reads log entries newest first by scanning log files backwards from their end, one block at a time, and stops as soon as enough entries
+ * have been read. Asking for the most recent entry touches only the last block of the newest file instead of parsing every rotated file.
+ *
+ * Files are read with positional channel reads rather than memory mapping: a mapped file stays locked on Windows until the mapping is
+ * garbage collected, which would make the FileHandler's rename-based rotation fail.
+ */
+class ReverseLogReader
+{
+	private static final int BLOCK_BYTES = 64 * 1024;
+	
+	private ReverseLogReader()
+	{
+	}
+	
+	/**
+	 * Returns up to limit entries, newest first.
+	 *
+	 * @param logFiles Log files ordered newest first
+	 * @param limit    Maximum number of entries to read
+	 */
+	static List<AppLog> readNewest( List<File> logFiles, int limit ) throws IOException
+	{
+		List<AppLog> logs = new ArrayList<>();
+		for( File logFile : logFiles )
+		{
+			if( logs.size() >= limit )
+				break;
+			_readFile( logFile, limit, logs );
+		}
+		return logs;
+	}
+	
+	private static void _readFile( File logFile, int limit, List<AppLog> logs ) throws IOException
+	{
+		Charset charset = Charset.defaultCharset();
+		// Continuation lines of the entry being assembled, in file order
+		Deque<String> continuation = new ArrayDeque<>();
+		
+		try( FileChannel channel = FileChannel.open( logFile.toPath(), StandardOpenOption.READ ) )
+		{
+			long end = _completeLength( channel );
+			int blockSize = BLOCK_BYTES;
+			
+			while( end > 0 )
+			{
+				long start = Math.max( 0, end - blockSize );
+				byte[] bytes = _read( channel, start, (int) ( end - start ) );
+				
+				// Unless this block starts the file, its first line may begin in an earlier block and is left for the next read
+				int firstLine = 0;
+				if( start > 0 )
+				{
+					firstLine = _indexOfNewline( bytes ) + 1;
+					if( firstLine == bytes.length )
+					{
+						// The block holds only part of a single line
+						blockSize *= 2;
+						continue;
+					}
+				}
+				
+				// Every block ends with a newline; walk the lines between firstLine and the end backwards
+				int lineEnd = bytes.length - 1;
+				for( int i = lineEnd - 1; i >= firstLine - 1; i-- )
+				{
+					if( i >= firstLine && bytes[i] != '\n' )
+						continue;
+					
+					_acceptLine( new String( bytes, i + 1, lineEnd - i - 1, charset ), continuation, logs );
+					if( logs.size() >= limit )
+						return;
+					lineEnd = i;
+				}
+				
+				end = start + firstLine;
+				blockSize = BLOCK_BYTES;
+			}
+		}
+	}
+	
+	/**
+	 * Adds the entry whose header this line is, or queues the line as a continuation of the entry whose header is further back.
+	 */
+	private static void _acceptLine( String line, Deque<String> continuation, List<AppLog> logs )
+	{
+		if( line.endsWith( "\r" ) )
+			line = line.substring( 0, line.length() - 1 );
+		
+		Matcher matcher = AppLogsDao.LOG_PATTERN.matcher( line );
+		if( matcher.matches() )
+		{
+			AppLog log = AppLogsDao.parseLogLine( matcher );
+			StringBuilder message = new StringBuilder( log.getMessage() );
+			for( String continuationLine : continuation )
+			{
+				message.append( "\n" ).append( continuationLine );
+			}
+			log.setMessage( message.toString().trim() );
+			continuation.clear();
+			logs.add( log );
+		}
+		else if( !line.trim().isEmpty() )
+		{
+			continuation.addFirst( line );
+		}
+	}
+	
+	/**
+	 * Returns the length of the file up to and including its last newline. Anything after it belongs to a record still being written.
+	 */
+	private static long _completeLength( FileChannel channel ) throws IOException
+	{
+		long end = channel.size();
+		while( end > 0 )
+		{
+			long start = Math.max( 0, end - BLOCK_BYTES );
+			byte[] bytes = _read( channel, start, (int) ( end - start ) );
+			for( int i = bytes.length - 1; i >= 0; i-- )
+			{
+				if( bytes[i] == '\n' )
+					return start + i + 1;
+			}
+			end = start;
+		}
+		return 0;
+	}
+	
+	private static byte[] _read( FileChannel channel, long position, int length ) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate( length );
+		while( buffer.hasRemaining() )
+		{
+			if( channel.read( buffer, position + buffer.position() ) < 0 )
+				throw new IOException( "Log file truncated while reading" );
+		}
+		return buffer.array();
+	}
+	
+	private static int _indexOfNewline( byte[] bytes )
+	{
+		for( int i = 0; i < bytes.length; i++ )
+		{
+			if( bytes[i] == '\n' )
+				return i;
+		}
+		return -1;
+	}
+}
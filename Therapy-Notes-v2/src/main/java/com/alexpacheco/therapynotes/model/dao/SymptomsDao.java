@@ -5,7 +5,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.entities.Symptom;
@@ -37,6 +40,40 @@ public class SymptomsDao
 		return symptoms;
 	}
 	
+	/**
+	 * Loads the selected symptoms for many notes on an existing connection, grouped by note ID. Used for batch hydration of
+	 * notes so that a page of results costs one query instead of one per note.
+	 */
+	Map<Integer, List<Symptom>> getSelectedSymptomsForNotes( Connection conn, Collection<Integer> noteIds ) throws SQLException, TherapyAppException
+	{
+		Map<Integer, List<Symptom>> byNote = new HashMap<>();
+		
+		for( List<Integer> chunk : DbUtil.partitionIds( noteIds ) )
+		{
+			String sql = "SELECT s.note_id, s.symptom_id, a.name, a.description, s.insert_date FROM symptoms s JOIN assessment_options a ON s.symptom_id = a.id WHERE s.note_id IN (" + DbUtil.placeholders( chunk.size() ) + ")";
+			
+			try( PreparedStatement pstmt = conn.prepareStatement( sql ) )
+			{
+				for( int i = 0; i < chunk.size(); i++ )
+				{
+					pstmt.setInt( i + 1, chunk.get( i ) );
+				}
+				
+				try( ResultSet rs = pstmt.executeQuery() )
+				{
+					while( rs.next() )
+					{
+						Symptom item = _populateSymptom( rs );
+						byNote.computeIfAbsent( item.getNoteId(), k -> new ArrayList<>() ).add( item );
+					}
+				}
+			}
+		}
+		
+		AppLogger.logDatabaseOperation( "SELECT IN", "symptoms JOIN assessment_options", true );
+		return byNote;
+	}
+	
 	private Symptom _populateSymptom( ResultSet rs ) throws SQLException, TherapyAppException
 	{
 		Symptom symptom = new Symptom();
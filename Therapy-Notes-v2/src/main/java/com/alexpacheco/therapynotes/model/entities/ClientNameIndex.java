@@ -0,0 +1,138 @@
+package com.alexpacheco.therapynotes.model.entities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Immutable lookup of active client display names ("CODE - First Last") to client ids. Names are sorted ignoring case and lowercased once
+ * when the index is built, so filtering while the user types does no per-keystroke allocation beyond the result list.
+ */
+public final class ClientNameIndex
+{
+	private static final int CANCEL_CHECK_INTERVAL = 256;
+	
+	private final List<String> names;
+	private final String[] lowerNames;
+	private final Map<String, Integer> idsByName = new HashMap<>();
+	private final Map<Integer, String> namesById = new HashMap<>();
+	private final Map<String, String> namesByLowerName = new HashMap<>();
+	
+	public ClientNameIndex( List<Client> clients )
+	{
+		List<String> sorted = new ArrayList<>( clients.size() );
+		for( Client client : clients )
+		{
+			String name = client.getDisplayName();
+			if( idsByName.putIfAbsent( name, client.getClientId() ) == null )
+				sorted.add( name );
+			namesById.putIfAbsent( client.getClientId(), name );
+		}
+		sorted.sort( String.CASE_INSENSITIVE_ORDER );
+		
+		names = Collections.unmodifiableList( sorted );
+		lowerNames = new String[sorted.size()];
+		for( int i = 0; i < lowerNames.length; i++ )
+		{
+			lowerNames[i] = sorted.get( i ).toLowerCase( Locale.ROOT );
+			namesByLowerName.putIfAbsent( lowerNames[i], sorted.get( i ) );
+		}
+	}
+	
+	/**
+	 * Returns every name in display order.
+	 */
+	public List<String> getNames()
+	{
+		return names;
+	}
+	
+	public int size()
+	{
+		return names.size();
+	}
+	
+	public boolean contains( String name )
+	{
+		return name != null && idsByName.containsKey( name );
+	}
+	
+	/**
+	 * Returns the id for an exact display name, or null.
+	 */
+	public Integer getClientId( String name )
+	{
+		return name == null ? null : idsByName.get( name );
+	}
+	
+	/**
+	 * Returns the display name for a client id, or null.
+	 */
+	public String getName( Integer clientId )
+	{
+		return clientId == null ? null : namesById.get( clientId );
+	}
+	
+	/**
+	 * Returns the name equal to text ignoring case, or null.
+	 */
+	public String findIgnoreCase( String text )
+	{
+		return text == null ? null : namesByLowerName.get( text.trim().toLowerCase( Locale.ROOT ) );
+	}
+	
+	/**
+	 * Returns the names containing the query, ignoring case, in display order.
+	 *
+	 * @param query     Text typed by the user; surrounding whitespace is ignored
+	 * @param cancelled Polled while scanning; when it returns true the scan stops
+	 * @return Every name when the query is blank, or null if the scan was cancelled
+	 */
+	public List<String> filter( String query, BooleanSupplier cancelled )
+	{
+		String q = query == null ? "" : query.trim().toLowerCase( Locale.ROOT );
+		if( q.isEmpty() )
+			return names;
+		
+		List<String> matches = new ArrayList<>();
+		for( int i = 0; i < lowerNames.length; i++ )
+		{
+			if( i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean() )
+				return null;
+			if( lowerNames[i].contains( q ) )
+				matches.add( names.get( i ) );
+		}
+		return matches;
+	}
+	
+	/**
+	 * Returns the only name containing the query ignoring case, or null if none or several do.
+	 */
+	public String findSingleMatch( String query )
+	{
+		String q = query == null ? "" : query.trim().toLowerCase( Locale.ROOT );
+		String match = null;
+		for( int i = 0; i < lowerNames.length; i++ )
+		{
+			if( lowerNames[i].contains( q ) )
+			{
+				if( match != null )
+					return null;
+				match = names.get( i );
+			}
+		}
+		return match;
+	}
+	
+	/**
+	 * Returns a new map of display name to client id.
+	 */
+	public HashMap<String, Integer> toMap()
+	{
+		return new HashMap<>( idsByName );
+	}
+}
@@ -0,0 +1,61 @@
+package com.alexpacheco.therapynotes.model.entities;
+
+/**
+ * How far an import of one file has got. The source identifies the file, the record count is how many of its records have been processed,
+ * and the file size is the size it had then, so a file that has since changed can be told apart from one that has only grown.
+ */
+public class ImportCheckpoint
+{
+	private final String source;
+	private long records;
+	private boolean complete;
+	private long fileSize;
+	
+	public ImportCheckpoint( String source )
+	{
+		this.source = source;
+	}
+	
+	public ImportCheckpoint( String source, long records, boolean complete, long fileSize )
+	{
+		this.source = source;
+		this.records = records;
+		this.complete = complete;
+		this.fileSize = fileSize;
+	}
+	
+	public String getSource()
+	{
+		return source;
+	}
+	
+	public long getRecords()
+	{
+		return records;
+	}
+	
+	public void setRecords( long records )
+	{
+		this.records = records;
+	}
+	
+	public boolean isComplete()
+	{
+		return complete;
+	}
+	
+	public void setComplete( boolean complete )
+	{
+		this.complete = complete;
+	}
+	
+	public long getFileSize()
+	{
+		return fileSize;
+	}
+	
+	public void setFileSize( long fileSize )
+	{
+		this.fileSize = fileSize;
+	}
+}
@@ -0,0 +1,37 @@
+package com.alexpacheco.therapynotes.model.entities;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a note search. The next page token is opaque to callers; pass it back to the search to continue after the last note on
+ * this page. A null token means there are no more results.
+ */
+public class NotePage
+{
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	
+	private final List<Note> notes;
+	private final String nextPageToken;
+	
+	public NotePage( List<Note> notes, String nextPageToken )
+	{
+		this.notes = notes == null ? Collections.emptyList() : notes;
+		this.nextPageToken = nextPageToken;
+	}
+	
+	public List<Note> getNotes()
+	{
+		return notes;
+	}
+	
+	public String getNextPageToken()
+	{
+		return nextPageToken;
+	}
+	
+	public boolean hasNextPage()
+	{
+		return nextPageToken != null;
+	}
+}
@@ -0,0 +1,41 @@
+package com.alexpacheco.therapynotes.model.entities;
+
+/**
+ * A note returned by full-text search, with the best-matching fragment of its text. Matched terms in the snippet are wrapped in
+ * {@link #MATCH_START} and {@link #MATCH_END}, control characters that cannot occur in typed text, so the view can highlight them after
+ * escaping the rest.
+ */
+public class NoteSearchHit
+{
+	public static final char MATCH_START = '\u0002';
+	public static final char MATCH_END = '\u0003';
+	
+	private final Note note;
+	private final String snippet;
+	private final double rank;
+	
+	public NoteSearchHit( Note note, String snippet, double rank )
+	{
+		this.note = note;
+		this.snippet = snippet;
+		this.rank = rank;
+	}
+	
+	public Note getNote()
+	{
+		return note;
+	}
+	
+	public String getSnippet()
+	{
+		return snippet;
+	}
+	
+	/**
+	 * BM25 relevance score; lower is a better match.
+	 */
+	public double getRank()
+	{
+		return rank;
+	}
+}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.*;
 
 import com.alexpacheco.therapynotes.model.dao.AppLogsDao;
@@ -15,6 +16,12 @@ import com.alexpacheco.therapynotes.model.entities.AppLog;
 
 /**
  * Centralized application logging utility. Logs to rotating files in AppData/Roaming/TherapyNotes/logs directory.
+ * 
+ * By default records are written asynchronously: callers only enqueue into a bounded ring buffer and a background thread writes to the
+ * file, so logging never adds disk I/O to UI or database latency. Set the system property therapynotes.log.async=false to write
+ * synchronously, therapynotes.log.bufferSize to size the buffer, and therapynotes.log.overflow to BLOCK, DROP_INFO (default) or
+ * DROP_OLDEST to choose what happens when it is full. By default a full buffer drops INFO records rather than make the caller wait, and
+ * only warnings and errors wait for room. Set therapynotes.log.dir to write the log files somewhere other than the user's log directory.
  */
 public class AppLogger
 {
@@ -26,9 +33,18 @@ public class AppLogger
 	private static final int MAX_LOG_FILE_SIZE = 5 * 1024 * 1024; // 5MB per file
 	private static final int MAX_LOG_FILES = 5; // Keep 5 rotated files
 	
+	// Asynchronous writer configuration
+	private static final String ASYNC_PROPERTY = "therapynotes.log.async";
+	private static final String BUFFER_SIZE_PROPERTY = "therapynotes.log.bufferSize";
+	private static final String OVERFLOW_PROPERTY = "therapynotes.log.overflow";
+	static final String LOG_DIR_PROPERTY = "therapynotes.log.dir";
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+	
 	private static boolean initialized = false;
 	private static String currentSessionId;
-	private static long logSequence = 0; // Simulates DB auto-increment ID
+	private static final AtomicLong logSequence = new AtomicLong(); // Simulates DB auto-increment ID
+	private static Handler fileOutputHandler;
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
 	
 	static
 	{
@@ -64,7 +80,8 @@ public class AppLogger
 			fileHandler.setFormatter( new DetailedLogFormatter() );
 			
 			// Configure logger
-			logger.addHandler( fileHandler );
+			fileOutputHandler = _createOutputHandler( fileHandler );
+			logger.addHandler( fileOutputHandler );
 			logger.setLevel( Level.INFO );
 			logger.setUseParentHandlers( false ); // Don't log to console
 			
@@ -92,14 +109,43 @@ public class AppLogger
 			List<AppLog> recentLogs = dao.getRecentLogs( 1 );
 			if( !recentLogs.isEmpty() )
 			{
-				logSequence = recentLogs.get( 0 ).getId();
+				logSequence.set( recentLogs.get( 0 ).getId() );
 			}
 		}
 		catch( Exception e )
 		{
 			// Fall back to 0 if we can't read logs
-			logSequence = 0;
+			logSequence.set( 0 );
+		}
+	}
+	
+	/**
+	 * Wraps the file handler in an asynchronous handler unless async logging is disabled, and registers a shutdown hook that writes out
+	 * anything still buffered when the JVM exits.
+	 */
+	private static Handler _createOutputHandler( FileHandler fileHandler )
+	{
+		if( !Boolean.parseBoolean( System.getProperty( ASYNC_PROPERTY, "true" ) ) )
+			return fileHandler;
+		
+		int bufferSize = DEFAULT_BUFFER_SIZE;
+		try
+		{
+			String configured = System.getProperty( BUFFER_SIZE_PROPERTY );
+			if( configured != null )
+				bufferSize = Math.max( 2, Integer.parseInt( configured.strip() ) );
+		}
+		catch( NumberFormatException e )
+		{
+			System.err.println( "Invalid " + BUFFER_SIZE_PROPERTY + ", using " + DEFAULT_BUFFER_SIZE );
 		}
+		
+		AsyncLogHandler.OverflowPolicy overflowPolicy = AsyncLogHandler.OverflowPolicy
+				.fromString( System.getProperty( OVERFLOW_PROPERTY ), AsyncLogHandler.OverflowPolicy.DROP_INFO );
+		
+		AsyncLogHandler asyncHandler = new AsyncLogHandler( fileHandler, bufferSize, overflowPolicy );
+		Runtime.getRuntime().addShutdownHook( new Thread( asyncHandler::close, "app-log-shutdown" ) );
+		return asyncHandler;
 	}
 	
 	/**
@@ -115,10 +161,14 @@ public class AppLogger
 	}
 	
 	/**
-	 * Get the log directory path based on OS.
+	 * Get the log directory path based on OS, unless the therapynotes.log.dir system property names one.
 	 */
 	private static String getLogDirectory()
 	{
+		String configured = System.getProperty( LOG_DIR_PROPERTY );
+		if( !JavaUtils.isNullOrEmpty( configured ) )
+			return configured;
+		
 		String baseDir;
 		String os = System.getProperty( "os.name" ).toLowerCase();
 		
@@ -152,25 +202,29 @@ public class AppLogger
 	}
 	
 	/**
-	 * Core logging method with configurable stack depth for accurate source detection.
+	 * Core logging method with configurable stack depth for accurate source detection. The caller is only looked up when the level is
+	 * enabled.
 	 * 
 	 * @param level      The log level
 	 * @param message    The log message
-	 * @param stackDepth The stack frame index to get the caller from
+	 * @param stackDepth The stack frame index to get the caller from, counting {@link #_findCaller(int)} as frame 0
 	 */
 	private static void log( Level level, String message, int stackDepth )
 	{
 		if( !initialized )
 			return;
 		
-		StackTraceElement caller = Thread.currentThread().getStackTrace()[stackDepth];
-		
-		LogRecord record = new LogRecord( level, message );
-		record.setSourceClassName( caller.getClassName() );
-		record.setSourceMethodName( caller.getMethodName() );
-		record.setLoggerName( logger.getName() );
-		
-		logger.log( record );
+		if( logger.isLoggable( level ) )
+		{
+			StackWalker.StackFrame caller = _findCaller( stackDepth );
+			
+			LogRecord record = new LogRecord( level, message );
+			record.setSourceClassName( caller != null ? caller.getClassName() : null );
+			record.setSourceMethodName( caller != null ? caller.getMethodName() : null );
+			record.setLoggerName( logger.getName() );
+			
+			logger.log( record );
+		}
 		
 		if( Level.SEVERE.equals( level ) )
 			System.err.println( message );
@@ -182,10 +236,19 @@ public class AppLogger
 	 */
 	private static void log( Level level, String message )
 	{
-		// Depth 4: getStackTrace -> log(3) -> log(2) -> info/warning/error -> actual caller
+		// Depth 4: _findCaller -> log(3) -> log(2) -> info/warning/error -> actual caller
 		log( level, message, 4 );
 	}
 	
+	/**
+	 * Returns the frame at the given depth below this method. Unlike Thread.getStackTrace, the walk stops at that frame instead of
+	 * capturing and materializing the whole stack.
+	 */
+	private static StackWalker.StackFrame _findCaller( int depth )
+	{
+		return STACK_WALKER.walk( frames -> frames.skip( depth ).findFirst().orElse( null ) );
+	}
+	
 	/**
 	 * Log with explicit source information (for special cases).
 	 */
@@ -274,7 +337,7 @@ public class AppLogger
 	 */
 	public static void logStartup()
 	{
-		// Depth 3: getStackTrace -> log(3) -> logStartup -> actual caller
+		// Depth 3: _findCaller -> log(3) -> logStartup -> actual caller
 		log( Level.INFO, "Application Started", 3 );
 		log( Level.INFO, "Java Version: " + System.getProperty( "java.version" ), 3 );
 		log( Level.INFO, "OS: " + System.getProperty( "os.name" ) + " " + System.getProperty( "os.version" ), 3 );
@@ -287,6 +350,16 @@ public class AppLogger
 	public static void logShutdown()
 	{
 		log( Level.INFO, "Application Shutdown - Session: " + currentSessionId, 3 );
+		flush();
+	}
+	
+	/**
+	 * Blocks until every record logged so far has been written to the log file. Call before reading the log files back.
+	 */
+	public static void flush()
+	{
+		if( fileOutputHandler != null )
+			fileOutputHandler.flush();
 	}
 	
 	/**
@@ -475,10 +548,7 @@ public class AppLogger
 			StringBuilder sb = new StringBuilder();
 			
 			// ID (sequential counter - simulates DB auto-increment)
-			synchronized( AppLogger.class )
-			{
-				sb.append( String.format( "[%05d] ", ++logSequence ) );
-			}
+			sb.append( String.format( "[%05d] ", logSequence.incrementAndGet() ) );
 			
 			// Timestamp
 			LocalDateTime timestamp = LocalDateTime.ofInstant( record.getInstant(), java.time.ZoneId.systemDefault() );
@@ -0,0 +1,188 @@
+package com.alexpacheco.therapynotes.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Handler that moves log I/O off the calling thread. {@link #publish(LogRecord)} only places the record in a lock-free
+ * {@link LogRingBuffer}; a background writer thread drains it in batches and hands the records to the wrapped handler (the rotating
+ * FileHandler), so callers on the EDT or in a DAO never wait on disk. What happens when the buffer is full is decided by the
+ * {@link OverflowPolicy}.
+ */
+class AsyncLogHandler extends Handler
+{
+	/**
+	 * What a caller does when the buffer is full.
+	 */
+	enum OverflowPolicy
+	{
+		/** Wait for the writer to make room. Nothing is lost. */
+		BLOCK,
+		/** Discard INFO and less important records; wait for room for WARNING and SEVERE. */
+		DROP_INFO,
+		/** Discard the oldest buffered record to make room for the new one. */
+		DROP_OLDEST;
+		
+		static OverflowPolicy fromString( String value, OverflowPolicy defaultPolicy )
+		{
+			if( value != null )
+			{
+				for( OverflowPolicy policy : values() )
+				{
+					if( policy.name().equalsIgnoreCase( value.strip() ) )
+						return policy;
+				}
+			}
+			return defaultPolicy;
+		}
+	}
+	
+	private static final int BATCH_SIZE = 256;
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos( 50 );
+	private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos( 50 );
+	
+	private final Handler target;
+	private final LogRingBuffer<LogRecord> buffer;
+	private final OverflowPolicy overflowPolicy;
+	private final Thread writer;
+	private final AtomicLong enqueued = new AtomicLong();
+	private final AtomicLong evicted = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	
+	private volatile long written;
+	private volatile boolean writerIdle;
+	private volatile boolean closed;
+	
+	AsyncLogHandler( Handler target, int capacity, OverflowPolicy overflowPolicy )
+	{
+		this.target = target;
+		this.buffer = new LogRingBuffer<>( capacity );
+		this.overflowPolicy = overflowPolicy;
+		setLevel( target.getLevel() );
+		
+		writer = new Thread( this::_runWriter, "app-log-writer" );
+		writer.setDaemon( true );
+		writer.start();
+	}
+	
+	@Override
+	public void publish( LogRecord record )
+	{
+		if( record == null || !isLoggable( record ) )
+			return;
+		if( closed || !writer.isAlive() )
+		{
+			target.publish( record );
+			return;
+		}
+		
+		while( !buffer.offer( record ) )
+		{
+			if( overflowPolicy == OverflowPolicy.DROP_OLDEST && buffer.poll() != null )
+			{
+				evicted.incrementAndGet();
+				dropped.incrementAndGet();
+				continue;
+			}
+			if( overflowPolicy == OverflowPolicy.DROP_INFO && record.getLevel().intValue() <= Level.INFO.intValue() )
+			{
+				dropped.incrementAndGet();
+				return;
+			}
+			
+			LockSupport.unpark( writer );
+			LockSupport.parkNanos( FULL_PARK_NANOS );
+		}
+		
+		enqueued.incrementAndGet();
+		if( writerIdle )
+			LockSupport.unpark( writer );
+	}
+	
+	/**
+	 * Blocks until every record published before the call has been written and flushed by the wrapped handler.
+	 */
+	@Override
+	public void flush()
+	{
+		// Every enqueued record is eventually either written or evicted by DROP_OLDEST
+		long target = enqueued.get();
+		while( written + evicted.get() < target && writer.isAlive() )
+		{
+			LockSupport.unpark( writer );
+			LockSupport.parkNanos( FULL_PARK_NANOS );
+		}
+		this.target.flush();
+	}
+	
+	/**
+	 * Writes everything still buffered, stops the writer thread and closes the wrapped handler. Records published afterwards are
+	 * written synchronously.
+	 */
+	@Override
+	public void close()
+	{
+		if( closed )
+			return;
+		
+		flush();
+		closed = true;
+		LockSupport.unpark( writer );
+		try
+		{
+			writer.join( TimeUnit.SECONDS.toMillis( 5 ) );
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+		target.close();
+	}
+	
+	long getDroppedCount()
+	{
+		return dropped.get();
+	}
+	
+	private void _runWriter()
+	{
+		List<LogRecord> batch = new ArrayList<>( BATCH_SIZE );
+		long reportedDrops = 0;
+		
+		while( !closed || !buffer.isEmpty() )
+		{
+			if( buffer.drainTo( batch, BATCH_SIZE ) == 0 )
+			{
+				writerIdle = true;
+				if( buffer.isEmpty() && !closed )
+					LockSupport.parkNanos( this, IDLE_PARK_NANOS );
+				writerIdle = false;
+				continue;
+			}
+			
+			for( LogRecord record : batch )
+			{
+				target.publish( record );
+			}
+			written += batch.size();
+			batch.clear();
+			
+			long drops = dropped.get();
+			if( drops > reportedDrops )
+			{
+				LogRecord notice = new LogRecord( Level.WARNING,
+						( drops - reportedDrops ) + " log records dropped because the log buffer was full" );
+				notice.setSourceClassName( AsyncLogHandler.class.getName() );
+				notice.setSourceMethodName( "publish" );
+				target.publish( notice );
+				reportedDrops = drops;
+			}
+		}
+	}
+}
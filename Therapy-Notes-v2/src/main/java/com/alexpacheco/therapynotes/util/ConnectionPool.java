@@ -0,0 +1,745 @@
+package com.alexpacheco.therapynotes.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of pre-configured SQLite connections.
+ *
+ * Physical connections are opened once, have their session pragmas applied once, and keep a small LRU cache of prepared statements.
+ * Callers receive a lightweight proxy whose {@code close()} returns the connection to the pool, so DAO code keeps its usual
+ * try-with-resources pattern unchanged.
+ *
+ * Every open connection counts against the pool size, including ones a thread borrows while it already holds another. A borrow that
+ * could only be satisfied by a connection the same thread already holds fails immediately instead of waiting out the timeout.
+ */
+public class ConnectionPool
+{
+	private static final String VALIDATION_QUERY = "SELECT 1";
+	
+	private final String dbUrl;
+	private final int maxSize;
+	private final int statementCacheSize;
+	private final long borrowTimeoutMillis;
+	private final long validationIntervalMillis;
+	private final long leakThresholdMillis;
+	
+	private final Semaphore permits;
+	private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+	private final Set<Lease> leased = ConcurrentHashMap.newKeySet();
+	private volatile boolean closed = false;
+	
+	// Metrics
+	private final LongAdder borrowCount = new LongAdder();
+	private final LongAdder createdCount = new LongAdder();
+	private final LongAdder discardedCount = new LongAdder();
+	private final LongAdder timeoutCount = new LongAdder();
+	private final LongAdder leakCount = new LongAdder();
+	private final LongAdder statementHits = new LongAdder();
+	private final LongAdder statementMisses = new LongAdder();
+	private final LongAdder totalWaitNanos = new LongAdder();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	
+	/**
+	 * @param dbUrl                    JDBC URL of the database
+	 * @param maxSize                  Maximum number of physical connections open at once
+	 * @param statementCacheSize       Maximum number of prepared statements cached per connection (0 disables caching)
+	 * @param borrowTimeoutMillis      How long a caller waits for a free connection before failing
+	 * @param validationIntervalMillis Idle time after which a connection is health-checked before being handed out
+	 * @param leakThresholdMillis      Lease time after which a borrowed connection is reported as a possible leak (0 disables)
+	 */
+	public ConnectionPool( String dbUrl, int maxSize, int statementCacheSize, long borrowTimeoutMillis, long validationIntervalMillis,
+			long leakThresholdMillis )
+	{
+		if( maxSize < 1 )
+		{
+			throw new IllegalArgumentException( "Pool size must be at least 1: " + maxSize );
+		}
+		
+		this.dbUrl = dbUrl;
+		this.maxSize = maxSize;
+		this.statementCacheSize = Math.max( 0, statementCacheSize );
+		this.borrowTimeoutMillis = borrowTimeoutMillis;
+		this.validationIntervalMillis = validationIntervalMillis;
+		this.leakThresholdMillis = leakThresholdMillis;
+		this.permits = new Semaphore( maxSize, true );
+	}
+	
+	/**
+	 * Opens and configures a physical connection. Shared by the pool and by callers that need an unpooled connection.
+	 */
+	public static Connection openConfiguredConnection( String dbUrl ) throws SQLException
+	{
+		Connection conn = DriverManager.getConnection( dbUrl );
+		
+		try( Statement stmt = conn.createStatement() )
+		{
+			// Ensure Foreign Keys are active for this specific connection session
+			stmt.execute( "PRAGMA foreign_keys = ON;" );
+			// Wait on a locked database instead of failing immediately when another pooled connection is writing
+			stmt.execute( "PRAGMA busy_timeout = 5000;" );
+		}
+		catch( SQLException e )
+		{
+			conn.close();
+			throw e;
+		}
+		
+		AppLogger.debug( "Connected to SQLite database." );
+		return conn;
+	}
+	
+	/**
+	 * Borrows a connection from the pool, opening a new one if none are idle and the pool is not at capacity.
+	 */
+	public Connection getConnection() throws SQLException
+	{
+		if( closed )
+		{
+			throw new SQLException( "Connection pool is closed." );
+		}
+		
+		long start = System.nanoTime();
+		try
+		{
+			if( !permits.tryAcquire( 0, TimeUnit.MILLISECONDS ) )
+			{
+				if( _heldByCurrentThread() >= maxSize )
+				{
+					timeoutCount.increment();
+					throw new SQLException( "All " + maxSize + " database connections are already held by thread '"
+							+ Thread.currentThread().getName() + "'; raise the pool size or avoid nested borrows." );
+				}
+				
+				if( !permits.tryAcquire( borrowTimeoutMillis, TimeUnit.MILLISECONDS ) )
+				{
+					timeoutCount.increment();
+					_detectLeaks( true );
+					throw new SQLException( "Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection." );
+				}
+			}
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+			throw new SQLException( "Interrupted while waiting for a database connection.", e );
+		}
+		
+		long waited = System.nanoTime() - start;
+		totalWaitNanos.add( waited );
+		maxWaitNanos.accumulateAndGet( waited, Math::max );
+		borrowCount.increment();
+		
+		try
+		{
+			PooledConnection pooled = _takeHealthyConnection();
+			Lease lease = new Lease( pooled );
+			leased.add( lease );
+			_detectLeaks( false );
+			return lease.proxy;
+		}
+		catch( SQLException | RuntimeException e )
+		{
+			permits.release();
+			throw e;
+		}
+	}
+	
+	private PooledConnection _takeHealthyConnection() throws SQLException
+	{
+		PooledConnection pooled;
+		while( ( pooled = idle.pollFirst() ) != null )
+		{
+			if( System.currentTimeMillis() - pooled.lastReturned < validationIntervalMillis || pooled.isHealthy() )
+			{
+				return pooled;
+			}
+			
+			AppLogger.warning( "Discarding unhealthy pooled database connection." );
+			_discard( pooled );
+		}
+		
+		pooled = new PooledConnection( openConfiguredConnection( dbUrl ) );
+		createdCount.increment();
+		return pooled;
+	}
+	
+	/**
+	 * Counts the leases held by the calling thread. When it holds every connection, waiting for one can never succeed.
+	 */
+	private int _heldByCurrentThread()
+	{
+		Thread current = Thread.currentThread();
+		int held = 0;
+		for( Lease lease : leased )
+		{
+			if( lease.borrower == current )
+			{
+				held++;
+			}
+		}
+		return held;
+	}
+	
+	private void _release( Lease lease )
+	{
+		leased.remove( lease );
+		PooledConnection pooled = lease.pooled;
+		
+		try
+		{
+			if( closed || !pooled.reset() )
+			{
+				_discard( pooled );
+			}
+			else
+			{
+				pooled.lastReturned = System.currentTimeMillis();
+				idle.offerFirst( pooled ); // LIFO keeps the warmest connections (and statement caches) in use
+			}
+		}
+		finally
+		{
+			permits.release();
+		}
+	}
+	
+	private void _discard( PooledConnection pooled )
+	{
+		discardedCount.increment();
+		pooled.closeQuietly();
+	}
+	
+	/**
+	 * Reports leases that have been held longer than the leak threshold. Each lease is reported at most once.
+	 */
+	private void _detectLeaks( boolean exhausted )
+	{
+		if( leakThresholdMillis <= 0 )
+			return;
+		
+		long now = System.currentTimeMillis();
+		for( Lease lease : leased )
+		{
+			if( !lease.leakReported && now - lease.borrowedAt > leakThresholdMillis )
+			{
+				lease.leakReported = true;
+				leakCount.increment();
+				AppLogger.warning( "Possible connection leak: connection held for " + ( now - lease.borrowedAt ) + " ms by thread '"
+						+ lease.borrower.getName() + "'" + ( exhausted ? " while the pool was exhausted." : "." ) );
+			}
+		}
+	}
+	
+	/**
+	 * Closes all idle connections and rejects further borrows. Leased connections are closed when they are returned.
+	 */
+	public void close()
+	{
+		closed = true;
+		PooledConnection pooled;
+		while( ( pooled = idle.pollFirst() ) != null )
+		{
+			pooled.closeQuietly();
+		}
+	}
+	
+	public boolean isClosed()
+	{
+		return closed;
+	}
+	
+	public String getDbUrl()
+	{
+		return dbUrl;
+	}
+	
+	/**
+	 * Returns a point-in-time snapshot of the pool metrics.
+	 */
+	public Stats getStats()
+	{
+		return new Stats( maxSize, leased.size(), idle.size(), borrowCount.sum(), createdCount.sum(), discardedCount.sum(),
+				timeoutCount.sum(), leakCount.sum(), statementHits.sum(), statementMisses.sum(), totalWaitNanos.sum(),
+				maxWaitNanos.get() );
+	}
+	
+	// ==================== Pooled connection ====================
+	
+	/**
+	 * A physical connection plus its prepared statement cache.
+	 */
+	private class PooledConnection
+	{
+		private final Connection physical;
+		private final Map<String, CachedStatement> statementCache;
+		private volatile long lastReturned = System.currentTimeMillis();
+		
+		PooledConnection( Connection physical )
+		{
+			this.physical = physical;
+			this.statementCache = new LinkedHashMap<>( 16, 0.75f, true )
+			{
+				private static final long serialVersionUID = 1L;
+				
+				@Override
+				protected boolean removeEldestEntry( Map.Entry<String, CachedStatement> eldest )
+				{
+					if( size() > statementCacheSize && !eldest.getValue().inUse )
+					{
+						eldest.getValue().closeQuietly();
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+		
+		boolean isHealthy()
+		{
+			try( Statement stmt = physical.createStatement(); ResultSet rs = stmt.executeQuery( VALIDATION_QUERY ) )
+			{
+				return rs.next();
+			}
+			catch( SQLException e )
+			{
+				return false;
+			}
+		}
+		
+		/**
+		 * Restores the connection to a clean state for the next borrower.
+		 *
+		 * @return false if the connection is no longer usable
+		 */
+		boolean reset()
+		{
+			try
+			{
+				if( physical.isClosed() )
+				{
+					return false;
+				}
+				
+				if( !physical.getAutoCommit() )
+				{
+					physical.rollback();
+					physical.setAutoCommit( true );
+				}
+				
+				for( CachedStatement cached : statementCache.values() )
+				{
+					if( cached.inUse )
+					{
+						cached.release();
+					}
+				}
+				
+				physical.clearWarnings();
+				return true;
+			}
+			catch( SQLException e )
+			{
+				AppLogger.warning( "Failed to reset pooled database connection: " + e.getMessage() );
+				return false;
+			}
+		}
+		
+		PreparedStatement prepare( String sql, Connection owner ) throws SQLException
+		{
+			if( statementCacheSize == 0 )
+			{
+				return physical.prepareStatement( sql );
+			}
+			
+			CachedStatement cached = statementCache.get( sql );
+			if( cached != null && !cached.inUse )
+			{
+				statementHits.increment();
+			}
+			else if( cached == null )
+			{
+				statementMisses.increment();
+				cached = new CachedStatement( physical.prepareStatement( sql ) );
+				statementCache.put( sql, cached );
+			}
+			else
+			{
+				// Same SQL already open on this connection (nested use) - hand out a plain statement
+				statementMisses.increment();
+				return physical.prepareStatement( sql );
+			}
+			
+			cached.inUse = true;
+			return cached.newHandle( owner );
+		}
+		
+		void closeQuietly()
+		{
+			for( CachedStatement cached : statementCache.values() )
+			{
+				cached.closeQuietly();
+			}
+			statementCache.clear();
+			
+			try
+			{
+				physical.close();
+			}
+			catch( SQLException e )
+			{
+				AppLogger.warning( "Failed to close pooled database connection: " + e.getMessage() );
+			}
+		}
+	}
+	
+	/**
+	 * A physical prepared statement kept open across borrows.
+	 */
+	private static class CachedStatement
+	{
+		private final PreparedStatement physical;
+		private boolean inUse = false;
+		private StatementHandle currentHandle;
+		
+		CachedStatement( PreparedStatement physical )
+		{
+			this.physical = physical;
+		}
+		
+		PreparedStatement newHandle( Connection owner )
+		{
+			currentHandle = new StatementHandle( this, owner );
+			return (PreparedStatement) Proxy.newProxyInstance( ConnectionPool.class.getClassLoader(),
+					new Class<?>[] { PreparedStatement.class }, currentHandle );
+		}
+		
+		/**
+		 * Clears per-use state so the statement can be handed out again.
+		 */
+		void release()
+		{
+			if( currentHandle != null )
+			{
+				currentHandle.closed = true;
+				currentHandle = null;
+			}
+			
+			try
+			{
+				ResultSet rs = physical.getResultSet();
+				if( rs != null )
+				{
+					rs.close();
+				}
+				physical.clearParameters();
+				physical.clearBatch();
+			}
+			catch( SQLException e )
+			{
+				AppLogger.warning( "Failed to reset cached statement: " + e.getMessage() );
+			}
+			inUse = false;
+		}
+		
+		void closeQuietly()
+		{
+			try
+			{
+				physical.close();
+			}
+			catch( SQLException e )
+			{
+				// Connection is being torn down anyway
+			}
+		}
+	}
+	
+	// ==================== Proxies ====================
+	
+	/**
+	 * One borrow of a pooled connection. The proxy handed to callers becomes unusable once it is closed.
+	 */
+	private class Lease implements InvocationHandler
+	{
+		private final PooledConnection pooled;
+		private final Connection proxy;
+		private final long borrowedAt = System.currentTimeMillis();
+		private final Thread borrower = Thread.currentThread();
+		private volatile boolean leakReported = false;
+		private volatile boolean closed = false;
+		
+		Lease( PooledConnection pooled )
+		{
+			this.pooled = pooled;
+			this.proxy = (Connection) Proxy.newProxyInstance( ConnectionPool.class.getClassLoader(), new Class<?>[] { Connection.class },
+					this );
+		}
+		
+		@Override
+		public Object invoke( Object proxyInstance, Method method, Object[] args ) throws Throwable
+		{
+			String name = method.getName();
+			
+			switch( name )
+			{
+				case "close":
+					if( !closed )
+					{
+						closed = true;
+						_release( this );
+					}
+					return null;
+				case "isClosed":
+					return closed || pooled.physical.isClosed();
+				case "equals":
+					return proxyInstance == args[0];
+				case "hashCode":
+					return System.identityHashCode( proxyInstance );
+				case "toString":
+					return "PooledConnection[" + dbUrl + ( closed ? ", closed]" : "]" );
+				default:
+					break;
+			}
+			
+			if( closed )
+			{
+				throw new SQLException( "Connection is closed." );
+			}
+			
+			if( "prepareStatement".equals( name ) && args != null && args.length == 1 )
+			{
+				return pooled.prepare( (String) args[0], proxy );
+			}
+			
+			return _invoke( pooled.physical, method, args );
+		}
+	}
+	
+	/**
+	 * Caller-facing handle on a cached statement. Closing it returns the statement to the connection's cache instead of finalizing it.
+	 */
+	private static class StatementHandle implements InvocationHandler
+	{
+		private final CachedStatement cached;
+		private final Connection owner;
+		private boolean closed = false;
+		
+		StatementHandle( CachedStatement cached, Connection owner )
+		{
+			this.cached = cached;
+			this.owner = owner;
+		}
+		
+		@Override
+		public Object invoke( Object proxyInstance, Method method, Object[] args ) throws Throwable
+		{
+			switch( method.getName() )
+			{
+				case "close":
+					if( !closed )
+					{
+						cached.release();
+					}
+					return null;
+				case "isClosed":
+					return closed;
+				case "getConnection":
+					return owner;
+				case "equals":
+					return proxyInstance == args[0];
+				case "hashCode":
+					return System.identityHashCode( proxyInstance );
+				case "toString":
+					return "CachedStatement[" + cached.physical + "]";
+				default:
+					break;
+			}
+			
+			if( closed )
+			{
+				throw new SQLException( "Statement is closed." );
+			}
+			
+			Object result = _invoke( cached.physical, method, args );
+			if( result instanceof ResultSet )
+			{
+				return Proxy.newProxyInstance( ConnectionPool.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+						new ResultSetHandle( (ResultSet) result, (PreparedStatement) proxyInstance ) );
+			}
+			return result;
+		}
+	}
+	
+	/**
+	 * Result set of a cached statement. {@code getStatement()} returns the caller's handle, so closing it goes through the cache.
+	 */
+	private static class ResultSetHandle implements InvocationHandler
+	{
+		private final ResultSet physical;
+		private final PreparedStatement statement;
+		
+		ResultSetHandle( ResultSet physical, PreparedStatement statement )
+		{
+			this.physical = physical;
+			this.statement = statement;
+		}
+		
+		@Override
+		public Object invoke( Object proxyInstance, Method method, Object[] args ) throws Throwable
+		{
+			switch( method.getName() )
+			{
+				case "getStatement":
+					return statement;
+				case "equals":
+					return proxyInstance == args[0];
+				case "hashCode":
+					return System.identityHashCode( proxyInstance );
+				default:
+					return _invoke( physical, method, args );
+			}
+		}
+	}
+	
+	private static Object _invoke( Object target, Method method, Object[] args ) throws Throwable
+	{
+		try
+		{
+			return method.invoke( target, args );
+		}
+		catch( InvocationTargetException e )
+		{
+			throw e.getCause();
+		}
+	}
+	
+	// ==================== Metrics ====================
+	
+	/**
+	 * Immutable snapshot of pool metrics.
+	 */
+	public static class Stats
+	{
+		private final int maxSize;
+		private final int activeCount;
+		private final int idleCount;
+		private final long borrowCount;
+		private final long createdCount;
+		private final long discardedCount;
+		private final long timeoutCount;
+		private final long leakCount;
+		private final long statementCacheHits;
+		private final long statementCacheMisses;
+		private final long totalWaitNanos;
+		private final long maxWaitNanos;
+		
+		Stats( int maxSize, int activeCount, int idleCount, long borrowCount, long createdCount, long discardedCount, long timeoutCount,
+				long leakCount, long statementCacheHits, long statementCacheMisses, long totalWaitNanos, long maxWaitNanos )
+		{
+			this.maxSize = maxSize;
+			this.activeCount = activeCount;
+			this.idleCount = idleCount;
+			this.borrowCount = borrowCount;
+			this.createdCount = createdCount;
+			this.discardedCount = discardedCount;
+			this.timeoutCount = timeoutCount;
+			this.leakCount = leakCount;
+			this.statementCacheHits = statementCacheHits;
+			this.statementCacheMisses = statementCacheMisses;
+			this.totalWaitNanos = totalWaitNanos;
+			this.maxWaitNanos = maxWaitNanos;
+		}
+		
+		public int getMaxSize()
+		{
+			return maxSize;
+		}
+		
+		public int getActiveCount()
+		{
+			return activeCount;
+		}
+		
+		public int getIdleCount()
+		{
+			return idleCount;
+		}
+		
+		public long getBorrowCount()
+		{
+			return borrowCount;
+		}
+		
+		public long getCreatedCount()
+		{
+			return createdCount;
+		}
+		
+		public long getDiscardedCount()
+		{
+			return discardedCount;
+		}
+		
+		public long getTimeoutCount()
+		{
+			return timeoutCount;
+		}
+		
+		public long getLeakCount()
+		{
+			return leakCount;
+		}
+		
+		public long getStatementCacheHits()
+		{
+			return statementCacheHits;
+		}
+		
+		public long getStatementCacheMisses()
+		{
+			return statementCacheMisses;
+		}
+		
+		public long getTotalWaitNanos()
+		{
+			return totalWaitNanos;
+		}
+		
+		public long getMaxWaitNanos()
+		{
+			return maxWaitNanos;
+		}
+		
+		public double getAverageWaitMillis()
+		{
+			return borrowCount == 0 ? 0 : totalWaitNanos / (double) borrowCount / 1_000_000d;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return "ConnectionPool.Stats [maxSize=" + maxSize + ", active=" + activeCount + ", idle=" + idleCount + ", borrows="
+					+ borrowCount + ", created=" + createdCount + ", discarded=" + discardedCount + ", timeouts=" + timeoutCount
+					+ ", leaks=" + leakCount + ", stmtCacheHits=" + statementCacheHits + ", stmtCacheMisses=" + statementCacheMisses
+					+ String.format( ", avgWaitMs=%.3f, maxWaitMs=%.3f]", getAverageWaitMillis(), maxWaitNanos / 1_000_000d );
+		}
+	}
+}
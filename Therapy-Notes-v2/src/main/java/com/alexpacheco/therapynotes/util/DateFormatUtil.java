@@ -53,6 +53,30 @@ public class DateFormatUtil
 		return LocalDateTime.ofInstant( date.toInstant(), ZoneId.systemDefault() ).format( SQLITE_FORMATTER );
 	}
 	
+	/**
+	 * Returns the SQLite string for midnight at the start of the given date's day. Used as an inclusive lower bound so date filters can
+	 * compare the raw column instead of wrapping it in DATE().
+	 */
+	public static String toSqliteStartOfDay( Date date )
+	{
+		if( date == null )
+			return null;
+		
+		return LocalDateTime.ofInstant( date.toInstant(), ZoneId.systemDefault() ).toLocalDate().atStartOfDay().format( SQLITE_FORMATTER );
+	}
+	
+	/**
+	 * Returns the SQLite string for midnight at the start of the day after the given date. Used as an exclusive upper bound.
+	 */
+	public static String toSqliteStartOfNextDay( Date date )
+	{
+		if( date == null )
+			return null;
+		
+		return LocalDateTime.ofInstant( date.toInstant(), ZoneId.systemDefault() ).toLocalDate().plusDays( 1 ).atStartOfDay()
+				.format( SQLITE_FORMATTER );
+	}
+	
 	/**
 	 * Parses a SQLite timestamp String back into a LocalDateTime object. Example: "2026-01-06 14:30:00" -> LocalDateTime object
 	 * 
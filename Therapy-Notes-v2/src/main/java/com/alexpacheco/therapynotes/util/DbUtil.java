@@ -3,17 +3,37 @@ package com.alexpacheco.therapynotes.util;
 import java.io.File;
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Scanner;
 
 import com.alexpacheco.therapynotes.controller.AppController;
+import com.alexpacheco.therapynotes.install.SetupConfigurationManager;
 
 public class DbUtil
 {
 	private static final String DB_FILENAME = "therapy_notes.db";
+	
+	// Connection pool configuration keys (stored alongside the setup configuration)
+	private static final String POOL_SIZE_KEY = "database.pool.size";
+	private static final String STATEMENT_CACHE_SIZE_KEY = "database.pool.statementCacheSize";
+	private static final String LEAK_THRESHOLD_KEY = "database.pool.leakThresholdSeconds";
+	// Nested borrows on one thread each take a connection, so leave room for a background task nesting a few DAO calls deep
+	private static final int DEFAULT_POOL_SIZE = 8;
+	private static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+	private static final int DEFAULT_LEAK_THRESHOLD_SECONDS = 30;
+	private static final long BORROW_TIMEOUT_MILLIS = 30_000;
+	private static final long VALIDATION_INTERVAL_MILLIS = 60_000;
+	
+	/** Largest number of ids bound into a single IN (...) clause. */
+	public static final int MAX_IN_CLAUSE_PARAMS = 500;
+	
 	private static String cachedDbUrl;
+	private static ConnectionPool pool;
 	
 	private static synchronized String getDbUrl()
 	{
@@ -38,54 +58,95 @@ public class DbUtil
 		return cachedDbUrl;
 	}
 	
-	/**
-	 * Gets a connection to the SQLite database with Foreign Keys enabled.
-	 */
-	public static Connection getConnection( String dbUrl ) throws SQLException
+	private static synchronized ConnectionPool getPool()
 	{
-		Connection conn = DriverManager.getConnection( dbUrl );
-		
-		// Ensure Foreign Keys are active for this specific connection session
-		try( Statement stmt = conn.createStatement() )
+		if( pool == null || pool.isClosed() )
 		{
-			stmt.execute( "PRAGMA foreign_keys = ON;" );
+			int poolSize = _getIntSetting( POOL_SIZE_KEY, DEFAULT_POOL_SIZE );
+			int statementCacheSize = _getIntSetting( STATEMENT_CACHE_SIZE_KEY, DEFAULT_STATEMENT_CACHE_SIZE );
+			long leakThresholdMillis = _getIntSetting( LEAK_THRESHOLD_KEY, DEFAULT_LEAK_THRESHOLD_SECONDS ) * 1000L;
+			
+			pool = new ConnectionPool( getDbUrl(), Math.max( 1, poolSize ), statementCacheSize, BORROW_TIMEOUT_MILLIS,
+					VALIDATION_INTERVAL_MILLIS, leakThresholdMillis );
+			AppLogger.info( "Database connection pool created (size " + Math.max( 1, poolSize ) + ", statement cache " + statementCacheSize
+					+ ")" );
 		}
+		return pool;
+	}
+	
+	private static int _getIntSetting( String key, int defaultValue )
+	{
+		String value = SetupConfigurationManager.getValue( key );
+		if( JavaUtils.isNullOrEmpty( value ) )
+			return defaultValue;
 		
-		if( conn != null )
+		try
 		{
-			AppLogger.debug( "Connected to SQLite database." );
+			return Integer.parseInt( value.trim() );
 		}
-		
-		return conn;
+		catch( NumberFormatException e )
+		{
+			AppLogger.warning( "Invalid value '" + value + "' for " + key + ", using default " + defaultValue );
+			return defaultValue;
+		}
+	}
+	
+	/**
+	 * Gets a new, unpooled connection to the given SQLite database with Foreign Keys enabled. The caller owns the connection.
+	 */
+	public static Connection getConnection( String dbUrl ) throws SQLException
+	{
+		return ConnectionPool.openConfiguredConnection( dbUrl );
 	}
 	
 	/**
-	 * Gets a connection to the SQLite database with Foreign Keys enabled.
+	 * Gets a pooled connection to the application database with Foreign Keys enabled. Closing the connection returns it to the pool.
 	 */
 	public static Connection getConnection() throws SQLException
 	{
-		return getConnection( getDbUrl() );
+		return getPool().getConnection();
+	}
+	
+	/**
+	 * Points the application at a different database file and discards the current pool. Used by tools and tests that work against a
+	 * database other than the configured one.
+	 */
+	public static synchronized void setDbUrl( String dbUrl )
+	{
+		shutdownPool();
+		cachedDbUrl = dbUrl;
+	}
+	
+	/**
+	 * Returns a snapshot of the connection pool metrics, or null if no connection has been requested yet.
+	 */
+	public static synchronized ConnectionPool.Stats getPoolStats()
+	{
+		return pool == null ? null : pool.getStats();
+	}
+	
+	/**
+	 * Closes all pooled connections and logs the final pool metrics.
+	 */
+	public static synchronized void shutdownPool()
+	{
+		if( pool != null && !pool.isClosed() )
+		{
+			AppLogger.info( "Closing database connection pool: " + pool.getStats() );
+			pool.close();
+		}
+		pool = null;
 	}
 	
 	public static void executeSqlScript( Connection conn, InputStream inputStream )
 	{
-		// Use a delimiter that handles the semicolon while ignoring them inside triggers
-		// Note: For complex scripts with triggers, it's often safer to split by a custom delimiter
-		// or ensure the Scanner handles the procedural blocks.
-		try( Scanner s = new Scanner( inputStream ).useDelimiter( ";" ) )
+		try
 		{
 			conn.setAutoCommit( false ); // Use a transaction for speed and safety
 			
-			try( Statement st = conn.createStatement() )
+			try
 			{
-				while( s.hasNext() )
-				{
-					String line = s.next().trim();
-					if( !line.isEmpty() )
-					{
-						st.execute( line );
-					}
-				}
+				executeScript( conn, inputStream, ";" );
 				conn.commit();
 			}
 			catch( SQLException e )
@@ -105,23 +166,13 @@ public class DbUtil
 	 */
 	public static void executeTriggerScript( Connection conn, InputStream inputStream )
 	{
-		// Set the delimiter to //
-		try( Scanner s = new Scanner( inputStream ).useDelimiter( "//" ) )
+		try
 		{
 			conn.setAutoCommit( false );
 			
-			try( Statement st = conn.createStatement() )
+			try
 			{
-				while( s.hasNext() )
-				{
-					String triggerBlock = s.next().trim();
-					
-					// Skip empty blocks or comments
-					if( !triggerBlock.isEmpty() && !triggerBlock.startsWith( "--" ) )
-					{
-						st.execute( triggerBlock );
-					}
-				}
+				executeScript( conn, inputStream, "//" );
 				conn.commit();
 			}
 			catch( SQLException e )
@@ -136,6 +187,67 @@ public class DbUtil
 		}
 	}
 	
+	/**
+	 * Executes each statement of a script in the caller's transaction, stopping at the first failure. Blocks that hold only comments are
+	 * skipped.
+	 * 
+	 * @param delimiter Separator between statements: ; for plain DDL, // for scripts whose statements contain semicolons
+	 */
+	public static void executeScript( Connection conn, InputStream inputStream, String delimiter ) throws SQLException
+	{
+		try( Scanner s = new Scanner( inputStream ).useDelimiter( delimiter ); Statement st = conn.createStatement() )
+		{
+			while( s.hasNext() )
+			{
+				String block = s.next().trim();
+				if( !_isCommentOnly( block ) )
+				{
+					st.execute( block );
+				}
+			}
+		}
+	}
+	
+	private static boolean _isCommentOnly( String block )
+	{
+		for( String line : block.split( "\\R" ) )
+		{
+			String trimmed = line.trim();
+			if( !trimmed.isEmpty() && !trimmed.startsWith( "--" ) )
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Builds a comma-separated list of JDBC placeholders for an IN (...) clause, e.g. "?, ?, ?".
+	 */
+	public static String placeholders( int count )
+	{
+		StringBuilder sb = new StringBuilder( count * 3 );
+		for( int i = 0; i < count; i++ )
+		{
+			if( i > 0 )
+				sb.append( ", " );
+			sb.append( '?' );
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Splits ids into chunks no larger than {@link #MAX_IN_CLAUSE_PARAMS} so IN (...) queries stay under SQLite's bound-variable limit.
+	 */
+	public static List<List<Integer>> partitionIds( Collection<Integer> ids )
+	{
+		List<Integer> distinct = new ArrayList<>( new LinkedHashSet<>( ids ) );
+		List<List<Integer>> chunks = new ArrayList<>();
+		for( int i = 0; i < distinct.size(); i += MAX_IN_CLAUSE_PARAMS )
+		{
+			chunks.add( distinct.subList( i, Math.min( i + MAX_IN_CLAUSE_PARAMS, distinct.size() ) ) );
+		}
+		return chunks;
+	}
+	
 	/**
 	 * Should not return null so that DB queries do not get error.
 	 * 
@@ -0,0 +1,123 @@
+package com.alexpacheco.therapynotes.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free bounded multi-producer, multi-consumer ring buffer. Each slot carries a sequence number that tells producers and consumers
+ * whether it is free to write or ready to read, so threads claim slots with a single compare-and-set and never block each other.
+ * Capacity is rounded up to a power of two.
+ *
+ * @param <T> Element type; nulls are not allowed
+ */
+class LogRingBuffer<T>
+{
+	private final int mask;
+	private final AtomicReferenceArray<T> elements;
+	private final AtomicLongArray sequences;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+	
+	LogRingBuffer( int requestedCapacity )
+	{
+		if( requestedCapacity < 2 )
+			throw new IllegalArgumentException( "Capacity must be at least 2" );
+		
+		int capacity = Integer.highestOneBit( requestedCapacity - 1 ) << 1;
+		mask = capacity - 1;
+		elements = new AtomicReferenceArray<>( capacity );
+		sequences = new AtomicLongArray( capacity );
+		for( int i = 0; i < capacity; i++ )
+		{
+			sequences.set( i, i );
+		}
+	}
+	
+	/**
+	 * Adds an element if there is room.
+	 *
+	 * @return false if the buffer is full
+	 */
+	boolean offer( T element )
+	{
+		while( true )
+		{
+			long position = tail.get();
+			int index = (int) position & mask;
+			long difference = sequences.get( index ) - position;
+			
+			if( difference == 0 )
+			{
+				if( tail.compareAndSet( position, position + 1 ) )
+				{
+					elements.lazySet( index, element );
+					sequences.set( index, position + 1 );
+					return true;
+				}
+			}
+			else if( difference < 0 )
+			{
+				return false;
+			}
+		}
+	}
+	
+	/**
+	 * Removes the oldest element.
+	 *
+	 * @return The element, or null if the buffer is empty
+	 */
+	T poll()
+	{
+		while( true )
+		{
+			long position = head.get();
+			int index = (int) position & mask;
+			long difference = sequences.get( index ) - ( position + 1 );
+			
+			if( difference == 0 )
+			{
+				if( head.compareAndSet( position, position + 1 ) )
+				{
+					T element = elements.get( index );
+					elements.lazySet( index, null );
+					sequences.set( index, position + mask + 1 );
+					return element;
+				}
+			}
+			else if( difference < 0 )
+			{
+				return null;
+			}
+		}
+	}
+	
+	/**
+	 * Moves up to max elements into the given list, oldest first.
+	 *
+	 * @return The number of elements moved
+	 */
+	int drainTo( List<T> target, int max )
+	{
+		int count = 0;
+		T element;
+		while( count < max && ( element = poll() ) != null )
+		{
+			target.add( element );
+			count++;
+		}
+		return count;
+	}
+	
+	boolean isEmpty()
+	{
+		return head.get() >= tail.get();
+	}
+	
+	int capacity()
+	{
+		return mask + 1;
+	}
+}
@@ -1,16 +1,97 @@
 package com.alexpacheco.therapynotes.util;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.swing.SwingUtilities;
+
 import com.alexpacheco.therapynotes.controller.enums.PreferenceKey;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.api.PreferenceApi;
 import com.alexpacheco.therapynotes.model.entities.Preference;
+import com.alexpacheco.therapynotes.util.export.ParallelExportExecutor;
 
 /**
  * Utility class for accessing user preferences throughout the application. Provides static methods for retrieving preference values with
  * sensible defaults.
+ *
+ * All preferences are read in one query into an immutable snapshot, so each getter is a volatile read and a map lookup. The snapshot is
+ * replaced by {@link #reload()} after preferences are saved or reset, and subscribed {@link PreferenceListener}s are then told on the Swing
+ * event thread.
  */
 public class PreferencesUtil
 {
 	private static PreferenceApi preferenceApi = new PreferenceApi();
+	private static final List<PreferenceListener> listeners = new CopyOnWriteArrayList<>();
+	private static final Object loadLock = new Object();
+	
+	private static volatile Map<String, Preference> snapshot;
+	private static long generation;
+	
+	/**
+	 * Notified after the stored preferences change.
+	 */
+	@FunctionalInterface
+	public interface PreferenceListener
+	{
+		void preferencesChanged();
+	}
+	
+	// ===========================================
+	// Snapshot
+	// ===========================================
+	
+	/**
+	 * Subscribe to preference changes. Listeners are called on the Swing event thread.
+	 * 
+	 * @param listener The listener to add
+	 */
+	public static void addListener( PreferenceListener listener )
+	{
+		listeners.add( listener );
+	}
+	
+	/**
+	 * Unsubscribe from preference changes
+	 * 
+	 * @param listener The listener to remove
+	 */
+	public static void removeListener( PreferenceListener listener )
+	{
+		listeners.remove( listener );
+	}
+	
+	/**
+	 * Replace the snapshot with the stored preferences and notify listeners. Called after every write to user_preferences.
+	 */
+	public static void reload()
+	{
+		invalidate();
+		_getSnapshot();
+		
+		for( PreferenceListener listener : listeners )
+		{
+			if( SwingUtilities.isEventDispatchThread() )
+				listener.preferencesChanged();
+			else
+				SwingUtilities.invokeLater( listener::preferencesChanged );
+		}
+	}
+	
+	/**
+	 * Drop the snapshot so the next read loads the stored preferences, without notifying listeners
+	 */
+	public static void invalidate()
+	{
+		synchronized( loadLock )
+		{
+			generation++;
+			snapshot = null;
+		}
+	}
 	
 	// ===========================================
 	// Default Behavior Preferences
@@ -66,6 +147,17 @@ public class PreferencesUtil
 		return getBoolean( PreferenceKey.DEFAULT_VIRTUAL );
 	}
 	
+	/**
+	 * Get the number of notes to render concurrently during bulk export
+	 * 
+	 * @return The configured worker count, or one per available processor when not set
+	 */
+	public static int getExportWorkerCount()
+	{
+		int workers = getInt( PreferenceKey.EXPORT_WORKER_COUNT );
+		return workers > 0 ? workers : ParallelExportExecutor.getDefaultWorkerCount();
+	}
+	
 	// ===========================================
 	// Required Fields: Note
 	// ===========================================
@@ -240,7 +332,8 @@ public class PreferencesUtil
 	 */
 	public static boolean getBoolean( PreferenceKey key )
 	{
-		return preferenceApi.getBoolean( key.getKey(), key.getDefaultAsBoolean() );
+		Preference pref = _getSnapshot().get( key.getKey() );
+		return pref != null ? pref.getValueAsBoolean() : key.getDefaultAsBoolean();
 	}
 	
 	/**
@@ -251,7 +344,8 @@ public class PreferencesUtil
 	 */
 	public static String getString( PreferenceKey key )
 	{
-		return preferenceApi.getValue( key.getKey(), key.getDefaultValue() );
+		Preference pref = _getSnapshot().get( key.getKey() );
+		return pref != null ? pref.getValueAsString() : key.getDefaultValue();
 	}
 	
 	/**
@@ -262,7 +356,8 @@ public class PreferencesUtil
 	 */
 	public static int getInt( PreferenceKey key )
 	{
-		return preferenceApi.getInt( key.getKey(), key.getDefaultAsInt() );
+		Preference pref = _getSnapshot().get( key.getKey() );
+		return pref != null ? pref.getValueAsInt() : key.getDefaultAsInt();
 	}
 	
 	/**
@@ -273,7 +368,8 @@ public class PreferencesUtil
 	 */
 	public static double getDouble( PreferenceKey key )
 	{
-		return preferenceApi.getDouble( key.getKey(), key.getDefaultAsDouble() );
+		Preference pref = _getSnapshot().get( key.getKey() );
+		return pref != null ? pref.getValueAsDouble() : key.getDefaultAsDouble();
 	}
 	
 	/**
@@ -291,4 +387,45 @@ public class PreferencesUtil
 		return new Preference( key.getKey(), value, key.getType(), key.getDisplayName(), key.getDescription(), key.getDefaultValue(),
 				key.getCategory() );
 	}
+	
+	/**
+	 * Returns the current snapshot, loading it if needed. If loading fails the error is logged and an empty map is returned, so getters
+	 * fall back to their defaults and the next call tries again.
+	 */
+	private static Map<String, Preference> _getSnapshot()
+	{
+		Map<String, Preference> current = snapshot;
+		if( current != null )
+			return current;
+		
+		long startGeneration;
+		synchronized( loadLock )
+		{
+			if( snapshot != null )
+				return snapshot;
+			startGeneration = generation;
+		}
+		
+		Map<String, Preference> loaded = new HashMap<>();
+		try
+		{
+			for( Preference pref : preferenceApi.getAllPreferences() )
+			{
+				loaded.put( pref.getPreferenceKey(), pref );
+			}
+		}
+		catch( TherapyAppException e )
+		{
+			return Collections.emptyMap();
+		}
+		
+		loaded = Collections.unmodifiableMap( loaded );
+		synchronized( loadLock )
+		{
+			// A snapshot read while preferences were being saved may be stale, so it is used once but not kept
+			if( generation == startGeneration )
+				snapshot = loaded;
+		}
+		return loaded;
+	}
 }
\ No newline at end of file
@@ -40,11 +40,6 @@ public class NotePdfExporter extends AbstractNoteExporter
 	private static final Color TABLE_HEADER_BG = toAwtColor(TABLE_HEADER_BG_RGB);
 	private static final Color BORDER_COLOR = toAwtColor(BORDER_RGB);
 	
-	// Fonts (initialized during export)
-	private static PDFont fontRegular;
-	private static PDFont fontBold;
-	private static PDFont fontItalic;
-	
 	// ===== Abstract Method Implementations =====
 	
 	@Override
@@ -86,11 +81,6 @@ public class NotePdfExporter extends AbstractNoteExporter
 		
 		try (PDDocument document = new PDDocument())
 		{
-			// Initialize fonts
-			fontRegular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
-			fontBold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
-			fontItalic = new PDType1Font(Standard14Fonts.FontName.HELVETICA_OBLIQUE);
-			
 			// Create PDF content builder and build document
 			PdfContentBuilder builder = new PdfContentBuilder(document);
 			buildDocument(builder, data);
@@ -148,7 +138,7 @@ public class NotePdfExporter extends AbstractNoteExporter
 	private static void addDocumentHeader(PdfContentBuilder builder, NoteExportData data) throws IOException
 	{
 		// Title
-		builder.setFont(fontBold, TITLE_FONT_SIZE);
+		builder.setFont(builder.fontBold, TITLE_FONT_SIZE);
 		builder.setColor(HEADER_TEXT_COLOR);
 		builder.addCenteredText("THERAPY PROGRESS NOTE");
 		builder.addVerticalSpace(10);
@@ -156,7 +146,7 @@ public class NotePdfExporter extends AbstractNoteExporter
 		// Certification status
 		if (data.isCertified)
 		{
-			builder.setFont(fontItalic, SMALL_FONT_SIZE);
+			builder.setFont(builder.fontItalic, SMALL_FONT_SIZE);
 			builder.setColor(CERTIFIED_COLOR);
 			builder.addCenteredText(data.certificationText);
 		}
@@ -204,13 +194,13 @@ public class NotePdfExporter extends AbstractNoteExporter
 		
 		if (!data.hasNarrative)
 		{
-			builder.setFont(fontItalic, BODY_FONT_SIZE);
+			builder.setFont(builder.fontItalic, BODY_FONT_SIZE);
 			builder.setColor(LABEL_TEXT_COLOR);
 			builder.addWrappedText("No narrative recorded.");
 		}
 		else
 		{
-			builder.setFont(fontRegular, BODY_FONT_SIZE);
+			builder.setFont(builder.fontRegular, BODY_FONT_SIZE);
 			builder.setColor(Color.BLACK);
 			
 			String[] paragraphs = data.narrative.split("\n");
@@ -234,12 +224,12 @@ public class NotePdfExporter extends AbstractNoteExporter
 		
 		if (!data.hasSymptoms)
 		{
-			builder.setFont(fontItalic, BODY_FONT_SIZE);
+			builder.setFont(builder.fontItalic, BODY_FONT_SIZE);
 			builder.setColor(LABEL_TEXT_COLOR);
 		}
 		else
 		{
-			builder.setFont(fontRegular, BODY_FONT_SIZE);
+			builder.setFont(builder.fontRegular, BODY_FONT_SIZE);
 			builder.setColor(Color.BLACK);
 		}
 		
@@ -254,8 +244,8 @@ public class NotePdfExporter extends AbstractNoteExporter
 		addSectionHeading(builder, "Mental Status Assessment");
 		
 		float[] columnWidths = { CONTENT_WIDTH * 0.25f, CONTENT_WIDTH * 0.30f, CONTENT_WIDTH * 0.45f };
-		builder.addTable(data.getMentalStatusTableData(), columnWidths, fontBold, fontRegular, SMALL_FONT_SIZE, TABLE_HEADER_BG,
-				BORDER_COLOR);
+		builder.addTable(data.getMentalStatusTableData(), columnWidths, builder.fontBold, builder.fontRegular, SMALL_FONT_SIZE,
+				TABLE_HEADER_BG, BORDER_COLOR);
 		
 		builder.addVerticalSpace(PARAGRAPH_SPACING);
 	}
@@ -274,7 +264,7 @@ public class NotePdfExporter extends AbstractNoteExporter
 		
 		for (CollateralContact contact : data.collateralContacts)
 		{
-			builder.setFont(fontBold, BODY_FONT_SIZE);
+			builder.setFont(builder.fontBold, BODY_FONT_SIZE);
 			builder.setColor(Color.BLACK);
 			builder.addText(getCollateralContactDisplayName(contact));
 			builder.addVerticalSpace(6);
@@ -282,7 +272,7 @@ public class NotePdfExporter extends AbstractNoteExporter
 		
 		if (data.hasCollateralContactComment)
 		{
-			builder.setFont(fontRegular, BODY_FONT_SIZE);
+			builder.setFont(builder.fontRegular, BODY_FONT_SIZE);
 			builder.setColor(Color.BLACK);
 			builder.addWrappedText(data.collateralContactComment);
 		}
@@ -302,7 +292,7 @@ public class NotePdfExporter extends AbstractNoteExporter
 		
 		for (Referral referral : data.referrals)
 		{
-			builder.setFont(fontBold, BODY_FONT_SIZE);
+			builder.setFont(builder.fontBold, BODY_FONT_SIZE);
 			builder.setColor(Color.BLACK);
 			builder.addText(getReferralDisplayName(referral));
 			builder.addVerticalSpace(6);
@@ -310,7 +300,7 @@ public class NotePdfExporter extends AbstractNoteExporter
 		
 		if (data.hasReferralComment)
 		{
-			builder.setFont(fontRegular, BODY_FONT_SIZE);
+			builder.setFont(builder.fontRegular, BODY_FONT_SIZE);
 			builder.setColor(Color.BLACK);
 			builder.addWrappedText(data.referralComment);
 		}
@@ -343,7 +333,7 @@ public class NotePdfExporter extends AbstractNoteExporter
 		builder.addHorizontalLine();
 		builder.addVerticalSpace(10);
 		
-		builder.setFont(fontRegular, FOOTER_FONT_SIZE);
+		builder.setFont(builder.fontRegular, FOOTER_FONT_SIZE);
 		builder.setColor(LABEL_TEXT_COLOR);
 		builder.addText(data.getFooterText());
 	}
@@ -356,7 +346,7 @@ public class NotePdfExporter extends AbstractNoteExporter
 	private static void addSectionHeading(PdfContentBuilder builder, String text) throws IOException
 	{
 		builder.addVerticalSpace(SECTION_SPACING);
-		builder.setFont(fontBold, SECTION_FONT_SIZE);
+		builder.setFont(builder.fontBold, SECTION_FONT_SIZE);
 		builder.setColor(HEADER_TEXT_COLOR);
 		builder.addTextWithUnderline(text);
 		builder.addVerticalSpace(10);
@@ -367,12 +357,12 @@ public class NotePdfExporter extends AbstractNoteExporter
 	 */
 	private static void addLabelValuePair(PdfContentBuilder builder, String label, String value) throws IOException
 	{
-		builder.setFont(fontBold, BODY_FONT_SIZE);
+		builder.setFont(builder.fontBold, BODY_FONT_SIZE);
 		builder.setColor(LABEL_TEXT_COLOR);
 		float labelWidth = builder.getTextWidth(label + ": ");
 		builder.addText(label + ": ");
 		
-		builder.setFont(fontRegular, BODY_FONT_SIZE);
+		builder.setFont(builder.fontRegular, BODY_FONT_SIZE);
 		builder.setColor(Color.BLACK);
 		builder.addTextAtOffset(value != null ? value : "Not specified", labelWidth);
 		builder.addVerticalSpace(6);
@@ -386,6 +376,12 @@ public class NotePdfExporter extends AbstractNoteExporter
 	private static class PdfContentBuilder
 	{
 		private final PDDocument document;
+		
+		// Fonts are created per document: PDFont caches glyph widths internally, so instances are not shared between exports that may
+		// run on different threads
+		private final PDFont fontRegular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+		private final PDFont fontBold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+		private final PDFont fontItalic = new PDType1Font(Standard14Fonts.FontName.HELVETICA_OBLIQUE);
 		private PDPage currentPage;
 		private PDPageContentStream contentStream;
 		private float currentY;
@@ -0,0 +1,145 @@
+package com.alexpacheco.therapynotes.util.export;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.util.AppLogger;
+
+/**
+ * Runs document export tasks on a fixed pool of worker threads. At most two tasks per worker may be queued or running at once;
+ * {@link #submit(ExportTask)} blocks beyond that, so a producer reading notes in chunks never gets far ahead of the renderers. Completed
+ * tasks are counted and the running total is reported to a progress listener from the worker threads.
+ *
+ * The first task to fail stops further submissions, and its exception is rethrown by {@link #awaitCompletion()}. An Error such as
+ * OutOfMemoryError fails the export the same way, wrapped in a TherapyAppException.
+ */
+public class ParallelExportExecutor implements AutoCloseable
+{
+	/**
+	 * A single unit of export work, typically rendering one note to one file.
+	 */
+	@FunctionalInterface
+	public interface ExportTask
+	{
+		void run() throws TherapyAppException;
+	}
+	
+	private final ExecutorService executor;
+	private final Semaphore slots;
+	private final int maxInFlight;
+	private final IntConsumer onCompleted;
+	private final AtomicInteger completed = new AtomicInteger();
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+	
+	/**
+	 * @param workerCount Number of worker threads, at least 1
+	 * @param onCompleted Called from a worker thread with the running completed count after each successful task; may be null
+	 */
+	public ParallelExportExecutor( int workerCount, IntConsumer onCompleted )
+	{
+		if( workerCount < 1 )
+			throw new IllegalArgumentException( "Worker count must be at least 1" );
+		
+		this.maxInFlight = workerCount * 2;
+		this.slots = new Semaphore( maxInFlight );
+		this.onCompleted = onCompleted;
+		
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool( workerCount, r ->
+		{
+			Thread thread = new Thread( r, "note-export-" + threadNumber.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		} );
+	}
+	
+	/**
+	 * Returns the worker count to use when none is configured: one per available processor.
+	 */
+	public static int getDefaultWorkerCount()
+	{
+		return Runtime.getRuntime().availableProcessors();
+	}
+	
+	/**
+	 * Queues a task, waiting for a free slot if the executor is full.
+	 *
+	 * @return false if an earlier task has failed and the task was not queued
+	 */
+	public boolean submit( ExportTask task ) throws InterruptedException
+	{
+		if( failure.get() != null )
+			return false;
+		
+		slots.acquire();
+		if( failure.get() != null )
+		{
+			slots.release();
+			return false;
+		}
+		
+		executor.execute( () ->
+		{
+			try
+			{
+				task.run();
+				int done = completed.incrementAndGet();
+				if( onCompleted != null )
+					onCompleted.accept( done );
+			}
+			catch( Throwable e )
+			{
+				failure.compareAndSet( null, e );
+			}
+			finally
+			{
+				slots.release();
+			}
+		} );
+		return true;
+	}
+	
+	/**
+	 * Waits for every queued task to finish and rethrows the first failure, if any.
+	 *
+	 * @return The number of tasks that completed successfully
+	 */
+	public int awaitCompletion() throws TherapyAppException, InterruptedException
+	{
+		slots.acquire( maxInFlight );
+		slots.release( maxInFlight );
+		
+		Throwable e = failure.get();
+		if( e instanceof TherapyAppException )
+			throw (TherapyAppException) e;
+		if( e instanceof RuntimeException )
+			throw (RuntimeException) e;
+		if( e != null )
+		{
+			AppLogger.error( "Export task failed: " + e, e );
+			throw new TherapyAppException( "A document could not be exported: " + e, ErrorCode.EXPORT_ERROR );
+		}
+		
+		return completed.get();
+	}
+	
+	public int getCompletedCount()
+	{
+		return completed.get();
+	}
+	
+	/**
+	 * Stops the worker threads. Tasks still queued are discarded.
+	 */
+	@Override
+	public void close()
+	{
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,201 @@
+package com.alexpacheco.therapynotes.util.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams records from CSV text with a header row. Follows RFC 4180: fields may be quoted, quoted fields may contain commas, line breaks
+ * and doubled quotes, and records end with LF or CRLF. Blank lines are skipped. A record with fewer fields than the header leaves the rest
+ * missing; one with more is returned as an error. So is a record longer than the maximum length, whose text is not kept past the limit,
+ * so an unclosed quote near the start of a large file costs no more memory than one long record.
+ */
+public class CsvRecordReader implements ImportRecordReader
+{
+	private static final int NONE = -2;
+	
+	private final Reader reader;
+	private final int maxRecordLength;
+	private final List<String> header;
+	private int pushedBack = NONE;
+	private long line = 1;
+	private long recordCount;
+	private boolean unterminated;
+	private boolean tooLong;
+	
+	public CsvRecordReader( Reader reader ) throws IOException
+	{
+		this( reader, DEFAULT_MAX_RECORD_LENGTH );
+	}
+	
+	/**
+	 * @param maxRecordLength the most characters a record, including its delimiters and line breaks, may have
+	 */
+	public CsvRecordReader( Reader reader, int maxRecordLength ) throws IOException
+	{
+		this.reader = reader;
+		this.maxRecordLength = maxRecordLength;
+		List<String> names = _readFields();
+		if( tooLong )
+			throw new IOException( "Header row is longer than " + maxRecordLength + " characters" );
+		header = new ArrayList<>();
+		if( names != null )
+		{
+			for( String name : names )
+			{
+				header.add( name.replace( "\uFEFF", "" ).trim().toLowerCase( Locale.ROOT ) );
+			}
+		}
+	}
+	
+	@Override
+	public ImportRecord next() throws IOException
+	{
+		List<String> fields;
+		long startLine;
+		do
+		{
+			startLine = line;
+			unterminated = false;
+			tooLong = false;
+			fields = _readFields();
+			if( fields == null )
+				return null;
+		}
+		while( fields.size() == 1 && fields.get( 0 ).isEmpty() && !unterminated && !tooLong );
+		
+		recordCount++;
+		if( unterminated )
+			return new ImportRecord( recordCount, startLine, null, "Quoted field is not closed before the end of the file" );
+		if( tooLong )
+			return new ImportRecord( recordCount, startLine, null, "Record is longer than " + maxRecordLength + " characters" );
+		if( fields.size() > header.size() )
+			return new ImportRecord( recordCount, startLine, null,
+					"Expected " + header.size() + " fields but found " + fields.size() );
+		
+		Map<String, Object> values = new HashMap<>();
+		for( int i = 0; i < fields.size(); i++ )
+		{
+			values.put( header.get( i ), fields.get( i ) );
+		}
+		return new ImportRecord( recordCount, startLine, values, null );
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		reader.close();
+	}
+	
+	/**
+	 * Reads the fields of one record, or returns null at the end of the input. Past the maximum length the record is only scanned for its
+	 * end and comes back empty with tooLong set.
+	 */
+	private List<String> _readFields() throws IOException
+	{
+		int c = _read();
+		if( c == -1 )
+			return null;
+		
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean inQuotes = false;
+		boolean quoted = false;
+		boolean unquotedText = false;
+		long length = 0;
+		while( true )
+		{
+			if( c == -1 )
+			{
+				unterminated = inQuotes;
+				break;
+			}
+			
+			if( ++length > maxRecordLength && !tooLong )
+			{
+				tooLong = true;
+				fields.clear();
+				field.setLength( 0 );
+				field.trimToSize();
+			}
+			
+			if( inQuotes )
+			{
+				if( c == '"' )
+				{
+					int next = _read();
+					if( next == '"' )
+					{
+						_append( field, '"' );
+					}
+					else
+					{
+						inQuotes = false;
+						c = next;
+						continue;
+					}
+				}
+				else
+				{
+					if( c == '\n' )
+						line++;
+					_append( field, c );
+				}
+			}
+			else if( c == '"' && !quoted && !unquotedText )
+			{
+				inQuotes = true;
+				quoted = true;
+			}
+			else if( c == ',' )
+			{
+				if( !tooLong )
+					fields.add( field.toString() );
+				field.setLength( 0 );
+				quoted = false;
+				unquotedText = false;
+			}
+			else if( c == '\r' || c == '\n' )
+			{
+				if( c == '\r' )
+				{
+					int next = _read();
+					if( next != '\n' )
+						pushedBack = next;
+				}
+				line++;
+				break;
+			}
+			else
+			{
+				_append( field, c );
+				unquotedText = true;
+			}
+			c = _read();
+		}
+		
+		fields.add( field.toString() );
+		return fields;
+	}
+	
+	private void _append( StringBuilder field, int c )
+	{
+		if( !tooLong )
+			field.append( (char) c );
+	}
+	
+	private int _read() throws IOException
+	{
+		if( pushedBack != NONE )
+		{
+			int c = pushedBack;
+			pushedBack = NONE;
+			return c;
+		}
+		return reader.read();
+	}
+}
@@ -0,0 +1,108 @@
+package com.alexpacheco.therapynotes.util.importer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One row read from an import file: its field values by lower-cased column name, where it was in the file, and why it could not be
+ * parsed, if it could not. A value is either a String or, for JSON arrays, a List of Strings.
+ */
+public class ImportRecord
+{
+	/** Separator for list values given as a single CSV field, e.g. "Anxiety; Insomnia". */
+	public static final char LIST_SEPARATOR = ';';
+	
+	private final long recordNumber;
+	private final long lineNumber;
+	private final Map<String, Object> values;
+	private final String error;
+	
+	ImportRecord( long recordNumber, long lineNumber, Map<String, Object> values, String error )
+	{
+		this.recordNumber = recordNumber;
+		this.lineNumber = lineNumber;
+		this.values = values == null ? Collections.emptyMap() : values;
+		this.error = error;
+	}
+	
+	/**
+	 * Position of this record among the data records in the file, counting from 1.
+	 */
+	public long getRecordNumber()
+	{
+		return recordNumber;
+	}
+	
+	/**
+	 * Line the record starts on, counting from 1.
+	 */
+	public long getLineNumber()
+	{
+		return lineNumber;
+	}
+	
+	/**
+	 * Why the record could not be parsed, or null if it was.
+	 */
+	public String getError()
+	{
+		return error;
+	}
+	
+	/**
+	 * Returns the trimmed value of a field, or null if it is missing or blank. A list value is joined with {@link #LIST_SEPARATOR}.
+	 */
+	public String getString( String name )
+	{
+		Object value = values.get( name );
+		if( value instanceof List<?> list )
+		{
+			StringBuilder joined = new StringBuilder();
+			for( Object item : list )
+			{
+				if( joined.length() > 0 )
+					joined.append( LIST_SEPARATOR ).append( ' ' );
+				joined.append( item );
+			}
+			value = joined.toString();
+		}
+		
+		if( value == null )
+			return null;
+		
+		String text = value.toString().trim();
+		return text.isEmpty() ? null : text;
+	}
+	
+	/**
+	 * Returns the non-blank items of a list field, given either as a JSON array or as one value separated by {@link #LIST_SEPARATOR}.
+	 */
+	public List<String> getList( String name )
+	{
+		List<String> items = new ArrayList<>();
+		Object value = values.get( name );
+		if( value instanceof List<?> list )
+		{
+			for( Object item : list )
+			{
+				_addItem( items, item == null ? null : item.toString() );
+			}
+		}
+		else if( value != null )
+		{
+			for( String item : value.toString().split( String.valueOf( LIST_SEPARATOR ) ) )
+			{
+				_addItem( items, item );
+			}
+		}
+		return items;
+	}
+	
+	private static void _addItem( List<String> items, String item )
+	{
+		if( item != null && !item.isBlank() )
+			items.add( item.trim() );
+	}
+}
@@ -0,0 +1,52 @@
+package com.alexpacheco.therapynotes.util.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Reads an import file one record at a time, so memory use does not grow with the size of the file.
+ */
+public interface ImportRecordReader extends AutoCloseable
+{
+	/**
+	 * Characters a record may have before it is returned as an error without the rest of its text being kept.
+	 */
+	int DEFAULT_MAX_RECORD_LENGTH = 1_000_000;
+	
+	/**
+	 * Returns the next record, or null at the end of the file. A record that cannot be parsed is still returned, with
+	 * {@link ImportRecord#getError()} set, so it can be reported and skipped.
+	 */
+	ImportRecord next() throws IOException;
+	
+	@Override
+	void close() throws IOException;
+	
+	/**
+	 * Opens a UTF-8 file as CSV with a header row, or as JSON Lines when its name ends in .jsonl or .ndjson. A .json file is refused rather
+	 * than read one line at a time, since it is usually a single array or a pretty-printed document.
+	 */
+	static ImportRecordReader open( Path file ) throws IOException
+	{
+		String name = file.getFileName().toString().toLowerCase( Locale.ROOT );
+		if( name.endsWith( ".json" ) )
+			throw new IOException( "JSON files are not supported; save the records as JSON Lines (.jsonl), one object per line" );
+		
+		BufferedReader reader = Files.newBufferedReader( file, StandardCharsets.UTF_8 );
+		try
+		{
+			if( name.endsWith( ".jsonl" ) || name.endsWith( ".ndjson" ) )
+				return new JsonLinesRecordReader( reader );
+			return new CsvRecordReader( reader );
+		}
+		catch( IOException e )
+		{
+			reader.close();
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,270 @@
+package com.alexpacheco.therapynotes.util.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams records from JSON Lines text: one JSON object per line, blank lines skipped. Values may be strings, numbers, booleans, null or
+ * arrays of those; numbers and booleans are kept as their text. Nested objects are not part of any import format and make the line an
+ * error, as does anything that is not valid JSON, or a line longer than the maximum length, whose text is not kept past the limit.
+ */
+public class JsonLinesRecordReader implements ImportRecordReader
+{
+	private final BufferedReader reader;
+	private final int maxLineLength;
+	private final StringBuilder lineText = new StringBuilder();
+	private long line;
+	private long recordCount;
+	private boolean tooLong;
+	
+	public JsonLinesRecordReader( BufferedReader reader )
+	{
+		this( reader, DEFAULT_MAX_RECORD_LENGTH );
+	}
+	
+	/**
+	 * @param maxLineLength the most characters a line, not counting its line break, may have
+	 */
+	public JsonLinesRecordReader( BufferedReader reader, int maxLineLength )
+	{
+		this.reader = reader;
+		this.maxLineLength = maxLineLength;
+	}
+	
+	@Override
+	public ImportRecord next() throws IOException
+	{
+		String text;
+		do
+		{
+			text = _readLine();
+			line++;
+			if( text == null )
+				return null;
+		}
+		while( !tooLong && text.isBlank() );
+		
+		// Editors on Windows often save UTF-8 with a byte order mark, which the reader leaves in the first line
+		if( line == 1 && text.startsWith( "\uFEFF" ) )
+			text = text.substring( 1 );
+		
+		recordCount++;
+		if( tooLong )
+			return new ImportRecord( recordCount, line, null, "Line is longer than " + maxLineLength + " characters" );
+		try
+		{
+			return new ImportRecord( recordCount, line, new Parser( text ).parseRecord(), null );
+		}
+		catch( IllegalArgumentException e )
+		{
+			return new ImportRecord( recordCount, line, null, e.getMessage() );
+		}
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		reader.close();
+	}
+	
+	/**
+	 * Reads one line without its line break, or returns null at the end of the input. Past the maximum length the line is only scanned for
+	 * its end, and tooLong is set.
+	 */
+	private String _readLine() throws IOException
+	{
+		lineText.setLength( 0 );
+		tooLong = false;
+		int c = reader.read();
+		if( c == -1 )
+			return null;
+		
+		while( c != -1 && c != '\n' )
+		{
+			if( lineText.length() < maxLineLength )
+				lineText.append( (char) c );
+			else if( c != '\r' )
+				tooLong = true;
+			c = reader.read();
+		}
+		
+		int length = lineText.length();
+		if( length > 0 && lineText.charAt( length - 1 ) == '\r' )
+			lineText.setLength( length - 1 );
+		return lineText.toString();
+	}
+	
+	/**
+	 * Recursive-descent parser for one line. Errors are thrown as IllegalArgumentException with a message naming the position.
+	 */
+	private static class Parser
+	{
+		private final String text;
+		private int pos;
+		
+		Parser( String text )
+		{
+			this.text = text;
+		}
+		
+		Map<String, Object> parseRecord()
+		{
+			Map<String, Object> values = new HashMap<>();
+			_skipWhitespace();
+			_expect( '{' );
+			_skipWhitespace();
+			if( _peek() == '}' )
+			{
+				pos++;
+			}
+			else
+			{
+				while( true )
+				{
+					_skipWhitespace();
+					String name = _parseString();
+					_skipWhitespace();
+					_expect( ':' );
+					values.put( name.trim().toLowerCase( Locale.ROOT ), _parseValue( true ) );
+					_skipWhitespace();
+					if( _peek() == ',' )
+					{
+						pos++;
+						continue;
+					}
+					_expect( '}' );
+					break;
+				}
+			}
+			
+			_skipWhitespace();
+			if( pos < text.length() )
+				throw _error( "Unexpected text after the end of the object" );
+			return values;
+		}
+		
+		private Object _parseValue( boolean allowArray )
+		{
+			_skipWhitespace();
+			char c = _peek();
+			if( c == '"' )
+				return _parseString();
+			if( c == '[' && allowArray )
+				return _parseArray();
+			if( c == '{' || c == '[' )
+				throw _error( "Nested " + ( c == '{' ? "objects" : "arrays" ) + " are not supported" );
+			
+			int start = pos;
+			while( pos < text.length() && ",}] \t\r\n".indexOf( text.charAt( pos ) ) < 0 )
+			{
+				pos++;
+			}
+			String literal = text.substring( start, pos );
+			if( literal.equals( "null" ) )
+				return null;
+			if( literal.equals( "true" ) || literal.equals( "false" ) || literal.matches( "-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?" ) )
+				return literal;
+			throw _error( "Unexpected value '" + literal + "'" );
+		}
+		
+		private List<Object> _parseArray()
+		{
+			List<Object> items = new ArrayList<>();
+			_expect( '[' );
+			_skipWhitespace();
+			if( _peek() == ']' )
+			{
+				pos++;
+				return items;
+			}
+			while( true )
+			{
+				items.add( _parseValue( false ) );
+				_skipWhitespace();
+				if( _peek() == ',' )
+				{
+					pos++;
+					continue;
+				}
+				_expect( ']' );
+				return items;
+			}
+		}
+		
+		private String _parseString()
+		{
+			_expect( '"' );
+			StringBuilder value = new StringBuilder();
+			while( pos < text.length() )
+			{
+				char c = text.charAt( pos++ );
+				if( c == '"' )
+					return value.toString();
+				if( c != '\\' )
+				{
+					value.append( c );
+					continue;
+				}
+				
+				if( pos >= text.length() )
+					break;
+				char escaped = text.charAt( pos++ );
+				switch( escaped )
+				{
+					case '"', '\\', '/' -> value.append( escaped );
+					case 'b' -> value.append( '\b' );
+					case 'f' -> value.append( '\f' );
+					case 'n' -> value.append( '\n' );
+					case 'r' -> value.append( '\r' );
+					case 't' -> value.append( '\t' );
+					case 'u' ->
+					{
+						if( pos + 4 > text.length() )
+							throw _error( "Incomplete \\u escape" );
+						try
+						{
+							value.append( (char) Integer.parseInt( text.substring( pos, pos + 4 ), 16 ) );
+						}
+						catch( NumberFormatException e )
+						{
+							throw _error( "Invalid \\u escape" );
+						}
+						pos += 4;
+					}
+					default -> throw _error( "Invalid escape \\" + escaped );
+				}
+			}
+			throw _error( "String is not closed" );
+		}
+		
+		private void _expect( char expected )
+		{
+			if( _peek() != expected )
+				throw _error( "Expected '" + expected + "'" );
+			pos++;
+		}
+		
+		private char _peek()
+		{
+			return pos < text.length() ? text.charAt( pos ) : '\0';
+		}
+		
+		private void _skipWhitespace()
+		{
+			while( pos < text.length() && Character.isWhitespace( text.charAt( pos ) ) )
+			{
+				pos++;
+			}
+		}
+		
+		private IllegalArgumentException _error( String message )
+		{
+			return new IllegalArgumentException( "Invalid JSON at column " + ( pos + 1 ) + ": " + message );
+		}
+	}
+}
@@ -7,6 +7,7 @@ import com.alexpacheco.therapynotes.controller.PinManager;
 import com.alexpacheco.therapynotes.controller.enums.Screens;
 import com.alexpacheco.therapynotes.util.AppIcon;
 import com.alexpacheco.therapynotes.util.AppLogger;
+import com.alexpacheco.therapynotes.util.DbUtil;
 import com.alexpacheco.therapynotes.view.components.HyperlinkMenuItem;
 import com.alexpacheco.therapynotes.view.dialogs.Dlg_AddPin;
 import com.alexpacheco.therapynotes.view.dialogs.Dlg_ChangePin;
@@ -35,15 +36,7 @@ public class MainWindow extends JFrame
 	private static final long serialVersionUID = 5677463230460003165L;
 	private JPanel mainPanel;
 	private CardLayout cardLayout;
-	private Pnl_SearchClientsView searchClientsViewPanel;
-	private Pnl_SearchNote searchNotePanel;
-	private Pnl_SearchClientsEdit searchClientsEditPanel;
-	private Pnl_SearchContact searchContactPanel;
-	private Pnl_Preferences preferencesPanel;
-	private Pnl_NewEditNote newEditNotePanel;
-	private Pnl_NewEditClient newEditClientPanel;
-	private Pnl_NewEditContact newEditContactPanel;
-	private Pnl_Configuration configPanel;
+	private ScreenRegistry screens;
 	private Screens currentScreen;
 	private JMenuBar menuBar = new JMenuBar();
 	private JMenu settingsMenu = new JMenu( "Settings" );
@@ -80,39 +73,35 @@ public class MainWindow extends JFrame
 		AppIcon.apply( this );
 	}
 	
+	/**
+	 * Registers how each screen is built. Panels are created on first navigation; Home is created up front because it is shown at startup.
+	 * Screens that are rarely visited and not referenced by another panel are evictable. Export stays loaded because an export may still be
+	 * running after the user leaves it.
+	 */
 	private void _initializePanels()
 	{
-		newEditClientPanel = new Pnl_NewEditClient();
-		Pnl_ViewClientDetails clientDetailsPanel = new Pnl_ViewClientDetails( cardLayout, mainPanel );
-		searchClientsViewPanel = new Pnl_SearchClientsView( cardLayout, mainPanel, clientDetailsPanel );
-		newEditContactPanel = new Pnl_NewEditContact();
-		newEditNotePanel = new Pnl_NewEditNote();
-		searchNotePanel = new Pnl_SearchNote();
-		searchClientsEditPanel = new Pnl_SearchClientsEdit( cardLayout, mainPanel, newEditClientPanel );
-		searchContactPanel = new Pnl_SearchContact( cardLayout, mainPanel, newEditContactPanel );
-		preferencesPanel = new Pnl_Preferences();
-		configPanel = new Pnl_Configuration();
+		screens = new ScreenRegistry( mainPanel );
 		
-		_addScreenPanel( new Pnl_Home(), Screens.HOME );
-		_addScreenPanel( newEditNotePanel, Screens.NEW_EDIT_NOTE );
-		_addScreenPanel( searchNotePanel, Screens.SEARCH_NOTES );
-		_addScreenPanel( new Pnl_ExportNotes(), Screens.BULK_EXPORT_NOTES );
-		_addScreenPanel( searchClientsViewPanel, Screens.SEARCH_CLIENTS_VIEW );
-		_addScreenPanel( clientDetailsPanel, Screens.CLIENT_DETAILS );
-		_addScreenPanel( newEditClientPanel, Screens.NEW_EDIT_CLIENT );
-		_addScreenPanel( searchClientsEditPanel, Screens.SEARCH_CLIENTS_EDIT );
-		_addScreenPanel( newEditContactPanel, Screens.NEW_EDIT_CONTACT );
-		_addScreenPanel( searchContactPanel, Screens.SEARCH_CONTACTS );
-		_addScreenPanel( preferencesPanel, Screens.PREFERENCES );
-		_addScreenPanel( configPanel, Screens.CONFIG );
-		_addScreenPanel( new Pnl_HelpIndex(), Screens.HELP );
-		_addScreenPanel( new Pnl_About(), Screens.ABOUT );
-		_addScreenPanel( new Pnl_ViewLogs(), Screens.VIEW_LOGS );
-	}
-	
-	private void _addScreenPanel( JPanel panel, Screens type )
-	{
-		mainPanel.add( panel, type.getPanelName() );
+		screens.register( Screens.HOME, Pnl_Home::new );
+		screens.register( Screens.NEW_EDIT_NOTE, Pnl_NewEditNote::new );
+		screens.register( Screens.SEARCH_NOTES, Pnl_SearchNote::new );
+		screens.register( Screens.BULK_EXPORT_NOTES, Pnl_ExportNotes::new );
+		screens.register( Screens.CLIENT_DETAILS, () -> new Pnl_ViewClientDetails( cardLayout, mainPanel ) );
+		screens.register( Screens.SEARCH_CLIENTS_VIEW,
+				() -> new Pnl_SearchClientsView( cardLayout, mainPanel, screens.get( Screens.CLIENT_DETAILS ) ) );
+		screens.register( Screens.NEW_EDIT_CLIENT, Pnl_NewEditClient::new );
+		screens.register( Screens.SEARCH_CLIENTS_EDIT,
+				() -> new Pnl_SearchClientsEdit( cardLayout, mainPanel, screens.get( Screens.NEW_EDIT_CLIENT ) ) );
+		screens.register( Screens.NEW_EDIT_CONTACT, Pnl_NewEditContact::new );
+		screens.register( Screens.SEARCH_CONTACTS,
+				() -> new Pnl_SearchContact( cardLayout, mainPanel, screens.get( Screens.NEW_EDIT_CONTACT ) ) );
+		screens.registerEvictable( Screens.PREFERENCES, Pnl_Preferences::new );
+		screens.registerEvictable( Screens.CONFIG, Pnl_Configuration::new );
+		screens.registerEvictable( Screens.HELP, Pnl_HelpIndex::new );
+		screens.registerEvictable( Screens.ABOUT, Pnl_About::new );
+		screens.registerEvictable( Screens.VIEW_LOGS, Pnl_ViewLogs::new );
+		
+		screens.get( Screens.HOME );
 	}
 	
 	private JPanel _createPlaceholderPanel( String title )
@@ -270,7 +259,7 @@ public class MainWindow extends JFrame
 		}
 		else
 		{
-			if( currentScreen.isEditPanel() || ( currentScreen == Screens.PREFERENCES && preferencesPanel.hasUnsavedChanges() ) )
+			if( currentScreen.isEditPanel() || ( currentScreen == Screens.PREFERENCES && screens.<Pnl_Preferences> get( Screens.PREFERENCES ).hasUnsavedChanges() ) )
 			{
 				int result = JOptionPane.showConfirmDialog( this,
 						"Are you sure you want to leave the current screen? Any unsaved changes will be lost.", "Exit Confirmation",
@@ -291,41 +280,45 @@ public class MainWindow extends JFrame
 	private void _changeScreen( Screens panel )
 	{
 		AppLogger.logNavigation( currentScreen.getPanelName(), panel.getPanelName() );
+		JPanel screenPanel = screens.get( panel );
 		switch( panel )
 		{
 			case SEARCH_CLIENTS_VIEW:
-				searchClientsViewPanel.clearFields();
-				searchClientsViewPanel.loadAllClients();
+				( (Pnl_SearchClientsView) screenPanel ).clearFields();
+				( (Pnl_SearchClientsView) screenPanel ).loadAllClients();
 				break;
 			case SEARCH_CLIENTS_EDIT:
-				searchClientsEditPanel.clearFields();
-				searchClientsEditPanel.loadAllClients();
+				( (Pnl_SearchClientsEdit) screenPanel ).clearFields();
+				( (Pnl_SearchClientsEdit) screenPanel ).loadAllClients();
 				break;
 			case SEARCH_NOTES:
-				searchNotePanel.clearFields();
+				( (Pnl_SearchNote) screenPanel ).clearFields();
 				break;
 			case SEARCH_CONTACTS:
-				searchContactPanel.clearFields();
+				( (Pnl_SearchContact) screenPanel ).clearFields();
 				break;
 			case NEW_EDIT_NOTE:
-				newEditNotePanel.clearForm();
-				newEditNotePanel.refreshAssessmentOptions();
+				( (Pnl_NewEditNote) screenPanel ).clearForm();
+				( (Pnl_NewEditNote) screenPanel ).refreshAssessmentOptions();
 				break;
 			case NEW_EDIT_CLIENT:
-				newEditClientPanel.clearForm();
-				newEditClientPanel.refreshLabelsText();
+				( (Pnl_NewEditClient) screenPanel ).clearForm();
+				( (Pnl_NewEditClient) screenPanel ).refreshLabelsText();
 				break;
 			case NEW_EDIT_CONTACT:
-				newEditContactPanel.clearForm();
-				newEditContactPanel.refreshLabelsText();
+				( (Pnl_NewEditContact) screenPanel ).clearForm();
+				( (Pnl_NewEditContact) screenPanel ).refreshLabelsText();
 				break;
 			case CONFIG:
-				configPanel.loadAllOptions();
+				( (Pnl_Configuration) screenPanel ).loadAllOptions();
 				break;
 			default:
 				break;
 		}
 		cardLayout.show( mainPanel, panel.getPanelName() );
+		
+		if( currentScreen != panel )
+			screens.release( currentScreen );
 		currentScreen = panel;
 	}
 	
@@ -336,6 +329,7 @@ public class MainWindow extends JFrame
 		
 		if( result == JOptionPane.YES_OPTION )
 		{
+			DbUtil.shutdownPool();
 			AppLogger.logShutdown();
 			System.exit( 0 );
 		}
@@ -358,6 +352,6 @@ public class MainWindow extends JFrame
 	public void editNote( Integer noteId )
 	{
 		_changeScreen( Screens.NEW_EDIT_NOTE );
-		newEditNotePanel.setEditMode( noteId );
+		screens.<Pnl_NewEditNote> get( Screens.NEW_EDIT_NOTE ).setEditMode( noteId );
 	}
 }
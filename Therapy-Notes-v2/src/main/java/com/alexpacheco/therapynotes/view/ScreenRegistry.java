@@ -0,0 +1,113 @@
+package com.alexpacheco.therapynotes.view;
+
+import java.lang.ref.SoftReference;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.swing.JPanel;
+
+import com.alexpacheco.therapynotes.controller.enums.Screens;
+import com.alexpacheco.therapynotes.util.AppLogger;
+
+/**
+ * Creates screen panels on first navigation instead of when the window opens, and adds each one to the main CardLayout as it is created.
+ * A factory may look up other screens it depends on, which creates those as well, so any card a panel shows directly always exists.
+ *
+ * Screens registered as evictable are taken out of the card panel when the user leaves them and kept only through a soft reference: the
+ * same instance comes back if memory allowed it to survive, otherwise a fresh one is built. How long each screen took to build is logged.
+ */
+class ScreenRegistry
+{
+	private final JPanel cardPanel;
+	private final Map<Screens, Supplier<? extends JPanel>> factories = new EnumMap<>( Screens.class );
+	private final Set<Screens> evictable = EnumSet.noneOf( Screens.class );
+	private final Map<Screens, JPanel> retained = new EnumMap<>( Screens.class );
+	private final Map<Screens, SoftReference<JPanel>> released = new EnumMap<>( Screens.class );
+	
+	/**
+	 * @param cardPanel The panel using the CardLayout that screens are added to
+	 */
+	ScreenRegistry( JPanel cardPanel )
+	{
+		this.cardPanel = cardPanel;
+	}
+	
+	/**
+	 * Registers a screen that is kept for the life of the window once created.
+	 */
+	void register( Screens screen, Supplier<? extends JPanel> factory )
+	{
+		factories.put( screen, factory );
+	}
+	
+	/**
+	 * Registers a screen that may be discarded under memory pressure while it is not showing. Only use this for screens no other panel
+	 * holds a reference to.
+	 */
+	void registerEvictable( Screens screen, Supplier<? extends JPanel> factory )
+	{
+		register( screen, factory );
+		evictable.add( screen );
+	}
+	
+	/**
+	 * Returns the panel for a screen, creating it and adding it to the card panel if necessary.
+	 */
+	@SuppressWarnings( "unchecked" )
+	<T extends JPanel> T get( Screens screen )
+	{
+		JPanel panel = retained.get( screen );
+		if( panel == null )
+		{
+			SoftReference<JPanel> reference = released.remove( screen );
+			panel = reference != null ? reference.get() : null;
+			if( panel == null )
+				panel = _create( screen );
+			
+			retained.put( screen, panel );
+			cardPanel.add( panel, screen.getPanelName() );
+		}
+		return (T) panel;
+	}
+	
+	/**
+	 * Returns true if the screen's panel currently exists and is in the card panel.
+	 */
+	boolean isLoaded( Screens screen )
+	{
+		return retained.containsKey( screen );
+	}
+	
+	/**
+	 * Takes an evictable screen out of the card panel once the user has left it, leaving it collectable under memory pressure. Other
+	 * screens are not affected.
+	 */
+	void release( Screens screen )
+	{
+		if( !evictable.contains( screen ) )
+			return;
+		
+		JPanel panel = retained.remove( screen );
+		if( panel != null )
+		{
+			cardPanel.remove( panel );
+			released.put( screen, new SoftReference<>( panel ) );
+		}
+	}
+	
+	private JPanel _create( Screens screen )
+	{
+		Supplier<? extends JPanel> factory = factories.get( screen );
+		if( factory == null )
+			throw new IllegalArgumentException( "No panel registered for screen " + screen );
+		
+		long start = System.nanoTime();
+		JPanel panel = factory.get();
+		long elapsedMillis = ( System.nanoTime() - start ) / 1_000_000;
+		AppLogger.info( String.format( "Screen %s created in %d ms", screen.getPanelName(), elapsedMillis ) );
+		return panel;
+	}
+}
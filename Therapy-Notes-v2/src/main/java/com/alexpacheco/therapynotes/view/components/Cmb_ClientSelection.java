@@ -4,35 +4,42 @@ import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JComboBox;
 import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.event.PopupMenuEvent;
 import javax.swing.event.PopupMenuListener;
 
 import com.alexpacheco.therapynotes.controller.AppController;
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.entities.ClientNameIndex;
 import com.alexpacheco.therapynotes.util.AppFonts;
+import com.alexpacheco.therapynotes.util.AppLogger;
 import com.alexpacheco.therapynotes.util.JavaUtils;
 
 /**
  * A searchable combo box for selecting clients. Displays client names and filters the dropdown list as the user types. Unlike free-text
  * fields, this component only allows selection of valid clients from the list.
+ *
+ * Names come from the shared {@link ClientNameIndex}, which is only reloaded after a client changes. Filtering waits until typing pauses
+ * and then scans the index on a background thread; a newer keystroke cancels the scan in progress.
  */
 public class Cmb_ClientSelection extends JComboBox<String>
 {
 	private static final long serialVersionUID = -769502544357364914L;
 	
 	private static final String NO_MATCHES_TEXT = "No matching clients found";
+	private static final int FILTER_DELAY_MS = 150;
 	
-	private HashMap<String, Integer> clientMap;
-	private List<String> allClientNames;
+	private ClientNameIndex clientIndex = new ClientNameIndex( List.of() );
+	private final Timer filterTimer;
+	private SwingWorker<List<String>, Void> filterWorker;
 	private DefaultComboBoxModel<String> model;
 	private JTextField editorField;
 	private boolean includeBlankOption;
@@ -48,9 +55,9 @@ public class Cmb_ClientSelection extends JComboBox<String>
 	public Cmb_ClientSelection( boolean includeBlankOption )
 	{
 		this.includeBlankOption = includeBlankOption;
-		this.clientMap = new HashMap<>();
-		this.allClientNames = new ArrayList<>();
 		this.model = new DefaultComboBoxModel<>();
+		this.filterTimer = new Timer( FILTER_DELAY_MS, e -> _startFilter() );
+		filterTimer.setRepeats( false );
 		
 		setModel( model );
 		setEditable( true );
@@ -84,7 +91,8 @@ public class Cmb_ClientSelection extends JComboBox<String>
 					return;
 				}
 				
-				filterClients();
+				// Wait for a pause in typing before filtering
+				filterTimer.restart();
 			}
 		} );
 		
@@ -103,7 +111,8 @@ public class Cmb_ClientSelection extends JComboBox<String>
 			@Override
 			public void focusLost( FocusEvent e )
 			{
-				// When focus is lost, validate and restore to last valid selection if needed
+				// When focus is lost, drop any pending filter, then validate and restore to last valid selection if needed
+				_cancelFilter();
 				validateAndRestoreSelection();
 			}
 		} );
@@ -147,32 +156,19 @@ public class Cmb_ClientSelection extends JComboBox<String>
 		// Store current selection
 		String currentSelection = lastValidSelection;
 		
-		model.removeAllElements();
-		clientMap.clear();
-		allClientNames.clear();
-		
-		if( includeBlankOption )
-		{
-			model.addElement( "" );
-		}
-		
 		try
 		{
-			clientMap = AppController.getClientMap();
-			Set<String> clients = clientMap.keySet();
-			for( String client : clients )
-			{
-				allClientNames.add( client );
-				model.addElement( client );
-			}
+			// Served from memory unless a client changed since the last load
+			clientIndex = AppController.getClientNameIndex();
 		}
 		catch( TherapyAppException e )
 		{
 			AppController.showBasicErrorPopup( e, "Error loading client list:" );
 		}
+		_showNames( clientIndex.getNames(), includeBlankOption );
 		
 		// Restore selection if it still exists
-		if( !JavaUtils.isNullOrEmpty( currentSelection ) && clientMap.containsKey( currentSelection ) )
+		if( !JavaUtils.isNullOrEmpty( currentSelection ) && clientIndex.contains( currentSelection ) )
 		{
 			setSelectedItem( currentSelection );
 			lastValidSelection = currentSelection;
@@ -190,75 +186,134 @@ public class Cmb_ClientSelection extends JComboBox<String>
 	}
 	
 	/**
-	 * Filters the dropdown list based on the current text in the editor.
+	 * Starts filtering the dropdown list on the current editor text in the background, cancelling any filter still running.
 	 */
-	private void filterClients()
+	private void _startFilter()
 	{
-		if( isFiltering )
+		if( filterWorker != null )
 		{
-			return;
+			filterWorker.cancel( true );
 		}
 		
-		isFiltering = true;
-		suppressValidation = true;
-		
-		SwingUtilities.invokeLater( () ->
+		ClientNameIndex index = clientIndex;
+		String searchText = editorField.getText();
+		SwingWorker<List<String>, Void> worker = new SwingWorker<>()
 		{
-			try
+			@Override
+			protected List<String> doInBackground()
 			{
-				String originalText = editorField.getText();
-				String searchText = editorField.getText().toLowerCase().trim();
-				int caretPosition = editorField.getCaretPosition();
-				
-				model.removeAllElements();
+				return index.filter( searchText, this::isCancelled );
+			}
+			
+			@Override
+			protected void done()
+			{
+				// A newer keystroke or a selection change made this result stale
+				if( isCancelled() || filterWorker != this )
+				{
+					return;
+				}
 				
-				if( searchText.isEmpty() )
+				filterWorker = null;
+				try
 				{
-					// Show all clients when search is empty
-					if( includeBlankOption )
-					{
-						model.addElement( "" );
-					}
-					for( String client : allClientNames )
-					{
-						model.addElement( client );
-					}
+					_applyFilter( searchText, get() );
 				}
-				else
+				catch( CancellationException | InterruptedException e )
 				{
-					// Filter clients that contain the search text
-					for( String client : allClientNames )
-					{
-						if( client.toLowerCase().contains( searchText ) )
-						{
-							model.addElement( client );
-						}
-					}
-					
-					// Add a "no results" indicator if nothing matches
-					if( model.getSize() == 0 )
-					{
-						model.addElement( NO_MATCHES_TEXT );
-					}
+					// Superseded
 				}
-				
-				// Restore the typed text and caret position
-				editorField.setText( originalText );
-				editorField.setCaretPosition( Math.min( caretPosition, originalText.length() ) );
-				
-				// Show the filtered dropdown
-				if( model.getSize() > 0 )
+				catch( Exception e )
 				{
-					showPopup();
+					AppLogger.error( "Error filtering client list", e );
 				}
 			}
-			finally
+		};
+		filterWorker = worker;
+		worker.execute();
+	}
+	
+	/**
+	 * Stops a pending or running filter so its result is never applied.
+	 */
+	private void _cancelFilter()
+	{
+		filterTimer.stop();
+		if( filterWorker != null )
+		{
+			filterWorker.cancel( true );
+			filterWorker = null;
+		}
+	}
+	
+	/**
+	 * Shows the filtered names in the dropdown while keeping what the user typed.
+	 */
+	private void _applyFilter( String searchText, List<String> matches )
+	{
+		if( matches == null || !searchText.equals( editorField.getText() ) )
+		{
+			return;
+		}
+		
+		isFiltering = true;
+		suppressValidation = true;
+		try
+		{
+			String originalText = editorField.getText();
+			int caretPosition = editorField.getCaretPosition();
+			
+			if( searchText.trim().isEmpty() )
 			{
-				isFiltering = false;
-				// Delay clearing suppressValidation to avoid race conditions with popup events
-				SwingUtilities.invokeLater( () -> suppressValidation = false );
+				// Show all clients when search is empty
+				_showNames( matches, includeBlankOption );
 			}
-		} );
+			else if( matches.isEmpty() )
+			{
+				// Add a "no results" indicator if nothing matches
+				_showNames( List.of( NO_MATCHES_TEXT ), false );
+			}
+			else
+			{
+				_showNames( matches, false );
+			}
+			
+			// Restore the typed text and caret position
+			editorField.setText( originalText );
+			editorField.setCaretPosition( Math.min( caretPosition, originalText.length() ) );
+			
+			// Show the filtered dropdown
+			if( model.getSize() > 0 )
+			{
+				showPopup();
+			}
+		}
+		finally
+		{
+			isFiltering = false;
+			// Delay clearing suppressValidation to avoid race conditions with popup events
+			SwingUtilities.invokeLater( () -> suppressValidation = false );
+		}
+	}
+	
+	/**
+	 * Replaces the dropdown contents in one model change rather than one event per name.
+	 */
+	private void _showNames( List<String> names, boolean withBlank )
+	{
+		int offset = withBlank ? 1 : 0;
+		String[] items = new String[names.size() + offset];
+		if( withBlank )
+		{
+			items[0] = "";
+		}
+		for( int i = 0; i < names.size(); i++ )
+		{
+			items[i + offset] = names.get( i );
+		}
+		
+		model = new DefaultComboBoxModel<>( items );
+		setModel( model );
 	}
 	
 	/**
@@ -292,7 +347,7 @@ public class Cmb_ClientSelection extends JComboBox<String>
 		}
 		
 		// Check for exact match (case-sensitive first)
-		if( clientMap.containsKey( currentText ) )
+		if( clientIndex.contains( currentText ) )
 		{
 			lastValidSelection = currentText;
 			resetToFullList();
@@ -301,19 +356,17 @@ public class Cmb_ClientSelection extends JComboBox<String>
 		}
 		
 		// Check for case-insensitive match
-		for( String client : allClientNames )
+		String client = clientIndex.findIgnoreCase( currentText );
+		if( client != null )
 		{
-			if( client.equalsIgnoreCase( currentText ) )
-			{
-				lastValidSelection = client;
-				resetToFullList();
-				setSelectedItem( client );
-				return;
-			}
+			lastValidSelection = client;
+			resetToFullList();
+			setSelectedItem( client );
+			return;
 		}
 		
 		// Check if there's exactly one client matching the search text - auto-select it
-		String singleMatch = findSingleMatch( currentText.toLowerCase() );
+		String singleMatch = clientIndex.findSingleMatch( currentText );
 		if( singleMatch != null )
 		{
 			lastValidSelection = singleMatch;
@@ -327,36 +380,6 @@ public class Cmb_ClientSelection extends JComboBox<String>
 		restoreLastValidSelection();
 	}
 	
-	/**
-	 * Finds a single matching client for the given search text. Returns the client name if exactly one client matches, otherwise returns
-	 * null.
-	 * 
-	 * @param searchText The lowercase search text to match against
-	 * @return The single matching client name, or null if zero or multiple matches
-	 */
-	private String findSingleMatch( String searchText )
-	{
-		String match = null;
-		int matchCount = 0;
-		
-		for( String client : allClientNames )
-		{
-			if( client.toLowerCase().contains( searchText ) )
-			{
-				match = client;
-				matchCount++;
-				
-				// More than one match - no auto-select
-				if( matchCount > 1 )
-				{
-					return null;
-				}
-			}
-		}
-		
-		return matchCount == 1 ? match : null;
-	}
-	
 	/**
 	 * Restores the combo box to the last valid selection.
 	 */
@@ -370,7 +393,7 @@ public class Cmb_ClientSelection extends JComboBox<String>
 		
 		resetToFullList();
 		
-		if( !JavaUtils.isNullOrEmpty( lastValidSelection ) && clientMap.containsKey( lastValidSelection ) )
+		if( !JavaUtils.isNullOrEmpty( lastValidSelection ) && clientIndex.contains( lastValidSelection ) )
 		{
 			setSelectedItem( lastValidSelection );
 			editorField.setText( lastValidSelection );
@@ -399,17 +422,7 @@ public class Cmb_ClientSelection extends JComboBox<String>
 			return;
 		}
 		
-		model.removeAllElements();
-		
-		if( includeBlankOption )
-		{
-			model.addElement( "" );
-		}
-		
-		for( String client : allClientNames )
-		{
-			model.addElement( client );
-		}
+		_showNames( clientIndex.getNames(), includeBlankOption );
 	}
 	
 	/**
@@ -422,7 +435,7 @@ public class Cmb_ClientSelection extends JComboBox<String>
 		String selectedClientName = getSelectedClientName();
 		if( !JavaUtils.isNullOrEmpty( selectedClientName ) )
 		{
-			return clientMap.get( selectedClientName );
+			return clientIndex.getClientId( selectedClientName );
 		}
 		return null;
 	}
@@ -455,8 +468,8 @@ public class Cmb_ClientSelection extends JComboBox<String>
 			return null;
 		}
 		
-		// Verify it's a valid client from our map
-		if( clientMap.containsKey( value ) )
+		// Verify it's a valid client from the index
+		if( clientIndex.contains( value ) )
 		{
 			return value;
 		}
@@ -471,15 +484,12 @@ public class Cmb_ClientSelection extends JComboBox<String>
 	 */
 	public void selectByClientId( int clientId )
 	{
-		for( String clientName : clientMap.keySet() )
+		String clientName = clientIndex.getName( clientId );
+		if( clientName != null )
 		{
-			if( clientMap.get( clientName ).equals( clientId ) )
-			{
-				resetToFullList();
-				setSelectedItem( clientName );
-				lastValidSelection = clientName;
-				return;
-			}
+			resetToFullList();
+			setSelectedItem( clientName );
+			lastValidSelection = clientName;
 		}
 	}
 	
@@ -491,20 +501,7 @@ public class Cmb_ClientSelection extends JComboBox<String>
 	 */
 	public String getClientName( Integer clientId )
 	{
-		if( clientId == null )
-		{
-			return null;
-		}
-		
-		for( String clientName : clientMap.keySet() )
-		{
-			if( clientMap.get( clientName ).equals( clientId ) )
-			{
-				return clientName;
-			}
-		}
-		
-		return null;
+		return clientIndex.getName( clientId );
 	}
 	
 	/**
@@ -512,6 +509,7 @@ public class Cmb_ClientSelection extends JComboBox<String>
 	 */
 	public void clear()
 	{
+		_cancelFilter();
 		resetToFullList();
 		
 		if( includeBlankOption )
@@ -533,6 +531,7 @@ public class Cmb_ClientSelection extends JComboBox<String>
 	 */
 	public void refreshClients()
 	{
+		_cancelFilter();
 		populateClients();
 	}
 }
\ No newline at end of file
@@ -4,7 +4,6 @@ import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.DefaultComboBoxModel;
@@ -19,12 +18,15 @@ import com.alexpacheco.therapynotes.util.JavaUtils;
 
 /**
  * A searchable combo box for selecting ICD-10 diagnosis codes. Displays codes in the format "&lt;code with decimal&gt; - &lt;short
- * description&gt;". Filters the dropdown list as the user types.
+ * description&gt;". Filters the dropdown list as the user types, using a shared {@link Icd10CodeIndex} so each keystroke narrows the
+ * previous result and swaps in a new list model in one step.
  */
 public class Cmb_ICD10Diagnosis extends JComboBox<String>
 {
 	private static final long serialVersionUID = -5231436798831352426L;
-	private List<String> allCodes;
+	private static final String NO_MATCHES = "No matching codes found";
+	private Icd10CodeIndex index;
+	private Icd10CodeIndex.Result lastResult;
 	private DefaultComboBoxModel<String> model;
 	private JTextField editorField;
 	private boolean isFiltering = false;
@@ -44,7 +46,7 @@ public class Cmb_ICD10Diagnosis extends JComboBox<String>
 	 */
 	Cmb_ICD10Diagnosis( List<String> codes )
 	{
-		this.allCodes = new ArrayList<>();
+		this.index = Icd10CodeIndex.EMPTY;
 		this.model = new DefaultComboBoxModel<>();
 		
 		setModel( model );
@@ -57,6 +59,14 @@ public class Cmb_ICD10Diagnosis extends JComboBox<String>
 		attachListeners();
 	}
 	
+	/**
+	 * Loads the bundled ICD-10 codes and builds their shared search index, so the first combo box shown does not wait for it.
+	 */
+	public static void preloadIndex()
+	{
+		Icd10CodeIndex.of( AppController.getIcd10Codes() );
+	}
+	
 	/**
 	 * Sets the codes
 	 */
@@ -64,15 +74,9 @@ public class Cmb_ICD10Diagnosis extends JComboBox<String>
 	{
 		if( codes != null )
 		{
-			allCodes.clear();
-			allCodes.addAll( codes );
-			
-			model.removeAllElements();
-			model.addElement( "" ); // Blank option
-			for( String code : allCodes )
-			{
-				model.addElement( code );
-			}
+			index = Icd10CodeIndex.of( codes );
+			lastResult = null;
+			_showEntries( "", codes );
 		}
 	}
 	
@@ -142,36 +146,20 @@ public class Cmb_ICD10Diagnosis extends JComboBox<String>
 			try
 			{
 				String originalText = editorField.getText();
-				String searchText = editorField.getText().toLowerCase().trim();
 				int caretPosition = editorField.getCaretPosition();
 				
-				model.removeAllElements();
+				lastResult = index.search( originalText, lastResult );
+				List<String> matches = lastResult.getEntries();
 				
-				if( searchText.isEmpty() )
+				if( originalText.trim().isEmpty() )
 				{
 					// Show all codes when search is empty
-					model.addElement( "" );
-					for( String code : allCodes )
-					{
-						model.addElement( code );
-					}
+					_showEntries( "", matches );
 				}
 				else
 				{
-					// Filter codes that contain the search text
-					for( String code : allCodes )
-					{
-						if( code.toLowerCase().contains( searchText ) )
-						{
-							model.addElement( code );
-						}
-					}
-					
 					// Add a "no results" indicator if nothing matches
-					if( model.getSize() == 0 )
-					{
-						model.addElement( "No matching codes found" );
-					}
+					_showEntries( null, matches.isEmpty() ? List.of( NO_MATCHES ) : matches );
 				}
 				
 				// Restore the typed text and caret position
@@ -191,6 +179,28 @@ public class Cmb_ICD10Diagnosis extends JComboBox<String>
 		} );
 	}
 	
+	/**
+	 * Replaces the list with the given entries in a single model change rather than one event per entry.
+	 * 
+	 * @param first An entry to show before the others, or null
+	 */
+	private void _showEntries( String first, List<String> entries )
+	{
+		String[] items = new String[entries.size() + ( first != null ? 1 : 0 )];
+		int i = 0;
+		if( first != null )
+		{
+			items[i++] = first;
+		}
+		for( String entry : entries )
+		{
+			items[i++] = entry;
+		}
+		
+		model = new DefaultComboBoxModel<>( items );
+		setModel( model );
+	}
+	
 	/**
 	 * Returns the selected diagnosis in the format "&lt;code&gt; - &lt;description&gt;".
 	 * 
@@ -208,24 +218,16 @@ public class Cmb_ICD10Diagnosis extends JComboBox<String>
 		String value = selected.toString().trim();
 		
 		// Check if it's the "no results" placeholder
-		if( "No matching codes found".equals( value ) )
+		if( NO_MATCHES.equals( value ) )
 		{
 			return JavaUtils.isNullOrEmpty( editorField.getText() ) ? "" : editorField.getText();
 		}
 		
-		// Verify it's a valid code from our list
-		if( allCodes.contains( value ) )
-		{
-			return value;
-		}
-		
-		// Check if user typed something that exactly matches a code
-		for( String code : allCodes )
+		// Verify it's a valid code from our list, or something typed that matches one ignoring case
+		String code = index.find( value );
+		if( code != null )
 		{
-			if( code.equalsIgnoreCase( value ) )
-			{
-				return code;
-			}
+			return code;
 		}
 		
 		return JavaUtils.isNullOrEmpty( editorField.getText() ) ? "" : editorField.getText();
@@ -244,24 +246,12 @@ public class Cmb_ICD10Diagnosis extends JComboBox<String>
 			return;
 		}
 		
-		// Try to find exact match
-		for( String code : allCodes )
+		// Try to find an exact match, then a case-insensitive one
+		String code = index.find( diagnosis );
+		if( code != null )
 		{
-			if( code.equals( diagnosis ) )
-			{
-				setSelectedItem( code );
-				return;
-			}
-		}
-		
-		// Try case-insensitive match
-		for( String code : allCodes )
-		{
-			if( code.equalsIgnoreCase( diagnosis ) )
-			{
-				setSelectedItem( code );
-				return;
-			}
+			setSelectedItem( code );
+			return;
 		}
 		
 		// If no match found, set the text anyway (for editing existing notes)
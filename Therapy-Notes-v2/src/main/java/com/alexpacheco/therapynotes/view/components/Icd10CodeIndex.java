@@ -0,0 +1,313 @@
+package com.alexpacheco.therapynotes.view.components;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable search index over ICD-10 code entries of the form "F32.0 - Description". Built once per code list, it answers each keystroke
+ * without lowercasing or scanning every entry:
+ * <ul>
+ * <li>A trie over the codes, lowercased with the dot removed, finds code prefix matches, so "f431" finds F43.10.</li>
+ * <li>A trigram index over the whole entry narrows substring matches to entries holding every trigram of the query.</li>
+ * <li>When the query only grows, the previous result is filtered instead of searching again.</li>
+ * </ul>
+ * An entry matches if its code starts with the query or the entry contains it, ignoring case. Results list code prefix matches first, then
+ * entries where the query starts a word, then other substring matches, each group in the original order.
+ */
+final class Icd10CodeIndex
+{
+	private static final int GRAM = 3;
+	private static final String CODE_SEPARATOR = " - ";
+	static final Icd10CodeIndex EMPTY = new Icd10CodeIndex( Collections.emptyList() );
+	private static Icd10CodeIndex shared;
+	
+	private final List<String> source;
+	private final String[] entries;
+	private final String[] lowerEntries;
+	private final String[] codeKeys;
+	private final TrieNode codeTrie = new TrieNode();
+	private final Map<Long, int[]> trigrams = new HashMap<>();
+	private final Map<String, String> byEntry = new HashMap<>();
+	private final Map<String, String> byLowerEntry = new HashMap<>();
+	private final Result all;
+	
+	/**
+	 * A search result. Pass it back to {@link Icd10CodeIndex#search(String, Result)} with the next query so a longer query filters it.
+	 */
+	static final class Result
+	{
+		private final String query;
+		private final int[] matches;
+		private final List<String> ranked;
+		
+		private Result( String query, int[] matches, List<String> ranked )
+		{
+			this.query = query;
+			this.matches = matches;
+			this.ranked = ranked;
+		}
+		
+		/**
+		 * Returns the matching entries, best first.
+		 */
+		List<String> getEntries()
+		{
+			return ranked;
+		}
+	}
+	
+	private static final class TrieNode
+	{
+		private final Map<Character, TrieNode> children = new HashMap<>();
+		private final List<Integer> building = new ArrayList<>();
+		private int[] ids;
+	}
+	
+	private Icd10CodeIndex( List<String> codes )
+	{
+		source = codes;
+		entries = codes.toArray( new String[0] );
+		lowerEntries = new String[entries.length];
+		codeKeys = new String[entries.length];
+		
+		Map<Long, List<Integer>> postings = new HashMap<>();
+		for( int id = 0; id < entries.length; id++ )
+		{
+			lowerEntries[id] = entries[id].toLowerCase( Locale.ROOT );
+			byEntry.putIfAbsent( entries[id], entries[id] );
+			byLowerEntry.putIfAbsent( lowerEntries[id], entries[id] );
+			
+			int separator = lowerEntries[id].indexOf( CODE_SEPARATOR );
+			codeKeys[id] = _codeKey( separator < 0 ? lowerEntries[id] : lowerEntries[id].substring( 0, separator ) );
+			_addToTrie( id );
+			
+			String text = lowerEntries[id];
+			for( int i = 0; i + GRAM <= text.length(); i++ )
+			{
+				List<Integer> ids = postings.computeIfAbsent( _trigram( text, i ), k -> new ArrayList<>() );
+				// Ids arrive in ascending order, so a repeated trigram in one entry is always the last one added
+				if( ids.isEmpty() || ids.get( ids.size() - 1 ) != id )
+					ids.add( id );
+			}
+		}
+		
+		for( Map.Entry<Long, List<Integer>> posting : postings.entrySet() )
+		{
+			trigrams.put( posting.getKey(), _toArray( posting.getValue() ) );
+		}
+		_freeze( codeTrie );
+		
+		int[] allIds = new int[entries.length];
+		Arrays.setAll( allIds, i -> i );
+		all = new Result( "", allIds, Collections.unmodifiableList( Arrays.asList( entries ) ) );
+	}
+	
+	/**
+	 * Returns the index for a code list, reusing the last one built when given the same list.
+	 */
+	static synchronized Icd10CodeIndex of( List<String> codes )
+	{
+		if( shared == null || shared.source != codes )
+			shared = new Icd10CodeIndex( codes );
+		return shared;
+	}
+	
+	/**
+	 * Number of entries in the index.
+	 */
+	int size()
+	{
+		return entries.length;
+	}
+	
+	/**
+	 * Finds the entries matching a query.
+	 *
+	 * @param query    Text typed by the user; case and surrounding whitespace are ignored
+	 * @param previous The result for the previous query, or null
+	 * @return Every entry when the query is blank
+	 */
+	Result search( String query, Result previous )
+	{
+		String q = query == null ? "" : query.trim().toLowerCase( Locale.ROOT );
+		if( q.isEmpty() )
+			return all;
+		
+		String codeKey = _codeKey( q );
+		int[] candidates;
+		if( previous != null && !previous.query.isEmpty() && q.startsWith( previous.query ) )
+			candidates = previous.matches;
+		else if( q.length() >= GRAM )
+			candidates = _union( _trigramCandidates( q ), _codePrefix( codeKey ) );
+		else
+			candidates = all.matches;
+		
+		int[] matches = new int[candidates.length];
+		int count = 0;
+		List<String> codeMatches = new ArrayList<>();
+		List<String> wordMatches = new ArrayList<>();
+		List<String> otherMatches = new ArrayList<>();
+		for( int id : candidates )
+		{
+			boolean codeMatch = !codeKey.isEmpty() && codeKeys[id].startsWith( codeKey );
+			int at = lowerEntries[id].indexOf( q );
+			if( !codeMatch && at < 0 )
+				continue;
+			
+			matches[count++] = id;
+			if( codeMatch )
+				codeMatches.add( entries[id] );
+			else if( _startsWord( lowerEntries[id], q, at ) )
+				wordMatches.add( entries[id] );
+			else
+				otherMatches.add( entries[id] );
+		}
+		
+		List<String> ranked = codeMatches;
+		ranked.addAll( wordMatches );
+		ranked.addAll( otherMatches );
+		return new Result( q, Arrays.copyOf( matches, count ), Collections.unmodifiableList( ranked ) );
+	}
+	
+	/**
+	 * Returns the entry equal to value, or failing that the first one equal ignoring case, or null.
+	 */
+	String find( String value )
+	{
+		if( value == null )
+			return null;
+		
+		String entry = byEntry.get( value );
+		return entry != null ? entry : byLowerEntry.get( value.toLowerCase( Locale.ROOT ) );
+	}
+	
+	private void _addToTrie( int id )
+	{
+		TrieNode node = codeTrie;
+		node.building.add( id );
+		for( char c : codeKeys[id].toCharArray() )
+		{
+			node = node.children.computeIfAbsent( c, k -> new TrieNode() );
+			node.building.add( id );
+		}
+	}
+	
+	private static void _freeze( TrieNode node )
+	{
+		node.ids = _toArray( node.building );
+		node.building.clear();
+		for( TrieNode child : node.children.values() )
+		{
+			_freeze( child );
+		}
+	}
+	
+	private int[] _codePrefix( String codeKey )
+	{
+		TrieNode node = codeTrie;
+		for( int i = 0; i < codeKey.length() && node != null; i++ )
+		{
+			node = node.children.get( codeKey.charAt( i ) );
+		}
+		return node == null ? new int[0] : node.ids;
+	}
+	
+	/**
+	 * Intersects the posting lists of every trigram in the query, smallest first. The result can include entries where the trigrams are
+	 * not adjacent, so callers still check each candidate.
+	 */
+	private int[] _trigramCandidates( String q )
+	{
+		List<int[]> lists = new ArrayList<>();
+		for( int i = 0; i + GRAM <= q.length(); i++ )
+		{
+			int[] ids = trigrams.get( _trigram( q, i ) );
+			if( ids == null )
+				return new int[0];
+			lists.add( ids );
+		}
+		lists.sort( ( a, b ) -> Integer.compare( a.length, b.length ) );
+		
+		int[] result = lists.get( 0 );
+		for( int i = 1; i < lists.size() && result.length > 0; i++ )
+		{
+			result = _intersect( result, lists.get( i ) );
+		}
+		return result;
+	}
+	
+	private static int[] _intersect( int[] a, int[] b )
+	{
+		int[] out = new int[Math.min( a.length, b.length )];
+		int i = 0, j = 0, n = 0;
+		while( i < a.length && j < b.length )
+		{
+			if( a[i] < b[j] )
+				i++;
+			else if( a[i] > b[j] )
+				j++;
+			else
+			{
+				out[n++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf( out, n );
+	}
+	
+	private static int[] _union( int[] a, int[] b )
+	{
+		int[] out = new int[a.length + b.length];
+		int i = 0, j = 0, n = 0;
+		while( i < a.length || j < b.length )
+		{
+			if( j >= b.length || ( i < a.length && a[i] < b[j] ) )
+				out[n++] = a[i++];
+			else if( i >= a.length || b[j] < a[i] )
+				out[n++] = b[j++];
+			else
+			{
+				out[n++] = a[i++];
+				j++;
+			}
+		}
+		return Arrays.copyOf( out, n );
+	}
+	
+	private static boolean _startsWord( String text, String q, int at )
+	{
+		while( at >= 0 )
+		{
+			if( at == 0 || !Character.isLetterOrDigit( text.charAt( at - 1 ) ) )
+				return true;
+			at = text.indexOf( q, at + 1 );
+		}
+		return false;
+	}
+	
+	private static String _codeKey( String code )
+	{
+		return code.replace( ".", "" );
+	}
+	
+	private static long _trigram( String text, int start )
+	{
+		return ( (long) text.charAt( start ) << 32 ) | ( (long) text.charAt( start + 1 ) << 16 ) | text.charAt( start + 2 );
+	}
+	
+	private static int[] _toArray( List<Integer> ids )
+	{
+		int[] array = new int[ids.size()];
+		for( int i = 0; i < array.length; i++ )
+		{
+			array[i] = ids.get( i );
+		}
+		return array;
+	}
+}
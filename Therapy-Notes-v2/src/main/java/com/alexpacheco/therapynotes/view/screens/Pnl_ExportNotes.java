@@ -10,10 +10,9 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.io.File;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -32,14 +31,14 @@ import javax.swing.SwingWorker;
 import javax.swing.border.TitledBorder;
 
 import com.alexpacheco.therapynotes.controller.AppController;
+import com.alexpacheco.therapynotes.controller.Exporter;
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.entities.Note;
 import com.alexpacheco.therapynotes.util.AppFonts;
 import com.alexpacheco.therapynotes.util.AppLogger;
 import com.alexpacheco.therapynotes.util.DateFormatUtil;
 import com.alexpacheco.therapynotes.util.JavaUtils;
-import com.alexpacheco.therapynotes.util.export.NoteDocxExporter;
-import com.alexpacheco.therapynotes.util.export.NotePdfExporter;
+import com.alexpacheco.therapynotes.util.PreferencesUtil;
 import com.alexpacheco.therapynotes.view.components.Cmb_ClientSelection;
 import com.alexpacheco.therapynotes.view.dialogs.Dlg_ExportProgress;
 import com.toedter.calendar.JDateChooser;
@@ -490,11 +489,12 @@ public class Pnl_ExportNotes extends JPanel
 		lblPatternPreview.setText( preview + extension );
 	}
 	
-	private String getFileNameFromPattern( Note note )
+	/**
+	 * Builds the file name for a note from a naming pattern. Static so the export worker can call it off the EDT with the pattern and
+	 * extension captured when the export started.
+	 */
+	private static String getFileNameFromPattern( String pattern, String extension, Note note )
 	{
-		String pattern = txtFileNamePattern.getText();
-		String extension = rbFormatPdf.isSelected() ? ".pdf" : ".docx";
-		
 		// Replace variables with values from Note object
 		String fileName = pattern.replace( "{note_id}", note.getNoteId().toString() )
 				.replace( "{appt_date}", DateFormatUtil.toDateFileNameString( note.getApptDateTime() ) )
@@ -504,7 +504,8 @@ public class Pnl_ExportNotes extends JPanel
 	}
 	
 	/**
-	 * Performs the bulk export operation.
+	 * Performs the bulk export operation. Only the matching note count is read on the EDT; the notes themselves are streamed in chunks
+	 * by the worker so each file is written as soon as its chunk is loaded.
 	 */
 	private void performExport()
 	{
@@ -514,134 +515,124 @@ public class Pnl_ExportNotes extends JPanel
 			return;
 		}
 		
+		// Capture the selection criteria and naming options for use in the worker
+		Integer clientId = null;
+		Date startDate = null;
+		Date endDate = null;
+		switch( getSelectionMode() )
+		{
+			case SELECT_DATE_RANGE:
+				startDate = getStartDate();
+				endDate = getEndDate();
+				break;
+			case SELECT_CLIENT:
+				clientId = getSelectedClientId();
+				break;
+			default:
+				break;
+		}
+		
+		final Integer exportClientId = clientId;
+		final Date exportStartDate = startDate;
+		final Date exportEndDate = endDate;
+		final String selectedFormat = getSelectedFormat();
+		final String outputFolder = getOutputFolder();
+		final String pattern = getFileNamePattern();
+		final String extension = rbFormatPdf.isSelected() ? ".pdf" : ".docx";
+		final int workerCount = PreferencesUtil.getExportWorkerCount();
+		
+		int expectedTotal;
 		try
 		{
-			// Gather notes to export
-			List<Note> notesToExport;
-			switch( getSelectionMode() )
-			{
-				case SELECT_DATE_RANGE:
-					notesToExport = AppController.searchNotes( null, getStartDate(), getEndDate() );
-					break;
-				case SELECT_CLIENT:
-					notesToExport = AppController.searchNotes( getSelectedClientId(), null, null );
-					break;
-				default:
-					notesToExport = AppController.searchNotes( null, null, null );
-					break;
-			}
+			expectedTotal = AppController.countNotes( exportClientId, exportStartDate, exportEndDate );
+		}
+		catch( TherapyAppException e )
+		{
+			AppLogger.error( "Error occurred while exporting notes.", e );
+			AppController.showBasicErrorPopup( e, "Error occurred while exporting notes." );
+			return;
+		}
+		
+		if( expectedTotal == 0 )
+		{
+			JOptionPane.showMessageDialog( this, "No notes found matching the selected criteria.", "Export Warning",
+					JOptionPane.WARNING_MESSAGE );
+			return;
+		}
+		
+		// Get parent frame for dialog
+		Frame parentFrame = (Frame) SwingUtilities.getWindowAncestor( this );
+		
+		// Create progress dialog
+		Dlg_ExportProgress progressDialog = new Dlg_ExportProgress( parentFrame );
+		
+		// Create and execute SwingWorker
+		SwingWorker<Void, Integer> worker = new SwingWorker<Void, Integer>()
+		{
+			private Exception exportException = null;
+			// Updated from the export worker threads, so kept as the highest count reported
+			private final AtomicInteger exportedCount = new AtomicInteger();
 			
-			if( notesToExport.isEmpty() )
+			@Override
+			protected Void doInBackground() throws Exception
 			{
-				JOptionPane.showMessageDialog( this, "No notes found matching the selected criteria.", "Export Warning",
-						JOptionPane.WARNING_MESSAGE );
-				return;
+				try
+				{
+					Exporter.exportNotes( exportClientId, exportStartDate, exportEndDate, selectedFormat,
+							note -> new File( outputFolder, getFileNameFromPattern( pattern, extension, note ) ).getPath(), workerCount,
+							count ->
+							{
+								exportedCount.accumulateAndGet( count, Math::max );
+								publish( count );
+							} );
+				}
+				catch( Exception e )
+				{
+					exportException = e;
+					AppLogger.error( e );
+				}
+				return null;
 			}
 			
-			// Build the notes map
-			HashMap<Note, String> notesMap = new HashMap<Note, String>();
-			for( Note note : notesToExport )
+			@Override
+			protected void process( List<Integer> chunks )
 			{
-				String fileOutputPath = getOutputFolder() + "\\" + getFileNameFromPattern( note );
-				notesMap.put( note, fileOutputPath );
+				// Workers finish out of order, even across delivered batches, so show the running maximum; notes added since the count
+				// was taken can push it past the estimate
+				int current = exportedCount.get();
+				progressDialog.setProgress( current, Math.max( current, expectedTotal ) );
 			}
 			
-			// Get parent frame for dialog
-			Frame parentFrame = (Frame) SwingUtilities.getWindowAncestor( this );
-			
-			// Create progress dialog
-			Dlg_ExportProgress progressDialog = new Dlg_ExportProgress( parentFrame );
-			
-			// Capture format selection for use in worker
-			String selectedFormat = getSelectedFormat();
-			
-			// Create and execute SwingWorker
-			SwingWorker<Void, Integer> worker = new SwingWorker<Void, Integer>()
+			@Override
+			protected void done()
 			{
-				private Exception exportException = null;
+				progressDialog.dispose();
 				
-				@Override
-				protected Void doInBackground() throws Exception
+				if( exportException != null )
 				{
-					try
+					AppLogger.logBulkExport( exportedCount.get(), selectedFormat, false );
+					if( exportException instanceof TherapyAppException )
 					{
-						List<Note> noteList = new ArrayList<>( notesMap.keySet() );
-						int total = noteList.size();
-						
-						for( int i = 0; i < total; i++ )
-						{
-							Note note = noteList.get( i );
-							String outputPath = notesMap.get( note );
-							
-							// Export single note based on format
-							switch( selectedFormat )
-							{
-								case "DOCX":
-									NoteDocxExporter.exportToDocx( note, outputPath );
-									break;
-								case "PDF":
-									NotePdfExporter.exportToPdf( note, outputPath );
-									break;
-							}
-							
-							// Publish progress (1-based for display)
-							publish( i + 1 );
-						}
+						AppController.showBasicErrorPopup( (TherapyAppException) exportException, "Error occurred while exporting notes." );
 					}
-					catch( Exception e )
+					else
 					{
-						exportException = e;
-						AppLogger.error( e );
+						AppController.showBasicErrorPopup( "Error occurred while exporting notes: " + exportException.getMessage() );
 					}
-					return null;
 				}
-				
-				@Override
-				protected void process( List<Integer> chunks )
-				{
-					// Get the most recent progress update
-					int current = chunks.get( chunks.size() - 1 );
-					int total = notesMap.size();
-					progressDialog.setProgress( current, total );
-				}
-				
-				@Override
-				protected void done()
+				else
 				{
-					progressDialog.dispose();
-					
-					if( exportException != null )
-					{
-						AppLogger.logBulkExport( notesMap.size(), getSelectedFormat(), false );
-						if( exportException instanceof TherapyAppException )
-						{
-							AppController.showBasicErrorPopup( (TherapyAppException) exportException,
-									"Error occurred while exporting notes." );
-						}
-						else
-						{
-							AppController.showBasicErrorPopup( "Error occurred while exporting notes: " + exportException.getMessage() );
-						}
-					}
-					else
-					{
-						JOptionPane.showMessageDialog( null, "Notes successfully exported to the following folder:\n" + getOutputFolder(),
-								"Success", JOptionPane.INFORMATION_MESSAGE );
-						AppLogger.logBulkExport( notesMap.size(), getSelectedFormat(), true );
-						setDefaultValues();
-						AppController.returnHome( true );
-					}
+					JOptionPane.showMessageDialog( null, "Notes successfully exported to the following folder:\n" + outputFolder, "Success",
+							JOptionPane.INFORMATION_MESSAGE );
+					AppLogger.logBulkExport( exportedCount.get(), selectedFormat, true );
+					setDefaultValues();
+					AppController.returnHome( true );
 				}
-			};
-			
-			worker.execute();
-			progressDialog.setVisible( true ); // Blocks until dialog is disposed
-		}
-		catch( TherapyAppException e )
-		{
-			AppLogger.error( "Error occurred while exporting notes.", e );
-			AppController.showBasicErrorPopup( e, "Error occurred while exporting notes." );
-		}
+			}
+		};
+		
+		worker.execute();
+		progressDialog.setVisible( true ); // Blocks until dialog is disposed
 	}
 	
 	/**
@@ -11,6 +11,7 @@ import javax.swing.JScrollPane;
 
 import com.alexpacheco.therapynotes.controller.AppController;
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.util.PreferencesUtil;
 import com.alexpacheco.therapynotes.view.components.ScrollablePanel;
 
 public abstract class Pnl_NewEditScreen extends JPanel
@@ -70,6 +71,9 @@ public abstract class Pnl_NewEditScreen extends JPanel
 		add( footerPanel, BorderLayout.SOUTH );
 		
 		clearForm();
+		
+		// Required-field markers follow the preferences
+		PreferencesUtil.addListener( this::refreshLabelsText );
 	}
 	
 	protected abstract void initHeaderPanelComponents();
@@ -46,11 +46,14 @@ public class Pnl_Preferences extends JPanel
 	private static final Font SECTION_FONT = AppFonts.getHeaderFont();
 	private static final Font SUBSECTION_FONT = AppFonts.getLabelBoldFont();
 	
+	private static final String EXPORT_WORKERS_AUTOMATIC = "Automatic";
+	
 	// UI Components - Default Behavior
 	private JCheckBox chkDefaultSessionFromPrevious;
 	private JCheckBox chkDefaultDiagnosisFromPrevious;
 	private JComboBox<String> cboDefaultAppointmentDate;
 	private JCheckBox chkDefaultVirtual;
+	private JComboBox<String> cboExportWorkerCount;
 	
 	// UI Components - Required Fields: Note
 	private JCheckBox chkRequiredNoteDiagnosis;
@@ -97,6 +100,7 @@ public class Pnl_Preferences extends JPanel
 		chkDefaultDiagnosisFromPrevious = createCheckBox( "Default diagnosis from previous note" );
 		cboDefaultAppointmentDate = new JComboBox<>( new String[] { "Today", "None" } );
 		chkDefaultVirtual = createCheckBox( "Default to virtual/telehealth session" );
+		cboExportWorkerCount = new JComboBox<>( new String[] { EXPORT_WORKERS_AUTOMATIC, "1", "2", "4", "8", "16" } );
 		
 		// Required Fields: Note components
 		chkRequiredNoteDiagnosis = createCheckBox( "Diagnosis" );
@@ -237,6 +241,13 @@ public class Pnl_Preferences extends JPanel
 		gbc.gridx = 1;
 		panel.add( cboDefaultAppointmentDate, gbc );
 		
+		gbc.gridx = 0;
+		gbc.gridy++;
+		panel.add( new JLabel( "Bulk export worker threads:" ), gbc );
+		
+		gbc.gridx = 1;
+		panel.add( cboExportWorkerCount, gbc );
+		
 		// Push everything to the left
 		gbc.gridx = 2;
 		gbc.weightx = 1.0;
@@ -410,6 +421,8 @@ public class Pnl_Preferences extends JPanel
 		cboDefaultAppointmentDate
 				.setSelectedItem( "today".equalsIgnoreCase( PreferencesUtil.getDefaultAppointmentDate() ) ? "Today" : "None" );
 		chkDefaultVirtual.setSelected( PreferencesUtil.isDefaultVirtual() );
+		int exportWorkers = PreferencesUtil.getInt( PreferenceKey.EXPORT_WORKER_COUNT );
+		cboExportWorkerCount.setSelectedItem( exportWorkers > 0 ? String.valueOf( exportWorkers ) : EXPORT_WORKERS_AUTOMATIC );
 		
 		// Load Required Fields: Note
 		chkRequiredNoteDiagnosis.setSelected( PreferencesUtil.isNoteDiagnosisRequired() );
@@ -445,6 +458,7 @@ public class Pnl_Preferences extends JPanel
 		originalValues.put( PreferenceKey.DEFAULT_DIAGNOSIS_FROM_PREVIOUS, chkDefaultDiagnosisFromPrevious.isSelected() );
 		originalValues.put( PreferenceKey.DEFAULT_APPOINTMENT_DATE, cboDefaultAppointmentDate.getSelectedItem() );
 		originalValues.put( PreferenceKey.DEFAULT_VIRTUAL, chkDefaultVirtual.isSelected() );
+		originalValues.put( PreferenceKey.EXPORT_WORKER_COUNT, cboExportWorkerCount.getSelectedItem() );
 		
 		// Required Fields: Note
 		originalValues.put( PreferenceKey.REQUIRED_NOTE_DIAGNOSIS, chkRequiredNoteDiagnosis.isSelected() );
@@ -487,6 +501,10 @@ public class Pnl_Preferences extends JPanel
 			preferencesToSave.add( PreferencesUtil.createPreferenceFromKey( PreferenceKey.DEFAULT_VIRTUAL,
 					String.valueOf( chkDefaultVirtual.isSelected() ) ) );
 			
+			String exportWorkers = (String) cboExportWorkerCount.getSelectedItem();
+			preferencesToSave.add( PreferencesUtil.createPreferenceFromKey( PreferenceKey.EXPORT_WORKER_COUNT,
+					EXPORT_WORKERS_AUTOMATIC.equals( exportWorkers ) ? "0" : exportWorkers ) );
+			
 			// Required Fields: Note
 			preferencesToSave.add( PreferencesUtil.createPreferenceFromKey( PreferenceKey.REQUIRED_NOTE_DIAGNOSIS,
 					String.valueOf( chkRequiredNoteDiagnosis.isSelected() ) ) );
@@ -680,6 +698,7 @@ public class Pnl_Preferences extends JPanel
 						.equals( chkDefaultDiagnosisFromPrevious.isSelected() )
 				|| !originalValues.get( PreferenceKey.DEFAULT_APPOINTMENT_DATE ).equals( cboDefaultAppointmentDate.getSelectedItem() )
 				|| !originalValues.get( PreferenceKey.DEFAULT_VIRTUAL ).equals( chkDefaultVirtual.isSelected() )
+				|| !originalValues.get( PreferenceKey.EXPORT_WORKER_COUNT ).equals( cboExportWorkerCount.getSelectedItem() )
 				|| !originalValues.get( PreferenceKey.REQUIRED_NOTE_DIAGNOSIS ).equals( chkRequiredNoteDiagnosis.isSelected() )
 				|| !originalValues.get( PreferenceKey.REQUIRED_NOTE_NARRATIVE ).equals( chkRequiredNoteNarrative.isSelected() )
 				|| !originalValues.get( PreferenceKey.REQUIRED_NOTE_AFFECT ).equals( chkRequiredNoteAffect.isSelected() )
@@ -23,12 +23,15 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
+import javax.swing.JTextField;
 import javax.swing.SwingConstants;
 import javax.swing.table.TableColumnModel;
 
 import com.alexpacheco.therapynotes.controller.AppController;
 import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.NotePage;
+import com.alexpacheco.therapynotes.model.entities.NoteSearchHit;
 import com.alexpacheco.therapynotes.util.AppFonts;
 import com.alexpacheco.therapynotes.util.DateFormatUtil;
 import com.alexpacheco.therapynotes.view.components.Cmb_ClientSelection;
@@ -38,9 +41,11 @@ import com.toedter.calendar.JDateChooser;
 public class Pnl_SearchNote extends JPanel
 {
 	private static final long serialVersionUID = 1144413567069633820L;
+	private static final int TEXT_SEARCH_LIMIT = 100;
 	private Cmb_ClientSelection clientComboBox;
 	private JDateChooser startDateChooser;
 	private JDateChooser endDateChooser;
+	private JTextField textField;
 	private JTable resultsTable;
 	private NoteSearchResultsTableModel tableModel;
 	private JScrollPane scrollPane;
@@ -48,6 +53,13 @@ public class Pnl_SearchNote extends JPanel
 	private JPanel resultsPanel;
 	private CardLayout resultsCardLayout;
 	private SimpleDateFormat dateFormat = new SimpleDateFormat( "MM/dd/yyyy" );
+	private JButton loadMoreButton;
+	
+	// Criteria of the current search, kept so further pages use the same filters
+	private Integer searchClientId;
+	private Date searchStartDate;
+	private Date searchEndDate;
+	private String nextPageToken;
 	
 	public Pnl_SearchNote()
 	{
@@ -116,9 +128,26 @@ public class Pnl_SearchNote extends JPanel
 		gbc.weightx = 0.5;
 		searchPanel.add( endDateChooser, gbc );
 		
-		// Button row
+		// Row 2 - Full-text search
+		textField = new JTextField();
+		textField.setToolTipText( "Words to find in the narrative, appointment note and section comments" );
+		textField.addActionListener( e -> performSearch() );
+		
 		gbc.gridx = 0;
 		gbc.gridy = 2;
+		gbc.anchor = GridBagConstraints.EAST;
+		gbc.weightx = 0.0;
+		searchPanel.add( new JLabel( "Containing Text:" ), gbc );
+		
+		gbc.gridx = 1;
+		gbc.gridwidth = 3;
+		gbc.anchor = GridBagConstraints.WEST;
+		gbc.weightx = 1.0;
+		searchPanel.add( textField, gbc );
+		
+		// Button row
+		gbc.gridx = 0;
+		gbc.gridy = 3;
 		gbc.gridwidth = 4;
 		gbc.anchor = GridBagConstraints.CENTER;
 		gbc.weightx = 0.0;
@@ -206,7 +235,20 @@ public class Pnl_SearchNote extends JPanel
 		noResultsLabel.setForeground( Color.DARK_GRAY );
 		noResultsPanel.add( noResultsLabel, BorderLayout.CENTER );
 		
-		resultsPanel.add( scrollPane, "table" );
+		loadMoreButton = new JButton( "Load More" );
+		loadMoreButton.addActionListener( e -> loadNextPage() );
+		loadMoreButton.setVisible( false );
+		
+		JPanel loadMorePanel = new JPanel( new FlowLayout( FlowLayout.CENTER ) );
+		loadMorePanel.setBackground( AppController.getBackgroundColor() );
+		loadMorePanel.add( loadMoreButton );
+		
+		JPanel tablePanel = new JPanel( new BorderLayout() );
+		tablePanel.setBackground( AppController.getBackgroundColor() );
+		tablePanel.add( scrollPane, BorderLayout.CENTER );
+		tablePanel.add( loadMorePanel, BorderLayout.SOUTH );
+		
+		resultsPanel.add( tablePanel, "table" );
 		resultsPanel.add( noResultsPanel, "noResults" );
 		
 		add( titleLabel, BorderLayout.NORTH );
@@ -219,12 +261,15 @@ public class Pnl_SearchNote extends JPanel
 		clientComboBox.setSelectedIndex( 0 ); // Select blank option
 		startDateChooser.setDate( null );
 		endDateChooser.setDate( null );
+		textField.setText( "" );
 		clearResults();
 	}
 	
 	private void clearResults()
 	{
 		tableModel.setRowCount( 0 );
+		nextPageToken = null;
+		loadMoreButton.setVisible( false );
 	}
 	
 	private void performSearch()
@@ -244,9 +289,21 @@ public class Pnl_SearchNote extends JPanel
 			return;
 		}
 		
+		searchClientId = clientId;
+		searchStartDate = startDate;
+		searchEndDate = endDate;
+		clearResults();
+		
+		String text = textField.getText().strip();
+		if( !text.isEmpty() )
+		{
+			performTextSearch( text, clientId, startDate, endDate );
+			return;
+		}
+		
 		try
 		{
-			displayResults( AppController.searchNotes( clientId, startDate, endDate ) );
+			displayResults( AppController.searchNotes( clientId, startDate, endDate, NotePage.DEFAULT_PAGE_SIZE, null ) );
 		}
 		catch( TherapyAppException e )
 		{
@@ -254,11 +311,65 @@ public class Pnl_SearchNote extends JPanel
 		}
 	}
 	
-	private void displayResults( List<Note> notes )
+	/**
+	 * Runs a ranked full-text search. Results come back best match first in a single batch, so there is no further page to load.
+	 */
+	private void performTextSearch( String text, Integer clientId, Date startDate, Date endDate )
 	{
-		clearResults();
+		List<NoteSearchHit> hits;
+		try
+		{
+			hits = AppController.searchNotesFullText( text, clientId, startDate, endDate, TEXT_SEARCH_LIMIT );
+		}
+		catch( TherapyAppException e )
+		{
+			AppController.showBasicErrorPopup( e, "Error searching notes:" );
+			return;
+		}
 		
-		if( notes == null || notes.isEmpty() )
+		if( hits.isEmpty() )
+		{
+			resultsCardLayout.show( resultsPanel, "noResults" );
+			return;
+		}
+		
+		for( NoteSearchHit hit : hits )
+		{
+			_addRow( hit.getNote(), _highlight( hit.getSnippet() ) );
+		}
+		
+		resultsCardLayout.show( resultsPanel, "table" );
+	}
+	
+	/**
+	 * Fetches the page after the last one shown and appends it to the table.
+	 */
+	private void loadNextPage()
+	{
+		if( nextPageToken == null )
+			return;
+		
+		try
+		{
+			displayResults( AppController.searchNotes( searchClientId, searchStartDate, searchEndDate, NotePage.DEFAULT_PAGE_SIZE,
+					nextPageToken ) );
+		}
+		catch( TherapyAppException e )
+		{
+			AppController.showBasicErrorPopup( e, "Error loading more notes:" );
+		}
+	}
+	
+	/**
+	 * Appends a page of results to the table.
+	 */
+	private void displayResults( NotePage page )
+	{
+		List<Note> notes = page.getNotes();
+		nextPageToken = page.getNextPageToken();
+		loadMoreButton.setVisible( page.hasNextPage() );
+		
+		if( tableModel.getRowCount() == 0 && notes.isEmpty() )
 		{
 			resultsCardLayout.show( resultsPanel, "noResults" );
 		}
@@ -266,21 +377,38 @@ public class Pnl_SearchNote extends JPanel
 		{
 			for( Note note : notes )
 			{
-				Integer noteId = note.getNoteId();
-				String clientName = note.getClient().getDisplayName();
-				Integer sessionNumber = note.getSessionNumber();
-				Date apptDate = DateFormatUtil.toDate( note.getApptDateTime() );
-				String apptNote = note.getApptComment();
-				
-				String formattedDate = apptDate != null ? dateFormat.format( apptDate ) : "";
-				
-				Object[] rowData = { noteId, // Hidden column
-						clientName, sessionNumber, formattedDate, apptNote, "Open" };
-				
-				tableModel.addRow( rowData );
+				_addRow( note, note.getApptComment() );
 			}
 			
 			resultsCardLayout.show( resultsPanel, "table" );
 		}
 	}
+	
+	private void _addRow( Note note, String comment )
+	{
+		Integer noteId = note.getNoteId();
+		String clientName = note.getClient().getDisplayName();
+		Integer sessionNumber = note.getSessionNumber();
+		Date apptDate = DateFormatUtil.toDate( note.getApptDateTime() );
+		
+		String formattedDate = apptDate != null ? dateFormat.format( apptDate ) : "";
+		
+		Object[] rowData = { noteId, // Hidden column
+				clientName, sessionNumber, formattedDate, comment, "Open" };
+		
+		tableModel.addRow( rowData );
+	}
+	
+	/**
+	 * Renders a search snippet as HTML with the matched terms in bold. The note text is escaped first so it cannot inject markup.
+	 */
+	private static String _highlight( String snippet )
+	{
+		if( snippet == null || snippet.isEmpty() )
+			return "";
+		
+		String escaped = snippet.replace( "&", "&amp;" ).replace( "<", "&lt;" ).replace( ">", "&gt;" );
+		return "<html>" + escaped.replace( String.valueOf( NoteSearchHit.MATCH_START ), "<b>" )
+				.replace( String.valueOf( NoteSearchHit.MATCH_END ), "</b>" ) + "</html>";
+	}
 }
\ No newline at end of file
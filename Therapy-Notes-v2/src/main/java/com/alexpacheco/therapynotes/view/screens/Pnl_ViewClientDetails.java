@@ -10,6 +10,7 @@ import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
 import com.alexpacheco.therapynotes.model.entities.Client;
 import com.alexpacheco.therapynotes.model.entities.Contact;
 import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.NotePage;
 import com.alexpacheco.therapynotes.util.AppFonts;
 import com.alexpacheco.therapynotes.util.DateFormatUtil;
 import com.alexpacheco.therapynotes.util.JavaUtils;
@@ -49,6 +50,9 @@ public class Pnl_ViewClientDetails extends JPanel
 	private JScrollPane notesScrollPane;
 	private JPanel notesDisplayPanel;
 	private CardLayout notesCardLayout;
+	private JButton loadOlderNotesButton;
+	private Integer notesClientId;
+	private String notesNextPageToken;
 	
 	public Pnl_ViewClientDetails( CardLayout cardLayout, JPanel mainPanel )
 	{
@@ -336,7 +340,20 @@ public class Pnl_ViewClientDetails extends JPanel
 		noNotesLabel.setForeground( Color.DARK_GRAY );
 		noNotesPanel.add( noNotesLabel, BorderLayout.CENTER );
 		
-		notesDisplayPanel.add( notesScrollPane, "table" );
+		loadOlderNotesButton = new JButton( "Load Older Notes" );
+		loadOlderNotesButton.addActionListener( e -> loadOlderNotes() );
+		loadOlderNotesButton.setVisible( false );
+		
+		JPanel loadOlderPanel = new JPanel( new FlowLayout( FlowLayout.CENTER ) );
+		loadOlderPanel.setBackground( AppController.getBackgroundColor() );
+		loadOlderPanel.add( loadOlderNotesButton );
+		
+		JPanel notesTablePanel = new JPanel( new BorderLayout() );
+		notesTablePanel.setBackground( AppController.getBackgroundColor() );
+		notesTablePanel.add( notesScrollPane, BorderLayout.CENTER );
+		notesTablePanel.add( loadOlderPanel, BorderLayout.SOUTH );
+		
+		notesDisplayPanel.add( notesTablePanel, "table" );
 		notesDisplayPanel.add( noNotesPanel, "noNotes" );
 		
 		notesSection.add( notesDisplayPanel, BorderLayout.CENTER );
@@ -461,10 +478,13 @@ public class Pnl_ViewClientDetails extends JPanel
 	
 	private void loadNotes( Integer clientId )
 	{
+		notesClientId = clientId;
+		notesNextPageToken = null;
+		notesTableModel.setRowCount( 0 );
+		
 		try
 		{
-			List<Note> notes = AppController.getNotesByClientId( clientId );
-			displayNotes( notes );
+			displayNotes( AppController.getNotesByClientId( clientId, NotePage.DEFAULT_PAGE_SIZE, null ) );
 		}
 		catch( TherapyAppException e )
 		{
@@ -472,11 +492,31 @@ public class Pnl_ViewClientDetails extends JPanel
 		}
 	}
 	
-	private void displayNotes( List<Note> notes )
+	/**
+	 * Appends the next page of older notes for the current client.
+	 */
+	private void loadOlderNotes()
 	{
-		notesTableModel.setRowCount( 0 );
+		if( notesNextPageToken == null )
+			return;
+		
+		try
+		{
+			displayNotes( AppController.getNotesByClientId( notesClientId, NotePage.DEFAULT_PAGE_SIZE, notesNextPageToken ) );
+		}
+		catch( TherapyAppException e )
+		{
+			AppController.showBasicErrorPopup( e, "Error loading session notes:" );
+		}
+	}
+	
+	private void displayNotes( NotePage page )
+	{
+		List<Note> notes = page.getNotes();
+		notesNextPageToken = page.getNextPageToken();
+		loadOlderNotesButton.setVisible( page.hasNextPage() );
 		
-		if( notes == null || notes.isEmpty() )
+		if( notesTableModel.getRowCount() == 0 && notes.isEmpty() )
 		{
 			notesCardLayout.show( notesDisplayPanel, "noNotes" );
 		}
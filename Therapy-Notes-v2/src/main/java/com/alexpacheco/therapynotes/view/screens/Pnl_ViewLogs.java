@@ -9,13 +9,17 @@ import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.awt.event.HierarchyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -23,6 +27,7 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.table.DefaultTableCellRenderer;
 
 import com.alexpacheco.therapynotes.controller.AppController;
@@ -45,6 +50,7 @@ public class Pnl_ViewLogs extends JPanel
 	private JDateChooser startDateChooser;
 	private JDateChooser endDateChooser;
 	private JComboBox<String> logLevelComboBox;
+	private JCheckBox followCheckBox;
 	
 	// Table components
 	private JTable logsTable;
@@ -55,12 +61,44 @@ public class Pnl_ViewLogs extends JPanel
 	private JPanel resultsPanel;
 	private JLabel noResultsLabel;
 	
+	// Live tail: the criteria of the last search, applied to followed entries
+	private Runnable stopFollowing;
+	private Date searchedStartDate;
+	private Date searchedEndDate;
+	private LogLevel searchedLogLevel;
+	
 	private static final int MAX_RESULTS = 1000;
 	
 	public Pnl_ViewLogs()
 	{
 		initComponents();
 		layoutComponents();
+		
+		// Stop following when the user navigates to another screen
+		addHierarchyListener( e ->
+		{
+			if( ( e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED ) != 0 && !isShowing() && followCheckBox.isSelected() )
+			{
+				followCheckBox.setSelected( false );
+				setFollowing( false );
+			}
+		} );
+	}
+	
+	/**
+	 * Stops following when the panel is taken out of the window, as ScreenRegistry does when it releases this screen, so the tail thread
+	 * neither keeps polling nor keeps the panel reachable. The hierarchy listener alone is not enough, since it only acts on a change in
+	 * whether the panel is showing.
+	 */
+	@Override
+	public void removeNotify()
+	{
+		if( stopFollowing != null )
+		{
+			followCheckBox.setSelected( false );
+			setFollowing( false );
+		}
+		super.removeNotify();
 	}
 	
 	private void initComponents()
@@ -199,12 +237,16 @@ public class Pnl_ViewLogs extends JPanel
 		buttonPanel.setBackground( AppController.getBackgroundColor() );
 		JButton clearButton = new JButton( "Clear Filters" );
 		JButton searchButton = new JButton( "Search" );
+		followCheckBox = new JCheckBox( "Follow New Entries" );
+		followCheckBox.setBackground( AppController.getBackgroundColor() );
 		
 		clearButton.addActionListener( e -> clearFilters() );
 		searchButton.addActionListener( e -> performSearch() );
+		followCheckBox.addActionListener( e -> setFollowing( followCheckBox.isSelected() ) );
 		
 		buttonPanel.add( clearButton );
 		buttonPanel.add( searchButton );
+		buttonPanel.add( followCheckBox );
 		panel.add( buttonPanel, gbc );
 		
 		return panel;
@@ -245,6 +287,9 @@ public class Pnl_ViewLogs extends JPanel
 		try
 		{
 			List<AppLog> logs = AppController.getLogs( startDate, endDate, logLevel, MAX_RESULTS );
+			searchedStartDate = startDate;
+			searchedEndDate = endDate;
+			searchedLogLevel = logLevel;
 			displayResults( logs );
 		}
 		catch( TherapyAppException e )
@@ -253,6 +298,88 @@ public class Pnl_ViewLogs extends JPanel
 		}
 	}
 	
+	/**
+	 * Starts or stops live tail. While following, entries written after the last search are added to the top of the table as they
+	 * arrive, filtered by that search's criteria.
+	 */
+	private void setFollowing( boolean follow )
+	{
+		if( stopFollowing != null )
+		{
+			stopFollowing.run();
+			stopFollowing = null;
+		}
+		
+		if( follow )
+		{
+			try
+			{
+				stopFollowing = AppController.followLogs( logs -> SwingUtilities.invokeLater( () -> appendFollowedLogs( logs ) ) );
+				performSearch();
+			}
+			catch( TherapyAppException e )
+			{
+				followCheckBox.setSelected( false );
+				AppController.showBasicErrorPopup( e, "Error following logs:" );
+			}
+		}
+	}
+	
+	/**
+	 * Adds a batch of followed entries, oldest first, to the top of the table.
+	 */
+	private void appendFollowedLogs( List<AppLog> logs )
+	{
+		if( stopFollowing == null )
+		{
+			return; // Stopped while the batch was queued
+		}
+		
+		// Skip anything the last search already showed
+		AppLog newestShown = tableModel.getLogAt( 0 );
+		List<AppLog> newestFirst = new ArrayList<>();
+		for( int i = logs.size() - 1; i >= 0; i-- )
+		{
+			AppLog log = logs.get( i );
+			if( matchesSearch( log ) && ( newestShown == null || log.compareTo( newestShown ) > 0 ) )
+			{
+				newestFirst.add( log );
+			}
+		}
+		
+		if( newestFirst.isEmpty() )
+		{
+			return;
+		}
+		
+		if( tableScrollPane.getParent() != resultsPanel )
+		{
+			resultsPanel.removeAll();
+			resultsPanel.add( tableScrollPane, BorderLayout.CENTER );
+			resultsPanel.revalidate();
+			resultsPanel.repaint();
+		}
+		tableModel.addLogsToTop( newestFirst, MAX_RESULTS );
+	}
+	
+	private boolean matchesSearch( AppLog log )
+	{
+		if( searchedLogLevel != null && !searchedLogLevel.getDbCode().equalsIgnoreCase( log.getLevel() ) )
+		{
+			return false;
+		}
+		if( log.getTimestamp() != null )
+		{
+			Date timestamp = Date.from( log.getTimestamp().atZone( ZoneId.systemDefault() ).toInstant() );
+			if( ( searchedStartDate != null && timestamp.before( searchedStartDate ) )
+					|| ( searchedEndDate != null && timestamp.after( searchedEndDate ) ) )
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
 	private void displayResults( List<AppLog> logs )
 	{
 		clearResults();
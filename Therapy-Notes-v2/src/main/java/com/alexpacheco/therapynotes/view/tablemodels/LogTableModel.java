@@ -184,6 +184,38 @@ public class LogTableModel extends AbstractTableModel
 		fireTableRowsInserted( logs.size() - 1, logs.size() - 1 );
 	}
 	
+	/**
+	 * Inserts a batch of entries above the existing rows with a single table event, then drops the oldest rows beyond maxRows.
+	 * 
+	 * @param newLogs Entries ordered newest first
+	 * @param maxRows Maximum number of rows to keep
+	 */
+	public void addLogsToTop( List<AppLog> newLogs, int maxRows )
+	{
+		int count = newLogs.size();
+		if( count == 0 )
+		{
+			return;
+		}
+		
+		logs.addAll( 0, newLogs );
+		Set<Integer> shiftedRows = new HashSet<>();
+		for( Integer row : expandedRows )
+		{
+			shiftedRows.add( row + count );
+		}
+		expandedRows = shiftedRows;
+		fireTableRowsInserted( 0, count - 1 );
+		
+		int size = logs.size();
+		if( size > maxRows )
+		{
+			logs.subList( maxRows, size ).clear();
+			expandedRows.removeIf( row -> row >= maxRows );
+			fireTableRowsDeleted( maxRows, size - 1 );
+		}
+	}
+	
 	/**
 	 * Clears all logs from the table.
 	 */
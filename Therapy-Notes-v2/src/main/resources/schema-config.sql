@@ -170,4 +170,24 @@ CREATE TABLE IF NOT EXISTS "user_preferences" (
   "update_date" DATETIME DEFAULT CURRENT_TIMESTAMP
 );
 
-CREATE INDEX IF NOT EXISTS "idx_preferences_category" ON "user_preferences"("category");
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS "idx_preferences_category" ON "user_preferences"("category");
+
+-----------------------------------------------------------
+-- 6. FULL-TEXT SEARCH
+-----------------------------------------------------------
+
+-- External-content FTS5 index over the free-text columns of notes, kept in sync by the notes_fts triggers in trigger-config.sql
+CREATE VIRTUAL TABLE IF NOT EXISTS "notes_fts" USING fts5(
+  "narrative",
+  "appt_note",
+  "appearance_comment",
+  "speech_comment",
+  "affect_comment",
+  "eye_contact_comment",
+  "next_appt_comment",
+  "referral_comment",
+  "collateral_contact_comment",
+  content='notes',
+  content_rowid='note_id',
+  tokenize='porter unicode61 remove_diacritics 2'
+);
@@ -37,3 +37,41 @@ BEGIN
     WHERE "preference_key" = OLD."preference_key";
 END;
 //
+
+CREATE TRIGGER IF NOT EXISTS "trig_notes_fts_insert"
+AFTER INSERT ON "notes"
+FOR EACH ROW
+BEGIN
+    INSERT INTO "notes_fts" ("rowid", "narrative", "appt_note", "appearance_comment", "speech_comment", "affect_comment",
+        "eye_contact_comment", "next_appt_comment", "referral_comment", "collateral_contact_comment")
+    VALUES (NEW."note_id", NEW."narrative", NEW."appt_note", NEW."appearance_comment", NEW."speech_comment", NEW."affect_comment",
+        NEW."eye_contact_comment", NEW."next_appt_comment", NEW."referral_comment", NEW."collateral_contact_comment");
+END;
+//
+
+CREATE TRIGGER IF NOT EXISTS "trig_notes_fts_delete"
+AFTER DELETE ON "notes"
+FOR EACH ROW
+BEGIN
+    INSERT INTO "notes_fts" ("notes_fts", "rowid", "narrative", "appt_note", "appearance_comment", "speech_comment", "affect_comment",
+        "eye_contact_comment", "next_appt_comment", "referral_comment", "collateral_contact_comment")
+    VALUES ('delete', OLD."note_id", OLD."narrative", OLD."appt_note", OLD."appearance_comment", OLD."speech_comment", OLD."affect_comment",
+        OLD."eye_contact_comment", OLD."next_appt_comment", OLD."referral_comment", OLD."collateral_contact_comment");
+END;
+//
+
+CREATE TRIGGER IF NOT EXISTS "trig_notes_fts_update"
+AFTER UPDATE OF "narrative", "appt_note", "appearance_comment", "speech_comment", "affect_comment", "eye_contact_comment",
+    "next_appt_comment", "referral_comment", "collateral_contact_comment" ON "notes"
+FOR EACH ROW
+BEGIN
+    INSERT INTO "notes_fts" ("notes_fts", "rowid", "narrative", "appt_note", "appearance_comment", "speech_comment", "affect_comment",
+        "eye_contact_comment", "next_appt_comment", "referral_comment", "collateral_contact_comment")
+    VALUES ('delete', OLD."note_id", OLD."narrative", OLD."appt_note", OLD."appearance_comment", OLD."speech_comment", OLD."affect_comment",
+        OLD."eye_contact_comment", OLD."next_appt_comment", OLD."referral_comment", OLD."collateral_contact_comment");
+    INSERT INTO "notes_fts" ("rowid", "narrative", "appt_note", "appearance_comment", "speech_comment", "affect_comment",
+        "eye_contact_comment", "next_appt_comment", "referral_comment", "collateral_contact_comment")
+    VALUES (NEW."note_id", NEW."narrative", NEW."appt_note", NEW."appearance_comment", NEW."speech_comment", NEW."affect_comment",
+        NEW."eye_contact_comment", NEW."next_appt_comment", NEW."referral_comment", NEW."collateral_contact_comment");
+END;
+//
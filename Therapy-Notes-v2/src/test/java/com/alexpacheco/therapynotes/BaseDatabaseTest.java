@@ -22,6 +22,7 @@ public abstract class BaseDatabaseTest
 		conn = DbUtil.getConnection( DB_URL );
 		DbUtil.executeSqlScript( conn, DatabaseInitializer.class.getResourceAsStream( SCHEMA_SCRIPT_FILE ) );
 		DbUtil.executeTriggerScript( conn, DatabaseInitializer.class.getResourceAsStream( TRIGGER_SCRIPT_FILE ) );
+		DatabaseInitializer.applyMigrations( conn );
 		DbUtil.executeSqlScript( conn, DatabaseInitializer.class.getResourceAsStream( OPTIONS_SCRIPT_FILE ) );
 		System.out.println( "BaseTest: Database environment initialized." );
 	}
@@ -0,0 +1,314 @@
+package com.alexpacheco.therapynotes.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.api.ImportCheckpointApi;
+import com.alexpacheco.therapynotes.model.dao.AssessmentOptionRegistry;
+import com.alexpacheco.therapynotes.model.entities.ImportCheckpoint;
+import com.alexpacheco.therapynotes.util.DbUtil;
+import com.alexpacheco.therapynotes.util.PreferencesUtil;
+
+/**
+ * Runs imports against a temporary file database that DbUtil's pool is pointed at for the duration of the class.
+ */
+@DisplayName( "DataImporter" )
+class DataImporterTest
+{
+	private static final String CLIENT_HEADER = "client_code,first_name,last_name,date_of_birth,email1,inactive";
+	private static final String NOTE_LINE = "{\"client_code\": \"%s\", \"appt_date_time\": \"2024-03-05 10:00\", \"diagnosis\": \"F41.1\", "
+			+ "\"narrative\": \"Session %d\", \"appearance\": \"neat\", \"speech\": \"Normal\", \"affect\": \"%s\", \"eye_contact\": \"Normal\", "
+			+ "\"next_appt\": \"1 Week\", \"symptoms\": [\"Anxiety\", \"Grief\", \"anxiety\"], \"referrals\": [], \"collateral_contacts\": \"PCP\", "
+			+ "\"session_number\": %d}";
+	
+	@TempDir
+	static Path dbDir;
+	
+	@TempDir
+	Path tempDir;
+	
+	@BeforeAll
+	static void initDb() throws Exception
+	{
+		String dbUrl = "jdbc:sqlite:" + dbDir.resolve( "import-test.db" );
+		try( Connection conn = DbUtil.getConnection( dbUrl ) )
+		{
+			DatabaseInitializer.migrate( conn );
+		}
+		DbUtil.setDbUrl( dbUrl );
+		DatabaseInitializer.initDb();
+		DatabaseInitializer.initializeDefaultPreferences();
+		_execute( "UPDATE user_preferences SET preference_value = 'false' WHERE preference_key LIKE 'required.%'" );
+		_execute( "UPDATE user_preferences SET preference_value = 'true' WHERE preference_key = 'required.note.diagnosis'" );
+		PreferencesUtil.invalidate();
+		AssessmentOptionRegistry.getInstance().invalidate();
+	}
+	
+	@AfterAll
+	static void resetDb()
+	{
+		DbUtil.setDbUrl( null );
+		PreferencesUtil.invalidate();
+		AssessmentOptionRegistry.getInstance().invalidate();
+	}
+	
+	@AfterEach
+	void cleanUp() throws SQLException
+	{
+		_execute( "DELETE FROM import_checkpoints" );
+		_execute( "DELETE FROM notes" );
+		_execute( "DELETE FROM contacts" );
+		_execute( "DELETE FROM clients" );
+	}
+	
+	@Nested
+	@DisplayName( "Clients" )
+	class Clients
+	{
+		@Test
+		@DisplayName( "Imports valid rows and reports the rest with their reasons" )
+		void importsAndRejects() throws Exception
+		{
+			Path file = _write( "clients.csv", CLIENT_HEADER, "IMP1,Ada,Lovelace,1985-12-10,ada@example.com,no",
+					"IMP2,,,1990-01-01,,", "imp1,Duplicate,Code,,,", "IMP3,Grace,Hopper,12/09/1906,,", "IMP4,Alan,Turing,,,yes",
+					"IMP5,Too,Many,,,,extra" );
+			
+			DataImporter.Result result = new DataImporter().setBatchSize( 2 ).importClients( file );
+			
+			assertEquals( 6, result.getRead() );
+			assertEquals( 2, result.getImported() );
+			assertEquals( 4, result.getRejected() );
+			assertEquals( 2, _count( "SELECT COUNT(*) FROM clients WHERE client_code IN ('IMP1', 'IMP4')" ) );
+			assertEquals( 1, _count( "SELECT inactive FROM clients WHERE client_code = 'IMP4'" ) );
+			
+			List<String> report = _report( file );
+			assertEquals( "Record,Line,Reason", report.get( 0 ) );
+			assertEquals( 5, report.size() );
+			assertTrue( report.get( 1 ).startsWith( "2,3," ) );
+			assertTrue( report.get( 2 ).contains( "already in use" ) );
+			assertTrue( report.get( 3 ).contains( "date_of_birth" ) );
+		}
+		
+		@Test
+		@DisplayName( "Rejects codes that already exist in the database" )
+		void existingCode() throws Exception
+		{
+			new DataImporter().importClients( _write( "first.csv", CLIENT_HEADER, "IMP1,Ada,Lovelace,,," ) );
+			DataImporter.Result result = new DataImporter().importClients( _write( "second.csv", CLIENT_HEADER, "IMP1,Ada,Again,,," ) );
+			
+			assertEquals( 0, result.getImported() );
+			assertEquals( 1, result.getRejected() );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Contacts and notes" )
+	class ContactsAndNotes
+	{
+		@Test
+		@DisplayName( "Links contacts to clients by code" )
+		void contacts() throws Exception
+		{
+			new DataImporter().importClients( _write( "clients.csv", CLIENT_HEADER, "IMP1,Ada,Lovelace,,," ) );
+			Path file = _write( "contacts.csv", "client_code,first_name,last_name,emergency_contact,phone1", "imp1,Byron,Lovelace,true,",
+					"NOPE,Lost,Contact,false," );
+			
+			DataImporter.Result result = new DataImporter().importContacts( file );
+			
+			assertEquals( 1, result.getImported() );
+			assertEquals( 1, _count( "SELECT COUNT(*) FROM contacts c JOIN clients k ON k.client_id = c.linked_client "
+					+ "WHERE k.client_code = 'IMP1' AND c.emergency_contact = 1" ) );
+			assertTrue( _report( file ).get( 1 ).contains( "NOPE" ) );
+		}
+		
+		@Test
+		@DisplayName( "Resolves option names and writes junction rows once per option" )
+		void notes() throws Exception
+		{
+			new DataImporter().importClients( _write( "clients.csv", CLIENT_HEADER, "IMP1,Ada,Lovelace,,," ) );
+			Path file = _write( "notes.jsonl", String.format( NOTE_LINE, "IMP1", 1, "blunted/flat", 1 ),
+					String.format( NOTE_LINE, "IMP1", 2, "Not an affect", 2 ),
+					String.format( NOTE_LINE, "IMP1", 3, "blunted/flat", 3 ).replace( "\"diagnosis\": \"F41.1\", ", "" ), "not json" );
+			
+			DataImporter.Result result = new DataImporter().importNotes( file );
+			
+			assertEquals( 1, result.getImported() );
+			assertEquals( 3, result.getRejected() );
+			assertEquals( 2, _count( "SELECT COUNT(*) FROM symptoms" ) );
+			assertEquals( 1, _count( "SELECT COUNT(*) FROM collateral_contacts" ) );
+			assertEquals( 0, _count( "SELECT COUNT(*) FROM notes WHERE appearance IS NULL OR next_appt IS NULL" ) );
+			
+			List<String> report = _report( file );
+			assertTrue( report.get( 1 ).contains( "Unknown affect option" ) );
+			assertTrue( report.get( 2 ).contains( "Diagnosis is required" ) );
+			assertTrue( report.get( 3 ).contains( "Invalid JSON" ) );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Checkpoint" )
+	class Checkpoint
+	{
+		@Test
+		@DisplayName( "A finished import is not repeated" )
+		void completeIsNotRepeated() throws Exception
+		{
+			Path file = _write( "clients.csv", CLIENT_HEADER, "IMP1,Ada,Lovelace,,,", "IMP2,Grace,Hopper,,," );
+			new DataImporter().importClients( file );
+			
+			DataImporter.Result again = new DataImporter().importClients( file );
+			
+			assertEquals( 0, again.getRead() );
+			assertEquals( 2, _count( "SELECT COUNT(*) FROM clients" ) );
+		}
+		
+		@Test
+		@DisplayName( "A failed batch leaves the checkpoint at the last committed batch, and the rerun resumes from it" )
+		void resumesAfterFailure() throws Exception
+		{
+			Path file = _write( "clients.csv", CLIENT_HEADER, "IMP1,Ada,Lovelace,,,", "IMP2,Grace,Hopper,,,", "IMP3,Alan,Turing,,,",
+					"IMP4,Edsger,Dijkstra,,," );
+			// Another writer takes IMP3 after the importer has loaded the existing codes
+			List<Integer> progress = new ArrayList<>();
+			DataImporter importer = new DataImporter().setBatchSize( 2 ).setProgressListener( processed ->
+			{
+				progress.add( processed );
+				_executeUnchecked( "INSERT INTO clients (client_code, first_name) VALUES ('IMP3', 'Other')" );
+			} );
+			
+			assertThrows( TherapyAppException.class, () -> importer.importClients( file ) );
+			assertEquals( List.of( 2 ), progress );
+			assertEquals( 2, _checkpoint( file ).getRecords() );
+			assertEquals( 0, _count( "SELECT COUNT(*) FROM clients WHERE client_code = 'IMP4'" ) );
+			
+			DataImporter.Result resumed = new DataImporter().setBatchSize( 2 ).importClients( file );
+			
+			assertEquals( 2, resumed.getSkipped() );
+			assertEquals( 1, resumed.getImported() );
+			assertEquals( 1, resumed.getRejected() );
+			assertTrue( _checkpoint( file ).isComplete() );
+			assertEquals( 2, _report( file ).size(), "The resumed run should append to the report without a second header" );
+		}
+		
+		@Test
+		@DisplayName( "A batch whose checkpoint cannot be saved is rolled back with it, so the rerun saves it once" )
+		void checkpointFailureRollsBackBatch() throws Exception
+		{
+			new DataImporter().importClients( _write( "clients.csv", CLIENT_HEADER, "IMP1,Ada,Lovelace,,," ) );
+			Path file = _write( "notes.jsonl", String.format( NOTE_LINE, "IMP1", 1, "blunted/flat", 1 ),
+					String.format( NOTE_LINE, "IMP1", 2, "blunted/flat", 2 ), String.format( NOTE_LINE, "IMP1", 3, "blunted/flat", 3 ),
+					String.format( NOTE_LINE, "IMP1", 4, "blunted/flat", 4 ) );
+			_execute( "CREATE TRIGGER fail_checkpoint BEFORE INSERT ON import_checkpoints WHEN NEW.records > 2 "
+					+ "BEGIN SELECT RAISE(ABORT, 'disk full'); END" );
+			try
+			{
+				assertThrows( TherapyAppException.class, () -> new DataImporter().setBatchSize( 2 ).importNotes( file ) );
+			}
+			finally
+			{
+				_execute( "DROP TRIGGER fail_checkpoint" );
+			}
+			assertEquals( 2, _count( "SELECT COUNT(*) FROM notes" ) );
+			assertEquals( 2, _checkpoint( file ).getRecords() );
+			
+			DataImporter.Result resumed = new DataImporter().setBatchSize( 2 ).importNotes( file );
+			
+			assertEquals( 2, resumed.getSkipped() );
+			assertEquals( 2, resumed.getImported() );
+			assertEquals( 4, _count( "SELECT COUNT(*) FROM notes" ) );
+			assertEquals( 4, _count( "SELECT COUNT(DISTINCT narrative) FROM notes" ) );
+		}
+		
+		@Test
+		@DisplayName( "Clearing the checkpoint imports the file from the start" )
+		void clearCheckpoint() throws Exception
+		{
+			Path file = _write( "clients.csv", CLIENT_HEADER, "IMP1,Ada,Lovelace,,," );
+			new DataImporter().importClients( file );
+			
+			DataImporter importer = new DataImporter();
+			importer.clearCheckpoint( file );
+			DataImporter.Result again = importer.importClients( file );
+			
+			assertEquals( 1, again.getRead() );
+			assertEquals( 1, again.getRejected() );
+		}
+		
+		@Test
+		@DisplayName( "Rows appended after a finished import are imported on the next run" )
+		void appendedRows() throws Exception
+		{
+			Path file = _write( "clients.csv", CLIENT_HEADER, "IMP1,Ada,Lovelace,,," );
+			new DataImporter().importClients( file );
+			Files.writeString( file, "IMP2,Grace,Hopper,,,\n", StandardOpenOption.APPEND );
+			
+			DataImporter.Result result = new DataImporter().importClients( file );
+			
+			assertEquals( 1, result.getSkipped() );
+			assertEquals( 1, result.getImported() );
+		}
+	}
+	
+	private Path _write( String name, String... lines ) throws IOException
+	{
+		return Files.write( tempDir.resolve( name ), List.of( lines ), StandardCharsets.UTF_8 );
+	}
+	
+	private static List<String> _report( Path file ) throws IOException
+	{
+		return Files.readAllLines( file.resolveSibling( file.getFileName() + DataImporter.REJECTED_SUFFIX ) );
+	}
+	
+	private static ImportCheckpoint _checkpoint( Path file ) throws TherapyAppException
+	{
+		return new ImportCheckpointApi().getCheckpoint( DataImporter.checkpointSource( file ) );
+	}
+	
+	private static int _count( String sql ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery( sql ) )
+		{
+			return rs.next() ? rs.getInt( 1 ) : 0;
+		}
+	}
+	
+	private static void _execute( String sql ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection(); Statement stmt = conn.createStatement() )
+		{
+			stmt.executeUpdate( sql );
+		}
+	}
+	
+	private static void _executeUnchecked( String sql )
+	{
+		try
+		{
+			_execute( sql );
+		}
+		catch( SQLException e )
+		{
+			throw new IllegalStateException( e );
+		}
+	}
+}
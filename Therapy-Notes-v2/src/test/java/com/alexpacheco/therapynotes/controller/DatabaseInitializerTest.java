@@ -0,0 +1,123 @@
+package com.alexpacheco.therapynotes.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.alexpacheco.therapynotes.util.DbUtil;
+
+@DisplayName( "DatabaseInitializer" )
+class DatabaseInitializerTest
+{
+	private Connection conn;
+	
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		conn = DbUtil.getConnection( "jdbc:sqlite::memory:" );
+	}
+	
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		conn.close();
+	}
+	
+	@Nested
+	@DisplayName( "migrate" )
+	class Migrate
+	{
+		@Test
+		@DisplayName( "Creates the full schema on a new database" )
+		void newDatabase() throws SQLException
+		{
+			DatabaseInitializer.migrate( conn );
+			
+			assertEquals( DatabaseInitializer.getLatestSchemaVersion(), DatabaseInitializer.getSchemaVersion( conn ) );
+			assertTrue( _exists( "table", "notes" ) );
+			assertTrue( _exists( "table", "notes_fts" ) );
+			assertTrue( _exists( "trigger", "trig_notes_fts_insert" ) );
+			assertTrue( _exists( "index", "notes_client_appt_idx" ) );
+		}
+		
+		@Test
+		@DisplayName( "Runs no DDL once the schema is current" )
+		void currentDatabase() throws SQLException
+		{
+			DatabaseInitializer.migrate( conn );
+			_execute( "DROP TRIGGER trig_clients_update_date" );
+			
+			DatabaseInitializer.migrate( conn );
+			
+			// Re-running the base scripts would have recreated the trigger
+			assertFalse( _exists( "trigger", "trig_clients_update_date" ) );
+		}
+		
+		@Test
+		@DisplayName( "Restores a dropped full-text insert trigger and indexes the notes written without it" )
+		void missingFullTextTrigger() throws SQLException
+		{
+			DatabaseInitializer.migrate( conn );
+			// A bulk load killed after dropping the trigger and writing a note
+			_execute( "DROP TRIGGER trig_notes_fts_insert" );
+			_execute( "INSERT INTO clients (client_code) VALUES ('FTS1')" );
+			_execute( "INSERT INTO notes (client_id, narrative) VALUES (1000, 'unindexed narrative')" );
+			
+			DatabaseInitializer.migrate( conn );
+			
+			assertTrue( _exists( "trigger", "trig_notes_fts_insert" ) );
+			assertEquals( 1, _count( "SELECT COUNT(*) FROM notes_fts WHERE notes_fts MATCH 'unindexed'" ) );
+		}
+		
+		@Test
+		@DisplayName( "Fills in what an older database is missing before applying pending migrations" )
+		void olderDatabase() throws SQLException
+		{
+			DatabaseInitializer.migrate( conn );
+			// A database at version 1 from a build that had no full-text index yet
+			_execute( "DROP TRIGGER trig_notes_fts_insert" );
+			_execute( "DROP TABLE notes_fts" );
+			_execute( "PRAGMA user_version = 1" );
+			
+			DatabaseInitializer.migrate( conn );
+			
+			assertEquals( DatabaseInitializer.getLatestSchemaVersion(), DatabaseInitializer.getSchemaVersion( conn ) );
+			assertTrue( _exists( "table", "notes_fts" ) );
+			assertTrue( _exists( "trigger", "trig_notes_fts_insert" ) );
+		}
+	}
+	
+	private void _execute( String sql ) throws SQLException
+	{
+		try( Statement stmt = conn.createStatement() )
+		{
+			stmt.execute( sql );
+		}
+	}
+	
+	private int _count( String sql ) throws SQLException
+	{
+		try( Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery( sql ) )
+		{
+			return rs.next() ? rs.getInt( 1 ) : 0;
+		}
+	}
+	
+	private boolean _exists( String type, String name ) throws SQLException
+	{
+		try( Statement stmt = conn.createStatement();
+				ResultSet rs = stmt.executeQuery( "SELECT 1 FROM sqlite_master WHERE type = '" + type + "' AND name = '" + name + "'" ) )
+		{
+			return rs.next();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.alexpacheco.therapynotes.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.NotePage;
+
+@DisplayName( "Exporter" )
+class ExporterTest
+{
+	@Nested
+	@DisplayName( "exportNotes" )
+	class ExportNotes
+	{
+		@Test
+		@DisplayName( "Stops fetching chunks once a note fails to export" )
+		void stopsPagingOnFailure()
+		{
+			AtomicInteger fetches = new AtomicInteger();
+			Exporter.ChunkSource threeChunks = pageToken ->
+			{
+				int fetch = fetches.incrementAndGet();
+				return new NotePage( _notes( Exporter.EXPORT_CHUNK_SIZE ), fetch < 3 ? "chunk" + fetch : null );
+			};
+			
+			IllegalStateException e = assertThrows( IllegalStateException.class, () -> Exporter.exportNotes( threeChunks, "PDF", note ->
+			{
+				throw new IllegalStateException( "No output path" );
+			}, 1, null ) );
+			
+			assertEquals( "No output path", e.getMessage() );
+			assertEquals( 1, fetches.get() );
+		}
+		
+		@Test
+		@DisplayName( "An interrupted export fails as cancelled and keeps the interrupt" )
+		void interrupted()
+		{
+			Thread.currentThread().interrupt();
+			try
+			{
+				TherapyAppException e = assertThrows( TherapyAppException.class,
+						() -> Exporter.exportNotes( pageToken -> new NotePage( _notes( 1 ), null ), "PDF", note -> "unused", 1, null ) );
+				
+				assertEquals( ErrorCode.CANCELLED, e.getErrorCode() );
+				assertTrue( Thread.currentThread().isInterrupted() );
+			}
+			finally
+			{
+				Thread.interrupted();
+			}
+		}
+		
+		private List<Note> _notes( int count )
+		{
+			List<Note> notes = new ArrayList<>();
+			for( int i = 0; i < count; i++ )
+			{
+				Note note = new Note();
+				note.setNoteId( i + 1 );
+				notes.add( note );
+			}
+			return notes;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.alexpacheco.therapynotes.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName( "StartupPipeline" )
+class StartupPipelineTest
+{
+	private ExecutorService executor;
+	private StartupPipeline startup;
+	
+	@BeforeEach
+	void setUp()
+	{
+		executor = Executors.newFixedThreadPool( 4 );
+		startup = new StartupPipeline( executor );
+	}
+	
+	@AfterEach
+	void tearDown()
+	{
+		executor.shutdownNow();
+	}
+	
+	@Nested
+	@DisplayName( "Scheduling" )
+	class Scheduling
+	{
+		@Test
+		@DisplayName( "Independent stages run at the same time" )
+		void independentStagesRunConcurrently() throws Exception
+		{
+			// Each stage waits for the other, so this only finishes if both are running at once
+			CyclicBarrier barrier = new CyclicBarrier( 2 );
+			startup.add( "a", () -> barrier.await( 5, TimeUnit.SECONDS ) );
+			startup.add( "b", () -> barrier.await( 5, TimeUnit.SECONDS ) );
+			
+			startup.await( "a" );
+			startup.await( "b" );
+		}
+		
+		@Test
+		@DisplayName( "A stage starts only after all of its dependencies finish" )
+		void dependenciesRunFirst() throws Exception
+		{
+			List<String> order = new CopyOnWriteArrayList<>();
+			startup.add( "a", () ->
+			{
+				Thread.sleep( 50 );
+				order.add( "a" );
+			} );
+			startup.add( "b", () -> order.add( "b" ) );
+			startup.add( "c", () -> order.add( "c" ), "a", "b" );
+			
+			startup.await( "c" );
+			
+			assertEquals( 3, order.size() );
+			assertEquals( "c", order.get( 2 ) );
+		}
+		
+		@Test
+		@DisplayName( "Dependencies must already be added" )
+		void unknownDependency()
+		{
+			assertThrows( IllegalArgumentException.class, () -> startup.add( "a", () -> {}, "missing" ) );
+			startup.add( "b", () -> {} );
+			assertThrows( IllegalArgumentException.class, () -> startup.add( "b", () -> {} ) );
+		}
+		
+		@Test
+		@DisplayName( "whenFinished runs after every stage" )
+		void whenFinished() throws Exception
+		{
+			CountDownLatch release = new CountDownLatch( 1 );
+			CountDownLatch finished = new CountDownLatch( 1 );
+			startup.add( "a", () -> release.await( 5, TimeUnit.SECONDS ) );
+			startup.add( "b", () -> {}, "a" );
+			startup.whenFinished( finished::countDown );
+			
+			assertFalse( finished.await( 50, TimeUnit.MILLISECONDS ) );
+			release.countDown();
+			assertTrue( finished.await( 5, TimeUnit.SECONDS ) );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Failures" )
+	class Failures
+	{
+		@Test
+		@DisplayName( "await rethrows the stage's exception" )
+		void failureRethrown()
+		{
+			startup.add( "a", () ->
+			{
+				throw new IllegalStateException( "boom" );
+			} );
+			
+			IllegalStateException e = assertThrows( IllegalStateException.class, () -> startup.await( "a" ) );
+			assertEquals( "boom", e.getMessage() );
+		}
+		
+		@Test
+		@DisplayName( "Dependents of a failed stage are skipped and fail with the same cause" )
+		void dependentsSkipped()
+		{
+			AtomicBoolean ran = new AtomicBoolean();
+			startup.add( "a", () ->
+			{
+				throw new IOException( "missing" );
+			} );
+			startup.add( "b", () -> ran.set( true ), "a" );
+			
+			assertThrows( IOException.class, () -> startup.await( "b" ) );
+			assertFalse( ran.get() );
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.alexpacheco.therapynotes.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.alexpacheco.therapynotes.util.DbUtil;
+
+@DisplayName( "SyntheticDataGenerator" )
+class SyntheticDataGeneratorTest
+{
+	private Connection conn;
+	
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		conn = DbUtil.getConnection( "jdbc:sqlite::memory:" );
+	}
+	
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		conn.close();
+	}
+	
+	@Nested
+	@DisplayName( "generate" )
+	class Generate
+	{
+		@Test
+		@DisplayName( "Writes the requested clients and notes with their junction rows" )
+		void writesRequestedCounts() throws SQLException
+		{
+			new SyntheticDataGenerator( 1L, 12, 7 ).setBatchSize( 10 ).generate( conn );
+			
+			assertEquals( 12, _count( "SELECT COUNT(*) FROM clients" ) );
+			assertEquals( 84, _count( "SELECT COUNT(*) FROM notes" ) );
+			assertEquals( 12, _count( "SELECT COUNT(DISTINCT client_id) FROM notes" ) );
+			assertEquals( 0, _count( "SELECT COUNT(*) FROM notes n WHERE NOT EXISTS (SELECT 1 FROM symptoms s WHERE s.note_id = n.note_id)" ) );
+			assertEquals( 1000, _count( "SELECT MIN(client_id) FROM clients" ) );
+			assertTrue( conn.getAutoCommit() );
+		}
+		
+		@Test
+		@DisplayName( "Produces the same content for the same seed" )
+		void deterministic() throws SQLException
+		{
+			new SyntheticDataGenerator( 42L, 5, 4 ).generate( conn );
+			try( Connection other = DbUtil.getConnection( "jdbc:sqlite::memory:" ) )
+			{
+				new SyntheticDataGenerator( 42L, 5, 4 ).generate( other );
+				assertEquals( _notes( other ), _notes( conn ) );
+			}
+		}
+		
+		@Test
+		@DisplayName( "Indexes the generated notes for full-text search and restores the insert trigger" )
+		void rebuildsFullTextIndex() throws SQLException
+		{
+			new SyntheticDataGenerator( 3L, 4, 5 ).generate( conn );
+			
+			int withWord = _count( "SELECT COUNT(*) FROM notes WHERE ' ' || narrative LIKE '% client%'" );
+			assertTrue( withWord > 0 );
+			assertEquals( withWord, _count( "SELECT COUNT(*) FROM notes_fts WHERE notes_fts MATCH 'client'" ) );
+			assertEquals( 1, _count( "SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' AND name = 'trig_notes_fts_insert'" ) );
+		}
+		
+		@Test
+		@DisplayName( "Continues ids after rows already in the database" )
+		void appendsAfterExistingRows() throws SQLException
+		{
+			new SyntheticDataGenerator( 5L, 3, 2 ).generate( conn );
+			new SyntheticDataGenerator( 5L, 3, 2 ).generate( conn );
+			
+			assertEquals( 6, _count( "SELECT COUNT(*) FROM clients" ) );
+			assertEquals( 12, _count( "SELECT COUNT(*) FROM notes" ) );
+			assertEquals( 1005, _count( "SELECT MAX(client_id) FROM clients" ) );
+		}
+	}
+	
+	private int _count( String sql ) throws SQLException
+	{
+		try( Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery( sql ) )
+		{
+			return rs.next() ? rs.getInt( 1 ) : 0;
+		}
+	}
+	
+	private static List<String> _notes( Connection conn ) throws SQLException
+	{
+		List<String> rows = new ArrayList<>();
+		try( Statement stmt = conn.createStatement();
+				ResultSet rs = stmt.executeQuery( "SELECT note_id, client_id, appt_date_time, narrative FROM notes ORDER BY note_id" ) )
+		{
+			while( rs.next() )
+			{
+				rows.add( rs.getInt( 1 ) + "|" + rs.getInt( 2 ) + "|" + rs.getString( 3 ) + "|" + rs.getString( 4 ) );
+			}
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,95 @@
+package com.alexpacheco.therapynotes.install;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Points user.home at a temporary directory so the manager reads and writes a throwaway properties file.
+ */
+@DisplayName( "SetupConfigurationManager" )
+@DisabledOnOs( OS.WINDOWS )
+class SetupConfigurationManagerTest
+{
+	@TempDir
+	Path home;
+	
+	private String originalHome;
+	private Path configFile;
+	
+	@BeforeEach
+	void setUp()
+	{
+		originalHome = System.getProperty( "user.home" );
+		System.setProperty( "user.home", home.toString() );
+		SetupConfigurationManager.invalidate();
+		
+		String dir = System.getProperty( "os.name" ).toLowerCase().contains( "mac" ) ? "Library/Application Support" : ".config";
+		configFile = home.resolve( dir ).resolve( "TherapyNotes" ).resolve( "therapy_notes.properties" );
+	}
+	
+	@AfterEach
+	void tearDown()
+	{
+		System.setProperty( "user.home", originalHome );
+		SetupConfigurationManager.setChangeCheckInterval( SetupConfigurationManager.DEFAULT_CHANGE_CHECK_INTERVAL_MS );
+		SetupConfigurationManager.invalidate();
+	}
+	
+	@Nested
+	@DisplayName( "Snapshot" )
+	class Snapshot
+	{
+		@Test
+		@DisplayName( "Writes are visible to the next read and saved to the file" )
+		void writesReplaceSnapshot() throws Exception
+		{
+			assertFalse( SetupConfigurationManager.isSetupComplete() );
+			
+			SetupConfigurationManager.setValue( "practice.name", "Harbor Counseling" );
+			SetupConfigurationManager.markSetupComplete();
+			
+			assertEquals( "Harbor Counseling", SetupConfigurationManager.getValue( "practice.name" ) );
+			assertTrue( SetupConfigurationManager.isSetupComplete() );
+			assertTrue( Files.readString( configFile ).contains( "Harbor Counseling" ) );
+		}
+		
+		@Test
+		@DisplayName( "Reads within the check interval do not touch the file" )
+		void readsServedFromMemory() throws Exception
+		{
+			SetupConfigurationManager.setValue( "practice.name", "Harbor Counseling" );
+			SetupConfigurationManager.setChangeCheckInterval( 60_000 );
+			
+			Files.delete( configFile );
+			
+			assertEquals( "Harbor Counseling", SetupConfigurationManager.getValue( "practice.name" ) );
+			assertEquals( "Harbor Counseling", SetupConfigurationManager.loadConfiguration().getPracticeName() );
+		}
+		
+		@Test
+		@DisplayName( "Edits made outside the app are picked up once the file changes" )
+		void detectsOutsideChanges() throws Exception
+		{
+			SetupConfigurationManager.setValue( "practice.name", "Harbor Counseling" );
+			SetupConfigurationManager.setChangeCheckInterval( 0 );
+			assertEquals( "Harbor Counseling", SetupConfigurationManager.getValue( "practice.name" ) );
+			
+			Files.writeString( configFile, "practice.name=Lakeside Therapy Group\n" );
+			Files.setLastModifiedTime( configFile, FileTime.fromMillis( System.currentTimeMillis() + 5_000 ) );
+			
+			assertEquals( "Lakeside Therapy Group", SetupConfigurationManager.getValue( "practice.name" ) );
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package com.alexpacheco.therapynotes.model.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.alexpacheco.therapynotes.controller.DatabaseInitializer;
+import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.util.DbUtil;
+import com.alexpacheco.therapynotes.util.PreferencesUtil;
+
+/**
+ * Runs NoteApi against a temporary file database that DbUtil's pool is pointed at for the duration of the class. No note fields are
+ * required, so only a missing client fails validation.
+ */
+@DisplayName( "NoteApi" )
+class NoteApiTest
+{
+	@TempDir
+	static Path tempDir;
+	
+	private final NoteApi api = new NoteApi();
+	private int clientId;
+	
+	@BeforeAll
+	static void initDb() throws Exception
+	{
+		String dbUrl = "jdbc:sqlite:" + tempDir.resolve( "note-api-test.db" );
+		try( Connection conn = DbUtil.getConnection( dbUrl ) )
+		{
+			DatabaseInitializer.migrate( conn );
+		}
+		DbUtil.setDbUrl( dbUrl );
+		DatabaseInitializer.initializeDefaultPreferences();
+		_execute( "UPDATE user_preferences SET preference_value = 'false' WHERE preference_key LIKE 'required.%'" );
+		PreferencesUtil.invalidate();
+	}
+	
+	@AfterAll
+	static void resetDb()
+	{
+		DbUtil.setDbUrl( null );
+		PreferencesUtil.invalidate();
+	}
+	
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		_execute( "INSERT INTO clients (client_code) VALUES ('API-1')" );
+		clientId = _count( "SELECT client_id FROM clients WHERE client_code = 'API-1'" );
+	}
+	
+	@AfterEach
+	void cleanUp() throws SQLException
+	{
+		_execute( "DELETE FROM notes" );
+		_execute( "DELETE FROM clients" );
+	}
+	
+	@Nested
+	@DisplayName( "createNotes" )
+	class CreateNotes
+	{
+		@Test
+		@DisplayName( "Reports the committed count after each commit" )
+		void reportsProgress() throws TherapyAppException, SQLException
+		{
+			List<Integer> progress = new ArrayList<>();
+			List<Note> notes = _notes( 5 );
+			
+			int saved = api.createNotes( notes, 2, progress::add );
+			
+			assertEquals( 5, saved );
+			assertEquals( List.of( 2, 4, 5 ), progress );
+			assertEquals( 5, _count( "SELECT COUNT(*) FROM notes" ) );
+			notes.forEach( note -> assertNotNull( note.getNoteId() ) );
+		}
+		
+		@Test
+		@DisplayName( "An invalid note rolls back its batch and keeps the batches already committed" )
+		void invalidNoteRollsBackBatch() throws SQLException
+		{
+			List<Note> notes = _notes( 5 );
+			notes.get( 3 ).setClient( null );
+			List<Integer> progress = new ArrayList<>();
+			
+			TherapyAppException e = assertThrows( TherapyAppException.class, () -> api.createNotes( notes, 2, progress::add ) );
+			
+			assertEquals( ErrorCode.REQ_MISSING, e.getErrorCode() );
+			assertEquals( List.of( 2 ), progress );
+			assertEquals( 2, _count( "SELECT COUNT(*) FROM notes" ) );
+			assertNotNull( notes.get( 1 ).getNoteId() );
+			assertNull( notes.get( 2 ).getNoteId(), "The rolled-back note should not keep its id" );
+		}
+		
+		@Test
+		@DisplayName( "A batch size below one commits after every note" )
+		void clampsBatchSize() throws TherapyAppException, SQLException
+		{
+			List<Integer> zero = new ArrayList<>();
+			List<Integer> negative = new ArrayList<>();
+			
+			api.createNotes( _notes( 3 ), 0, zero::add );
+			api.createNotes( _notes( 2 ), -5, negative::add );
+			
+			assertEquals( List.of( 1, 2, 3 ), zero );
+			assertEquals( List.of( 1, 2 ), negative );
+			assertEquals( 5, _count( "SELECT COUNT(*) FROM notes" ) );
+		}
+	}
+	
+	private List<Note> _notes( int count )
+	{
+		List<Note> notes = new ArrayList<>();
+		for( int i = 0; i < count; i++ )
+		{
+			Client client = new Client();
+			client.setClientId( clientId );
+			
+			Note note = new Note();
+			note.setClient( client );
+			note.setApptDateTime( LocalDateTime.of( 2025, 4, 1, 9, 0 ).plusWeeks( i ) );
+			note.setNarrative( "Bulk narrative " + i );
+			note.setSymptoms( List.of() );
+			note.setReferrals( List.of() );
+			note.setCollateralContacts( List.of() );
+			notes.add( note );
+		}
+		return notes;
+	}
+	
+	private static int _count( String sql ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery( sql ) )
+		{
+			return rs.next() ? rs.getInt( 1 ) : 0;
+		}
+	}
+	
+	private static void _execute( String sql ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection(); Statement stmt = conn.createStatement() )
+		{
+			stmt.executeUpdate( sql );
+		}
+	}
+}
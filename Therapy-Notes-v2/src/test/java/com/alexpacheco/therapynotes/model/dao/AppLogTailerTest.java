@@ -0,0 +1,219 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.alexpacheco.therapynotes.model.entities.AppLog;
+
+@DisplayName( "AppLogTailer" )
+class AppLogTailerTest
+{
+	private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern( "yyyy-MM-dd HH:mm:ss.SSS" );
+	private static final LocalDateTime BASE_TIME = LocalDateTime.of( 2025, 3, 1, 8, 0 );
+	
+	@TempDir
+	Path logDir;
+	
+	private final LinkedBlockingQueue<AppLog> received = new LinkedBlockingQueue<>();
+	
+	@Test
+	@DisplayName( "Delivers only entries written after following began, including a record completed later" )
+	void deliversAppendedEntries() throws Exception
+	{
+		File current = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+		_append( current, 1, 5 );
+		
+		AppLogTailer tailer = new AppLogTailer( logDir.toString(), received::addAll );
+		try
+		{
+			_append( current, 6, 3 );
+			assertEquals( List.of( 6, 7, 8 ), _take( 3 ) );
+			
+			String line = _line( 9 );
+			_appendRaw( current, line.substring( 0, 20 ) );
+			_appendRaw( current, line.substring( 20 ) );
+			assertEquals( List.of( 9 ), _take( 1 ) );
+		}
+		finally
+		{
+			tailer.close();
+		}
+	}
+	
+	@Test
+	@DisplayName( "Finishes the rotated file before following the new one" )
+	void followsRotation() throws Exception
+	{
+		File current = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+		_append( current, 1, 5 );
+		
+		AppLogTailer tailer = new AppLogTailer( logDir.toString(), received::addAll );
+		try
+		{
+			_append( current, 6, 2 );
+			assertEquals( List.of( 6, 7 ), _take( 2 ) );
+			
+			// Entries written just before rotation, then the FileHandler renames the file and starts a new one
+			_append( current, 8, 2 );
+			assertTrue( current.renameTo( logDir.resolve( "TherapyNotes-1.log" ).toFile() ) );
+			_append( current, 10, 3 );
+			
+			assertEquals( List.of( 8, 9, 10, 11, 12 ), _take( 5 ) );
+		}
+		finally
+		{
+			tailer.close();
+		}
+	}
+	
+	@Test
+	@DisplayName( "Delivers the rotated file's last entries when a check finds no current file" )
+	void rotationBeforeNewFile() throws Exception
+	{
+		File current = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+		_append( current, 1, 5 );
+		CountDownLatch delivering = new CountDownLatch( 1 );
+		CountDownLatch release = new CountDownLatch( 1 );
+		
+		AppLogTailer tailer = new AppLogTailer( logDir.toString(), logs ->
+		{
+			received.addAll( logs );
+			delivering.countDown();
+			try
+			{
+				release.await();
+			}
+			catch( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+			}
+		} );
+		try
+		{
+			_append( current, 6, 2 );
+			assertTrue( delivering.await( 10, TimeUnit.SECONDS ), "Timed out waiting for the batch" );
+			assertEquals( List.of( 6, 7 ), _take( 2 ) );
+			
+			// While the tail thread is busy, the FileHandler writes its last records and renames the file, so the next check finds the
+			// rotated file but no current one
+			_append( current, 8, 2 );
+			assertTrue( current.renameTo( logDir.resolve( "TherapyNotes-1.log" ).toFile() ) );
+			release.countDown();
+			assertEquals( List.of( 8, 9 ), _take( 2 ) );
+			
+			_append( current, 10, 1 );
+			assertEquals( List.of( 10 ), _take( 1 ) );
+		}
+		finally
+		{
+			release.countDown();
+			tailer.close();
+		}
+	}
+	
+	@Test
+	@DisplayName( "Notices a rotation to a new file as long as the old position" )
+	void rotationToSameLength() throws Exception
+	{
+		File current = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+		_append( current, 1, 5 );
+		
+		AppLogTailer tailer = new AppLogTailer( logDir.toString(), received::addAll );
+		try
+		{
+			_append( current, 6, 2 );
+			assertEquals( List.of( 6, 7 ), _take( 2 ) );
+			
+			// Every line has the same length, so seven new lines end exactly where the old file was read up to
+			assertTrue( current.renameTo( logDir.resolve( "TherapyNotes-1.log" ).toFile() ) );
+			_append( current, 10, 7 );
+			
+			assertEquals( List.of( 10, 11, 12, 13, 14, 15, 16 ), _take( 7 ) );
+		}
+		finally
+		{
+			tailer.close();
+		}
+	}
+	
+	@Test
+	@DisplayName( "Close waits for a batch being delivered" )
+	void closeWaitsForDelivery() throws Exception
+	{
+		File current = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+		_append( current, 1, 1 );
+		CountDownLatch delivering = new CountDownLatch( 1 );
+		AtomicBoolean delivered = new AtomicBoolean();
+		
+		AppLogTailer tailer = new AppLogTailer( logDir.toString(), logs ->
+		{
+			delivering.countDown();
+			try
+			{
+				Thread.sleep( 300 );
+			}
+			catch( InterruptedException e )
+			{
+				// Interrupted by close; finish the batch regardless
+			}
+			delivered.set( true );
+		} );
+		_append( current, 2, 1 );
+		assertTrue( delivering.await( 10, TimeUnit.SECONDS ), "Timed out waiting for the batch" );
+		
+		tailer.close();
+		
+		assertTrue( delivered.get(), "close() should return only after the listener has finished" );
+	}
+	
+	private List<Integer> _take( int count ) throws InterruptedException
+	{
+		List<Integer> ids = new ArrayList<>();
+		while( ids.size() < count )
+		{
+			AppLog log = received.poll( 10, TimeUnit.SECONDS );
+			assertNotNull( log, "Timed out waiting for followed entries, got " + ids );
+			ids.add( log.getId() );
+		}
+		return ids;
+	}
+	
+	private static void _append( File log, int firstId, int count ) throws IOException
+	{
+		StringBuilder sb = new StringBuilder();
+		for( int id = firstId; id < firstId + count; id++ )
+		{
+			sb.append( _line( id ) );
+		}
+		_appendRaw( log, sb.toString() );
+	}
+	
+	private static String _line( int id )
+	{
+		return String.format( "[%05d] [%s] [%s] [%-7s] [%-40s] %s%n", id, BASE_TIME.plusSeconds( id ).format( FORMATTER ), "session-a",
+				"INFO", "NotesDao.getNote", "Entry " + id );
+	}
+	
+	private static void _appendRaw( File log, String text ) throws IOException
+	{
+		Files.write( log.toPath(), text.getBytes( Charset.defaultCharset() ), StandardOpenOption.CREATE, StandardOpenOption.APPEND );
+	}
+}
@@ -0,0 +1,250 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.alexpacheco.therapynotes.model.entities.AppLog;
+
+@DisplayName( "AppLogsDao" )
+class AppLogsDaoTest
+{
+	private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern( "yyyy-MM-dd HH:mm:ss.SSS" );
+	private static final LocalDateTime BASE_TIME = LocalDateTime.of( 2025, 3, 1, 8, 0 );
+	private static final String[] LEVELS = { "INFO", "INFO", "INFO", "WARNING", "INFO", "SEVERE", "FINE" };
+	
+	@TempDir
+	Path logDir;
+	
+	private AppLogsDao dao;
+	private int sequence;
+	
+	@BeforeEach
+	void setUp()
+	{
+		dao = new AppLogsDao( logDir.toString() );
+		sequence = 0;
+	}
+	
+	@Nested
+	@DisplayName( "Indexed queries" )
+	class IndexedQueries
+	{
+		@Test
+		@DisplayName( "maxResults returns the newest matching entries in order" )
+		void maxResults_returnsNewestFirst() throws IOException
+		{
+			_writeRotatedFiles();
+			
+			List<AppLog> all = dao.getAllLogs();
+			assertEquals( 1500, all.size() );
+			
+			List<AppLog> newest = dao.getLogs( null, null, null, null, 25 );
+			assertEquals( _ids( all.subList( 0, 25 ) ), _ids( newest ) );
+			assertEquals( 1500, newest.get( 0 ).getId() );
+		}
+		
+		@Test
+		@DisplayName( "Level, session and date filters agree with filtering every entry" )
+		void filters_matchFullScan() throws IOException
+		{
+			_writeRotatedFiles();
+			List<AppLog> all = dao.getAllLogs();
+			
+			LocalDateTime start = BASE_TIME.plusMinutes( 300 );
+			LocalDateTime end = BASE_TIME.plusMinutes( 900 );
+			List<AppLog> expected = all.stream()
+					.filter( l -> "SEVERE".equals( l.getLevel() ) && "session-b".equals( l.getSessionId() )
+							&& !l.getTimestamp().isBefore( start ) && !l.getTimestamp().isAfter( end ) )
+					.limit( 10 ).collect( Collectors.toList() );
+			
+			assertFalse( expected.isEmpty() );
+			assertEquals( _ids( expected ), _ids( dao.getLogs( start, end, "SEVERE", "session-b", 10 ) ) );
+		}
+		
+		@Test
+		@DisplayName( "Multi-line messages are returned whole" )
+		void multiLineMessages() throws IOException
+		{
+			File log = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+			_append( log, "session-a", 3 );
+			_appendRaw( log, _line( ++sequence, BASE_TIME.plusMinutes( sequence ), "session-a", "SEVERE", "Failure" )
+					+ "java.lang.IllegalStateException: boom" + System.lineSeparator() + "\tat Foo.bar(Foo.java:1)" + System.lineSeparator() );
+			_append( log, "session-a", 2 );
+			
+			AppLog failure = dao.getLogs( null, null, "SEVERE", null, 10 ).stream().filter( l -> l.getMessage().startsWith( "Failure" ) )
+					.findFirst().orElseThrow();
+			assertEquals( "Failure\njava.lang.IllegalStateException: boom\n\tat Foo.bar(Foo.java:1)", failure.getMessage() );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Sidecar index" )
+	class SidecarIndex
+	{
+		@Test
+		@DisplayName( "Picks up entries appended after the index was built" )
+		void incrementalAppend() throws IOException
+		{
+			File log = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+			_append( log, "session-a", 200 );
+			assertEquals( 200, dao.getAllLogs().size() );
+			assertTrue( AppLogIndex.sidecarFor( log ).exists() );
+			
+			_append( log, "session-a", 50 );
+			List<AppLog> logs = dao.getLogs( null, null, null, null, 5 );
+			assertEquals( 250, logs.get( 0 ).getId() );
+			assertEquals( 250, dao.getAllLogs().size() );
+		}
+		
+		@Test
+		@DisplayName( "Survives rotation and removes sidecars of deleted files" )
+		void rotation() throws IOException
+		{
+			File current = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+			_append( current, "session-a", 300 );
+			assertEquals( 300, dao.getAllLogs().size() );
+			
+			// Rotate the way FileHandler does: rename, then start a new file
+			File rotated = logDir.resolve( "TherapyNotes-1.log" ).toFile();
+			assertTrue( current.renameTo( rotated ) );
+			_touchOlder( rotated );
+			_append( current, "session-b", 40 );
+			
+			List<AppLog> all = dao.getAllLogs();
+			assertEquals( 340, all.size() );
+			assertEquals( 340, all.get( 0 ).getId() );
+			assertEquals( 40, dao.getAllLogs( null, null, null, "session-b" ).size() );
+			assertTrue( AppLogIndex.sidecarFor( rotated ).exists() );
+			
+			assertTrue( rotated.delete() );
+			assertEquals( 40, dao.getAllLogs().size() );
+			assertFalse( AppLogIndex.sidecarFor( rotated ).exists() );
+		}
+		
+		@Test
+		@DisplayName( "A damaged sidecar is rebuilt" )
+		void damagedSidecar() throws IOException
+		{
+			File log = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+			_append( log, "session-a", 20 );
+			dao.getAllLogs();
+			
+			Files.write( AppLogIndex.sidecarFor( log ).toPath(), new byte[] { 1, 2, 3 } );
+			assertEquals( 20, dao.getAllLogs().size() );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Recent logs" )
+	class RecentLogs
+	{
+		@Test
+		@DisplayName( "Reads the newest entries across rotated files, newest first" )
+		void newestAcrossFiles() throws IOException
+		{
+			_writeRotatedFiles();
+			
+			List<AppLog> all = dao.getAllLogs();
+			assertEquals( _ids( all.subList( 0, 1 ) ), _ids( dao.getRecentLogs( 1 ) ) );
+			assertEquals( _ids( all.subList( 0, 700 ) ), _ids( dao.getRecentLogs( 700 ) ) );
+			assertEquals( 1500, dao.getRecentLogs( 5000 ).size() );
+		}
+		
+		@Test
+		@DisplayName( "Reassembles multi-line messages and ignores a partly written last line" )
+		void multiLineAndPartialLine() throws IOException
+		{
+			File log = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+			_append( log, "session-a", 2 );
+			_appendRaw( log, _line( ++sequence, BASE_TIME.plusMinutes( sequence ), "session-a", "SEVERE", "Failure" )
+					+ "java.lang.IllegalStateException: boom" + System.lineSeparator() + System.lineSeparator() + "\tat Foo.bar(Foo.java:1)"
+					+ System.lineSeparator() );
+			_appendRaw( log, "[00004] [2025-03-01 08:04:00.000] [session-a] [INFO" );
+			
+			List<AppLog> recent = dao.getRecentLogs( 2 );
+			assertEquals( 3, recent.get( 0 ).getId() );
+			assertEquals( "Failure\njava.lang.IllegalStateException: boom\n\tat Foo.bar(Foo.java:1)", recent.get( 0 ).getMessage() );
+			assertEquals( 2, recent.get( 1 ).getId() );
+		}
+		
+		@Test
+		@DisplayName( "Handles entries longer than one read block" )
+		void longEntries() throws IOException
+		{
+			File log = logDir.resolve( "TherapyNotes-0.log" ).toFile();
+			_append( log, "session-a", 3 );
+			String longMessage = "x".repeat( 200_000 );
+			_appendRaw( log, _line( ++sequence, BASE_TIME.plusMinutes( sequence ), "session-a", "INFO", longMessage ) );
+			_append( log, "session-a", 3 );
+			
+			List<AppLog> recent = dao.getRecentLogs( 10 );
+			assertEquals( List.of( 7, 6, 5, 4, 3, 2, 1 ), _ids( recent ) );
+			assertEquals( longMessage, recent.get( 3 ).getMessage() );
+		}
+	}
+	
+	/**
+	 * Writes three rotated files of 500 entries each, oldest in TherapyNotes-2.log, alternating sessions every 100 entries.
+	 */
+	private void _writeRotatedFiles() throws IOException
+	{
+		for( int file = 2; file >= 0; file-- )
+		{
+			File log = logDir.resolve( "TherapyNotes-" + file + ".log" ).toFile();
+			for( int block = 0; block < 5; block++ )
+			{
+				_append( log, block % 2 == 0 ? "session-a" : "session-b", 100 );
+			}
+			log.setLastModified( System.currentTimeMillis() - file * 60_000L );
+		}
+	}
+	
+	private void _append( File log, String session, int count ) throws IOException
+	{
+		StringBuilder sb = new StringBuilder();
+		for( int i = 0; i < count; i++ )
+		{
+			sequence++;
+			sb.append( _line( sequence, BASE_TIME.plusMinutes( sequence ), session, LEVELS[sequence % LEVELS.length],
+					"Entry " + sequence ) );
+		}
+		_appendRaw( log, sb.toString() );
+	}
+	
+	private static String _line( int id, LocalDateTime time, String session, String level, String message )
+	{
+		return String.format( "[%05d] [%s] [%s] [%-7s] [%-40s] %s%n", id, time.format( FORMATTER ), session, level, "NotesDao.getNote",
+				message );
+	}
+	
+	private static void _appendRaw( File log, String text ) throws IOException
+	{
+		Files.write( log.toPath(), text.getBytes( Charset.defaultCharset() ), StandardOpenOption.CREATE, StandardOpenOption.APPEND );
+	}
+	
+	private static void _touchOlder( File file )
+	{
+		file.setLastModified( System.currentTimeMillis() - 60_000L );
+	}
+	
+	private static List<Integer> _ids( List<AppLog> logs )
+	{
+		return logs.stream().map( AppLog::getId ).collect( Collectors.toList() );
+	}
+}
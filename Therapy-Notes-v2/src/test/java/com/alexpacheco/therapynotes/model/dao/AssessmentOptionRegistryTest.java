@@ -0,0 +1,112 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.alexpacheco.therapynotes.BaseDatabaseTest;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOption;
+import com.alexpacheco.therapynotes.model.entities.assessmentoptions.AssessmentOptionType;
+
+@DisplayName( "AssessmentOptionRegistry" )
+class AssessmentOptionRegistryTest extends BaseDatabaseTest
+{
+	private final AssessmentOptionRegistry registry = AssessmentOptionRegistry.getInstance();
+	
+	@BeforeEach
+	void setUp()
+	{
+		registry.invalidate();
+	}
+	
+	@AfterEach
+	void cleanUp() throws SQLException
+	{
+		try( Statement stmt = conn.createStatement() )
+		{
+			stmt.execute( "DELETE FROM assessment_options WHERE name LIKE 'Registry Test%'" );
+		}
+		registry.invalidate();
+	}
+	
+	@Test
+	@DisplayName( "First lookup loads the table once, later lookups are served from memory" )
+	void lookups_areServedFromSnapshot() throws SQLException
+	{
+		int id = _insertOption( "Registry Test Appearance", "appearance", false );
+		long loads = registry.getLoadCount();
+		long hits = registry.getHitCount();
+		
+		Map<Integer, AssessmentOption> first = registry.getOptionsByIds( conn, Set.of( id ) );
+		assertEquals( "Registry Test Appearance", first.get( id ).getName() );
+		assertEquals( loads + 1, registry.getLoadCount() );
+		
+		for( int i = 0; i < 3; i++ )
+		{
+			assertSame( first.get( id ), registry.getOption( id ) );
+		}
+		
+		assertEquals( loads + 1, registry.getLoadCount(), "Cached lookups should not reload the table" );
+		assertTrue( registry.getHitCount() >= hits + 4 );
+	}
+	
+	@Test
+	@DisplayName( "Type lists exclude inactive options while id lookups still resolve them" )
+	void inactiveOptions_excludedFromTypeLists() throws SQLException
+	{
+		int active = _insertOption( "Registry Test Active", "speech", false );
+		int inactive = _insertOption( "Registry Test Inactive", "speech", true );
+		registry.getOptionsByIds( conn, Set.of( active ) );
+		
+		List<AssessmentOption> speech = registry.getOptions( AssessmentOptionType.SPEECH );
+		assertTrue( speech.stream().anyMatch( o -> o.getId() == active ) );
+		assertFalse( speech.stream().anyMatch( o -> o.getId() == inactive ) );
+		assertNotNull( registry.getOption( inactive ) );
+	}
+	
+	@Test
+	@DisplayName( "Invalidation forces the next lookup to reload" )
+	void invalidate_forcesReload() throws SQLException
+	{
+		int id = _insertOption( "Registry Test Reload", "affect", false );
+		registry.getOptionsByIds( conn, Set.of( id ) );
+		long loads = registry.getLoadCount();
+		
+		try( Statement stmt = conn.createStatement() )
+		{
+			stmt.execute( "UPDATE assessment_options SET name = 'Registry Test Renamed' WHERE id = " + id );
+		}
+		registry.invalidate();
+		
+		assertEquals( "Registry Test Renamed", registry.getOptionsByIds( conn, Set.of( id ) ).get( id ).getName() );
+		assertEquals( loads + 1, registry.getLoadCount() );
+	}
+	
+	private int _insertOption( String name, String type, boolean inactive ) throws SQLException
+	{
+		try( PreparedStatement pstmt = conn.prepareStatement( "INSERT INTO assessment_options (type, name, inactive) VALUES (?, ?, ?)",
+				Statement.RETURN_GENERATED_KEYS ) )
+		{
+			pstmt.setString( 1, type );
+			pstmt.setString( 2, name );
+			pstmt.setInt( 3, inactive ? 1 : 0 );
+			pstmt.executeUpdate();
+			try( ResultSet keys = pstmt.getGeneratedKeys() )
+			{
+				keys.next();
+				return keys.getInt( 1 );
+			}
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.alexpacheco.therapynotes.BaseDatabaseTest;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.entities.Note;
+
+@DisplayName( "NoteHydrator" )
+class NoteHydratorTest extends BaseDatabaseTest
+{
+	private int clientA;
+	private int clientB;
+	private int appearanceId;
+	private int symptomId;
+	private int referralId;
+	
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		AssessmentOptionRegistry.getInstance().invalidate();
+		clientA = _insertClient( "HYD-A" );
+		clientB = _insertClient( "HYD-B" );
+		appearanceId = _firstOptionId( "appearance" );
+		symptomId = _firstOptionId( "symptoms" );
+		referralId = _firstOptionId( "referrals" );
+	}
+	
+	@AfterEach
+	void cleanUp() throws SQLException
+	{
+		try( Statement stmt = conn.createStatement() )
+		{
+			stmt.execute( "DELETE FROM notes" );
+			stmt.execute( "DELETE FROM clients WHERE client_code LIKE 'HYD-%'" );
+		}
+		AssessmentOptionRegistry.getInstance().invalidate();
+	}
+	
+	@Test
+	@DisplayName( "Hydrates clients, options and junction rows for every note in row order" )
+	void hydrate_populatesAllReferences() throws SQLException, TherapyAppException
+	{
+		int first = _insertNote( clientA, "2025-01-02 10:00:00", appearanceId );
+		int second = _insertNote( clientB, "2025-01-01 10:00:00", null );
+		_insertJunction( "INSERT INTO symptoms (note_id, symptom_id) VALUES (?, ?)", first, symptomId );
+		_insertJunction( "INSERT INTO referrals (note_id, referral_id) VALUES (?, ?)", second, referralId );
+		
+		List<Note> notes = _hydrateAll();
+		
+		assertEquals( 2, notes.size() );
+		Note n1 = notes.get( 0 );
+		Note n2 = notes.get( 1 );
+		assertEquals( first, n1.getNoteId() );
+		assertEquals( second, n2.getNoteId() );
+		
+		assertEquals( "HYD-A", n1.getClient().getClientCode() );
+		assertEquals( "HYD-B", n2.getClient().getClientCode() );
+		
+		assertNotNull( n1.getAppearance() );
+		assertEquals( appearanceId, n1.getAppearance().getId() );
+		assertNull( n2.getAppearance(), "A NULL option column should not resolve to an option" );
+		
+		assertEquals( 1, n1.getSymptoms().size() );
+		assertEquals( symptomId, n1.getSymptoms().get( 0 ).getSymptomId() );
+		assertTrue( n1.getReferrals().isEmpty() );
+		assertTrue( n2.getSymptoms().isEmpty() );
+		assertEquals( 1, n2.getReferrals().size() );
+		assertTrue( n2.getCollateralContacts().isEmpty() );
+	}
+	
+	@Test
+	@DisplayName( "Hydrating an empty page returns an empty list" )
+	void hydrate_emptyPage() throws SQLException, TherapyAppException
+	{
+		assertTrue( new NoteHydrator().hydrate( conn ).isEmpty() );
+	}
+	
+	private List<Note> _hydrateAll() throws SQLException, TherapyAppException
+	{
+		NoteHydrator hydrator = new NoteHydrator();
+		try( Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery( "SELECT * FROM notes ORDER BY appt_date_time DESC" ) )
+		{
+			while( rs.next() )
+			{
+				hydrator.addRow( rs );
+			}
+		}
+		return hydrator.hydrate( conn );
+	}
+	
+	private int _insertClient( String code ) throws SQLException
+	{
+		try( PreparedStatement pstmt = conn.prepareStatement( "INSERT INTO clients (client_code, first_name) VALUES (?, ?)",
+				Statement.RETURN_GENERATED_KEYS ) )
+		{
+			pstmt.setString( 1, code );
+			pstmt.setString( 2, code );
+			pstmt.executeUpdate();
+			try( ResultSet keys = pstmt.getGeneratedKeys() )
+			{
+				keys.next();
+				return keys.getInt( 1 );
+			}
+		}
+	}
+	
+	private int _insertNote( int clientId, String apptDateTime, Integer appearance ) throws SQLException
+	{
+		try( PreparedStatement pstmt = conn.prepareStatement( "INSERT INTO notes (client_id, appt_date_time, appearance) VALUES (?, ?, ?)",
+				Statement.RETURN_GENERATED_KEYS ) )
+		{
+			pstmt.setInt( 1, clientId );
+			pstmt.setString( 2, apptDateTime );
+			pstmt.setObject( 3, appearance );
+			pstmt.executeUpdate();
+			try( ResultSet keys = pstmt.getGeneratedKeys() )
+			{
+				keys.next();
+				return keys.getInt( 1 );
+			}
+		}
+	}
+	
+	private void _insertJunction( String sql, int noteId, int optionId ) throws SQLException
+	{
+		try( PreparedStatement pstmt = conn.prepareStatement( sql ) )
+		{
+			pstmt.setInt( 1, noteId );
+			pstmt.setInt( 2, optionId );
+			pstmt.executeUpdate();
+		}
+	}
+	
+	private int _firstOptionId( String type ) throws SQLException
+	{
+		try( PreparedStatement pstmt = conn.prepareStatement( "SELECT MIN(id) FROM assessment_options WHERE type = ?" ) )
+		{
+			pstmt.setString( 1, type );
+			try( ResultSet rs = pstmt.executeQuery() )
+			{
+				rs.next();
+				return rs.getInt( 1 );
+			}
+		}
+	}
+}
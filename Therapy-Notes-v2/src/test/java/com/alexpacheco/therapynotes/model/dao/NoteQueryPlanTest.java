@@ -0,0 +1,86 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.alexpacheco.therapynotes.BaseDatabaseTest;
+import com.alexpacheco.therapynotes.controller.DatabaseInitializer;
+
+/**
+ * Checks with EXPLAIN QUERY PLAN that the note queries are served by the migration indexes rather than table scans or sorts.
+ */
+@DisplayName( "Note query plans" )
+class NoteQueryPlanTest extends BaseDatabaseTest
+{
+	@Test
+	@DisplayName( "Migrations bring the schema to the latest version and are idempotent" )
+	void migrations_areApplied() throws SQLException
+	{
+		assertEquals( DatabaseInitializer.getLatestSchemaVersion(), DatabaseInitializer.getSchemaVersion( conn ) );
+		DatabaseInitializer.applyMigrations( conn );
+		assertEquals( DatabaseInitializer.getLatestSchemaVersion(), DatabaseInitializer.getSchemaVersion( conn ) );
+	}
+	
+	@Test
+	@DisplayName( "Client history search uses the client/appointment index with no sort step" )
+	void clientSearch_usesClientApptIndex() throws SQLException
+	{
+		String plan = _explain( NotesDao.buildSearchSql( true, false, false, false ) );
+		assertTrue( plan.contains( "notes_client_appt_idx" ), plan );
+		assertFalse( plan.contains( "TEMP B-TREE" ), plan );
+	}
+	
+	@Test
+	@DisplayName( "Client search with a date range and a cursor seeks into the index range" )
+	void clientDateRangeSearch_isSargable() throws SQLException
+	{
+		String plan = _explain( NotesDao.buildSearchSql( true, true, true, true ) );
+		assertTrue( plan.contains( "notes_client_appt_idx (client_id=? AND appt_date_time>? AND appt_date_time<?)" ), plan );
+		assertFalse( plan.contains( "TEMP B-TREE" ), plan );
+	}
+	
+	@Test
+	@DisplayName( "Date-range search across all clients seeks the appointment index" )
+	void dateRangeSearch_isSargable() throws SQLException
+	{
+		String plan = _explain( NotesDao.buildSearchSql( false, true, true, false ) );
+		assertTrue( plan.contains( "SEARCH notes USING INDEX notes_appt_idx (appt_date_time>? AND appt_date_time<?)" ), plan );
+		assertFalse( plan.contains( "TEMP B-TREE" ), plan );
+	}
+	
+	@Test
+	@DisplayName( "Last diagnosis and highest session number lookups search by client" )
+	void clientLookups_useClientIndexes() throws SQLException
+	{
+		String diagnosisPlan = _explain( NotesDao.LAST_DIAGNOSIS_SQL );
+		assertTrue( diagnosisPlan.contains( "notes_client_insert_idx (client_id=?)" ), diagnosisPlan );
+		assertFalse( diagnosisPlan.contains( "TEMP B-TREE" ), diagnosisPlan );
+		
+		String sessionPlan = _explain( NotesDao.HIGHEST_SESSION_NUMBER_SQL );
+		assertTrue( sessionPlan.contains( "SEARCH notes USING" ) && sessionPlan.contains( "(client_id=?)" ), sessionPlan );
+	}
+	
+	/**
+	 * Returns the detail column of every plan row, one per line. Parameters are left unbound; SQLite plans with them as unknowns.
+	 */
+	private String _explain( String sql ) throws SQLException
+	{
+		List<String> details = new ArrayList<>();
+		try( PreparedStatement pstmt = conn.prepareStatement( "EXPLAIN QUERY PLAN " + sql ); ResultSet rs = pstmt.executeQuery() )
+		{
+			while( rs.next() )
+			{
+				details.add( rs.getString( "detail" ) );
+			}
+		}
+		return String.join( "\n", details );
+	}
+}
@@ -0,0 +1,418 @@
+package com.alexpacheco.therapynotes.model.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.alexpacheco.therapynotes.controller.DatabaseInitializer;
+import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.CollateralContact;
+import com.alexpacheco.therapynotes.model.entities.Note;
+import com.alexpacheco.therapynotes.model.entities.NotePage;
+import com.alexpacheco.therapynotes.model.entities.NoteSearchHit;
+import com.alexpacheco.therapynotes.model.entities.Referral;
+import com.alexpacheco.therapynotes.model.entities.Symptom;
+import com.alexpacheco.therapynotes.util.DbUtil;
+
+/**
+ * Runs NotesDao against a temporary file database that DbUtil's pool is pointed at for the duration of the class.
+ */
+@DisplayName( "NotesDao" )
+class NotesDaoTest
+{
+	@TempDir
+	static Path tempDir;
+	
+	private static String dbUrl;
+	private final NotesDao dao = new NotesDao();
+	private int clientId;
+	
+	@BeforeAll
+	static void initDb() throws SQLException
+	{
+		dbUrl = "jdbc:sqlite:" + tempDir.resolve( "notes-dao-test.db" );
+		try( Connection conn = DbUtil.getConnection( dbUrl ) )
+		{
+			DbUtil.executeSqlScript( conn, DatabaseInitializer.class.getResourceAsStream( "/schema-config.sql" ) );
+			DbUtil.executeTriggerScript( conn, DatabaseInitializer.class.getResourceAsStream( "/trigger-config.sql" ) );
+			DatabaseInitializer.applyMigrations( conn );
+			DbUtil.executeSqlScript( conn, DatabaseInitializer.class.getResourceAsStream( "/populate-option-tables.sql" ) );
+		}
+		DbUtil.setDbUrl( dbUrl );
+	}
+	
+	@AfterAll
+	static void resetDb()
+	{
+		DbUtil.setDbUrl( null );
+		AssessmentOptionRegistry.getInstance().invalidate();
+	}
+	
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		AssessmentOptionRegistry.getInstance().invalidate();
+		clientId = _insertClient( "PAGE-A" );
+	}
+	
+	@AfterEach
+	void cleanUp() throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection(); Statement stmt = conn.createStatement() )
+		{
+			stmt.execute( "DELETE FROM notes" );
+			stmt.execute( "DELETE FROM clients" );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Keyset pagination" )
+	class KeysetPagination
+	{
+		@Test
+		@DisplayName( "Pages cover every note exactly once, newest first, including ties on appointment time" )
+		void pages_coverAllNotesInOrder() throws SQLException, TherapyAppException
+		{
+			List<Integer> expected = new ArrayList<>();
+			expected.add( _insertNote( "2025-03-01 09:00:00" ) );
+			int tieA = _insertNote( "2025-02-01 09:00:00" );
+			int tieB = _insertNote( "2025-02-01 09:00:00" );
+			expected.add( tieB );
+			expected.add( tieA );
+			expected.add( _insertNote( "2025-01-15 09:00:00" ) );
+			expected.add( _insertNote( "2024-12-01 09:00:00" ) );
+			expected.add( _insertNote( "2024-11-01 09:00:00" ) );
+			int undated = _insertNote( null );
+			expected.add( undated );
+			
+			List<Integer> actual = new ArrayList<>();
+			String token = null;
+			int pages = 0;
+			do
+			{
+				NotePage page = dao.searchNotesPage( clientId, null, null, 3, token );
+				assertTrue( page.getNotes().size() <= 3 );
+				page.getNotes().forEach( n -> actual.add( n.getNoteId() ) );
+				token = page.getNextPageToken();
+				pages++;
+			}
+			while( token != null );
+			
+			assertEquals( expected, actual );
+			assertEquals( 3, pages );
+		}
+		
+		@Test
+		@DisplayName( "A result that fits on one page has no next page token" )
+		void singlePage_hasNoToken() throws SQLException, TherapyAppException
+		{
+			_insertNote( "2025-01-01 10:00:00" );
+			_insertNote( "2025-01-02 10:00:00" );
+			
+			NotePage page = dao.searchNotesPage( clientId, null, null, 2, null );
+			assertEquals( 2, page.getNotes().size() );
+			assertFalse( page.hasNextPage() );
+		}
+		
+		@Test
+		@DisplayName( "Paged notes are fully hydrated" )
+		void pagedNotes_areHydrated() throws SQLException, TherapyAppException
+		{
+			_insertNote( "2025-01-01 10:00:00" );
+			
+			Note note = dao.searchNotesPage( clientId, null, null, 10, null ).getNotes().get( 0 );
+			assertEquals( "PAGE-A", note.getClient().getClientCode() );
+			assertNotNull( note.getSymptoms() );
+		}
+		
+		@Test
+		@DisplayName( "Malformed tokens and out-of-range page sizes are rejected" )
+		void invalidArguments_areRejected()
+		{
+			TherapyAppException badToken = assertThrows( TherapyAppException.class,
+					() -> dao.searchNotesPage( clientId, null, null, 10, "not a token" ) );
+			assertEquals( ErrorCode.INVALID_INPUT, badToken.getErrorCode() );
+			
+			assertThrows( TherapyAppException.class, () -> dao.searchNotesPage( clientId, null, null, 0, null ) );
+			assertThrows( TherapyAppException.class, () -> dao.searchNotesPage( clientId, null, null, NotesDao.MAX_PAGE_SIZE + 1, null ) );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Date range filters" )
+	class DateRangeFilters
+	{
+		@Test
+		@DisplayName( "Start and end dates are inclusive whole days" )
+		void dateRange_isInclusiveOfWholeDays() throws SQLException, TherapyAppException
+		{
+			_insertNote( "2025-01-31 23:59:59" );
+			int first = _insertNote( "2025-02-01 00:00:00" );
+			int last = _insertNote( "2025-02-03 23:59:59" );
+			_insertNote( "2025-02-04 00:00:00" );
+			_insertNote( null );
+			
+			Calendar start = Calendar.getInstance();
+			start.set( 2025, Calendar.FEBRUARY, 1, 15, 0, 0 );
+			Calendar end = Calendar.getInstance();
+			end.set( 2025, Calendar.FEBRUARY, 3, 8, 0, 0 );
+			
+			NotePage page = dao.searchNotesPage( clientId, start.getTime(), end.getTime(), 10, null );
+			assertEquals( List.of( last, first ), page.getNotes().stream().map( Note::getNoteId ).toList() );
+		}
+		
+		@Test
+		@DisplayName( "Counts use the same filters as the search" )
+		void countNotes_matchesSearchFilters() throws SQLException, TherapyAppException
+		{
+			_insertNote( "2025-01-31 23:59:59" );
+			_insertNote( "2025-02-01 00:00:00" );
+			_insertNote( null );
+			
+			Calendar day = Calendar.getInstance();
+			day.set( 2025, Calendar.FEBRUARY, 1, 12, 0, 0 );
+			
+			assertEquals( 3, dao.countNotes( clientId, null, null ) );
+			assertEquals( 1, dao.countNotes( null, day.getTime(), day.getTime() ) );
+			assertEquals( 0, dao.countNotes( _insertClient( "PAGE-B" ), null, null ) );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Full-text search" )
+	class FullTextSearch
+	{
+		@Test
+		@DisplayName( "Matches stemmed words and prefixes, marking them in the snippet" )
+		void insertedNote_isFoundWithSnippet() throws SQLException, TherapyAppException
+		{
+			int noteId = _insertNote( "2025-01-01 10:00:00" );
+			_setNarrative( noteId, "Client reported sleeping poorly after the move." );
+			
+			List<NoteSearchHit> hits = dao.searchNotesFullText( "sleep mov", null, null, null, 10 );
+			assertEquals( 1, hits.size() );
+			assertEquals( noteId, hits.get( 0 ).getNote().getNoteId() );
+			assertEquals( "PAGE-A", hits.get( 0 ).getNote().getClient().getClientCode() );
+			assertTrue( hits.get( 0 ).getSnippet().contains( NoteSearchHit.MATCH_START + "sleeping" + NoteSearchHit.MATCH_END ),
+					hits.get( 0 ).getSnippet() );
+		}
+		
+		@Test
+		@DisplayName( "Edits and deletes are reflected in the index" )
+		void updatesAndDeletes_keepIndexInSync() throws SQLException, TherapyAppException
+		{
+			int noteId = _insertNote( "2025-01-01 10:00:00" );
+			_setNarrative( noteId, "Discussed anxiety at work." );
+			_setNarrative( noteId, "Discussed family conflict." );
+			
+			assertTrue( dao.searchNotesFullText( "anxiety", null, null, null, 10 ).isEmpty() );
+			assertEquals( 1, dao.searchNotesFullText( "conflict", null, null, null, 10 ).size() );
+			
+			try( Connection conn = DbUtil.getConnection(); Statement stmt = conn.createStatement() )
+			{
+				stmt.execute( "DELETE FROM notes WHERE note_id = " + noteId );
+			}
+			assertTrue( dao.searchNotesFullText( "conflict", null, null, null, 10 ).isEmpty() );
+		}
+		
+		@Test
+		@DisplayName( "Better matches rank first and client filters apply" )
+		void results_areRankedAndFiltered() throws SQLException, TherapyAppException
+		{
+			int weak = _insertNote( "2025-01-01 10:00:00" );
+			_setNarrative( weak, "Mentioned grief once among many other topics discussed during a long session today." );
+			int strong = _insertNote( "2025-01-02 10:00:00" );
+			_setNarrative( strong, "Grief, grief and more grief." );
+			
+			List<NoteSearchHit> hits = dao.searchNotesFullText( "grief", clientId, null, null, 10 );
+			assertEquals( List.of( strong, weak ), hits.stream().map( h -> h.getNote().getNoteId() ).toList() );
+			assertTrue( dao.searchNotesFullText( "grief", _insertClient( "PAGE-B" ), null, null, 10 ).isEmpty() );
+		}
+		
+		@Test
+		@DisplayName( "User text is quoted so FTS syntax characters cannot break the query" )
+		void matchQuery_isQuoted()
+		{
+			assertEquals( "\"a\" \"b\"*", NotesDao.buildMatchQuery( "  a   b " ) );
+			assertEquals( "\"NEAR(x\" \"OR\" \"y)\"*", NotesDao.buildMatchQuery( "NEAR(x OR \"y)\"" ) );
+			assertNull( NotesDao.buildMatchQuery( " \" " ) );
+			
+			TherapyAppException empty = assertThrows( TherapyAppException.class, () -> dao.searchNotesFullText( "  ", null, null, null, 10 ) );
+			assertEquals( ErrorCode.INVALID_INPUT, empty.getErrorCode() );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Batch insert" )
+	class BatchInsert
+	{
+		@Test
+		@DisplayName( "Committed notes get their ids and keep their symptoms, referrals and collateral contacts" )
+		void committedNotesAreSaved() throws SQLException, TherapyAppException
+		{
+			List<Note> notes = new ArrayList<>();
+			try( NoteBatchInserter inserter = dao.openBatchInserter() )
+			{
+				for( int i = 0; i < 5; i++ )
+				{
+					Note note = _newNote( "Batch narrative " + i );
+					inserter.add( note );
+					notes.add( note );
+					if( i == 2 )
+						inserter.commit();
+				}
+				inserter.commit();
+				assertEquals( 5, inserter.getCommittedCount() );
+			}
+			
+			for( Note note : notes )
+			{
+				assertNotNull( note.getNoteId() );
+				Note saved = dao.getNote( note.getNoteId() );
+				assertEquals( note.getNarrative(), saved.getNarrative() );
+				assertEquals( 2, saved.getSymptoms().size() );
+				assertEquals( 1, saved.getReferrals().size() );
+				assertEquals( 1, saved.getCollateralContacts().size() );
+			}
+		}
+		
+		@Test
+		@DisplayName( "Closing rolls back notes added since the last commit and clears their ids" )
+		void closeRollsBackPending() throws SQLException
+		{
+			Note kept = _newNote( "Kept" );
+			Note dropped = _newNote( "Dropped" );
+			try( NoteBatchInserter inserter = dao.openBatchInserter() )
+			{
+				inserter.add( kept );
+				inserter.commit();
+				inserter.add( dropped );
+			}
+			
+			assertNotNull( kept.getNoteId() );
+			assertNull( dropped.getNoteId() );
+			assertEquals( 1, _count( "SELECT COUNT(*) FROM notes" ) );
+			assertEquals( 2, _count( "SELECT COUNT(*) FROM symptoms" ) );
+		}
+	}
+	
+	private Note _newNote( String narrative ) throws SQLException
+	{
+		Client client = new Client();
+		client.setClientId( clientId );
+		
+		Note note = new Note();
+		note.setClient( client );
+		note.setApptDateTime( LocalDateTime.of( 2025, 4, 1, 9, 0 ) );
+		note.setSessionNumber( 1 );
+		note.setNarrative( narrative );
+		
+		List<Symptom> symptoms = new ArrayList<>();
+		for( int id : _optionIds( "symptoms", 2 ) )
+		{
+			Symptom symptom = new Symptom();
+			symptom.setSymptomId( id );
+			symptoms.add( symptom );
+		}
+		note.setSymptoms( symptoms );
+		
+		Referral referral = new Referral();
+		referral.setReferralTypeId( _optionIds( "referrals", 1 ).get( 0 ) );
+		note.setReferrals( List.of( referral ) );
+		
+		CollateralContact contact = new CollateralContact();
+		contact.setCollateralContactTypeId( _optionIds( "collateralContacts", 1 ).get( 0 ) );
+		note.setCollateralContacts( List.of( contact ) );
+		return note;
+	}
+	
+	private List<Integer> _optionIds( String type, int limit ) throws SQLException
+	{
+		List<Integer> ids = new ArrayList<>();
+		try( Connection conn = DbUtil.getConnection();
+				PreparedStatement pstmt = conn.prepareStatement( "SELECT id FROM assessment_options WHERE type = ? ORDER BY id LIMIT ?" ) )
+		{
+			pstmt.setString( 1, type );
+			pstmt.setInt( 2, limit );
+			try( ResultSet rs = pstmt.executeQuery() )
+			{
+				while( rs.next() )
+				{
+					ids.add( rs.getInt( 1 ) );
+				}
+			}
+		}
+		return ids;
+	}
+	
+	private int _count( String sql ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery( sql ) )
+		{
+			return rs.next() ? rs.getInt( 1 ) : 0;
+		}
+	}
+	
+	private void _setNarrative( int noteId, String narrative ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection();
+				PreparedStatement pstmt = conn.prepareStatement( "UPDATE notes SET narrative = ? WHERE note_id = ?" ) )
+		{
+			pstmt.setString( 1, narrative );
+			pstmt.setInt( 2, noteId );
+			pstmt.executeUpdate();
+		}
+	}
+	
+	private int _insertClient( String code ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection();
+				PreparedStatement pstmt = conn.prepareStatement( "INSERT INTO clients (client_code) VALUES (?)", Statement.RETURN_GENERATED_KEYS ) )
+		{
+			pstmt.setString( 1, code );
+			pstmt.executeUpdate();
+			try( ResultSet keys = pstmt.getGeneratedKeys() )
+			{
+				keys.next();
+				return keys.getInt( 1 );
+			}
+		}
+	}
+	
+	private int _insertNote( String apptDateTime ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection();
+				PreparedStatement pstmt = conn.prepareStatement( "INSERT INTO notes (client_id, appt_date_time) VALUES (?, ?)",
+						Statement.RETURN_GENERATED_KEYS ) )
+		{
+			pstmt.setInt( 1, clientId );
+			pstmt.setString( 2, apptDateTime );
+			pstmt.executeUpdate();
+			try( ResultSet keys = pstmt.getGeneratedKeys() )
+			{
+				keys.next();
+				return keys.getInt( 1 );
+			}
+		}
+	}
+}
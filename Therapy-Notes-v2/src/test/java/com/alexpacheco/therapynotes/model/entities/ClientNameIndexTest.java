@@ -0,0 +1,82 @@
+package com.alexpacheco.therapynotes.model.entities;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName( "ClientNameIndex" )
+class ClientNameIndexTest
+{
+	private final ClientNameIndex index = new ClientNameIndex(
+			List.of( _client( 1, "C002", "Maria", "Lopez" ), _client( 2, "a001", "John", "Smith" ), _client( 3, "B003", "Jane", "Smithers" ) ) );
+	
+	@Nested
+	@DisplayName( "Lookups" )
+	class Lookups
+	{
+		@Test
+		@DisplayName( "Names are sorted ignoring case" )
+		void sortedNames()
+		{
+			assertEquals( List.of( "a001 - John Smith", "B003 - Jane Smithers", "C002 - Maria Lopez" ), index.getNames() );
+		}
+		
+		@Test
+		@DisplayName( "Maps names to ids and back" )
+		void namesAndIds()
+		{
+			assertEquals( 3, index.getClientId( "B003 - Jane Smithers" ) );
+			assertEquals( "C002 - Maria Lopez", index.getName( 1 ) );
+			assertNull( index.getClientId( "b003 - jane smithers" ) );
+			assertNull( index.getName( 99 ) );
+			assertEquals( "B003 - Jane Smithers", index.findIgnoreCase( " b003 - jane smithers " ) );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "filter()" )
+	class Filter
+	{
+		@Test
+		@DisplayName( "Returns names containing the query ignoring case, in display order" )
+		void substringMatches()
+		{
+			assertEquals( List.of( "a001 - John Smith", "B003 - Jane Smithers" ), index.filter( "SMITH", () -> false ) );
+			assertEquals( index.getNames(), index.filter( "  ", () -> false ) );
+			assertTrue( index.filter( "xyz", () -> false ).isEmpty() );
+		}
+		
+		@Test
+		@DisplayName( "Returns null once cancelled" )
+		void cancelled()
+		{
+			AtomicInteger checks = new AtomicInteger();
+			assertNull( index.filter( "smith", () -> checks.incrementAndGet() > 0 ) );
+			assertEquals( 1, checks.get() );
+		}
+		
+		@Test
+		@DisplayName( "findSingleMatch only answers when one name matches" )
+		void singleMatch()
+		{
+			assertEquals( "C002 - Maria Lopez", index.findSingleMatch( "lop" ) );
+			assertNull( index.findSingleMatch( "smith" ) );
+			assertNull( index.findSingleMatch( "xyz" ) );
+		}
+	}
+	
+	private static Client _client( int id, String code, String firstName, String lastName )
+	{
+		Client client = new Client();
+		client.setClientId( id );
+		client.setClientCode( code );
+		client.setFirstName( firstName );
+		client.setLastName( lastName );
+		return client;
+	}
+}
@@ -0,0 +1,111 @@
+package com.alexpacheco.therapynotes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AppLogger}.
+ */
+@DisplayName( "AppLogger" )
+class AppLoggerTest
+{
+	private final Logger logger = Logger.getLogger( "TherapyNotes" );
+	private final List<LogRecord> records = new ArrayList<>();
+	private final Handler capture = new Handler()
+	{
+		@Override
+		public void publish( LogRecord record )
+		{
+			records.add( record );
+		}
+		
+		@Override
+		public void flush()
+		{
+		}
+		
+		@Override
+		public void close()
+		{
+		}
+	};
+	
+	@BeforeEach
+	void setUp()
+	{
+		AppLogger.getSessionId();
+		logger.addHandler( capture );
+	}
+	
+	@AfterEach
+	void tearDown()
+	{
+		logger.removeHandler( capture );
+		AppLogger.disableDebugLogging();
+	}
+	
+	@Nested
+	@DisplayName( "Source detection" )
+	class SourceDetection
+	{
+		@Test
+		@DisplayName( "Convenience methods record the calling class and method" )
+		void convenienceMethodsRecordCaller()
+		{
+			AppLogger.warning( "direct" );
+			
+			LogRecord record = _last();
+			assertEquals( "direct", record.getMessage() );
+			assertEquals( SourceDetection.class.getName(), record.getSourceClassName() );
+			assertEquals( "convenienceMethodsRecordCaller", record.getSourceMethodName() );
+		}
+		
+		@Test
+		@DisplayName( "Specialized helpers record the calling class and method" )
+		void helpersRecordCaller()
+		{
+			AppLogger.logDatabaseOperation( "select", "notes", true );
+			
+			LogRecord record = _last();
+			assertEquals( SourceDetection.class.getName(), record.getSourceClassName() );
+			assertEquals( "helpersRecordCaller", record.getSourceMethodName() );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Levels" )
+	class Levels
+	{
+		@Test
+		@DisplayName( "Debug messages are only recorded when debug logging is enabled" )
+		void debugOnlyWhenEnabled()
+		{
+			AppLogger.debug( "hidden" );
+			assertTrue( records.stream().noneMatch( r -> "hidden".equals( r.getMessage() ) ) );
+			
+			AppLogger.enableDebugLogging();
+			AppLogger.debug( "shown" );
+			
+			LogRecord record = _last();
+			assertEquals( "shown", record.getMessage() );
+			assertEquals( "debugOnlyWhenEnabled", record.getSourceMethodName() );
+		}
+	}
+	
+	private LogRecord _last()
+	{
+		assertFalse( records.isEmpty(), "Expected a log record" );
+		return records.get( records.size() - 1 );
+	}
+}
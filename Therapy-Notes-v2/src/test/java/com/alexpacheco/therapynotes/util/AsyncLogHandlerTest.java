@@ -0,0 +1,250 @@
+package com.alexpacheco.therapynotes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.alexpacheco.therapynotes.util.AsyncLogHandler.OverflowPolicy;
+
+@DisplayName( "AsyncLogHandler" )
+class AsyncLogHandlerTest
+{
+	@Nested
+	@DisplayName( "Ring buffer" )
+	class RingBuffer
+	{
+		@Test
+		@DisplayName( "Is FIFO, rejects offers when full and rounds capacity to a power of two" )
+		void fifoAndBounded()
+		{
+			LogRingBuffer<Integer> buffer = new LogRingBuffer<>( 3 );
+			assertEquals( 4, buffer.capacity() );
+			
+			for( int i = 0; i < 4; i++ )
+			{
+				assertTrue( buffer.offer( i ) );
+			}
+			assertFalse( buffer.offer( 4 ) );
+			
+			assertEquals( 0, buffer.poll() );
+			assertTrue( buffer.offer( 4 ) );
+			
+			List<Integer> drained = new ArrayList<>();
+			assertEquals( 4, buffer.drainTo( drained, 10 ) );
+			assertEquals( List.of( 1, 2, 3, 4 ), drained );
+			assertNull( buffer.poll() );
+			assertTrue( buffer.isEmpty() );
+		}
+		
+		@Test
+		@DisplayName( "Loses nothing with concurrent producers" )
+		void concurrentProducers() throws InterruptedException
+		{
+			LogRingBuffer<Integer> buffer = new LogRingBuffer<>( 1 << 16 );
+			List<Thread> producers = new ArrayList<>();
+			for( int t = 0; t < 4; t++ )
+			{
+				int base = t * 10_000;
+				producers.add( new Thread( () ->
+				{
+					for( int i = 0; i < 10_000; i++ )
+					{
+						assertTrue( buffer.offer( base + i ) );
+					}
+				} ) );
+			}
+			producers.forEach( Thread::start );
+			for( Thread producer : producers )
+			{
+				producer.join();
+			}
+			
+			List<Integer> drained = new ArrayList<>();
+			buffer.drainTo( drained, Integer.MAX_VALUE );
+			assertEquals( 40_000, drained.stream().distinct().count() );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Writer" )
+	class Writer
+	{
+		@Test
+		@DisplayName( "Flush returns once every earlier record has been written, in order" )
+		void flushWritesEverythingInOrder()
+		{
+			RecordingHandler target = new RecordingHandler( null );
+			AsyncLogHandler handler = new AsyncLogHandler( target, 16, OverflowPolicy.BLOCK );
+			
+			for( int i = 0; i < 100; i++ )
+			{
+				handler.publish( new LogRecord( Level.INFO, "message " + i ) );
+			}
+			handler.flush();
+			
+			assertEquals( 100, target.messages().size() );
+			assertEquals( "message 0", target.messages().get( 0 ) );
+			assertEquals( "message 99", target.messages().get( 99 ) );
+			handler.close();
+		}
+		
+		@Test
+		@DisplayName( "DROP_INFO discards INFO and debug records when full but waits for room for warnings" )
+		void dropInfo() throws InterruptedException
+		{
+			CountDownLatch release = new CountDownLatch( 1 );
+			RecordingHandler target = new RecordingHandler( release );
+			AsyncLogHandler handler = new AsyncLogHandler( target, 2, OverflowPolicy.DROP_INFO );
+			
+			// The first record occupies the writer, the next two fill the buffer
+			handler.publish( new LogRecord( Level.INFO, "first" ) );
+			target.awaitBlocked();
+			handler.publish( new LogRecord( Level.INFO, "second" ) );
+			handler.publish( new LogRecord( Level.INFO, "third" ) );
+			handler.publish( new LogRecord( Level.INFO, "info" ) );
+			handler.publish( new LogRecord( Level.FINE, "debug" ) );
+			assertEquals( 2, handler.getDroppedCount() );
+			
+			Thread warner = new Thread( () -> handler.publish( new LogRecord( Level.WARNING, "warning" ) ) );
+			warner.start();
+			warner.join( 200 );
+			assertTrue( warner.isAlive(), "A warning should wait for room rather than be dropped" );
+			
+			release.countDown();
+			warner.join( 5000 );
+			handler.flush();
+			assertEquals( List.of( "first", "second", "third", "warning" ), target.messagesExceptDropNotices() );
+			assertTrue( target.messages().contains( "2 log records dropped because the log buffer was full" ) );
+			handler.close();
+		}
+		
+		@Test
+		@DisplayName( "DROP_OLDEST evicts the oldest buffered record to make room" )
+		void dropOldest() throws InterruptedException
+		{
+			CountDownLatch release = new CountDownLatch( 1 );
+			RecordingHandler target = new RecordingHandler( release );
+			AsyncLogHandler handler = new AsyncLogHandler( target, 2, OverflowPolicy.DROP_OLDEST );
+			
+			handler.publish( new LogRecord( Level.INFO, "first" ) );
+			target.awaitBlocked();
+			handler.publish( new LogRecord( Level.INFO, "second" ) );
+			handler.publish( new LogRecord( Level.INFO, "third" ) );
+			handler.publish( new LogRecord( Level.INFO, "fourth" ) );
+			
+			release.countDown();
+			handler.flush();
+			assertEquals( List.of( "first", "third", "fourth" ), target.messagesExceptDropNotices() );
+			assertEquals( 1, handler.getDroppedCount() );
+			handler.close();
+		}
+		
+		@Test
+		@DisplayName( "Close drains the buffer and closes the wrapped handler" )
+		void closeDrains()
+		{
+			RecordingHandler target = new RecordingHandler( null );
+			AsyncLogHandler handler = new AsyncLogHandler( target, 64, OverflowPolicy.BLOCK );
+			for( int i = 0; i < 50; i++ )
+			{
+				handler.publish( new LogRecord( Level.WARNING, "message " + i ) );
+			}
+			handler.close();
+			
+			assertEquals( 50, target.messages().size() );
+			assertTrue( target.closed );
+		}
+		
+		@Test
+		@DisplayName( "After close, records are still filtered by level before reaching the wrapped handler" )
+		void filtersAfterClose()
+		{
+			RecordingHandler target = new RecordingHandler( null );
+			target.setLevel( Level.INFO );
+			AsyncLogHandler handler = new AsyncLogHandler( target, 64, OverflowPolicy.BLOCK );
+			handler.close();
+			
+			handler.publish( new LogRecord( Level.FINE, "debug" ) );
+			handler.publish( new LogRecord( Level.INFO, "info" ) );
+			
+			assertEquals( List.of( "info" ), target.messages() );
+		}
+	}
+	
+	/**
+	 * Collects published records. When given a latch, the first publish blocks until it is released so tests can fill the buffer.
+	 */
+	private static class RecordingHandler extends Handler
+	{
+		private final List<LogRecord> records = new ArrayList<>();
+		private final CountDownLatch release;
+		private final CountDownLatch blocked = new CountDownLatch( 1 );
+		private volatile boolean closed;
+		
+		RecordingHandler( CountDownLatch release )
+		{
+			this.release = release;
+		}
+		
+		@Override
+		public void publish( LogRecord record )
+		{
+			if( release != null && blocked.getCount() > 0 )
+			{
+				blocked.countDown();
+				try
+				{
+					release.await( 5, TimeUnit.SECONDS );
+				}
+				catch( InterruptedException e )
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+			synchronized( records )
+			{
+				records.add( record );
+			}
+		}
+		
+		void awaitBlocked() throws InterruptedException
+		{
+			assertTrue( blocked.await( 5, TimeUnit.SECONDS ) );
+		}
+		
+		List<String> messages()
+		{
+			synchronized( records )
+			{
+				return records.stream().map( LogRecord::getMessage ).collect( Collectors.toList() );
+			}
+		}
+		
+		List<String> messagesExceptDropNotices()
+		{
+			return messages().stream().filter( m -> !m.endsWith( "dropped because the log buffer was full" ) ).collect( Collectors.toList() );
+		}
+		
+		@Override
+		public void flush()
+		{
+		}
+		
+		@Override
+		public void close()
+		{
+			closed = true;
+		}
+	}
+}
@@ -0,0 +1,305 @@
+package com.alexpacheco.therapynotes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName( "ConnectionPool" )
+class ConnectionPoolTest
+{
+	@TempDir
+	Path tempDir;
+	
+	private ConnectionPool pool;
+	
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		pool = new ConnectionPool( "jdbc:sqlite:" + tempDir.resolve( "pool.db" ), 2, 8, 200, 60_000, 0 );
+		
+		try( Connection conn = pool.getConnection(); Statement stmt = conn.createStatement() )
+		{
+			stmt.execute( "CREATE TABLE items (id INTEGER PRIMARY KEY, name TEXT)" );
+		}
+	}
+	
+	@AfterEach
+	void tearDown()
+	{
+		pool.close();
+	}
+	
+	@Nested
+	@DisplayName( "Connection reuse" )
+	class ConnectionReuse
+	{
+		@Test
+		@DisplayName( "Sequential borrows reuse a single physical connection" )
+		void sequentialBorrows_reusePhysicalConnection() throws SQLException
+		{
+			for( int i = 0; i < 10; i++ )
+			{
+				try( Connection conn = pool.getConnection() )
+				{
+					assertFalse( conn.isClosed() );
+				}
+			}
+			
+			ConnectionPool.Stats stats = pool.getStats();
+			assertEquals( 1, stats.getCreatedCount() );
+			assertEquals( 11, stats.getBorrowCount() );
+			assertEquals( 0, stats.getActiveCount() );
+			assertEquals( 1, stats.getIdleCount() );
+		}
+		
+		@Test
+		@DisplayName( "Foreign keys are enabled on pooled connections" )
+		void pooledConnection_hasForeignKeysEnabled() throws SQLException
+		{
+			try( Connection conn = pool.getConnection();
+					Statement stmt = conn.createStatement();
+					ResultSet rs = stmt.executeQuery( "PRAGMA foreign_keys" ) )
+			{
+				assertTrue( rs.next() );
+				assertEquals( 1, rs.getInt( 1 ) );
+			}
+		}
+		
+		@Test
+		@DisplayName( "A closed handle cannot be used again" )
+		void closedHandle_rejectsUse() throws SQLException
+		{
+			Connection conn = pool.getConnection();
+			conn.close();
+			
+			assertTrue( conn.isClosed() );
+			assertThrows( SQLException.class, conn::createStatement );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Bounds" )
+	class Bounds
+	{
+		@Test
+		@DisplayName( "Borrowing beyond the pool size times out" )
+		void borrowBeyondSize_timesOut() throws SQLException
+		{
+			try( Connection first = pool.getConnection(); Connection second = pool.getConnection() )
+			{
+				assertNotSame( first, second );
+				assertThrows( SQLException.class, pool::getConnection );
+				assertEquals( 1, pool.getStats().getTimeoutCount() );
+				assertEquals( 2, pool.getStats().getActiveCount() );
+			}
+			
+			assertEquals( 2, pool.getStats().getIdleCount() );
+		}
+		
+		@Test
+		@DisplayName( "A borrow waits for a connection another thread returns" )
+		void borrowBeyondSize_waitsForOtherThread() throws Exception
+		{
+			CountDownLatch borrowed = new CountDownLatch( 1 );
+			Thread holder = new Thread( () -> {
+				try( Connection first = pool.getConnection(); Connection second = pool.getConnection() )
+				{
+					borrowed.countDown();
+					Thread.sleep( 50 );
+				}
+				catch( SQLException | InterruptedException e )
+				{
+					throw new IllegalStateException( e );
+				}
+			} );
+			holder.start();
+			assertTrue( borrowed.await( 5, TimeUnit.SECONDS ) );
+			
+			try( Connection conn = pool.getConnection() )
+			{
+				assertFalse( conn.isClosed() );
+			}
+			holder.join();
+			assertEquals( 0, pool.getStats().getTimeoutCount() );
+		}
+		
+		@Test
+		@DisplayName( "A nested borrow that would wait on its own thread fails immediately" )
+		void nestedBorrowBeyondSize_failsFast() throws SQLException
+		{
+			ConnectionPool slow = new ConnectionPool( "jdbc:sqlite:" + tempDir.resolve( "pool.db" ), 1, 8, 30_000, 60_000, 0 );
+			try( Connection outer = slow.getConnection() )
+			{
+				SQLException e = assertTimeout( Duration.ofSeconds( 5 ),
+						() -> assertThrows( SQLException.class, slow::getConnection ) );
+				assertTrue( e.getMessage().contains( "already held" ) );
+				assertEquals( 1, slow.getStats().getTimeoutCount() );
+			}
+			finally
+			{
+				slow.close();
+			}
+		}
+		
+		@Test
+		@DisplayName( "Closed pool rejects borrows" )
+		void closedPool_rejectsBorrows()
+		{
+			pool.close();
+			assertThrows( SQLException.class, pool::getConnection );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Statement cache" )
+	class StatementCache
+	{
+		@Test
+		@DisplayName( "Repeated SQL is served from the statement cache" )
+		void repeatedSql_hitsCache() throws SQLException
+		{
+			for( int i = 0; i < 5; i++ )
+			{
+				try( Connection conn = pool.getConnection();
+						PreparedStatement pstmt = conn.prepareStatement( "INSERT INTO items (name) VALUES (?)" ) )
+				{
+					pstmt.setString( 1, "item" + i );
+					pstmt.executeUpdate();
+				}
+			}
+			
+			ConnectionPool.Stats stats = pool.getStats();
+			assertEquals( 1, stats.getStatementCacheMisses() );
+			assertEquals( 4, stats.getStatementCacheHits() );
+			assertEquals( 5, _count() );
+		}
+		
+		@Test
+		@DisplayName( "Cached statement can be reused after its result set was left open" )
+		void unclosedResultSet_isResetOnReturn() throws SQLException
+		{
+			String sql = "SELECT name FROM items ORDER BY id";
+			_insert( "a" );
+			_insert( "b" );
+			
+			try( Connection conn = pool.getConnection() )
+			{
+				PreparedStatement pstmt = conn.prepareStatement( sql );
+				ResultSet rs = pstmt.executeQuery();
+				assertTrue( rs.next() );
+				// Deliberately leave both the statement and result set open
+			}
+			
+			try( Connection conn = pool.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql ); ResultSet rs = pstmt.executeQuery() )
+			{
+				assertTrue( rs.next() );
+				assertEquals( "a", rs.getString( 1 ) );
+			}
+		}
+		
+		@Test
+		@DisplayName( "A result set returns the caller's statement handle, so closing it keeps the cache usable" )
+		void resultSetStatement_isHandle() throws SQLException
+		{
+			String sql = "SELECT name FROM items ORDER BY id";
+			_insert( "a" );
+			
+			try( Connection conn = pool.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql ) )
+			{
+				ResultSet rs = pstmt.executeQuery();
+				assertSame( pstmt, rs.getStatement() );
+				rs.getStatement().close();
+			}
+			
+			try( Connection conn = pool.getConnection(); PreparedStatement pstmt = conn.prepareStatement( sql ); ResultSet rs = pstmt.executeQuery() )
+			{
+				assertTrue( rs.next() );
+				assertEquals( "a", rs.getString( 1 ) );
+			}
+			assertEquals( 1, pool.getStats().getStatementCacheHits() );
+		}
+		
+		@Test
+		@DisplayName( "Preparing the same SQL twice on one connection returns independent statements" )
+		void nestedSameSql_returnsIndependentStatements() throws SQLException
+		{
+			try( Connection conn = pool.getConnection();
+					PreparedStatement outer = conn.prepareStatement( "SELECT ?" );
+					PreparedStatement inner = conn.prepareStatement( "SELECT ?" ) )
+			{
+				outer.setInt( 1, 1 );
+				inner.setInt( 1, 2 );
+				
+				try( ResultSet outerRs = outer.executeQuery(); ResultSet innerRs = inner.executeQuery() )
+				{
+					assertTrue( outerRs.next() );
+					assertTrue( innerRs.next() );
+					assertEquals( 1, outerRs.getInt( 1 ) );
+					assertEquals( 2, innerRs.getInt( 1 ) );
+				}
+			}
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Transactions" )
+	class Transactions
+	{
+		@Test
+		@DisplayName( "Uncommitted work is rolled back when the connection is returned" )
+		void openTransaction_isRolledBackOnReturn() throws SQLException
+		{
+			try( Connection conn = pool.getConnection() )
+			{
+				conn.setAutoCommit( false );
+				try( PreparedStatement pstmt = conn.prepareStatement( "INSERT INTO items (name) VALUES (?)" ) )
+				{
+					pstmt.setString( 1, "uncommitted" );
+					pstmt.executeUpdate();
+				}
+			}
+			
+			assertEquals( 0, _count() );
+			
+			try( Connection conn = pool.getConnection() )
+			{
+				assertTrue( conn.getAutoCommit(), "Returned connection should be back in auto-commit mode" );
+			}
+		}
+	}
+	
+	private void _insert( String name ) throws SQLException
+	{
+		try( Connection conn = pool.getConnection(); PreparedStatement pstmt = conn.prepareStatement( "INSERT INTO items (name) VALUES (?)" ) )
+		{
+			pstmt.setString( 1, name );
+			pstmt.executeUpdate();
+		}
+	}
+	
+	private int _count() throws SQLException
+	{
+		try( Connection conn = pool.getConnection();
+				Statement stmt = conn.createStatement();
+				ResultSet rs = stmt.executeQuery( "SELECT COUNT(*) FROM items" ) )
+		{
+			rs.next();
+			return rs.getInt( 1 );
+		}
+	}
+}
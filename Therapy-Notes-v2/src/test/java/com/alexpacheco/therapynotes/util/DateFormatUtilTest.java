@@ -113,6 +113,37 @@ class DateFormatUtilTest
 		}
 	}
 	
+	@Nested
+	@DisplayName( "Day range bounds" )
+	class DayRangeBounds
+	{
+		@Test
+		@DisplayName( "Start of day truncates the time portion" )
+		void startOfDay_truncatesTime()
+		{
+			Calendar cal = Calendar.getInstance();
+			cal.set( 2026, Calendar.JANUARY, 6, 14, 30, 45 );
+			assertEquals( "2026-01-06 00:00:00", DateFormatUtil.toSqliteStartOfDay( cal.getTime() ) );
+		}
+		
+		@Test
+		@DisplayName( "Start of next day rolls over month and year ends" )
+		void startOfNextDay_rollsOver()
+		{
+			Calendar cal = Calendar.getInstance();
+			cal.set( 2025, Calendar.DECEMBER, 31, 23, 59, 59 );
+			assertEquals( "2026-01-01 00:00:00", DateFormatUtil.toSqliteStartOfNextDay( cal.getTime() ) );
+		}
+		
+		@Test
+		@DisplayName( "Returns null when input is null" )
+		void nullInput_returnsNull()
+		{
+			assertNull( DateFormatUtil.toSqliteStartOfDay( null ) );
+			assertNull( DateFormatUtil.toSqliteStartOfNextDay( null ) );
+		}
+	}
+	
 	@Nested
 	@DisplayName( "toSimpleString(Date)" )
 	class ToSimpleString
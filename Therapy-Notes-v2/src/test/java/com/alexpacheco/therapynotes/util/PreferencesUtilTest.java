@@ -0,0 +1,133 @@
+package com.alexpacheco.therapynotes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.alexpacheco.therapynotes.controller.DatabaseInitializer;
+import com.alexpacheco.therapynotes.controller.enums.PreferenceKey;
+
+/**
+ * Runs PreferencesUtil against a temporary file database that DbUtil's pool is pointed at for the duration of the class.
+ */
+@DisplayName( "PreferencesUtil" )
+class PreferencesUtilTest
+{
+	@TempDir
+	static Path tempDir;
+	
+	@BeforeAll
+	static void initDb() throws Exception
+	{
+		String dbUrl = "jdbc:sqlite:" + tempDir.resolve( "preferences-test.db" );
+		try( Connection conn = DbUtil.getConnection( dbUrl ) )
+		{
+			DatabaseInitializer.migrate( conn );
+		}
+		DbUtil.setDbUrl( dbUrl );
+		DatabaseInitializer.initializeDefaultPreferences();
+	}
+	
+	@AfterAll
+	static void resetDb()
+	{
+		DbUtil.setDbUrl( null );
+		PreferencesUtil.invalidate();
+	}
+	
+	@BeforeEach
+	void setUp()
+	{
+		PreferencesUtil.invalidate();
+	}
+	
+	@AfterEach
+	void cleanUp() throws Exception
+	{
+		DatabaseInitializer.initializeDefaultPreferences();
+		_execute( "UPDATE user_preferences SET preference_value = default_value" );
+	}
+	
+	@Nested
+	@DisplayName( "Snapshot" )
+	class Snapshot
+	{
+		@Test
+		@DisplayName( "Reads are served from the snapshot until it is reloaded" )
+		void servedUntilReload() throws SQLException
+		{
+			assertTrue( PreferencesUtil.isNoteDiagnosisRequired() );
+			_execute( "UPDATE user_preferences SET preference_value = 'false' WHERE preference_key = 'required.note.diagnosis'" );
+			
+			assertTrue( PreferencesUtil.isNoteDiagnosisRequired(), "A write outside the app should not be seen before reload" );
+			
+			PreferencesUtil.reload();
+			assertFalse( PreferencesUtil.isNoteDiagnosisRequired() );
+		}
+		
+		@Test
+		@DisplayName( "Keys with no stored row fall back to their defaults" )
+		void missingKeyUsesDefault() throws SQLException
+		{
+			_execute( "DELETE FROM user_preferences WHERE preference_key = 'default.appointment_date'" );
+			PreferencesUtil.reload();
+			
+			assertEquals( PreferenceKey.DEFAULT_APPOINTMENT_DATE.getDefaultValue(), PreferencesUtil.getDefaultAppointmentDate() );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Listeners" )
+	class Listeners
+	{
+		@Test
+		@DisplayName( "reload notifies listeners on the event thread" )
+		void notifiedOnEdt() throws InterruptedException
+		{
+			CountDownLatch notified = new CountDownLatch( 1 );
+			AtomicBoolean onEdt = new AtomicBoolean();
+			PreferencesUtil.PreferenceListener listener = () ->
+			{
+				onEdt.set( SwingUtilities.isEventDispatchThread() );
+				notified.countDown();
+			};
+			
+			PreferencesUtil.addListener( listener );
+			try
+			{
+				PreferencesUtil.reload();
+				assertTrue( notified.await( 5, TimeUnit.SECONDS ) );
+				assertTrue( onEdt.get() );
+			}
+			finally
+			{
+				PreferencesUtil.removeListener( listener );
+			}
+		}
+	}
+	
+	private static void _execute( String sql ) throws SQLException
+	{
+		try( Connection conn = DbUtil.getConnection(); Statement stmt = conn.createStatement() )
+		{
+			stmt.execute( sql );
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.alexpacheco.therapynotes.util.export;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.alexpacheco.therapynotes.controller.enums.ErrorCode;
+import com.alexpacheco.therapynotes.controller.exceptions.TherapyAppException;
+import com.alexpacheco.therapynotes.model.entities.Client;
+import com.alexpacheco.therapynotes.model.entities.Note;
+
+@DisplayName( "ParallelExportExecutor" )
+class ParallelExportExecutorTest
+{
+	@TempDir
+	Path tempDir;
+	
+	@Nested
+	@DisplayName( "Scheduling" )
+	class Scheduling
+	{
+		@Test
+		@DisplayName( "Runs every task, never more at once than there are workers, and reports each completion" )
+		void runsAllTasksWithinWorkerBound() throws Exception
+		{
+			AtomicInteger running = new AtomicInteger();
+			AtomicInteger maxRunning = new AtomicInteger();
+			AtomicInteger lastReported = new AtomicInteger();
+			
+			try( ParallelExportExecutor executor = new ParallelExportExecutor( 3,
+					count -> lastReported.accumulateAndGet( count, Math::max ) ) )
+			{
+				for( int i = 0; i < 40; i++ )
+				{
+					assertTrue( executor.submit( () ->
+					{
+						maxRunning.accumulateAndGet( running.incrementAndGet(), Math::max );
+						_sleep( 2 );
+						running.decrementAndGet();
+					} ) );
+				}
+				
+				assertEquals( 40, executor.awaitCompletion() );
+			}
+			
+			assertEquals( 40, lastReported.get() );
+			assertTrue( maxRunning.get() <= 3, "At most 3 tasks should run concurrently but saw " + maxRunning.get() );
+		}
+		
+		@Test
+		@DisplayName( "The first failure stops further submissions and is rethrown" )
+		void failureIsRethrown() throws Exception
+		{
+			try( ParallelExportExecutor executor = new ParallelExportExecutor( 2, null ) )
+			{
+				executor.submit( () ->
+				{
+					throw new TherapyAppException( "render failed", ErrorCode.DB_ERROR );
+				} );
+				
+				TherapyAppException e = assertThrows( TherapyAppException.class, executor::awaitCompletion );
+				assertEquals( "render failed", e.getMessage() );
+				assertFalse( executor.submit( () -> fail( "Task should not run after a failure" ) ) );
+			}
+		}
+		
+		@Test
+		@DisplayName( "An Error thrown by a task fails the export" )
+		void errorFailsExport() throws Exception
+		{
+			try( ParallelExportExecutor executor = new ParallelExportExecutor( 2, null ) )
+			{
+				executor.submit( () ->
+				{
+					throw new OutOfMemoryError( "simulated" );
+				} );
+				
+				TherapyAppException e = assertThrows( TherapyAppException.class, executor::awaitCompletion );
+				assertEquals( ErrorCode.EXPORT_ERROR, e.getErrorCode() );
+				assertEquals( 0, executor.getCompletedCount() );
+			}
+		}
+		
+		@Test
+		@DisplayName( "Worker count must be positive" )
+		void rejectsNonPositiveWorkerCount()
+		{
+			assertThrows( IllegalArgumentException.class, () -> new ParallelExportExecutor( 0, null ) );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Concurrent rendering" )
+	class ConcurrentRendering
+	{
+		@Test
+		@DisplayName( "PDF and DOCX exporters can render many notes at the same time" )
+		void exportersAreReentrant() throws Exception
+		{
+			int noteCount = 24;
+			try( ParallelExportExecutor executor = new ParallelExportExecutor( 4, null ) )
+			{
+				for( int i = 0; i < noteCount; i++ )
+				{
+					Note note = _note( i );
+					Path pdf = tempDir.resolve( "note-" + i + ".pdf" );
+					Path docx = tempDir.resolve( "note-" + i + ".docx" );
+					executor.submit( () -> NotePdfExporter.exportToPdf( note, pdf.toString() ) );
+					executor.submit( () -> NoteDocxExporter.exportToDocx( note, docx.toString() ) );
+				}
+				
+				assertEquals( noteCount * 2, executor.awaitCompletion() );
+			}
+			
+			for( int i = 0; i < noteCount; i++ )
+			{
+				assertTrue( Files.size( tempDir.resolve( "note-" + i + ".pdf" ) ) > 0 );
+				assertTrue( Files.size( tempDir.resolve( "note-" + i + ".docx" ) ) > 0 );
+			}
+		}
+	}
+	
+	private static Note _note( int id )
+	{
+		Client client = new Client();
+		client.setClientId( 1 );
+		client.setClientCode( "PAR-" + id );
+		client.setFirstName( "Test" );
+		client.setLastName( "Client" );
+		
+		Note note = new Note();
+		note.setNoteId( id );
+		note.setClient( client );
+		note.setApptDateTime( LocalDateTime.of( 2025, 1, 1, 9, 0 ).plusDays( id ) );
+		note.setNarrative( "Session narrative for note " + id + ". ".repeat( 40 ) );
+		return note;
+	}
+	
+	private static void _sleep( long millis )
+	{
+		try
+		{
+			Thread.sleep( millis );
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,244 @@
+package com.alexpacheco.therapynotes.util.importer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName( "ImportRecordReader" )
+class ImportRecordReaderTest
+{
+	@TempDir
+	Path tempDir;
+	
+	@Nested
+	@DisplayName( "CsvRecordReader" )
+	class Csv
+	{
+		@Test
+		@DisplayName( "Maps fields to lower-cased header names and trims values" )
+		void readsByHeader() throws IOException
+		{
+			List<ImportRecord> records = _readCsv( "\uFEFFClient_Code, First_Name\nABC1,  Ada \r\nABC2,Grace\n" );
+			
+			assertEquals( 2, records.size() );
+			assertEquals( "ABC1", records.get( 0 ).getString( "client_code" ) );
+			assertEquals( "Ada", records.get( 0 ).getString( "first_name" ) );
+			assertEquals( 2, records.get( 1 ).getRecordNumber() );
+			assertEquals( 3, records.get( 1 ).getLineNumber() );
+		}
+		
+		@Test
+		@DisplayName( "Quoted fields keep commas, doubled quotes and line breaks" )
+		void quotedFields() throws IOException
+		{
+			List<ImportRecord> records = _readCsv( "code,narrative\nA,\"Said \"\"hi\"\", then\nleft\"\nB,x\n" );
+			
+			assertEquals( "Said \"hi\", then\nleft", records.get( 0 ).getString( "narrative" ) );
+			assertEquals( 4, records.get( 1 ).getLineNumber(), "Line numbers should count the line break inside quotes" );
+		}
+		
+		@Test
+		@DisplayName( "Skips blank lines and treats missing trailing fields and empty values as null" )
+		void blankLinesAndMissingFields() throws IOException
+		{
+			List<ImportRecord> records = _readCsv( "a,b,c\n\n1,,\n2\n" );
+			
+			assertEquals( 2, records.size() );
+			assertNull( records.get( 0 ).getString( "b" ) );
+			assertNull( records.get( 1 ).getString( "c" ) );
+		}
+		
+		@Test
+		@DisplayName( "Returns an error record for too many fields and carries on" )
+		void tooManyFields() throws IOException
+		{
+			List<ImportRecord> records = _readCsv( "a,b\n1,2,3\n4,5\n" );
+			
+			assertNotNull( records.get( 0 ).getError() );
+			assertNull( records.get( 1 ).getError() );
+			assertEquals( "5", records.get( 1 ).getString( "b" ) );
+		}
+		
+		@Test
+		@DisplayName( "Returns an error record for an unclosed quote" )
+		void unclosedQuote() throws IOException
+		{
+			List<ImportRecord> records = _readCsv( "a\n\"never closed\n" );
+			
+			assertEquals( 1, records.size() );
+			assertNotNull( records.get( 0 ).getError() );
+		}
+		
+		@Test
+		@DisplayName( "Stops keeping the text of an unclosed quote at the maximum record length" )
+		void unclosedQuoteIsCapped() throws IOException
+		{
+			try( ImportRecordReader reader = new CsvRecordReader( new StringReader( "a\n\"" + "x\n".repeat( 100_000 ) ), 100 ) )
+			{
+				List<ImportRecord> records = _readAll( reader );
+				
+				assertEquals( 1, records.size() );
+				assertNotNull( records.get( 0 ).getError() );
+			}
+		}
+		
+		@Test
+		@DisplayName( "Returns an error record for a record over the maximum length and carries on" )
+		void tooLong() throws IOException
+		{
+			try( ImportRecordReader reader = new CsvRecordReader( new StringReader( "a,b\n\"" + "x".repeat( 20 ) + "\",\"y\"\"\"\nok,1\n" ),
+					10 ) )
+			{
+				List<ImportRecord> records = _readAll( reader );
+				
+				assertEquals( 2, records.size() );
+				assertTrue( records.get( 0 ).getError().contains( "longer than 10" ) );
+				assertEquals( "ok", records.get( 1 ).getString( "a" ) );
+				assertEquals( 3, records.get( 1 ).getLineNumber() );
+			}
+		}
+		
+		@Test
+		@DisplayName( "Splits list fields on semicolons" )
+		void listField() throws IOException
+		{
+			List<ImportRecord> records = _readCsv( "symptoms\n\"Anxiety; Insomnia;;\"\n" );
+			
+			assertEquals( List.of( "Anxiety", "Insomnia" ), records.get( 0 ).getList( "symptoms" ) );
+		}
+		
+		private List<ImportRecord> _readCsv( String text ) throws IOException
+		{
+			try( ImportRecordReader reader = new CsvRecordReader( new StringReader( text ) ) )
+			{
+				return _readAll( reader );
+			}
+		}
+	}
+	
+	@Nested
+	@DisplayName( "JsonLinesRecordReader" )
+	class JsonLines
+	{
+		@Test
+		@DisplayName( "Reads strings, numbers, booleans, nulls and arrays" )
+		void readsValues() throws IOException
+		{
+			List<ImportRecord> records = _readJson(
+					"{\"Client_Code\": \"ABC1\", \"session_number\": 12, \"virtual_appt\": true, \"diagnosis\": null, \"symptoms\": [\"Anxiety\", \"Grief\"]}\n" );
+			
+			ImportRecord record = records.get( 0 );
+			assertNull( record.getError() );
+			assertEquals( "ABC1", record.getString( "client_code" ) );
+			assertEquals( "12", record.getString( "session_number" ) );
+			assertEquals( "true", record.getString( "virtual_appt" ) );
+			assertNull( record.getString( "diagnosis" ) );
+			assertEquals( List.of( "Anxiety", "Grief" ), record.getList( "symptoms" ) );
+		}
+		
+		@Test
+		@DisplayName( "Ignores a byte order mark at the start of the file" )
+		void byteOrderMark() throws IOException
+		{
+			List<ImportRecord> records = _readJson( "\uFEFF{\"a\": \"1\"}\n{\"a\": \"2\"}\n" );
+			
+			assertNull( records.get( 0 ).getError() );
+			assertEquals( "1", records.get( 0 ).getString( "a" ) );
+			assertEquals( "2", records.get( 1 ).getString( "a" ) );
+		}
+		
+		@Test
+		@DisplayName( "Decodes string escapes" )
+		void escapes() throws IOException
+		{
+			List<ImportRecord> records = _readJson( "{\"narrative\": \"Line one\\nSaid \\\"ok\\\" \\u00e9\"}\n" );
+			
+			assertEquals( "Line one\nSaid \"ok\" \u00e9", records.get( 0 ).getString( "narrative" ) );
+		}
+		
+		@Test
+		@DisplayName( "Returns error records for invalid lines and counts blank lines" )
+		void invalidLines() throws IOException
+		{
+			List<ImportRecord> records = _readJson( "{\"a\": \"1\"}\n\n{\"a\": {\"nested\": 1}}\n{\"a\": \"unclosed}\n{\"a\": \"4\"}\n" );
+			
+			assertEquals( 4, records.size() );
+			assertNull( records.get( 0 ).getError() );
+			assertNotNull( records.get( 1 ).getError() );
+			assertEquals( 3, records.get( 1 ).getLineNumber() );
+			assertNotNull( records.get( 2 ).getError() );
+			assertEquals( "4", records.get( 3 ).getString( "a" ) );
+		}
+		
+		@Test
+		@DisplayName( "Returns an error record for a line over the maximum length and carries on" )
+		void tooLong() throws IOException
+		{
+			String text = "{\"a\": \"" + "x".repeat( 50 ) + "\"}\r\n{\"a\": \"1\"}\r\n[" + "1, ".repeat( 100_000 );
+			try( ImportRecordReader reader = new JsonLinesRecordReader( new BufferedReader( new StringReader( text ) ), 20 ) )
+			{
+				List<ImportRecord> records = _readAll( reader );
+				
+				assertEquals( 3, records.size() );
+				assertTrue( records.get( 0 ).getError().contains( "longer than 20" ) );
+				assertEquals( "1", records.get( 1 ).getString( "a" ) );
+				assertNotNull( records.get( 2 ).getError() );
+				assertEquals( 3, records.get( 2 ).getLineNumber() );
+			}
+		}
+		
+		private List<ImportRecord> _readJson( String text ) throws IOException
+		{
+			try( ImportRecordReader reader = new JsonLinesRecordReader( new BufferedReader( new StringReader( text ) ) ) )
+			{
+				return _readAll( reader );
+			}
+		}
+	}
+	
+	@Nested
+	@DisplayName( "open" )
+	class Open
+	{
+		@Test
+		@DisplayName( "Picks the reader from the file extension and refuses .json" )
+		void byExtension() throws IOException
+		{
+			Path jsonl = Files.writeString( tempDir.resolve( "notes.JSONL" ), "{\"a\": \"1\"}\n" );
+			Path csv = Files.writeString( tempDir.resolve( "clients.csv" ), "a\n1\n" );
+			Path json = Files.writeString( tempDir.resolve( "notes.json" ), "[\n  {\"a\": \"1\"}\n]\n" );
+			
+			try( ImportRecordReader reader = ImportRecordReader.open( jsonl ) )
+			{
+				assertInstanceOf( JsonLinesRecordReader.class, reader );
+			}
+			try( ImportRecordReader reader = ImportRecordReader.open( csv ) )
+			{
+				assertInstanceOf( CsvRecordReader.class, reader );
+			}
+			assertThrows( IOException.class, () -> ImportRecordReader.open( json ) );
+		}
+	}
+	
+	private static List<ImportRecord> _readAll( ImportRecordReader reader ) throws IOException
+	{
+		List<ImportRecord> records = new ArrayList<>();
+		ImportRecord record;
+		while( ( record = reader.next() ) != null )
+		{
+			records.add( record );
+		}
+		return records;
+	}
+}
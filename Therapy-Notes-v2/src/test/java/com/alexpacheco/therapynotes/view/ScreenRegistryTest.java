@@ -0,0 +1,123 @@
+package com.alexpacheco.therapynotes.view;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.CardLayout;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.alexpacheco.therapynotes.controller.enums.Screens;
+
+@DisplayName( "ScreenRegistry" )
+class ScreenRegistryTest
+{
+	private JPanel cardPanel;
+	private ScreenRegistry screens;
+	private AtomicInteger created;
+	
+	@BeforeEach
+	void setUp()
+	{
+		cardPanel = new JPanel( new CardLayout() );
+		screens = new ScreenRegistry( cardPanel );
+		created = new AtomicInteger();
+	}
+	
+	@Nested
+	@DisplayName( "Lazy creation" )
+	class LazyCreation
+	{
+		@Test
+		@DisplayName( "Creates a screen on first use and reuses it afterwards" )
+		void createdOnce()
+		{
+			screens.register( Screens.HOME, this::_countingPanel );
+			assertFalse( screens.isLoaded( Screens.HOME ) );
+			assertEquals( 0, cardPanel.getComponentCount() );
+			
+			JPanel first = screens.get( Screens.HOME );
+			JPanel second = screens.get( Screens.HOME );
+			
+			assertSame( first, second );
+			assertEquals( 1, created.get() );
+			assertEquals( 1, cardPanel.getComponentCount() );
+			assertTrue( screens.isLoaded( Screens.HOME ) );
+		}
+		
+		@Test
+		@DisplayName( "Creates the screens a factory depends on" )
+		void createsDependencies()
+		{
+			screens.register( Screens.CLIENT_DETAILS, this::_countingPanel );
+			screens.register( Screens.SEARCH_CLIENTS_VIEW, () ->
+			{
+				JPanel details = screens.get( Screens.CLIENT_DETAILS );
+				assertNotNull( details );
+				return _countingPanel();
+			} );
+			
+			screens.get( Screens.SEARCH_CLIENTS_VIEW );
+			
+			assertTrue( screens.isLoaded( Screens.CLIENT_DETAILS ) );
+			assertEquals( 2, cardPanel.getComponentCount() );
+		}
+		
+		@Test
+		@DisplayName( "Rejects a screen with no factory" )
+		void unregisteredScreen()
+		{
+			assertThrows( IllegalArgumentException.class, () -> screens.get( Screens.ABOUT ) );
+		}
+		
+		private JPanel _countingPanel()
+		{
+			created.incrementAndGet();
+			return new JPanel();
+		}
+	}
+	
+	@Nested
+	@DisplayName( "Release" )
+	class Release
+	{
+		@Test
+		@DisplayName( "Removes an evictable screen from the card panel and revives it while still reachable" )
+		void evictableScreen()
+		{
+			screens.registerEvictable( Screens.ABOUT, () ->
+			{
+				created.incrementAndGet();
+				return new JPanel();
+			} );
+			JPanel about = screens.get( Screens.ABOUT );
+			
+			screens.release( Screens.ABOUT );
+			assertFalse( screens.isLoaded( Screens.ABOUT ) );
+			assertEquals( 0, cardPanel.getComponentCount() );
+			
+			// The strong reference held here keeps the soft reference alive
+			assertSame( about, screens.get( Screens.ABOUT ) );
+			assertEquals( 1, created.get() );
+			assertEquals( 1, cardPanel.getComponentCount() );
+		}
+		
+		@Test
+		@DisplayName( "Leaves other screens loaded" )
+		void retainedScreen()
+		{
+			screens.register( Screens.BULK_EXPORT_NOTES, JPanel::new );
+			screens.get( Screens.BULK_EXPORT_NOTES );
+			
+			screens.release( Screens.BULK_EXPORT_NOTES );
+			
+			assertTrue( screens.isLoaded( Screens.BULK_EXPORT_NOTES ) );
+			assertEquals( 1, cardPanel.getComponentCount() );
+		}
+	}
+}
@@ -118,6 +118,17 @@ class Cmb_ICD10DiagnosisTest
 			} );
 		}
 		
+		@Test
+		@DisplayName( "Reuses the shared index for the same code list" )
+		void reusesSharedIndex()
+		{
+			Icd10CodeIndex shared = Icd10CodeIndex.of( testCodes );
+			
+			runOnEDT( () -> new Cmb_ICD10Diagnosis( testCodes ) );
+			
+			assertSame( shared, Icd10CodeIndex.of( testCodes ) );
+		}
+		
 		@Test
 		@DisplayName( "Handles null code list gracefully" )
 		void handlesNullCodeList()
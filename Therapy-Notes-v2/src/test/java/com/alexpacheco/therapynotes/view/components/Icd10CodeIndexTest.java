@@ -0,0 +1,135 @@
+package com.alexpacheco.therapynotes.view.components;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Icd10CodeIndex}, checked against a plain scan of the bundled code list.
+ */
+@DisplayName( "Icd10CodeIndex" )
+class Icd10CodeIndexTest
+{
+	private static List<String> codes;
+	private static Icd10CodeIndex index;
+	
+	@BeforeAll
+	static void loadCodes() throws Exception
+	{
+		try( BufferedReader reader = new BufferedReader(
+				new InputStreamReader( Icd10CodeIndexTest.class.getResourceAsStream( "/f_codes.txt" ), StandardCharsets.UTF_8 ) ) )
+		{
+			codes = reader.lines().filter( line -> !line.isBlank() ).collect( Collectors.toList() );
+		}
+		index = Icd10CodeIndex.of( codes );
+	}
+	
+	@Nested
+	@DisplayName( "search()" )
+	class Search
+	{
+		@Test
+		@DisplayName( "Finds every entry containing the query, as a full scan does" )
+		void matchesFullScan()
+		{
+			for( String query : List.of( "f", "de", "dementia", "with agitation", "disorder, s", "xyzzy", "F32", ", unspecified" ) )
+			{
+				List<String> expected = _scan( query );
+				assertEquals( new HashSet<>( expected ), new HashSet<>( index.search( query, null ).getEntries() ), query );
+			}
+		}
+		
+		@Test
+		@DisplayName( "Blank query returns every entry in order" )
+		void blankQuery()
+		{
+			assertEquals( codes, index.search( "  ", null ).getEntries() );
+			assertEquals( codes.size(), index.size() );
+		}
+		
+		@Test
+		@DisplayName( "Matches codes typed without the dot" )
+		void codeWithoutDot()
+		{
+			List<String> results = index.search( "f321", null ).getEntries();
+			assertFalse( results.isEmpty() );
+			assertTrue( results.stream().allMatch( entry -> entry.startsWith( "F32.1" ) ), results.toString() );
+		}
+		
+		@Test
+		@DisplayName( "Ranks code matches, then word starts, then other substrings" )
+		void ranking()
+		{
+			List<Integer> ranks = index.search( "f3", null ).getEntries().stream().map( entry -> entry.startsWith( "F3" ) ? 0 : 1 )
+					.collect( Collectors.toList() );
+			assertEquals( ranks.stream().sorted().collect( Collectors.toList() ), ranks );
+			
+			List<String> results = index.search( "press", null ).getEntries();
+			int firstOther = -1;
+			for( int i = 0; i < results.size(); i++ )
+			{
+				boolean wordStart = results.get( i ).toLowerCase( Locale.ROOT ).matches( "(?s).*\\bpress.*" );
+				if( !wordStart && firstOther < 0 )
+					firstOther = i;
+				assertFalse( wordStart && firstOther >= 0, "Word-start match ranked after a substring match: " + results.get( i ) );
+			}
+		}
+		
+		@Test
+		@DisplayName( "Narrowing a previous result gives the same answer as a fresh search" )
+		void incremental()
+		{
+			String typed = "major depressive disorder, recurrent";
+			Icd10CodeIndex.Result previous = null;
+			for( int i = 1; i <= typed.length(); i++ )
+			{
+				String query = typed.substring( 0, i );
+				previous = index.search( query, previous );
+				assertEquals( index.search( query, null ).getEntries(), previous.getEntries(), query );
+			}
+			
+			// Backspacing is not a narrowing, so it must not filter the longer query's result
+			assertEquals( index.search( "major", null ).getEntries(), index.search( "major", previous ).getEntries() );
+		}
+	}
+	
+	@Nested
+	@DisplayName( "find()" )
+	class Find
+	{
+		@Test
+		@DisplayName( "Finds exact and case-insensitive entries" )
+		void find()
+		{
+			String entry = codes.get( 10 );
+			assertSame( entry, index.find( entry ) );
+			assertSame( entry, index.find( entry.toUpperCase( Locale.ROOT ) ) );
+			assertNull( index.find( "not a code" ) );
+			assertNull( index.find( null ) );
+		}
+	}
+	
+	private static List<String> _scan( String query )
+	{
+		String q = query.trim().toLowerCase( Locale.ROOT );
+		List<String> matches = new ArrayList<>();
+		for( String code : codes )
+		{
+			if( code.toLowerCase( Locale.ROOT ).contains( q ) )
+				matches.add( code );
+		}
+		return matches;
+	}
+}